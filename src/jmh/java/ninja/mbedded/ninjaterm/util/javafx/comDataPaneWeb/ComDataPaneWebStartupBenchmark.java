@@ -0,0 +1,122 @@
+package ninja.mbedded.ninjaterm.util.javafx.comDataPaneWeb;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+
+import java.util.Arrays;
+
+/**
+ * Measures how long it takes for new <code>{@link ComDataPaneWeb}</code> objects to become ready to show data.
+ * <p>
+ * Each terminal has a TX and an RX pane, so they are created in pairs (one pair at a time), and the time is from
+ * creating the pair to both of them being ready. The first pair is reported separately, as it includes starting up
+ * WebKit (and reading the script bundle, if the preload started at the same time as it does in <code>Main</code>
+ * has not finished).
+ * <p>
+ * This is not a JMH benchmark, as it needs the JavaFX toolkit running and measures asynchronous page loads.
+ * Can be run with:
+ * <pre>
+ * gradle comDataPaneWebStartup [-Pterminals=&lt;num. of terminals&gt;]
+ * </pre>
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ComDataPaneWebStartupBenchmark extends Application {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final int DEFAULT_NUM_TERMINALS = 20;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private int numTerminals;
+
+    /**
+     * The time taken for each pair of panes to become ready, in the order they were created.
+     */
+    private long[] terminalTimesNs;
+
+    private HBox container;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    @Override
+    public void start(Stage stage) {
+
+        numTerminals = getParameters().getRaw().isEmpty() ?
+                DEFAULT_NUM_TERMINALS : Integer.parseInt(getParameters().getRaw().get(0));
+        terminalTimesNs = new long[numTerminals];
+
+        ComDataPaneWeb.preloadScriptBundle();
+
+        container = new HBox();
+        stage.setScene(new Scene(container, 800, 600));
+        stage.show();
+
+        createTerminal(0);
+    }
+
+    /**
+     * Creates the TX and RX panes for one terminal, and once they are both ready, moves onto the next one.
+     */
+    private void createTerminal(int terminalIndex) {
+
+        if (terminalIndex == numTerminals) {
+            System.out.println(getResult());
+            Platform.exit();
+            return;
+        }
+
+        long startNanoTime = System.nanoTime();
+
+        ComDataPaneWeb txPane = new ComDataPaneWeb();
+        ComDataPaneWeb rxPane = new ComDataPaneWeb();
+        container.getChildren().setAll(txPane, rxPane);
+
+        Runnable handleReady = () -> {
+            if (!txPane.isReadyProperty().get() || !rxPane.isReadyProperty().get())
+                return;
+
+            terminalTimesNs[terminalIndex] = System.nanoTime() - startNanoTime;
+
+            // Let the WebViews finish whatever they queued up when they became ready before timing the next one
+            Platform.runLater(() -> createTerminal(terminalIndex + 1));
+        };
+        txPane.isReadyProperty().addListener((observable, oldValue, newValue) -> handleReady.run());
+        rxPane.isReadyProperty().addListener((observable, oldValue, newValue) -> handleReady.run());
+    }
+
+    private String getResult() {
+
+        if (numTerminals == 0)
+            return "No terminals created.";
+
+        long[] subsequentTimesNs = Arrays.copyOfRange(terminalTimesNs, 1, numTerminals);
+        Arrays.sort(subsequentTimesNs);
+
+        if (subsequentTimesNs.length == 0)
+            return String.format("First terminal: %.1f ms.", terminalTimesNs[0] / 1e6);
+
+        return String.format("First terminal: %.1f ms. Next %d terminals: p50 = %.1f ms, max = %.1f ms.",
+                terminalTimesNs[0] / 1e6,
+                subsequentTimesNs.length,
+                subsequentTimesNs[subsequentTimesNs.length / 2] / 1e6,
+                subsequentTimesNs[subsequentTimesNs.length - 1] / 1e6);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+}
@@ -0,0 +1,130 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureRecord;
+import ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine.RxDataEngine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Runs a recording through an <code>{@link RxDataEngine}</code> as fast as possible, on the calling thread,
+ * and measures the throughput and the time taken to process each chunk.
+ * <p>
+ * As the recording is fixed, this gives repeatable numbers for comparing changes to the RX pipeline.
+ * Can be run from the command line with:
+ * <pre>
+ * gradle replayBenchmark -Preplayargs="&lt;capture or log file&gt;[,num. of runs]"
+ * </pre>
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ReplayBenchmark {
+
+    //================================================================================================//
+    //============================================ RESULT ============================================//
+    //================================================================================================//
+
+    public static class Result {
+
+        public final int numChunks;
+        public final long numBytes;
+        public final long totalTimeNs;
+
+        /**
+         * The time taken to process each chunk, sorted in ascending order.
+         */
+        private final long[] chunkTimesNs;
+
+        Result(long numBytes, long totalTimeNs, long[] chunkTimesNs) {
+            this.numChunks = chunkTimesNs.length;
+            this.numBytes = numBytes;
+            this.totalTimeNs = totalTimeNs;
+            this.chunkTimesNs = chunkTimesNs;
+            Arrays.sort(this.chunkTimesNs);
+        }
+
+        public double getMBPerSecond() {
+            if (totalTimeNs == 0)
+                return 0.0;
+            return (numBytes / (1024.0 * 1024.0)) / (totalTimeNs / 1e9);
+        }
+
+        /**
+         * @param percentile    0-100.
+         * @return The chunk processing time (in ns) at the given percentile, or 0 if there were no chunks.
+         */
+        public long getChunkTimePercentileNs(double percentile) {
+            if (numChunks == 0)
+                return 0;
+            int index = (int) Math.ceil(percentile / 100.0 * numChunks) - 1;
+            return chunkTimesNs[Math.max(0, Math.min(index, numChunks - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d chunks, %d bytes in %.1f ms = %.2f MB/s. Chunk time (us): p50 = %.1f, p90 = %.1f, p99 = %.1f, max = %.1f.",
+                    numChunks, numBytes, totalTimeNs / 1e6, getMBPerSecond(),
+                    getChunkTimePercentileNs(50) / 1e3,
+                    getChunkTimePercentileNs(90) / 1e3,
+                    getChunkTimePercentileNs(99) / 1e3,
+                    getChunkTimePercentileNs(100) / 1e3);
+        }
+    }
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * Replays every chunk from the source into the RX data engine. The source is not closed.
+     */
+    public static Result run(ReplaySource replaySource, RxDataEngine rxDataEngine) throws IOException {
+
+        long[] chunkTimesNs = new long[1024];
+        int numChunks = 0;
+        long numBytes = 0;
+
+        long startNanoTime = System.nanoTime();
+
+        CaptureRecord record;
+        while ((record = replaySource.next()) != null) {
+
+            long chunkStartNanoTime = System.nanoTime();
+            rxDataEngine.parse(record.data);
+            long chunkTimeNs = System.nanoTime() - chunkStartNanoTime;
+
+            if (numChunks == chunkTimesNs.length)
+                chunkTimesNs = Arrays.copyOf(chunkTimesNs, chunkTimesNs.length * 2);
+            chunkTimesNs[numChunks++] = chunkTimeNs;
+            numBytes += record.data.length;
+        }
+
+        long totalTimeNs = System.nanoTime() - startNanoTime;
+
+        return new Result(numBytes, totalTimeNs, Arrays.copyOf(chunkTimesNs, numChunks));
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayBenchmark <capture or log file> [num. of runs]");
+            System.exit(1);
+        }
+
+        File file = new File(args[0]);
+        int numRuns = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        ReplaySourceFactory replaySourceFactory = new ReplaySourceFactory();
+
+        for (int i = 0; i < numRuns; i++) {
+            // A new engine each run so that every run starts from the same state
+            try (ReplaySource replaySource = replaySourceFactory.create(file)) {
+                Result result = run(replaySource, new RxDataEngine());
+                System.out.println("Run " + (i + 1) + ": " + result);
+            }
+        }
+    }
+
+}
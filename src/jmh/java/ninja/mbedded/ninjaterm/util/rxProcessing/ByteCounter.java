@@ -0,0 +1,28 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Add this as a parameter to a benchmark method, and add the number of bytes processed to <code>bytes</code>
+ * on every call. JMH then reports the throughput in bytes/s as a secondary result, next to the ops/s.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ByteCounter {
+
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        bytes = 0;
+    }
+
+}
@@ -0,0 +1,64 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.Decoding;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.ByteCounter;
+import ninja.mbedded.ninjaterm.util.rxProcessing.RxCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the <code>{@link Decoder}</code>. One op decodes a whole corpus, chunk by chunk.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoderBenchmark {
+
+    @Param({"ASCII", "HEX"})
+    public DecodingOptions decodingOption;
+
+    @Param
+    public RxCorpus corpus;
+
+    @Param({"16", "256", "4096"})
+    public int chunkSizeBytes;
+
+    private int numBytes;
+    private byte[][] chunks;
+
+    private Decoder decoder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] data = corpus.generate(RxCorpus.DEFAULT_SIZE_BYTES);
+        numBytes = data.length;
+        chunks = RxCorpus.split(data, chunkSizeBytes);
+
+        decoder = new Decoder();
+        decoder.decodingOption.set(decodingOption);
+    }
+
+    @Benchmark
+    public void parse(ByteCounter byteCounter, Blackhole blackhole) {
+        for (byte[] chunk : chunks) {
+            blackhole.consume(decoder.parse(chunk));
+        }
+        byteCounter.bytes += numBytes;
+    }
+
+}
@@ -0,0 +1,147 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The kinds of RX data the benchmarks are run with. Each corpus is generated from a fixed seed, so every run
+ * (and every benchmark) sees exactly the same bytes.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public enum RxCorpus {
+
+    /**
+     * Printable text, in lines of up to 100 chars.
+     */
+    PLAIN {
+        @Override
+        void generate(Random random, ByteArrayOutputStream output) {
+            appendWords(random, output, 20 + random.nextInt(80));
+            appendText(output, "\n");
+        }
+    },
+
+    /**
+     * Text where most words are coloured with ANSI escape codes, as sent by e.g. coloured log output.
+     */
+    ANSI_HEAVY {
+        @Override
+        void generate(Random random, ByteArrayOutputStream output) {
+            for (int i = 0; i < 8; i++) {
+                appendText(output, ANSI_COLOUR_CODES[random.nextInt(ANSI_COLOUR_CODES.length)]);
+                appendWords(random, output, 2 + random.nextInt(10));
+            }
+            appendText(output, "\n");
+        }
+    },
+
+    /**
+     * Very short lines, so the new line handling dominates.
+     */
+    NEWLINE_DENSE {
+        @Override
+        void generate(Random random, ByteArrayOutputStream output) {
+            appendWords(random, output, random.nextInt(8));
+            appendText(output, "\n");
+        }
+    },
+
+    /**
+     * Lines which are much longer than any chunk, so they stay partial across many chunks.
+     */
+    LONG_LINE {
+        @Override
+        void generate(Random random, ByteArrayOutputStream output) {
+            appendWords(random, output, 16 * 1024);
+            appendText(output, "\n");
+        }
+    },
+
+    /**
+     * Uniformly random bytes, including control chars and bytes which are not valid ASCII.
+     */
+    BINARY {
+        @Override
+        void generate(Random random, ByteArrayOutputStream output) {
+            byte[] bytes = new byte[256];
+            random.nextBytes(bytes);
+            output.write(bytes, 0, bytes.length);
+        }
+    };
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final int DEFAULT_SIZE_BYTES = 64 * 1024;
+
+    private static final long SEED = 0x4E696E6A61L;
+
+    /**
+     * Only codes which the <code>AnsiECParser</code> supports (it reports unsupported ones to stdout, which
+     * would swamp the results).
+     */
+    private static final String[] ANSI_COLOUR_CODES = {
+            "\u001B[31m", "\u001B[32m", "\u001B[33m", "\u001B[34m", "\u001B[35;1m", "\u001B[36;1m", "\u001B[37m",
+    };
+
+    private static final String WORD_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * Appends the next piece (typically a line) of the corpus to the output.
+     */
+    abstract void generate(Random random, ByteArrayOutputStream output);
+
+    /**
+     * @return Exactly <code>numBytes</code> bytes of this corpus.
+     */
+    public byte[] generate(int numBytes) {
+        Random random = new Random(SEED);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(numBytes);
+        while (output.size() < numBytes) {
+            generate(random, output);
+        }
+        return Arrays.copyOf(output.toByteArray(), numBytes);
+    }
+
+    /**
+     * Splits the data into chunks, as they would be read from a COM port. The last chunk may be shorter.
+     */
+    public static byte[][] split(byte[] data, int chunkSizeBytes) {
+        int numChunks = (data.length + chunkSizeBytes - 1) / chunkSizeBytes;
+        byte[][] chunks = new byte[numChunks][];
+        for (int i = 0; i < numChunks; i++) {
+            int start = i * chunkSizeBytes;
+            chunks[i] = Arrays.copyOfRange(data, start, Math.min(start + chunkSizeBytes, data.length));
+        }
+        return chunks;
+    }
+
+    private static void appendWords(Random random, ByteArrayOutputStream output, int numChars) {
+        StringBuilder stringBuilder = new StringBuilder(numChars);
+        while (stringBuilder.length() < numChars) {
+            if (stringBuilder.length() > 0)
+                stringBuilder.append(' ');
+            int wordLength = 1 + random.nextInt(9);
+            for (int i = 0; i < wordLength; i++) {
+                stringBuilder.append(WORD_CHARS.charAt(random.nextInt(WORD_CHARS.length())));
+            }
+        }
+        appendText(output, stringBuilder.toString());
+    }
+
+    private static void appendText(ByteArrayOutputStream output, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        output.write(bytes, 0, bytes.length);
+    }
+
+}
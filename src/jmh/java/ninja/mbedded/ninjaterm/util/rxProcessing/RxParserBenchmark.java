@@ -0,0 +1,175 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.Decoding.Decoder;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.AnsiECParser;
+import ninja.mbedded.ninjaterm.util.rxProcessing.asciiControlCharParser.AsciiControlCharParser;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineParser;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamingFilter.StreamingFilter;
+import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks each of the RX parsers on its own. One op feeds a whole corpus through the parser, chunk by chunk.
+ * <p>
+ * Each parser is given the data it would see in the <code>RxDataEngine</code>, e.g. the new line parser gets the
+ * output of the ANSI escape code parser. This upstream output is worked out once in <code>setup()</code>, and
+ * each chunk of it is copied into the parser's input buffer during the benchmark (the copy is part of the
+ * measured time, but is the same for every parser).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RxParserBenchmark {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    /**
+     * In the order they are in the RX pipeline.
+     */
+    public enum Parser {
+        TIME_STAMP,
+        ANSI_EC,
+        NEW_LINE,
+        STREAMING_FILTER,
+        ASCII_CONTROL_CHAR,
+    }
+
+    private static final String NEW_LINE_PATTERN = "\n";
+
+    /**
+     * Matches a good fraction of the lines in the text corpora.
+     */
+    private static final String FILTER_PATTERN = "a";
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    @Param
+    public Parser parser;
+
+    @Param
+    public RxCorpus corpus;
+
+    @Param({"16", "256", "4096"})
+    public int chunkSizeBytes;
+
+    private int numBytes;
+
+    /**
+     * The parser's input for each chunk.
+     */
+    private StreamedData[] chunkInputs;
+
+    private StreamedData input;
+    private StreamedData output;
+
+    private TimeStampParser timeStampParser;
+    private AnsiECParser ansiECParser;
+    private NewLineParser newLineParser;
+    private StreamingFilter streamingFilter;
+    private AsciiControlCharParser asciiControlCharParser;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        byte[] data = corpus.generate(RxCorpus.DEFAULT_SIZE_BYTES);
+        numBytes = data.length;
+        byte[][] chunks = RxCorpus.split(data, chunkSizeBytes);
+
+        // Work out what the parser receives for each chunk, by running the upstream parsers
+        Decoder decoder = new Decoder();
+        AnsiECParser upstreamAnsiECParser = new AnsiECParser();
+        NewLineParser upstreamNewLineParser = new NewLineParser(NEW_LINE_PATTERN);
+        StreamedData bufferBeforeAnsiECParser = new StreamedData();
+        StreamedData bufferBeforeNewLineParser = new StreamedData();
+
+        chunkInputs = new StreamedData[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+
+            StreamedData chunkInput = new StreamedData();
+            chunkInput.append(decoder.parse(chunks[i]));
+
+            if (parser.ordinal() > Parser.ANSI_EC.ordinal()) {
+                bufferBeforeAnsiECParser.shiftDataIn(chunkInput, chunkInput.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+                chunkInput = new StreamedData();
+                upstreamAnsiECParser.parse(bufferBeforeAnsiECParser, chunkInput);
+            }
+
+            if (parser.ordinal() > Parser.NEW_LINE.ordinal()) {
+                bufferBeforeNewLineParser.shiftDataIn(chunkInput, chunkInput.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+                chunkInput = new StreamedData();
+                upstreamNewLineParser.parse(bufferBeforeNewLineParser, chunkInput);
+            }
+
+            chunkInputs[i] = chunkInput;
+        }
+
+        input = new StreamedData();
+        output = new StreamedData();
+
+        timeStampParser = new TimeStampParser(NEW_LINE_PATTERN);
+        ansiECParser = new AnsiECParser();
+        newLineParser = new NewLineParser(NEW_LINE_PATTERN);
+        streamingFilter = new StreamingFilter();
+        streamingFilter.setFilterPattern(FILTER_PATTERN);
+        asciiControlCharParser = new AsciiControlCharParser();
+    }
+
+    @Benchmark
+    public StreamedData parse(ByteCounter byteCounter) {
+
+        for (StreamedData chunkInput : chunkInputs) {
+
+            input.copyCharsFrom(chunkInput, chunkInput.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+            output.clear();
+
+            switch (parser) {
+                case TIME_STAMP:
+                    timeStampParser.parse(input, output);
+                    break;
+                case ANSI_EC:
+                    ansiECParser.parse(input, output);
+                    break;
+                case NEW_LINE:
+                    newLineParser.parse(input, output);
+                    break;
+                case STREAMING_FILTER:
+                    streamingFilter.parse(input, output);
+                    break;
+                case ASCII_CONTROL_CHAR:
+                    asciiControlCharParser.parse(input, output);
+                    break;
+                default:
+                    throw new RuntimeException("Parser \"" + parser + "\" not recognised.");
+            }
+        }
+
+        byteCounter.bytes += numBytes;
+        return output;
+    }
+
+}
@@ -0,0 +1,71 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.ByteCounter;
+import ninja.mbedded.ninjaterm.util.rxProcessing.RxCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the full RX pipeline, <code>{@link RxDataEngine#parse(byte[])}</code>, with its default settings.
+ * One op parses a whole corpus, chunk by chunk.
+ * <p>
+ * The engine is kept between ops, so (after the first) the engine's buffers are full and are being trimmed,
+ * as they would be in a long running terminal.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RxDataEngineBenchmark {
+
+    @Param
+    public RxCorpus corpus;
+
+    @Param({"16", "256", "4096"})
+    public int chunkSizeBytes;
+
+    /**
+     * Whether the per-stage timing is switched on, so its overhead can be measured.
+     */
+    @Param({"false", "true"})
+    public boolean isMetricsEnabled;
+
+    private int numBytes;
+    private byte[][] chunks;
+
+    private RxDataEngine rxDataEngine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] data = corpus.generate(RxCorpus.DEFAULT_SIZE_BYTES);
+        numBytes = data.length;
+        chunks = RxCorpus.split(data, chunkSizeBytes);
+
+        rxDataEngine = new RxDataEngine();
+        rxDataEngine.metrics.isEnabled.set(isMetricsEnabled);
+    }
+
+    @Benchmark
+    public RxDataEngine parse(ByteCounter byteCounter) {
+        for (byte[] chunk : chunks) {
+            rxDataEngine.parse(chunk);
+        }
+        byteCounter.bytes += numBytes;
+        return rxDataEngine;
+    }
+
+}
@@ -0,0 +1,147 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.streamedData;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.ByteCounter;
+import ninja.mbedded.ninjaterm.util.rxProcessing.Decoding.Decoder;
+import ninja.mbedded.ninjaterm.util.rxProcessing.RxCorpus;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the basic <code>{@link StreamedData}</code> operations the RX parsers are built from. One op
+ * moves a whole corpus, chunk by chunk, into a <code>{@link StreamedData}</code> object.
+ * <p>
+ * The chunks have new line markers (from a <code>{@link NewLineParser}</code>) so that the marker
+ * handling is included.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamedDataBenchmark {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    /**
+     * The size of the trimmed buffer, about the size of the buffers in the <code>RxDataEngine</code>.
+     */
+    private static final int TRIM_MAX_NUM_CHARS = 20000;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    @Param
+    public RxCorpus corpus;
+
+    @Param({"16", "256", "4096"})
+    public int chunkSizeBytes;
+
+    private int numBytes;
+
+    private String[] chunkTexts;
+
+    /**
+     * The decoded chunks, with new line markers.
+     */
+    private StreamedData[] chunks;
+
+    private StreamedData source;
+    private StreamedData destination;
+    private StreamedData trimmedDestination;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        byte[] data = corpus.generate(RxCorpus.DEFAULT_SIZE_BYTES);
+        numBytes = data.length;
+        byte[][] rawChunks = RxCorpus.split(data, chunkSizeBytes);
+
+        Decoder decoder = new Decoder();
+        NewLineParser newLineParser = new NewLineParser("\n");
+        StreamedData bufferBeforeNewLineParser = new StreamedData();
+
+        chunkTexts = new String[rawChunks.length];
+        chunks = new StreamedData[rawChunks.length];
+        for (int i = 0; i < rawChunks.length; i++) {
+            chunkTexts[i] = decoder.parse(rawChunks[i]);
+
+            bufferBeforeNewLineParser.append(chunkTexts[i]);
+            chunks[i] = new StreamedData();
+            newLineParser.parse(bufferBeforeNewLineParser, chunks[i]);
+        }
+
+        source = new StreamedData();
+        destination = new StreamedData();
+        trimmedDestination = new StreamedData();
+        trimmedDestination.setMaxNumChars(TRIM_MAX_NUM_CHARS);
+    }
+
+    @Benchmark
+    public StreamedData append(ByteCounter byteCounter) {
+        destination.clear();
+        for (String chunkText : chunkTexts) {
+            destination.append(chunkText);
+        }
+        byteCounter.bytes += numBytes;
+        return destination;
+    }
+
+    @Benchmark
+    public StreamedData copyCharsFrom(ByteCounter byteCounter) {
+        destination.clear();
+        for (StreamedData chunk : chunks) {
+            destination.copyCharsFrom(chunk, chunk.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+        }
+        byteCounter.bytes += numBytes;
+        return destination;
+    }
+
+    /**
+     * Each chunk is first copied into a source object, as shifting empties the source. Compare with
+     * <code>copyCharsFrom()</code> to get the cost of the shift itself.
+     */
+    @Benchmark
+    public StreamedData shiftDataIn(ByteCounter byteCounter) {
+        destination.clear();
+        for (StreamedData chunk : chunks) {
+            source.copyCharsFrom(chunk, chunk.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+            destination.shiftDataIn(source, source.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+        }
+        byteCounter.bytes += numBytes;
+        return destination;
+    }
+
+    /**
+     * Copies into an object with <code>maxNumChars</code> set, so once it is full every copy trims the start.
+     */
+    @Benchmark
+    public StreamedData trim(ByteCounter byteCounter) {
+        for (StreamedData chunk : chunks) {
+            trimmedDestination.copyCharsFrom(chunk, chunk.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+        }
+        byteCounter.bytes += numBytes;
+        return trimmedDestination;
+    }
+
+}
@@ -12,6 +12,8 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import ninja.mbedded.ninjaterm.model.Model;
 import ninja.mbedded.ninjaterm.util.comPort.ComPortFactory;
+import ninja.mbedded.ninjaterm.util.headless.HeadlessMain;
+import ninja.mbedded.ninjaterm.util.javafx.comDataPaneWeb.ComDataPaneWeb;
 import ninja.mbedded.ninjaterm.util.javafx.exceptionPopup.ExceptionPopup;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.stringUtils.StringUtils;
@@ -30,7 +32,7 @@ import java.io.IOException;
  * displays splash-screen, and displays main NinjaTerm window.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2017-10-08
+ * @last-modified 2026-10-19
  * @since 2016-11-14
  */
 public class Main extends Application {
@@ -56,6 +58,11 @@ public class Main extends Application {
 
     private Stage primaryStage;
 
+    /**
+     * Null until the main window is loaded.
+     */
+    private Model model;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
 
@@ -160,6 +167,14 @@ public class Main extends Application {
             return;
         }
 
+        //==============================================//
+        //======== PRELOAD WEBVIEW SCRIPT BUNDLE =======//
+        //==============================================//
+
+        // Every terminal's TX/RX panes run the same Javascript, read it now (while the
+        // splash screen is showing) rather than when the first terminal is created
+        ComDataPaneWeb.preloadScriptBundle();
+
         if (disableSplashScreen) {
             // Skip this function, and go straight to loading the main window.
             loadMainWindow();
@@ -215,7 +230,7 @@ public class Main extends Application {
         glyphFont = new GlyphFont("FontAwesome", 12, "resources/fontawesome-webfont.ttf");
 
         // Create application model (data/state)
-        Model model = new Model(new ComPortFactory());
+        model = new Model(new ComPortFactory());
 
         mainStage = new Stage();
         mainStage.setTitle("NinjaTerm");
@@ -252,14 +267,20 @@ public class Main extends Application {
         // Make sure the main stage has focus (is in front of all other windows)
         mainStage.toFront();
 
-        // Call event handler in model for app closing
-        mainStage.setOnCloseRequest(event -> {
-            model.handleAppClosing();
-        });
-
         model.createTerminal();
     }
 
+    /**
+     * Called by JavaFX when the application exits, either because the main window was closed or
+     * because of <code>Platform.exit()</code> (e.g. the File->Exit menu item).
+     */
+    @Override
+    public void stop() {
+        // Close the COM ports and write out any queued log data
+        if (model != null)
+            model.handleAppClosing();
+    }
+
     /**
      * This should only be called if an uncaught exception occurs in the
      * UI thread. Will not do anything the second+ time it is called.
@@ -295,11 +316,17 @@ public class Main extends Application {
     }
 
     /**
-     * Entry point for application. This calls <code>launch(args)</code> which starts the JavaFX UI.
+     * Entry point for application. This calls <code>launch(args)</code> which starts the JavaFX UI, unless
+     * <code>--headless</code> is given, in which case JavaFX is never started (see <code>{@link HeadlessMain}</code>).
      *
      * @param args
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
+        if (HeadlessMain.isHeadless(args)) {
+            System.exit(HeadlessMain.run(args));
+            return;
+        }
+
         launch(args);
     }
 }
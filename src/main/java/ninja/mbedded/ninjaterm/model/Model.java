@@ -5,12 +5,15 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import ninja.mbedded.ninjaterm.model.globalStats.GlobalStats;
+import ninja.mbedded.ninjaterm.model.globalStats.GlobalStatsSnapshot;
 import ninja.mbedded.ninjaterm.model.status.Status;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
 import ninja.mbedded.ninjaterm.util.comPort.ComPortFactory;
+import ninja.mbedded.ninjaterm.util.jmx.JmxUtils;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import org.slf4j.Logger;
 
+import javax.management.ObjectName;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,7 +28,7 @@ import static org.mockito.Mockito.mock;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-09-16
- * @last-modified 2017-02-07
+ * @last-modified 2026-10-19
  */
 public class Model {
 
@@ -42,6 +45,13 @@ public class Model {
     public Status status = new Status(this);
     public GlobalStats globalStats = new GlobalStats();
 
+    /**
+     * A copy of the global stats which is exposed over JMX. Updated by <code>status</code> on each stats sample.
+     */
+    public GlobalStatsSnapshot globalStatsSnapshot = new GlobalStatsSnapshot(this);
+
+    private final ObjectName globalStatsObjectName = JmxUtils.createObjectName("Global", null);
+
     public List<TerminalListener> terminalCreatedListeners = new ArrayList<>();
 
     public List<TerminalListener> closedTerminalListeners = new ArrayList<>();
@@ -69,6 +79,8 @@ public class Model {
      */
     public Model(ComPortFactory comPortFactory) {
          this.comPortFactory = comPortFactory;
+
+         JmxUtils.register(globalStatsObjectName, globalStatsSnapshot);
     }
 
     public void createTerminal() {
@@ -80,6 +92,8 @@ public class Model {
         // Make sure the model has a record to this newly created terminal
         terminals.add(terminal);
 
+        JmxUtils.register(getTerminalStatsObjectName(terminal), terminal.stats.snapshot);
+
         // Notify listeners
         for(TerminalListener terminalCreatedListener : terminalCreatedListeners) {
             terminalCreatedListener.run(terminal);
@@ -106,6 +120,21 @@ public class Model {
         if(terminalToClose.isComPortOpen.get())
             terminalToClose.closeComPort();
 
+        // Close the capture file
+        terminalToClose.bulkCapture.stop();
+
+        // Write out any queued log data and close the log file (the log writer thread
+        // would otherwise keep running)
+        terminalToClose.logging.disableLogging();
+
+        // Delete the RX history files
+        terminalToClose.scrollback.close();
+
+        // Stop the stats timer (which would otherwise keep running, and keep the terminal from being garbage collected)
+        terminalToClose.stats.close();
+
+        JmxUtils.unregister(getTerminalStatsObjectName(terminalToClose));
+
         // Emit an event for the UI
         for(TerminalListener closeTerminalListener : closedTerminalListeners) {
             closeTerminalListener.run(terminalToClose);
@@ -127,8 +156,24 @@ public class Model {
             // if it is open
             if(terminal.isComPortOpen.get())
                 terminal.closeComPort();
+
+            terminal.bulkCapture.stop();
+
+            // The log writer threads are daemons, so anything still queued would be lost
+            // when the JVM exits
+            terminal.logging.disableLogging();
+            terminal.logging.waitUntilClosed();
+
+            terminal.scrollback.close();
+
+            JmxUtils.unregister(getTerminalStatsObjectName(terminal));
         }
 
+        JmxUtils.unregister(globalStatsObjectName);
+    }
+
+    private ObjectName getTerminalStatsObjectName(Terminal terminal) {
+        return JmxUtils.createObjectName("Terminal", Integer.toString(terminal.id));
     }
 
     /**
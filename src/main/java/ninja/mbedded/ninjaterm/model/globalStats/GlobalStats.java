@@ -1,24 +1,26 @@
 package ninja.mbedded.ninjaterm.model.globalStats;
 
-import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 
 /**
  * Model containing data and logic global statistics (not related to just one terminal).
+ * <p>
+ * The counts are updated once per sample tick by <code>{@link ninja.mbedded.ninjaterm.model.status.Status}</code>.
  *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-09-16
- * @last-modified   2016-09-25
+ * @last-modified   2026-10-19
  */
 public class GlobalStats {
 
     /**
      * The total number of characters send to all of the COM port.
      */
-    public SimpleIntegerProperty numCharactersTx = new SimpleIntegerProperty(0);
+    public SimpleLongProperty numCharactersTx = new SimpleLongProperty(0);
 
     /**
      * The total number of characters received form all of the COM ports.
      */
-    public SimpleIntegerProperty numCharactersRx = new SimpleIntegerProperty(0);
+    public SimpleLongProperty numCharactersRx = new SimpleLongProperty(0);
 
 }
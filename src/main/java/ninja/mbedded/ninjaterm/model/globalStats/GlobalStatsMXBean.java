@@ -0,0 +1,30 @@
+package ninja.mbedded.ninjaterm.model.globalStats;
+
+/**
+ * The performance counters for the whole app (all terminals), as exposed over JMX
+ * (as <code>ninja.mbedded.ninjaterm:type=Global</code>).
+ * <p>
+ * These are copies taken on the stats sample tick (see <code>{@link ninja.mbedded.ninjaterm.model.status.Status}</code>),
+ * so reading them never touches the UI thread.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public interface GlobalStatsMXBean {
+
+    int getNumTerminals();
+
+    long getBytesRx();
+
+    long getBytesTx();
+
+    double getBytesPerSecondRx();
+
+    double getBytesPerSecondTx();
+
+    double getMaxRxDisplayLagMs();
+
+    boolean isRxLagging();
+
+}
@@ -0,0 +1,85 @@
+package ninja.mbedded.ninjaterm.model.globalStats;
+
+import ninja.mbedded.ninjaterm.model.Model;
+
+/**
+ * Implements <code>{@link GlobalStatsMXBean}</code> with copies of the app-wide stats, which are taken on the
+ * UI thread by <code>update()</code> and can then be read from any thread.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class GlobalStatsSnapshot implements GlobalStatsMXBean {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final Model model;
+
+    private volatile int numTerminals = 0;
+    private volatile long bytesRx = 0;
+    private volatile long bytesTx = 0;
+    private volatile double bytesPerSecondRx = 0.0;
+    private volatile double bytesPerSecondTx = 0.0;
+    private volatile double maxRxDisplayLagMs = 0.0;
+    private volatile boolean isRxLagging = false;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public GlobalStatsSnapshot(Model model) {
+        this.model = model;
+    }
+
+    /**
+     * Copies the current stats. Must be called from the UI thread.
+     */
+    public void update() {
+        numTerminals = model.terminals.size();
+        bytesRx = model.globalStats.numCharactersRx.get();
+        bytesTx = model.globalStats.numCharactersTx.get();
+        bytesPerSecondRx = model.status.totalBytesPerSecRx.get();
+        bytesPerSecondTx = model.status.totalBytesPerSecTx.get();
+        maxRxDisplayLagMs = model.status.maxRxDisplayLagMs.get();
+        isRxLagging = model.status.isRxLagging.get();
+    }
+
+    @Override
+    public int getNumTerminals() {
+        return numTerminals;
+    }
+
+    @Override
+    public long getBytesRx() {
+        return bytesRx;
+    }
+
+    @Override
+    public long getBytesTx() {
+        return bytesTx;
+    }
+
+    @Override
+    public double getBytesPerSecondRx() {
+        return bytesPerSecondRx;
+    }
+
+    @Override
+    public double getBytesPerSecondTx() {
+        return bytesPerSecondTx;
+    }
+
+    @Override
+    public double getMaxRxDisplayLagMs() {
+        return maxRxDisplayLagMs;
+    }
+
+    @Override
+    public boolean isRxLagging() {
+        return isRxLagging;
+    }
+
+}
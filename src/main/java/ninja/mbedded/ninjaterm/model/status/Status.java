@@ -3,10 +3,10 @@ package ninja.mbedded.ninjaterm.model.status;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
@@ -14,8 +14,6 @@ import javafx.scene.text.Text;
 import javafx.util.Duration;
 import ninja.mbedded.ninjaterm.model.Model;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
-import ninja.mbedded.ninjaterm.model.terminal.txRx.DataSentTxListener;
-import ninja.mbedded.ninjaterm.model.terminal.txRx.RawDataReceivedListener;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import org.slf4j.Logger;
 
@@ -28,24 +26,60 @@ import java.util.Date;
  *
  * These are displayed at the bottom of the application in the status bar.
  *
+ * This also owns the fixed tick which samples the byte counters of every terminal's COM port, and updates the
+ * per-terminal and global byte count properties (at most) once per tick. The tick also watches each terminal's
+ * RX display lag, and warns the user when the UI falls behind the RX data.
+ *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-09-18
- * @last-modified   2016-10-21
+ * @last-modified   2026-10-19
  */
 public class Status {
 
     private static final double BITS_PER_SECOND_CALC_PERIOD_MS = 1000.0;
 
+    /**
+     * The period at which the terminal stats (incl. the COM port byte counters) are sampled, and therefore the
+     * fastest rate at which the byte counts (and the TX/RX LEDs) in the UI change.
+     */
+    public static final double STATS_SAMPLE_PERIOD_MS = 100.0;
+
+    /**
+     * <code>isRxLagging</code> is set when a terminal's RX display lag exceeds this.
+     */
+    public static final double RX_LAG_WARNING_THRESHOLD_MS = 1000.0;
+
+    /**
+     * How long <code>isRxLagging</code> stays set after the lag last exceeded the threshold, so that the warning
+     * does not flicker on and off.
+     */
+    private static final long RX_LAG_WARNING_HOLD_MS = 2000;
+
     private Model model;
 
     public ObservableList<Node> statusMsgs = FXCollections.observableList(new ArrayList<Node>());
 
-    public SimpleIntegerProperty totalByteCountTx = new SimpleIntegerProperty(0);
-    public SimpleIntegerProperty totalByteCountRx = new SimpleIntegerProperty(0);
+    public SimpleLongProperty totalByteCountTx = new SimpleLongProperty(0);
+    public SimpleLongProperty totalByteCountRx = new SimpleLongProperty(0);
 
     public SimpleDoubleProperty totalBytesPerSecTx = new SimpleDoubleProperty();
     public SimpleDoubleProperty totalBytesPerSecRx = new SimpleDoubleProperty();
 
+    /**
+     * The largest RX display lag (across all terminals) in the last sample, in ms.
+     */
+    public SimpleDoubleProperty maxRxDisplayLagMs = new SimpleDoubleProperty(0.0);
+
+    /**
+     * True while any terminal's RX display lag is (or recently was) over <code>RX_LAG_WARNING_THRESHOLD_MS</code>.
+     */
+    public SimpleBooleanProperty isRxLagging = new SimpleBooleanProperty(false);
+
+    /**
+     * The time (from <code>System.currentTimeMillis()</code>) at which the lag threshold was last exceeded.
+     */
+    private long rxLagLastExceededTimeMs = 0;
+
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
 
     public Status(Model model) {
@@ -56,34 +90,11 @@ public class Status {
         //=========== TOTAL BYTE COUNT SETUP ===========//
         //==============================================//
 
-        DataSentTxListener dataSentTxListener = txData -> {
-            totalByteCountTx.set(totalByteCountTx.get() + txData.length());
-        };
-
-        RawDataReceivedListener rawDataReceivedListener = data -> {
-            totalByteCountRx.set(totalByteCountRx.get() + data.length());
-        };
-
-        // Add listener to the list of terminals. Whenever a terminal object is added or removed,
-        // update the listeners that increments the total byte counts appropriately.
-        model.terminals.addListener((ListChangeListener.Change<? extends Terminal> change) -> {
-            while (change.next()) {
-
-                if(change.wasReplaced() || change.wasPermutated()) {
-                    throw new RuntimeException("The type of modification on the model.terminals observable list was not supported.");
-                }
-
-                for(Terminal terminal : change.getAddedSubList()) {
-                    terminal.txRx.dataSentTxListeners.add(dataSentTxListener);
-                    terminal.txRx.rxDataEngine.rawDataReceivedListeners.add(rawDataReceivedListener);
-                }
-
-                for(Terminal terminal : change.getRemoved()) {
-                    terminal.txRx.dataSentTxListeners.remove(dataSentTxListener);
-                    terminal.txRx.rxDataEngine.rawDataReceivedListeners.remove(rawDataReceivedListener);
-                }
-            }
-        });
+        Timeline sampleTimeline = new Timeline(new KeyFrame(
+                Duration.millis(STATS_SAMPLE_PERIOD_MS),
+                ae -> sampleTerminalStats()));
+        sampleTimeline.setCycleCount(Animation.INDEFINITE);
+        sampleTimeline.play();
 
         // Setup timer to trigger calculation of bits/second at a fixed rate
         Timeline timeline = new Timeline(new KeyFrame(
@@ -94,6 +105,64 @@ public class Status {
 
     }
 
+    /**
+     * This should be called once every <code>STATS_SAMPLE_PERIOD_MS</code>. Samples every terminal's
+     * stats, and then adds the byte counts to the global counts in one go.
+     */
+    public void sampleTerminalStats() {
+
+        long numBytesTx = 0;
+        long numBytesRx = 0;
+        double maxLagMs = 0.0;
+        Terminal laggingTerminal = null;
+
+        for(Terminal terminal : model.terminals) {
+            terminal.stats.sample();
+            numBytesTx += terminal.stats.getNumBytesTxInLastSample();
+            numBytesRx += terminal.stats.getNumBytesRxInLastSample();
+
+            if(terminal.stats.rxDisplayLagMs.get() > maxLagMs) {
+                maxLagMs = terminal.stats.rxDisplayLagMs.get();
+                laggingTerminal = terminal;
+            }
+        }
+
+        if(numBytesTx != 0) {
+            totalByteCountTx.set(totalByteCountTx.get() + numBytesTx);
+            model.globalStats.numCharactersTx.set(model.globalStats.numCharactersTx.get() + numBytesTx);
+        }
+
+        if(numBytesRx != 0) {
+            totalByteCountRx.set(totalByteCountRx.get() + numBytesRx);
+            model.globalStats.numCharactersRx.set(model.globalStats.numCharactersRx.get() + numBytesRx);
+        }
+
+        updateRxLagWarning(maxLagMs, laggingTerminal);
+
+        model.globalStatsSnapshot.update();
+    }
+
+    private void updateRxLagWarning(double maxLagMs, Terminal laggingTerminal) {
+
+        long currTimeMs = System.currentTimeMillis();
+
+        if(maxLagMs > RX_LAG_WARNING_THRESHOLD_MS) {
+            rxLagLastExceededTimeMs = currTimeMs;
+
+            // Only report once each time the lag starts
+            if(!isRxLagging.get()) {
+                isRxLagging.set(true);
+                addErr("Display is lagging behind the RX data of \"" + laggingTerminal.terminalName.get() + "\" by "
+                        + Math.round(maxLagMs) + "ms. Consider reducing the data rate, or disabling formatting/filtering.");
+            }
+        } else if(isRxLagging.get() && currTimeMs - rxLagLastExceededTimeMs > RX_LAG_WARNING_HOLD_MS) {
+            isRxLagging.set(false);
+        }
+
+        // Set last, so listeners see the updated warning state
+        maxRxDisplayLagMs.set(maxLagMs);
+    }
+
     /**
      * This should be called once every <code>BITS_PER_SECOND_CALC_PERIOD_MS</code>.
      */
@@ -5,8 +5,10 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import ninja.mbedded.ninjaterm.util.comPort.OnRxDataListener;
 import ninja.mbedded.ninjaterm.model.Model;
+import ninja.mbedded.ninjaterm.model.terminal.bulkCapture.BulkCapture;
 import ninja.mbedded.ninjaterm.model.terminal.comPortSettings.ComPortSettings;
 import ninja.mbedded.ninjaterm.model.terminal.logging.Logging;
+import ninja.mbedded.ninjaterm.model.terminal.scrollback.Scrollback;
 import ninja.mbedded.ninjaterm.model.terminal.stats.Stats;
 import ninja.mbedded.ninjaterm.model.terminal.txRx.TxRx;
 import ninja.mbedded.ninjaterm.util.comPort.ComPort;
@@ -16,13 +18,16 @@ import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import org.slf4j.Logger;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Model for a single "terminal" instance (which is displayed on a tab in the GUI).
  *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-09-16
- * @last-modified   2016-11-22
+ * @last-modified   2026-10-19
  */
 public class Terminal {
 
@@ -30,6 +35,13 @@ public class Terminal {
     //=========================================== CLASS FIELDS =======================================//
     //================================================================================================//
 
+    private static final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * Uniquely identifies this terminal for as long as the app is running (e.g. in capture files).
+     */
+    public final int id = nextId.getAndIncrement();
+
     /**
      * The terminal name. This is displayed in the terminal tab header. It is re-nameable by
      * the user. Default name is COM?, which the model will update to COM1 (or COM2, ... e.t.c)
@@ -54,12 +66,21 @@ public class Terminal {
     public TxRx txRx;
     public Logging logging;
     public Stats stats;
+    public BulkCapture bulkCapture;
+    public Scrollback scrollback;
 
     /**
      * The COM port instance attached to this terminal.
      */
     public ComPort comPort;
 
+    /**
+     * Listeners which are called with the exact bytes received from the COM port, before any decoding.
+     * These are called from the COM port's RX thread (NOT the JavaFX UI thread), and can be added/removed
+     * from any thread.
+     */
+    public List<OnRxDataListener> rawRxDataListeners = new CopyOnWriteArrayList<>();
+
     private OnRxDataListener onRxDataListener;
 
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
@@ -76,6 +97,8 @@ public class Terminal {
         txRx = new TxRx(model, this);
         logging = new Logging(model, this);
         stats = new Stats(this);
+        bulkCapture = new BulkCapture(model, this);
+        scrollback = new Scrollback(model, this);
 
         this.comPort = comPort;
 
@@ -135,23 +158,41 @@ public class Terminal {
     }
 
     private void handleOnRxData(byte[] rxData) {
-        logger.debug("handleOnRxData() called with rxData = " + Debugging.convertNonPrintable(Arrays.toString(rxData)));
-        System.out.println("handleOnRxData() called with rxData = " + Debugging.convertNonPrintable(Arrays.toString(rxData)));
+        // Taken first, so the display lag includes everything done to the chunk on this thread
+        long readNanoTime = System.nanoTime();
+
+        // Building the message is expensive, and this is called for every chunk
+        if (logger.isDebugEnabled())
+            logger.debug("handleOnRxData() called with rxData = " + Debugging.convertNonPrintable(Arrays.toString(rxData)));
 
         //String rxText;
         //rxText = decoder.parse(rxData);
 
         //System.out.println("rxText = " + rxText);
 
+        for (OnRxDataListener rawRxDataListener : rawRxDataListeners) {
+            rawRxDataListener.run(rxData);
+        }
+
+        // In "capture to file" mode, the data goes straight to disk and is not processed or displayed
+        if (bulkCapture.isBypassing() && bulkCapture.write(rxData)) {
+            return;
+        }
+
+        stats.onRxDataRead(rxData.length);
+
+        // The chunk carries its read time through the UI thread's queue
         Platform.runLater(() -> {
 
             // Add the received data to the model
             //txRxViewController.addTxRxText(rxText);
             txRx.addRxData(rxData);
 
-            // Update stats in app model
-            stats.totalRawCharCountRx.set(stats.totalRawCharCountRx.get() + rxData.length);
-            model.globalStats.numCharactersRx.set(model.globalStats.numCharactersRx.get() + rxData.length);
+            // The RX pane is updated synchronously by the RX data engine's listeners
+            stats.onRxDataDisplayed(rxData.length, readNanoTime);
+
+            // NOTE: The RX byte counts are not updated here, the COM port counts the bytes itself
+            // and they are sampled by the model's status
 
         });
     }
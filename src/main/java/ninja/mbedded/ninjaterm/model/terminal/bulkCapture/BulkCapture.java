@@ -0,0 +1,228 @@
+package ninja.mbedded.ninjaterm.model.terminal.bulkCapture;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.util.Duration;
+import ninja.mbedded.ninjaterm.model.Model;
+import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Model containing data and logic for the "capture to file" mode of a terminal.
+ * <p>
+ * While capturing, RX data is written straight from the COM port's RX thread to a file, and does NOT go through the
+ * RX data engine or get displayed. This is for large binary transfers (e.g. flash dumps), which would otherwise be
+ * slowed down by (or slow down) the UI. Only a byte count and rate are shown. Normal display resumes once the
+ * capture is stopped.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class BulkCapture {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final double METRICS_UPDATE_PERIOD_MS = 500.0;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    public ReadOnlyBooleanWrapper isCapturing = new ReadOnlyBooleanWrapper(false);
+
+    public SimpleStringProperty filePath = new SimpleStringProperty("");
+
+    //==============================================//
+    //=================== METRICS ==================//
+    //==============================================//
+
+    // These are updated once every METRICS_UPDATE_PERIOD_MS while capturing
+
+    public SimpleLongProperty numBytesCaptured = new SimpleLongProperty(0);
+
+    public SimpleDoubleProperty bytesPerSecond = new SimpleDoubleProperty(0.0);
+
+    private Model model;
+    private Terminal terminal;
+
+    /**
+     * Non-null while capturing. Only accessed while synchronized on this object, as it is written to from the
+     * COM port's RX thread.
+     */
+    private FileChannel fileChannel;
+
+    /**
+     * Volatile so that the RX thread can check it without taking the lock.
+     */
+    private volatile boolean isBypassing = false;
+
+    /**
+     * Written to by the RX thread.
+     */
+    private volatile long numBytesWritten = 0;
+
+    private long numBytesWrittenAtLastUpdate = 0;
+
+    /**
+     * Samples the metrics. Only running while capturing.
+     */
+    private final Timeline metricsTimeline;
+
+    private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public BulkCapture(Model model, Terminal terminal) {
+        this.model = model;
+        this.terminal = terminal;
+
+        metricsTimeline = new Timeline(new KeyFrame(
+                Duration.millis(METRICS_UPDATE_PERIOD_MS),
+                ae -> updateMetrics()));
+        metricsTimeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    /**
+     * Starts capturing RX data to the given file (which is overwritten).
+     */
+    public void start(File file) {
+
+        if (isCapturing.get())
+            return;
+
+        FileChannel newFileChannel;
+        try {
+            newFileChannel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            model.status.addErr("Could not open capture file for writing. Reported error: " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            fileChannel = newFileChannel;
+            numBytesWritten = 0;
+            isBypassing = true;
+        }
+
+        numBytesWrittenAtLastUpdate = 0;
+        numBytesCaptured.set(0);
+        bytesPerSecond.set(0.0);
+        filePath.set(file.getPath());
+        isCapturing.set(true);
+        metricsTimeline.play();
+
+        model.status.addMsg("Capturing RX data to \"" + file.getPath() + "\". RX data will not be displayed until the capture is stopped.");
+    }
+
+    /**
+     * @return True if RX data should be passed to <code>write()</code> instead of the RX data engine.
+     *          Can be called from any thread.
+     */
+    public boolean isBypassing() {
+        return isBypassing;
+    }
+
+    /**
+     * Writes RX data to the capture file. Called from the COM port's RX thread.
+     *
+     * @return False if the data was not written because the capture has been stopped, in which case
+     *          it should be processed normally.
+     */
+    public synchronized boolean write(byte[] rxData) {
+
+        if (fileChannel == null)
+            return false;
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(rxData);
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+            numBytesWritten += rxData.length;
+        } catch (IOException e) {
+            logger.error("Could not write to capture file.", e);
+            closeFileChannel();
+            Platform.runLater(() -> {
+                model.status.addErr("Could not write to capture file. Reported error: " + e.getMessage() + ". Capture stopped.");
+                stop();
+            });
+        }
+
+        return true;
+    }
+
+    /**
+     * Stops capturing, closes the capture file, and resumes normal processing of RX data. Must be called
+     * when the terminal is closed.
+     */
+    public void stop() {
+
+        if (!isCapturing.get())
+            return;
+
+        synchronized (this) {
+            closeFileChannel();
+        }
+
+        metricsTimeline.stop();
+        updateMetrics();
+        bytesPerSecond.set(0.0);
+        isCapturing.set(false);
+
+        model.status.addMsg("Capture to \"" + filePath.get() + "\" stopped, " + numBytesCaptured.get() + " bytes captured.");
+    }
+
+    /**
+     * Must be called while synchronized on this object.
+     */
+    private void closeFileChannel() {
+
+        isBypassing = false;
+
+        if (fileChannel == null)
+            return;
+
+        try {
+            fileChannel.close();
+        } catch (IOException e) {
+            logger.error("Could not close capture file.", e);
+        }
+        fileChannel = null;
+    }
+
+    /**
+     * Samples the byte count and calculates the rate. The captured bytes do not need adding to the terminal's
+     * RX stats, as they are counted by the COM port.
+     */
+    private void updateMetrics() {
+
+        long currNumBytesWritten = numBytesWritten;
+        long numBytesSinceLastUpdate = currNumBytesWritten - numBytesWrittenAtLastUpdate;
+        if (!isCapturing.get() || numBytesSinceLastUpdate < 0)
+            return;
+
+        numBytesCaptured.set(currNumBytesWritten);
+        bytesPerSecond.set(numBytesSinceLastUpdate / (METRICS_UPDATE_PERIOD_MS / 1000.0));
+        numBytesWrittenAtLastUpdate = currNumBytesWritten;
+    }
+
+}
@@ -0,0 +1,80 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import java.io.File;
+
+/**
+ * Constants describing the NinjaTerm binary capture format (<code>.ntcap</code>), and its
+ * sparse time index (<code>.ntidx</code>). All values are big-endian.
+ * <p>
+ * Capture file:
+ * <pre>
+ * Header (24 bytes):
+ *     int     magic               ("NTCP")
+ *     short   version
+ *     short   reserved
+ *     long    startEpochMs        Wall-clock time the capture was started at
+ *     long    reserved
+ * Records, one per chunk of RX/TX data:
+ *     long    timestampNs         Monotonic time since the capture was started
+ *     byte    direction           See CaptureRecord.Direction
+ *     int     terminalId
+ *     int     numBytes
+ *     byte[]  data
+ * </pre>
+ * Index file:
+ * <pre>
+ * Header (8 bytes):
+ *     int     magic               ("NTIX")
+ *     short   version
+ *     short   reserved
+ * Entries, one for the first record starting after every INDEX_INTERVAL_BYTES of the capture file:
+ *     long    timestampNs
+ *     long    fileOffset          Of the record in the capture file
+ * </pre>
+ * The index is only an aid for seeking, a capture file can always be read without it.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public final class CaptureFormat {
+
+    public static final String FILE_EXTENSION = ".ntcap";
+    public static final String INDEX_FILE_EXTENSION = ".ntidx";
+
+    public static final int MAGIC = 0x4E544350;
+    public static final int INDEX_MAGIC = 0x4E544958;
+    public static final short VERSION = 1;
+
+    public static final int HEADER_SIZE_BYTES = 24;
+    public static final int RECORD_HEADER_SIZE_BYTES = 17;
+    public static final int INDEX_HEADER_SIZE_BYTES = 8;
+    public static final int INDEX_ENTRY_SIZE_BYTES = 16;
+
+    public static final int DEFAULT_INDEX_INTERVAL_BYTES = 64 * 1024;
+
+    private CaptureFormat() {
+    }
+
+    /**
+     * @return The capture file which goes with the given (text) log file, i.e. with the extension replaced.
+     */
+    public static File getCaptureFile(File logFile) {
+        String path = logFile.getPath();
+        int extensionIndex = path.lastIndexOf('.');
+        if (extensionIndex > path.lastIndexOf(File.separatorChar))
+            path = path.substring(0, extensionIndex);
+        return new File(path + FILE_EXTENSION);
+    }
+
+    /**
+     * @return The index file which goes with the given capture file.
+     */
+    public static File getIndexFile(File captureFile) {
+        String path = captureFile.getPath();
+        if (path.endsWith(FILE_EXTENSION))
+            path = path.substring(0, path.length() - FILE_EXTENSION.length());
+        return new File(path + INDEX_FILE_EXTENSION);
+    }
+
+}
@@ -0,0 +1,205 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads records from a binary capture file, see <code>{@link CaptureFormat}</code>.
+ * <p>
+ * The capture file is read through a memory-mapped window which is moved along the file as needed, so
+ * captures larger than the 2GB limit of a single mapping can be read. If the index file exists, it is
+ * also memory-mapped and binary searched by <code>seek()</code>, so that only the records after the closest
+ * index entry have to be scanned.
+ * <p>
+ * A partially written record at the end of the file (e.g. if NinjaTerm was closed while capturing) is ignored.
+ * This class is not thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CaptureReader implements Closeable {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final long MAP_WINDOW_SIZE_BYTES = 64 * 1024 * 1024;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final RandomAccessFile captureFile;
+    private final FileChannel captureChannel;
+    private final long captureFileSize;
+
+    /**
+     * Null if there is no index file.
+     */
+    private MappedByteBuffer index;
+    private int numIndexEntries = 0;
+
+    private MappedByteBuffer window;
+
+    /**
+     * The offset in the capture file of the start of <code>window</code>.
+     */
+    private long windowStart;
+
+    /**
+     * The offset in the capture file of the next record to read.
+     */
+    private long position = CaptureFormat.HEADER_SIZE_BYTES;
+
+    private final long startEpochMs;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @throws IOException  If the file could not be read, or is not a capture file.
+     */
+    public CaptureReader(File file) throws IOException {
+
+        captureFile = new RandomAccessFile(file, "r");
+        captureChannel = captureFile.getChannel();
+        captureFileSize = captureChannel.size();
+
+        try {
+            if (captureFileSize < CaptureFormat.HEADER_SIZE_BYTES)
+                throw new IOException("\"" + file.getPath() + "\" is too small to be a capture file.");
+
+            mapWindow(0, CaptureFormat.HEADER_SIZE_BYTES);
+            if (window.getInt(0) != CaptureFormat.MAGIC)
+                throw new IOException("\"" + file.getPath() + "\" is not a capture file.");
+            if (window.getShort(4) != CaptureFormat.VERSION)
+                throw new IOException("Capture file version " + window.getShort(4) + " is not supported.");
+            startEpochMs = window.getLong(8);
+
+            openIndex(CaptureFormat.getIndexFile(file));
+        } catch (IOException e) {
+            captureFile.close();
+            throw e;
+        }
+    }
+
+    private void openIndex(File indexFile) throws IOException {
+
+        if (!indexFile.exists())
+            return;
+
+        try (RandomAccessFile indexRandomAccessFile = new RandomAccessFile(indexFile, "r")) {
+            long size = indexRandomAccessFile.length();
+            if (size < CaptureFormat.INDEX_HEADER_SIZE_BYTES)
+                return;
+
+            // The mapping stays valid after the file is closed
+            MappedByteBuffer mappedIndex = indexRandomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mappedIndex.getInt(0) != CaptureFormat.INDEX_MAGIC || mappedIndex.getShort(4) != CaptureFormat.VERSION)
+                return;
+
+            index = mappedIndex;
+            numIndexEntries = (int) ((size - CaptureFormat.INDEX_HEADER_SIZE_BYTES) / CaptureFormat.INDEX_ENTRY_SIZE_BYTES);
+        }
+    }
+
+    /**
+     * Makes sure the given range of the capture file is in the mapped window.
+     */
+    private void mapWindow(long start, int numBytes) throws IOException {
+        if (window != null && start >= windowStart && start + numBytes <= windowStart + window.capacity())
+            return;
+
+        long size = Math.min(Math.max(MAP_WINDOW_SIZE_BYTES, numBytes), captureFileSize - start);
+        window = captureChannel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        windowStart = start;
+    }
+
+    /**
+     * @return The next record, or null if there are no more (complete) records.
+     */
+    public CaptureRecord next() throws IOException {
+
+        if (position + CaptureFormat.RECORD_HEADER_SIZE_BYTES > captureFileSize)
+            return null;
+
+        mapWindow(position, CaptureFormat.RECORD_HEADER_SIZE_BYTES);
+        int offset = (int) (position - windowStart);
+        long timestampNs = window.getLong(offset);
+        byte directionCode = window.get(offset + 8);
+        int terminalId = window.getInt(offset + 9);
+        int numBytes = window.getInt(offset + 13);
+
+        int recordSize = CaptureFormat.RECORD_HEADER_SIZE_BYTES + numBytes;
+        if (numBytes < 0 || position + recordSize > captureFileSize)
+            return null;
+
+        mapWindow(position, recordSize);
+        offset = (int) (position - windowStart);
+        byte[] data = new byte[numBytes];
+        window.position(offset + CaptureFormat.RECORD_HEADER_SIZE_BYTES);
+        window.get(data);
+
+        CaptureRecord record = new CaptureRecord(timestampNs, CaptureRecord.Direction.fromCode(directionCode), terminalId, data, position);
+        position += recordSize;
+        return record;
+    }
+
+    /**
+     * Moves to the first record with a timestamp at or after the given time, so that it is the next one returned
+     * by <code>next()</code>.
+     *
+     * @param timestampNs   Time since the capture was started.
+     */
+    public void seek(long timestampNs) throws IOException {
+
+        position = CaptureFormat.HEADER_SIZE_BYTES;
+
+        // Find the last index entry before the time (records are in time order)
+        int low = 0;
+        int high = numIndexEntries - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entryOffset = CaptureFormat.INDEX_HEADER_SIZE_BYTES + mid * CaptureFormat.INDEX_ENTRY_SIZE_BYTES;
+            if (index.getLong(entryOffset) < timestampNs) {
+                position = index.getLong(entryOffset + 8);
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        // Scan forward from there
+        while (true) {
+            long recordPosition = position;
+            CaptureRecord record = next();
+            if (record == null || record.timestampNs >= timestampNs) {
+                position = recordPosition;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The wall-clock time (in ms since the epoch) the capture was started at.
+     */
+    public long getStartEpochMs() {
+        return startEpochMs;
+    }
+
+    public boolean hasIndex() {
+        return index != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        captureFile.close();
+    }
+
+}
@@ -0,0 +1,55 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+/**
+ * A single chunk of RX or TX data read from a capture file.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CaptureRecord {
+
+    public enum Direction {
+        RX((byte) 0),
+        TX((byte) 1);
+
+        public final byte code;
+
+        Direction(byte code) {
+            this.code = code;
+        }
+
+        public static Direction fromCode(byte code) {
+            for (Direction direction : values()) {
+                if (direction.code == code)
+                    return direction;
+            }
+            throw new IllegalArgumentException("Unknown capture record direction " + code + ".");
+        }
+    }
+
+    /**
+     * Monotonic time (in nanoseconds) since the capture was started.
+     */
+    public final long timestampNs;
+
+    public final Direction direction;
+
+    public final int terminalId;
+
+    public final byte[] data;
+
+    /**
+     * The offset of this record in the capture file.
+     */
+    public final long fileOffset;
+
+    public CaptureRecord(long timestampNs, Direction direction, int terminalId, byte[] data, long fileOffset) {
+        this.timestampNs = timestampNs;
+        this.direction = direction;
+        this.terminalId = terminalId;
+        this.data = data;
+        this.fileOffset = fileOffset;
+    }
+
+}
@@ -0,0 +1,177 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes chunks of RX/TX data to a binary capture file (and its index), see <code>{@link CaptureFormat}</code>.
+ * <p>
+ * Records are encoded on the calling thread (where the timestamp is taken), and then written by
+ * <code>{@link LogWriter}</code>s on their own threads. The overflow policy is always BLOCK, as the index
+ * relies on every byte reaching the capture file.
+ * <p>
+ * <code>write()</code> can be called from any thread. The settings (public fields) must be set before
+ * <code>start()</code> is called.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CaptureWriter {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    //==============================================//
+    //================== SETTINGS ==================//
+    //==============================================//
+
+    public int flushIntervalMs = Logging.DEFAULT_FLUSH_INTERVAL_MS;
+
+    public int flushThresholdBytes = Logging.DEFAULT_FLUSH_THRESHOLD_BYTES;
+
+    public boolean isFsyncEnabled = false;
+
+    public int maxQueueSizeBytes = Logging.DEFAULT_MAX_QUEUE_SIZE_BYTES;
+
+    /**
+     * An index entry is written for the first record which starts at least this many bytes after the
+     * previously indexed record.
+     */
+    public int indexIntervalBytes = CaptureFormat.DEFAULT_INDEX_INTERVAL_BYTES;
+
+    /**
+     * Called from a writer thread if writing to the capture or index file fails.
+     */
+    public LogWriterErrorListener errorListener;
+
+    //==============================================//
+    //==================== STATE ===================//
+    //==============================================//
+
+    private final File captureFile;
+    private final File indexFile;
+
+    private LogWriter captureLogWriter;
+    private LogWriter indexLogWriter;
+
+    private long startNanoTime;
+
+    /**
+     * The offset in the capture file the next record will be written at.
+     */
+    private long fileOffset;
+
+    /**
+     * -1 until the first record is indexed.
+     */
+    private long lastIndexedFileOffset = -1;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @param captureFile   The capture file. This is overwritten if it exists, as is the index file next to it.
+     */
+    public CaptureWriter(File captureFile) {
+        this.captureFile = captureFile;
+        this.indexFile = CaptureFormat.getIndexFile(captureFile);
+    }
+
+    /**
+     * Opens the capture and index files and writes their headers. The capture's start time is taken now.
+     *
+     * @throws IOException  If either file could not be opened.
+     */
+    public synchronized void start() throws IOException {
+
+        captureLogWriter = createLogWriter(captureFile);
+        try {
+            indexLogWriter = createLogWriter(indexFile);
+        } catch (IOException e) {
+            captureLogWriter.close();
+            throw e;
+        }
+
+        startNanoTime = System.nanoTime();
+
+        ByteBuffer header = ByteBuffer.allocate(CaptureFormat.HEADER_SIZE_BYTES);
+        header.putInt(CaptureFormat.MAGIC);
+        header.putShort(CaptureFormat.VERSION);
+        header.putShort((short) 0);
+        header.putLong(System.currentTimeMillis());
+        header.putLong(0);
+        captureLogWriter.write(header.array());
+        fileOffset = CaptureFormat.HEADER_SIZE_BYTES;
+
+        ByteBuffer indexHeader = ByteBuffer.allocate(CaptureFormat.INDEX_HEADER_SIZE_BYTES);
+        indexHeader.putInt(CaptureFormat.INDEX_MAGIC);
+        indexHeader.putShort(CaptureFormat.VERSION);
+        indexHeader.putShort((short) 0);
+        indexLogWriter.write(indexHeader.array());
+    }
+
+    private LogWriter createLogWriter(File file) throws IOException {
+        LogWriter logWriter = new LogWriter(new FileOutputStream(file, false).getChannel());
+        logWriter.flushIntervalMs = flushIntervalMs;
+        logWriter.flushThresholdBytes = flushThresholdBytes;
+        logWriter.isFsyncEnabled = isFsyncEnabled;
+        logWriter.maxQueueSizeBytes = maxQueueSizeBytes;
+        logWriter.overflowPolicy = LogWriter.OverflowPolicy.BLOCK;
+        logWriter.errorListener = errorListener;
+        logWriter.start();
+        return logWriter;
+    }
+
+    /**
+     * Writes a record holding the given data, time stamped with the current time.
+     */
+    public synchronized void write(CaptureRecord.Direction direction, int terminalId, byte[] data) {
+
+        long timestampNs = System.nanoTime() - startNanoTime;
+
+        // One array for the whole record, as the log writer takes ownership of it
+        ByteBuffer record = ByteBuffer.allocate(CaptureFormat.RECORD_HEADER_SIZE_BYTES + data.length);
+        record.putLong(timestampNs);
+        record.put(direction.code);
+        record.putInt(terminalId);
+        record.putInt(data.length);
+        record.put(data);
+
+        if (lastIndexedFileOffset == -1 || fileOffset - lastIndexedFileOffset >= indexIntervalBytes) {
+            ByteBuffer indexEntry = ByteBuffer.allocate(CaptureFormat.INDEX_ENTRY_SIZE_BYTES);
+            indexEntry.putLong(timestampNs);
+            indexEntry.putLong(fileOffset);
+            indexLogWriter.write(indexEntry.array());
+            lastIndexedFileOffset = fileOffset;
+        }
+
+        captureLogWriter.write(record.array());
+        fileOffset += record.capacity();
+    }
+
+    /**
+     * Writes all queued records, and closes the capture and index files.
+     *
+     * @throws IOException  If either file could not be closed.
+     */
+    public synchronized void close() throws IOException {
+        try {
+            captureLogWriter.close();
+        } finally {
+            indexLogWriter.close();
+        }
+    }
+
+    /**
+     * @return The size the capture file will be once all queued records are written.
+     */
+    public synchronized long getSizeBytes() {
+        return fileOffset;
+    }
+
+}
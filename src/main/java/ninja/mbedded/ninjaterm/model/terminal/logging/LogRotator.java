@@ -0,0 +1,362 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Splits a log file into segments, based on size and/or wall-clock time.
+ * <p>
+ * Data is always written to the active segment, which is the log file itself (e.g. <code>NinjaTerm.log</code>).
+ * When a segment is rotated, the active segment is renamed with the next sequence number
+ * (e.g. <code>NinjaTerm.3.log</code>) and a new, empty active segment is opened. The rotated segment is then
+ * gzip-compressed (to <code>NinjaTerm.3.log.gz</code>) on a background thread, so the log writer thread
+ * never waits on the compression. Only the newest <code>maxNumRotatedSegments</code> rotated segments are kept.
+ * <p>
+ * All methods except the metric getters must be called from the log writer thread (or before it is started).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LogRotator {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final String COMPRESSED_EXTENSION = ".gz";
+
+    private static final int COMPRESSION_BUFFER_SIZE_BYTES = 64 * 1024;
+
+    /**
+     * How long <code>close()</code> waits for outstanding compression to finish.
+     */
+    private static final long CLOSE_TIMEOUT_S = 60;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    //==============================================//
+    //================== SETTINGS ==================//
+    //==============================================//
+
+    /**
+     * The active segment is rotated before it would grow larger than this. 0 disables size-based rotation.
+     * A single write larger than this still goes into one segment.
+     */
+    public long maxSegmentSizeBytes = 0;
+
+    /**
+     * The active segment is rotated at every multiple of this period since local midnight (e.g. 60 rotates on
+     * the hour). 0 disables time-based rotation.
+     */
+    public int rotationPeriodMins = 0;
+
+    /**
+     * The number of rotated segments kept. Older segments are deleted.
+     */
+    public int maxNumRotatedSegments = 10;
+
+    //==============================================//
+    //=================== METRICS ==================//
+    //==============================================//
+
+    private volatile long activeSegmentSizeBytes = 0;
+
+    private volatile int numSegmentsRotated = 0;
+
+    //==============================================//
+    //==================== STATE ===================//
+    //==============================================//
+
+    private final File activeSegmentFile;
+
+    /**
+     * The active segment's file name, without the extension.
+     */
+    private final String baseName;
+
+    /**
+     * The active segment's file extension (incl. the "."), or "" if it has none.
+     */
+    private final String extension;
+
+    /**
+     * Matches the rotated segments (compressed or not) of this log file. Group 1 is the sequence number.
+     */
+    private final Pattern rotatedSegmentPattern;
+
+    private int nextSequenceNum;
+
+    /**
+     * The time (in ms since epoch) at which the active segment is due to be rotated.
+     */
+    private long nextRotationTimeMs = Long.MAX_VALUE;
+
+    /**
+     * Compresses rotated segments and deletes old ones. Single threaded so that these happen in order.
+     */
+    private final ExecutorService compressionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Log compressor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @param activeSegmentFile The log file. The rotated segments are put in the same directory.
+     */
+    public LogRotator(File activeSegmentFile) {
+        this.activeSegmentFile = activeSegmentFile.getAbsoluteFile();
+
+        String fileName = activeSegmentFile.getName();
+        int extensionIndex = fileName.lastIndexOf('.');
+        if (extensionIndex > 0) {
+            baseName = fileName.substring(0, extensionIndex);
+            extension = fileName.substring(extensionIndex);
+        } else {
+            baseName = fileName;
+            extension = "";
+        }
+
+        rotatedSegmentPattern = Pattern.compile(
+                Pattern.quote(baseName) + "\\.(\\d+)" + Pattern.quote(extension) + "(" + Pattern.quote(COMPRESSED_EXTENSION) + ")?");
+
+        // Carry on from any segments left by a previous logging session
+        int maxSequenceNum = 0;
+        for (RotatedSegment rotatedSegment : findRotatedSegments()) {
+            maxSequenceNum = Math.max(maxSequenceNum, rotatedSegment.sequenceNum);
+        }
+        nextSequenceNum = maxSequenceNum + 1;
+    }
+
+    /**
+     * Opens the active segment. Must be called once, before any data is written.
+     *
+     * @param isAppend  If true, data is appended to the existing log file (if any), otherwise it is overwritten.
+     */
+    public FileChannel open(boolean isAppend) throws IOException {
+        FileChannel channel = new FileOutputStream(activeSegmentFile, isAppend).getChannel();
+        activeSegmentSizeBytes = channel.size();
+        updateNextRotationTime();
+        return channel;
+    }
+
+    /**
+     * @param numBytes  The number of bytes about to be written.
+     * @return True if the active segment should be rotated before the bytes are written to it.
+     */
+    public boolean isRotationDue(long numBytes) {
+
+        if (System.currentTimeMillis() >= nextRotationTimeMs) {
+            if (activeSegmentSizeBytes > 0)
+                return true;
+
+            // Nothing was logged during the last period, so keep using the empty segment for this one
+            updateNextRotationTime();
+        }
+
+        // Never rotate to an empty segment
+        return maxSegmentSizeBytes > 0 && activeSegmentSizeBytes > 0
+                && activeSegmentSizeBytes + numBytes > maxSegmentSizeBytes;
+    }
+
+    /**
+     * Records that bytes have been written to the active segment.
+     */
+    public void onBytesWritten(long numBytes) {
+        activeSegmentSizeBytes += numBytes;
+    }
+
+    /**
+     * Closes the active segment, renames it and queues it for compression, and then opens a new active segment.
+     * All data must have been written to the channel before this is called.
+     *
+     * @param channel   The active segment's channel, which is closed.
+     * @return The new active segment's channel.
+     */
+    public FileChannel rotate(FileChannel channel) throws IOException {
+
+        channel.close();
+
+        File rotatedFile = new File(activeSegmentFile.getParentFile(), baseName + "." + nextSequenceNum + extension);
+        nextSequenceNum++;
+
+        Files.move(activeSegmentFile.toPath(), rotatedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        numSegmentsRotated++;
+
+        compressionExecutor.execute(() -> {
+            compress(rotatedFile);
+            deleteOldSegments();
+        });
+
+        return open(false);
+    }
+
+    /**
+     * Waits for any rotated segments to be compressed. Call this after the active segment's channel
+     * has been closed.
+     */
+    public void close() {
+        compressionExecutor.shutdown();
+        try {
+            if (!compressionExecutor.awaitTermination(CLOSE_TIMEOUT_S, TimeUnit.SECONDS)) {
+                logger.warn("Timed out waiting for rotated log segments to be compressed.");
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void updateNextRotationTime() {
+
+        if (rotationPeriodMins <= 0) {
+            nextRotationTimeMs = Long.MAX_VALUE;
+            return;
+        }
+
+        // Align to the period, starting from local midnight, so that e.g. hourly segments start on the hour
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime midnight = now.toLocalDate().atStartOfDay();
+        long minsSinceMidnight = Duration.between(midnight, now).toMinutes();
+        long numPeriods = minsSinceMidnight / rotationPeriodMins + 1;
+        nextRotationTimeMs = midnight.plusMinutes(numPeriods * rotationPeriodMins)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Compresses the file to a new file with <code>COMPRESSED_EXTENSION</code> added, and deletes the original.
+     * On failure the original file is left as is. Called from the compression thread.
+     */
+    private void compress(File file) {
+
+        File compressedFile = new File(file.getPath() + COMPRESSED_EXTENSION);
+        File tempFile = new File(compressedFile.getPath() + ".tmp");
+
+        try (InputStream inputStream = Files.newInputStream(file.toPath());
+             OutputStream outputStream = new GZIPOutputStream(new FileOutputStream(tempFile), COMPRESSION_BUFFER_SIZE_BYTES)) {
+
+            byte[] buffer = new byte[COMPRESSION_BUFFER_SIZE_BYTES];
+            int numBytesRead;
+            while ((numBytesRead = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, numBytesRead);
+            }
+        } catch (IOException e) {
+            logger.error("Could not compress rotated log segment \"" + file.getPath() + "\".", e);
+            tempFile.delete();
+            return;
+        }
+
+        try {
+            // Only appears under its final name once complete
+            Files.move(tempFile.toPath(), compressedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(file.toPath());
+        } catch (IOException e) {
+            logger.error("Could not replace rotated log segment \"" + file.getPath() + "\" with the compressed version.", e);
+        }
+    }
+
+    /**
+     * Deletes all but the newest <code>maxNumRotatedSegments</code> rotated segments. Called from the compression thread.
+     */
+    private void deleteOldSegments() {
+
+        List<RotatedSegment> rotatedSegments = findRotatedSegments();
+        Collections.sort(rotatedSegments, (a, b) -> Integer.compare(b.sequenceNum, a.sequenceNum));
+
+        List<Integer> keptSequenceNums = new ArrayList<>();
+        for (RotatedSegment rotatedSegment : rotatedSegments) {
+
+            // A segment can exist both uncompressed and compressed for a moment, these count as one
+            if (!keptSequenceNums.contains(rotatedSegment.sequenceNum) && keptSequenceNums.size() < maxNumRotatedSegments) {
+                keptSequenceNums.add(rotatedSegment.sequenceNum);
+            }
+
+            if (!keptSequenceNums.contains(rotatedSegment.sequenceNum)) {
+                if (!rotatedSegment.file.delete()) {
+                    logger.warn("Could not delete old log segment \"" + rotatedSegment.file.getPath() + "\".");
+                }
+            }
+        }
+    }
+
+    private List<RotatedSegment> findRotatedSegments() {
+
+        List<RotatedSegment> rotatedSegments = new ArrayList<>();
+
+        File[] files = activeSegmentFile.getParentFile().listFiles();
+        if (files == null)
+            return rotatedSegments;
+
+        for (File file : files) {
+            Matcher matcher = rotatedSegmentPattern.matcher(file.getName());
+            if (matcher.matches()) {
+                try {
+                    rotatedSegments.add(new RotatedSegment(file, Integer.parseInt(matcher.group(1))));
+                } catch (NumberFormatException e) {
+                    // Sequence number too large to be one of ours, ignore
+                }
+            }
+        }
+
+        return rotatedSegments;
+    }
+
+    //==============================================//
+    //============== METRIC GETTERS ================//
+    //==============================================//
+
+    public String getActiveSegmentName() {
+        return activeSegmentFile.getName();
+    }
+
+    public long getActiveSegmentSizeBytes() {
+        return activeSegmentSizeBytes;
+    }
+
+    /**
+     * @return The number of times the active segment has been rotated since this object was created.
+     */
+    public int getNumSegmentsRotated() {
+        return numSegmentsRotated;
+    }
+
+    private static class RotatedSegment {
+        final File file;
+        final int sequenceNum;
+
+        RotatedSegment(File file, int sequenceNum) {
+            this.file = file;
+            this.sequenceNum = sequenceNum;
+        }
+    }
+
+}
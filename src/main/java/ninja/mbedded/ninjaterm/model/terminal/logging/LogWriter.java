@@ -0,0 +1,578 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import ninja.mbedded.ninjaterm.util.byteBufferPool.DirectByteBufferPool;
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes data to a log file from a dedicated thread, so that the thread producing the data
+ * (the UI thread) never waits on the disk.
+ * <p>
+ * Data passed to <code>write()</code> is put on a queue which is bounded by the number of bytes in it.
+ * The writer thread takes everything on the queue at once and copies it into pooled direct buffers,
+ * which are written to the file's channel in one gathering write (group commit) once either the oldest
+ * unflushed data is <code>flushIntervalMs</code> old or <code>flushThresholdBytes</code> are waiting.
+ * The data is written exactly as given, so this can be used for binary data.
+ * <p>
+ * What happens when the queue is full (because the disk can't keep up) is set by the <code>{@link OverflowPolicy}</code>.
+ * <p>
+ * If created with a <code>{@link LogRotator}</code>, the log file is split into segments. Rotation happens on the
+ * writer thread between chunks of data (so a chunk is never split across segments).
+ * <p>
+ * The settings (public fields) must be set before <code>start()</code> is called. The metrics can be read from
+ * any thread.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LogWriter {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final int BUFFER_SIZE_BYTES = 64 * 1024;
+
+    /**
+     * The max. number of direct buffers data can wait in before being written to the channel. Data is
+     * written early if these run out before the flush threshold is reached.
+     */
+    private static final int MAX_NUM_BUFFERS = 16;
+
+    //================================================================================================//
+    //============================================== ENUMS ===========================================//
+    //================================================================================================//
+
+    /**
+     * What <code>write()</code> does when there is not enough room on the queue for the data.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until the writer thread has made room. No data is lost, but the caller is stalled.
+         */
+        BLOCK,
+        /**
+         * Throw the data away, and add it to the count of dropped bytes.
+         */
+        DROP,
+        /**
+         * Write the data (and all data after it, until the writer thread catches up) to a temporary
+         * spill file, which the writer thread then copies into the log file. No data is lost.
+         */
+        SPILL,
+    }
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    //==============================================//
+    //================== SETTINGS ==================//
+    //==============================================//
+
+    public int flushIntervalMs = 1000;
+
+    public int flushThresholdBytes = 64 * 1024;
+
+    /**
+     * If true, the log file is synced to the storage device after every flush. Ignored if the
+     * channel is not a <code>{@link FileChannel}</code>.
+     */
+    public boolean isFsyncEnabled = false;
+
+    /**
+     * The max. number of bytes which can be waiting on the queue. A single write larger than this
+     * is still accepted if the queue is empty.
+     */
+    public int maxQueueSizeBytes = 4 * 1024 * 1024;
+
+    public OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * Called from the writer thread if writing to the log file fails. The writer thread stops, and any
+     * further data passed to <code>write()</code> is dropped.
+     */
+    public LogWriterErrorListener errorListener;
+
+    //==============================================//
+    //=================== METRICS ==================//
+    //==============================================//
+
+    /**
+     * The total number of bytes taken from the queue by the writer thread (some of these may still be
+     * waiting in buffers to be flushed).
+     */
+    private volatile long numBytesWritten = 0;
+
+    private volatile long numBytesDropped = 0;
+
+    private volatile long numBytesSpilled = 0;
+
+    private volatile int queueSizeBytes = 0;
+
+    //==============================================//
+    //==================== STATE ===================//
+    //==============================================//
+
+    /**
+     * Only changed by the writer thread, when the log file is rotated.
+     */
+    private WritableByteChannel channel;
+
+    /**
+     * Null if the log file is not rotated.
+     */
+    private final LogRotator logRotator;
+
+    private final DirectByteBufferPool bufferPool = new DirectByteBufferPool(BUFFER_SIZE_BYTES, MAX_NUM_BUFFERS);
+
+    /**
+     * Buffers holding data which has not been flushed yet, in order. Only used by the writer thread.
+     */
+    private final List<ByteBuffer> pendingBuffers = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+
+    /**
+     * Non-null while data is being spilled. While this is the case, all new data goes to the spill
+     * file (and not the queue), so that the order of the data is kept.
+     */
+    private File spillFile;
+    private OutputStream spillOutputStream;
+
+    private boolean isClosing = false;
+    private boolean hasFailed = false;
+
+    private Thread writerThread;
+
+    private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @param channel   The channel to write the log data to (normally a <code>{@link FileChannel}</code>).
+     *                  This is closed by <code>close()</code>.
+     */
+    public LogWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        this.logRotator = null;
+    }
+
+    /**
+     * Creates a log writer which writes to the active segment of the given log rotator, and rotates it
+     * as needed. The active segment is opened straight away.
+     *
+     * @param logRotator    Its settings must be set before this is called. This is closed by <code>close()</code>.
+     * @param isAppend      If true, data is appended to the existing log file.
+     * @throws IOException  If the active segment could not be opened.
+     */
+    public LogWriter(LogRotator logRotator, boolean isAppend) throws IOException {
+        this.channel = logRotator.open(isAppend);
+        this.logRotator = logRotator;
+    }
+
+    public void start() {
+        writerThread = new Thread(this::run, "Log writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues data to be written to the log file. Depending on the overflow policy, this may block
+     * if the queue is full.
+     *
+     * @param data  The data to write. This must not be modified after this call.
+     */
+    public void write(byte[] data) {
+
+        if (data.length == 0)
+            return;
+
+        lock.lock();
+        try {
+            if (hasFailed || isClosing) {
+                numBytesDropped += data.length;
+                return;
+            }
+
+            boolean isFull = queueSizeBytes > 0 && queueSizeBytes + data.length > maxQueueSizeBytes;
+
+            if (spillFile != null || (isFull && overflowPolicy == OverflowPolicy.SPILL)) {
+                spill(data);
+                return;
+            }
+
+            if (isFull && overflowPolicy == OverflowPolicy.DROP) {
+                numBytesDropped += data.length;
+                return;
+            }
+
+            while (queueSizeBytes > 0 && queueSizeBytes + data.length > maxQueueSizeBytes && !hasFailed) {
+                notFull.awaitUninterruptibly();
+            }
+
+            if (hasFailed) {
+                numBytesDropped += data.length;
+                return;
+            }
+
+            queue.add(data);
+            queueSizeBytes += data.length;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes data to the spill file, creating it if needed. Must be called with the lock held.
+     */
+    private void spill(byte[] data) {
+        try {
+            if (spillFile == null) {
+                spillFile = File.createTempFile("NinjaTerm-log-spill-", ".tmp");
+                spillFile.deleteOnExit();
+                spillOutputStream = new BufferedOutputStream(new FileOutputStream(spillFile), 64 * 1024);
+            }
+            spillOutputStream.write(data);
+            numBytesSpilled += data.length;
+            notEmpty.signal();
+        } catch (IOException e) {
+            logger.error("Could not write to spill file. Dropping data.", e);
+            numBytesDropped += data.length;
+        }
+    }
+
+    /**
+     * Closes and deletes the spill file, if there is one. Used when its data can no longer be copied to the
+     * log file. Must be called with the lock held.
+     */
+    private void discardSpillFile() {
+
+        if (spillFile == null)
+            return;
+
+        try {
+            spillOutputStream.close();
+            numBytesDropped += spillFile.length();
+        } catch (IOException e) {
+            logger.warn("Could not close spill file \"" + spillFile.getPath() + "\".", e);
+        }
+        deleteSpillFile(spillFile);
+
+        spillFile = null;
+        spillOutputStream = null;
+    }
+
+    private void deleteSpillFile(File file) {
+        if (!file.delete()) {
+            logger.warn("Could not delete spill file \"" + file.getPath() + "\".");
+        }
+    }
+
+    /**
+     * Writes all queued data to the log file, and then closes it. This blocks until the writer
+     * thread has finished. If <code>start()</code> was never called, the queued data is dropped.
+     *
+     * @throws IOException  If the log file could not be closed.
+     */
+    public void close() throws IOException {
+
+        lock.lock();
+        try {
+            isClosing = true;
+            notEmpty.signal();
+
+            // Nothing would ever copy it to the log file
+            if (writerThread == null)
+                discardSpillFile();
+        } finally {
+            lock.unlock();
+        }
+
+        if (writerThread != null) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        channel.close();
+
+        if (logRotator != null)
+            logRotator.close();
+    }
+
+    private void run() {
+
+        // The time at which the oldest data which has not been flushed was written
+        long oldestUnflushedTimeMs = 0;
+        long numBytesSinceFlush = 0;
+
+        List<byte[]> chunks = new ArrayList<>();
+
+        // Taken from spillFile by this thread, and deleted once it has been copied to the log file
+        File spillFileToCopy = null;
+
+        try {
+            while (true) {
+
+                spillFileToCopy = null;
+                boolean isLastLoop;
+
+                //==============================================//
+                //============ TAKE DATA FROM QUEUE ============//
+                //==============================================//
+
+                lock.lock();
+                try {
+                    while (queue.isEmpty() && spillFile == null && !isClosing) {
+                        if (numBytesSinceFlush == 0) {
+                            notEmpty.awaitUninterruptibly();
+                        } else {
+                            // There is data to flush, so only wait until it is due
+                            long waitMs = oldestUnflushedTimeMs + flushIntervalMs - System.currentTimeMillis();
+                            if (waitMs <= 0)
+                                break;
+                            try {
+                                notEmpty.await(waitMs, TimeUnit.MILLISECONDS);
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                    }
+
+                    chunks.addAll(queue);
+                    queue.clear();
+                    queueSizeBytes = 0;
+                    notFull.signalAll();
+
+                    // The spill file is only started once the queue is full, so all of the queued
+                    // data comes before it
+                    if (chunks.isEmpty() && spillFile != null) {
+                        spillOutputStream.close();
+                        spillFileToCopy = spillFile;
+                        spillFile = null;
+                        spillOutputStream = null;
+                    }
+
+                    isLastLoop = isClosing && chunks.isEmpty() && spillFileToCopy == null;
+                } finally {
+                    lock.unlock();
+                }
+
+                //==============================================//
+                //============== WRITE TO LOG FILE =============//
+                //==============================================//
+
+                if (numBytesSinceFlush == 0)
+                    oldestUnflushedTimeMs = System.currentTimeMillis();
+
+                for (byte[] chunk : chunks) {
+                    if (logRotator != null && logRotator.isRotationDue(chunk.length)) {
+                        rotate();
+                        numBytesSinceFlush = 0;
+                        oldestUnflushedTimeMs = System.currentTimeMillis();
+                    }
+                    bufferChunk(chunk);
+                    if (logRotator != null)
+                        logRotator.onBytesWritten(chunk.length);
+                    numBytesSinceFlush += chunk.length;
+                    numBytesWritten += chunk.length;
+                }
+                chunks.clear();
+
+                if (spillFileToCopy != null) {
+                    // Everything before the spilled data must be written first
+                    writePendingBuffers();
+                    if (logRotator != null && logRotator.isRotationDue(spillFileToCopy.length())) {
+                        rotate();
+                        numBytesSinceFlush = 0;
+                    }
+                    long numBytesCopied = copySpillFile(spillFileToCopy);
+                    numBytesSinceFlush += numBytesCopied;
+                    if (logRotator != null)
+                        logRotator.onBytesWritten(numBytesCopied);
+                }
+
+                if (numBytesSinceFlush > 0 && (isLastLoop
+                        || numBytesSinceFlush >= flushThresholdBytes
+                        || System.currentTimeMillis() - oldestUnflushedTimeMs >= flushIntervalMs)) {
+                    flush();
+                    numBytesSinceFlush = 0;
+                }
+
+                if (isLastLoop)
+                    return;
+            }
+        } catch (IOException e) {
+            logger.error("Could not write to log file.", e);
+
+            lock.lock();
+            try {
+                hasFailed = true;
+                numBytesDropped += queueSizeBytes;
+                queue.clear();
+                queueSizeBytes = 0;
+                notFull.signalAll();
+
+                // Nothing else will be written to the log file, so don't leave the spilled data behind
+                discardSpillFile();
+            } finally {
+                lock.unlock();
+            }
+
+            if (spillFileToCopy != null && spillFileToCopy.exists())
+                deleteSpillFile(spillFileToCopy);
+
+            if (errorListener != null)
+                errorListener.onError(e);
+        }
+    }
+
+    /**
+     * Copies a chunk of data into the pending buffers, writing them out early if the pool runs out.
+     */
+    private void bufferChunk(byte[] chunk) throws IOException {
+
+        int offset = 0;
+        while (offset < chunk.length) {
+
+            ByteBuffer buffer = pendingBuffers.isEmpty() ? null : pendingBuffers.get(pendingBuffers.size() - 1);
+            if (buffer == null || !buffer.hasRemaining()) {
+                buffer = bufferPool.acquire();
+                if (buffer == null) {
+                    writePendingBuffers();
+                    buffer = bufferPool.acquire();
+                }
+                pendingBuffers.add(buffer);
+            }
+
+            int numBytes = Math.min(buffer.remaining(), chunk.length - offset);
+            buffer.put(chunk, offset, numBytes);
+            offset += numBytes;
+        }
+    }
+
+    /**
+     * Writes all pending buffers to the channel (with a single gathering write if supported) and
+     * returns them to the pool.
+     */
+    private void writePendingBuffers() throws IOException {
+
+        if (pendingBuffers.isEmpty())
+            return;
+
+        ByteBuffer[] buffers = pendingBuffers.toArray(new ByteBuffer[pendingBuffers.size()]);
+        for (ByteBuffer buffer : buffers) {
+            buffer.flip();
+        }
+
+        if (channel instanceof GatheringByteChannel) {
+            GatheringByteChannel gatheringByteChannel = (GatheringByteChannel) channel;
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                gatheringByteChannel.write(buffers);
+            }
+        } else {
+            for (ByteBuffer buffer : buffers) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+
+        for (ByteBuffer buffer : buffers) {
+            bufferPool.release(buffer);
+        }
+        pendingBuffers.clear();
+    }
+
+    /**
+     * Copies the spill file to the channel (without it passing through the heap), and deletes it.
+     *
+     * @return The number of bytes copied.
+     */
+    private long copySpillFile(File file) throws IOException {
+
+        long size;
+        try (FileChannel spillChannel = new FileInputStream(file).getChannel()) {
+            size = spillChannel.size();
+            long position = 0;
+            while (position < size) {
+                position += spillChannel.transferTo(position, size - position, channel);
+            }
+            numBytesWritten += size;
+        }
+
+        deleteSpillFile(file);
+
+        return size;
+    }
+
+    /**
+     * Flushes everything to the active segment, and then switches to a new one.
+     */
+    private void rotate() throws IOException {
+        flush();
+        channel = logRotator.rotate((FileChannel) channel);
+    }
+
+    private void flush() throws IOException {
+        writePendingBuffers();
+        if (isFsyncEnabled && channel instanceof FileChannel) {
+            ((FileChannel) channel).force(false);
+        }
+    }
+
+    //==============================================//
+    //============== METRIC GETTERS ================//
+    //==============================================//
+
+    /**
+     * @return The total number of bytes written to the log file (not necessarily flushed yet).
+     */
+    public long getNumBytesWritten() {
+        return numBytesWritten;
+    }
+
+    public long getNumBytesDropped() {
+        return numBytesDropped;
+    }
+
+    public long getNumBytesSpilled() {
+        return numBytesSpilled;
+    }
+
+    /**
+     * @return The number of bytes waiting on the queue to be written.
+     */
+    public int getQueueSizeBytes() {
+        return queueSizeBytes;
+    }
+
+}
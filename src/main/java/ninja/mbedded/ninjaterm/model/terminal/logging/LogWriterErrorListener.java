@@ -0,0 +1,15 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import java.io.IOException;
+
+/**
+ * Interface for listeners listening for when a <code>{@link LogWriter}</code> fails to write to the log file.
+ * This is called from the writer thread.
+ *
+ * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since           2026-10-19
+ * @last-modified   2026-10-19
+ */
+public interface LogWriterErrorListener {
+    void onError(IOException e);
+}
@@ -1,31 +1,64 @@
 package ninja.mbedded.ninjaterm.model.terminal.logging;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.util.Duration;
 import ninja.mbedded.ninjaterm.model.terminal.txRx.RawDataReceivedListener;
+import ninja.mbedded.ninjaterm.model.terminal.txRx.RawDataSentTxListener;
 import ninja.mbedded.ninjaterm.model.Model;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
 import ninja.mbedded.ninjaterm.model.terminal.txRx.StreamedDataListener;
+import ninja.mbedded.ninjaterm.util.comPort.OnRxDataListener;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedDataFormatter.StreamedDataFormatter;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import org.slf4j.Logger;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 
 /**
  * Model containing data and logic for the logging of TX/RX data from a COM port.
  *
+ * The data is written to the log file by a <code>{@link LogWriter}</code>, on its own thread. A binary
+ * capture of all RX/TX data can also be written alongside the log file, see <code>{@link CaptureWriter}</code>.
+ *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-09-22
- * @last-modified   2016-10-17
+ * @last-modified   2026-10-19
  */
 public class Logging {
 
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final int DEFAULT_FLUSH_INTERVAL_MS = 1000;
+    public static final int DEFAULT_FLUSH_THRESHOLD_BYTES = 64 * 1024;
+    public static final int DEFAULT_MAX_QUEUE_SIZE_BYTES = 4 * 1024 * 1024;
+
+    public static final int DEFAULT_MAX_SEGMENT_SIZE_MB = 10;
+    public static final int DEFAULT_MAX_NUM_ROTATED_SEGMENTS = 10;
+
+    private static final double METRICS_UPDATE_PERIOD_MS = 1000.0;
+
     //================================================================================================//
     //============================================== ENUMS ===========================================//
     //================================================================================================//
@@ -42,7 +75,14 @@ public class Logging {
      * The different data streams that can be logged.
      */
     public enum WhatAreWeLogging {
+        /**
+         * The exact bytes received from the COM port.
+         */
+        RAW_RX_DATA,
         RAW_RX_DATA_AS_ASCII,
+        /**
+         * The RX data as shown in the RX pane (after filtering), with time stamps.
+         */
         RX_PANE_OUTPUT,
     }
 
@@ -61,14 +101,158 @@ public class Logging {
 
     public SimpleObjectProperty<WhatAreWeLogging> selWhatAreWeLogging = new SimpleObjectProperty<>(WhatAreWeLogging.RAW_RX_DATA_AS_ASCII);
 
+    /**
+     * Whether colours are kept (as ANSI escape codes) or stripped when logging the RX pane output.
+     */
+    public SimpleObjectProperty<StreamedDataFormatter.ColourMode> selRxPaneOutputColourMode = new SimpleObjectProperty<>(StreamedDataFormatter.ColourMode.STRIP);
+
+    /**
+     * If true, a binary capture file (with the same name as the log file, but with the extension
+     * <code>CaptureFormat.FILE_EXTENSION</code>) is also written, holding all time stamped RX/TX data.
+     */
+    public SimpleBooleanProperty isCaptureEnabled = new SimpleBooleanProperty(false);
+
+    //==============================================//
+    //============== LOG WRITER SETTINGS ===========//
+    //==============================================//
+
+    // These are applied when logging is enabled
+
+    /**
+     * The max. time (in milliseconds) data is kept in memory before being flushed to the log file.
+     */
+    public SimpleIntegerProperty flushIntervalMs = new SimpleIntegerProperty(DEFAULT_FLUSH_INTERVAL_MS);
+
+    /**
+     * The log file is flushed early if this many bytes have been written since the last flush.
+     */
+    public SimpleIntegerProperty flushThresholdBytes = new SimpleIntegerProperty(DEFAULT_FLUSH_THRESHOLD_BYTES);
+
+    /**
+     * If true, the log file is synced to disk (fsync) after every flush.
+     */
+    public SimpleBooleanProperty isFsyncEnabled = new SimpleBooleanProperty(false);
+
+    public SimpleIntegerProperty maxQueueSizeBytes = new SimpleIntegerProperty(DEFAULT_MAX_QUEUE_SIZE_BYTES);
+
+    /**
+     * What to do with new data if the disk can't keep up.
+     */
+    public SimpleObjectProperty<LogWriter.OverflowPolicy> selOverflowPolicy = new SimpleObjectProperty<>(LogWriter.OverflowPolicy.BLOCK);
+
+    //==============================================//
+    //=============== ROTATION SETTINGS ============//
+    //==============================================//
+
+    // These are applied when logging is enabled
+
+    /**
+     * If true, the log file is split into segments, see <code>{@link LogRotator}</code>.
+     */
+    public SimpleBooleanProperty isRotationEnabled = new SimpleBooleanProperty(false);
+
+    /**
+     * The log file is rotated once it reaches this size. 0 disables size-based rotation.
+     */
+    public SimpleIntegerProperty maxSegmentSizeMB = new SimpleIntegerProperty(DEFAULT_MAX_SEGMENT_SIZE_MB);
+
+    /**
+     * The log file is rotated at every multiple of this period since midnight. 0 disables time-based rotation.
+     */
+    public SimpleIntegerProperty rotationPeriodMins = new SimpleIntegerProperty(0);
+
+    /**
+     * The number of rotated (compressed) segments which are kept.
+     */
+    public SimpleIntegerProperty maxNumRotatedSegments = new SimpleIntegerProperty(DEFAULT_MAX_NUM_ROTATED_SEGMENTS);
+
+    //==============================================//
+    //============== LOG WRITER METRICS ============//
+    //==============================================//
+
+    // These are updated once every METRICS_UPDATE_PERIOD_MS while logging
+
+    public SimpleIntegerProperty queueSizeBytes = new SimpleIntegerProperty(0);
+
+    public SimpleDoubleProperty writeBytesPerSecond = new SimpleDoubleProperty(0.0);
+
+    public SimpleLongProperty numBytesDropped = new SimpleLongProperty(0);
+
+    public SimpleLongProperty numBytesSpilled = new SimpleLongProperty(0);
+
+    /**
+     * The file name of the segment currently being written to. Empty if rotation is not enabled.
+     */
+    public SimpleStringProperty activeSegmentName = new SimpleStringProperty("");
+
+    public SimpleLongProperty activeSegmentSizeBytes = new SimpleLongProperty(0);
+
+    public SimpleIntegerProperty numSegmentsRotated = new SimpleIntegerProperty(0);
+
     private Model model;
     private Terminal terminal;
 
+    private OnRxDataListener rawRxDataListener;
     private RawDataReceivedListener rawDataReceivedListener;
     private StreamedDataListener newOutputListener;
 
-    private FileWriter fileWriter;
-    private BufferedWriter bufferedWriter;
+    private OnRxDataListener rxCaptureListener;
+    private RawDataSentTxListener txCaptureListener;
+
+    /**
+     * Converts the RX pane output into text. Re-created every time logging is enabled.
+     */
+    private StreamedDataFormatter rxPaneOutputFormatter;
+
+    /**
+     * Re-used to hold the text output by <code>rxPaneOutputFormatter</code>.
+     */
+    private final StringBuilder rxPaneOutputText = new StringBuilder();
+
+    /**
+     * Encodes text the same way as the FileWriter that used to be used here (the platform's default charset).
+     * Only used from the UI thread.
+     */
+    private final CharsetEncoder charsetEncoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /**
+     * Re-used to hold the output of <code>charsetEncoder</code>. Grown as needed.
+     */
+    private ByteBuffer encodedTextBuffer = ByteBuffer.allocate(4096);
+
+    /**
+     * Volatile as this is read by the COM port's RX thread when logging raw data.
+     */
+    private volatile LogWriter logWriter;
+
+    /**
+     * Null if rotation is not enabled.
+     */
+    private LogRotator logRotator;
+
+    /**
+     * Null if capturing is not enabled. Volatile as this is read by the COM port's RX thread.
+     */
+    private volatile CaptureWriter captureWriter;
+
+    /**
+     * Closes the files when logging is disabled, see <code>disableLogging()</code>. Null if logging has not
+     * been disabled yet.
+     */
+    private Thread closingThread;
+
+    /**
+     * Used to calculate the write rate.
+     */
+    private long numBytesWrittenAtLastUpdate = 0;
+
+    /**
+     * Samples the log writer metrics. Only running while logging, as a running Timeline is referenced by the
+     * JavaFX toolkit (which would keep this object, and the terminal, from being garbage collected).
+     */
+    private final Timeline metricsTimeline;
 
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
 
@@ -86,16 +270,43 @@ public class Logging {
         // Set the default log file path
         logFilePath.set(buildDefaultLogFilePath());
 
+        // Called from the COM port's RX thread
+        rawRxDataListener = rxData -> {
+            LogWriter currLogWriter = logWriter;
+            if(currLogWriter != null) {
+                // The RX data array is not re-used, so it can be queued without copying
+                currLogWriter.write(rxData);
+            }
+        };
+
+        // Called from the COM port's RX thread
+        rxCaptureListener = rxData -> {
+            CaptureWriter currCaptureWriter = captureWriter;
+            if(currCaptureWriter != null) {
+                currCaptureWriter.write(CaptureRecord.Direction.RX, terminal.id, rxData);
+            }
+        };
+
+        txCaptureListener = txData -> {
+            captureWriter.write(CaptureRecord.Direction.TX, terminal.id, txData);
+        };
+
         rawDataReceivedListener = data -> {
             saveNewDataToLogFile(data);
         };
 
         newOutputListener = streamedText -> {
-            // Convert the StreamedData object into a linear String with new lines
-            // inserted at the correct places.
-//            String ansiParserOutputText = streamedText.convertToStringWithNewLines("\r\n");
-//            saveNewDataToLogFile(ansiParserOutputText);
+            // Convert the StreamedData object into text with new lines
+            // inserted at the correct places. Only complete lines are output
+            rxPaneOutputFormatter.format(streamedText, rxPaneOutputText);
+            saveRxPaneOutputText();
         };
+
+        // Setup timer to sample the log writer metrics at a fixed rate
+        metricsTimeline = new Timeline(new KeyFrame(
+                Duration.millis(METRICS_UPDATE_PERIOD_MS),
+                ae -> updateMetrics()));
+        metricsTimeline.setCycleCount(Animation.INDEFINITE);
     }
 
     private String buildDefaultLogFilePath() {
@@ -117,6 +328,12 @@ public class Logging {
         if(isLogging.get())
             return;
 
+        // The old log writer may still be writing to the same file
+        if(isClosing()) {
+            model.status.addErr("The previous log file is still being closed, please try again shortly.");
+            return;
+        }
+
         boolean isAppend;
         if(selFileBehaviour.get() == FileBehaviour.APPEND) {
             isAppend = true;
@@ -128,9 +345,18 @@ public class Logging {
 
         // Open file whose file path is specified in the model
         try {
-            // The second parameter determines whether we overwrite or append
-            fileWriter = new FileWriter(logFilePath.get(), isAppend);
-            bufferedWriter = new BufferedWriter(fileWriter);
+            if(isRotationEnabled.get()) {
+                logRotator = new LogRotator(new File(logFilePath.get()));
+                logRotator.maxSegmentSizeBytes = maxSegmentSizeMB.get() * 1024L * 1024L;
+                logRotator.rotationPeriodMins = rotationPeriodMins.get();
+                logRotator.maxNumRotatedSegments = maxNumRotatedSegments.get();
+                logWriter = new LogWriter(logRotator, isAppend);
+            } else {
+                logRotator = null;
+                // The second parameter determines whether we overwrite or append
+                FileOutputStream fileOutputStream = new FileOutputStream(logFilePath.get(), isAppend);
+                logWriter = new LogWriter(fileOutputStream.getChannel());
+            }
         } catch (IOException e) {
             model.status.addErr("Could not open log file for writing. Reported error: " + e.getMessage());
 
@@ -138,12 +364,66 @@ public class Logging {
             return;
         }
 
+        logWriter.flushIntervalMs = flushIntervalMs.get();
+        logWriter.flushThresholdBytes = flushThresholdBytes.get();
+        logWriter.isFsyncEnabled = isFsyncEnabled.get();
+        logWriter.maxQueueSizeBytes = maxQueueSizeBytes.get();
+        logWriter.overflowPolicy = selOverflowPolicy.get();
+        logWriter.errorListener = e -> Platform.runLater(() -> {
+            model.status.addErr("Could not write to log file. Reported error: " + e.getMessage() + ". Disabling logging.");
+
+            // Something has gone wrong, disable logging
+            disableLogging();
+        });
+        logWriter.start();
+
+        if(isCaptureEnabled.get()) {
+            File captureFile = CaptureFormat.getCaptureFile(new File(logFilePath.get()));
+            CaptureWriter newCaptureWriter = new CaptureWriter(captureFile);
+            newCaptureWriter.flushIntervalMs = flushIntervalMs.get();
+            newCaptureWriter.flushThresholdBytes = flushThresholdBytes.get();
+            newCaptureWriter.isFsyncEnabled = isFsyncEnabled.get();
+            newCaptureWriter.maxQueueSizeBytes = maxQueueSizeBytes.get();
+            newCaptureWriter.errorListener = e -> Platform.runLater(() -> {
+                model.status.addErr("Could not write to capture file. Reported error: " + e.getMessage() + ". Disabling logging.");
+                disableLogging();
+            });
+            try {
+                newCaptureWriter.start();
+            } catch (IOException e) {
+                model.status.addErr("Could not open capture file for writing. Reported error: " + e.getMessage());
+                try {
+                    logWriter.close();
+                } catch (IOException closeException) {
+                    logger.error("Could not close log file.", closeException);
+                }
+                logWriter = null;
+                logRotator = null;
+                return;
+            }
+            captureWriter = newCaptureWriter;
+
+            terminal.rawRxDataListeners.add(rxCaptureListener);
+            terminal.txRx.rawDataSentTxListeners.add(txCaptureListener);
+
+            model.status.addMsg("Capturing to \"" + captureFile.getPath() + "\".");
+        }
+
+        numBytesWrittenAtLastUpdate = 0;
+        updateMetrics();
+        metricsTimeline.play();
+
         // Add listener at the correct point along the RX data processing chain.
         // This will cause saveNewDataToLogFile() to be called when there is new RX data
-        if(selWhatAreWeLogging.get() == WhatAreWeLogging.RAW_RX_DATA_AS_ASCII) {
+        if(selWhatAreWeLogging.get() == WhatAreWeLogging.RAW_RX_DATA) {
+            // Listen to the bytes coming from the COM port, before they are decoded
+            terminal.rawRxDataListeners.add(rawRxDataListener);
+        } else if(selWhatAreWeLogging.get() == WhatAreWeLogging.RAW_RX_DATA_AS_ASCII) {
             // Listen to the raw RX data coming from the COM port
             terminal.txRx.rxDataEngine.rawDataReceivedListeners.add(rawDataReceivedListener);
         } else if (selWhatAreWeLogging.get() == WhatAreWeLogging.RX_PANE_OUTPUT){
+            rxPaneOutputFormatter = new StreamedDataFormatter();
+            rxPaneOutputFormatter.colourMode = selRxPaneOutputColourMode.get();
             terminal.txRx.rxDataEngine.newOutputListeners.add(newOutputListener);
         } else {
             throw new RuntimeException("WhatAreWeLogging enum unsupported.");
@@ -155,28 +435,73 @@ public class Logging {
     }
 
     /**
-     * Appends the given data to the end of the log file.
+     * Appends the given data to the end of the log file. This only queues the data, it is written
+     * to the file by the log writer thread.
      * @param data  The data to append to the log file.
      */
-    private void saveNewDataToLogFile(String data) {
+    private void saveNewDataToLogFile(CharSequence data) {
 
-        //System.out.println("Logging to file. data = " + data);
-        try {
-            bufferedWriter.write(data);
+        if(data.length() == 0)
+            return;
 
-            // This forces the data to be written to the file. If serious processor/disk loading
-            // occurs, it may be wiser to put this on a timer, e.g. once per second.
-            bufferedWriter.flush();
-        } catch (IOException e) {
-            model.status.addErr("Could not write to log file. Reported error: " + e.getMessage() + ". Disabling logging.");
+        int maxNumBytes = (int) Math.ceil(data.length() * charsetEncoder.maxBytesPerChar());
+        if(encodedTextBuffer.capacity() < maxNumBytes) {
+            encodedTextBuffer = ByteBuffer.allocate(maxNumBytes);
+        }
 
-            // Something has gone wrong, disable logging
-            disableLogging();
+        encodedTextBuffer.clear();
+        charsetEncoder.reset();
+        charsetEncoder.encode(CharBuffer.wrap(data), encodedTextBuffer, true);
+        charsetEncoder.flush(encodedTextBuffer);
+
+        // The log writer keeps hold of the array, so it has to be a copy
+        logWriter.write(Arrays.copyOf(encodedTextBuffer.array(), encodedTextBuffer.position()));
+    }
+
+    private void saveRxPaneOutputText() {
+        saveNewDataToLogFile(rxPaneOutputText);
+        rxPaneOutputText.setLength(0);
+    }
+
+    /**
+     * Samples the log writer metrics into the properties. This should be called once every
+     * <code>METRICS_UPDATE_PERIOD_MS</code> by <code>metricsTimeline</code> while logging.
+     */
+    private void updateMetrics() {
+
+        if(logWriter == null)
+            return;
+
+        updateMetrics(logWriter, logRotator);
+    }
+
+    private void updateMetrics(LogWriter logWriter, LogRotator logRotator) {
+
+        queueSizeBytes.set(logWriter.getQueueSizeBytes());
+
+        long numBytesWritten = logWriter.getNumBytesWritten();
+        writeBytesPerSecond.set((numBytesWritten - numBytesWrittenAtLastUpdate) / (METRICS_UPDATE_PERIOD_MS / 1000.0));
+        numBytesWrittenAtLastUpdate = numBytesWritten;
+
+        numBytesDropped.set(logWriter.getNumBytesDropped());
+        numBytesSpilled.set(logWriter.getNumBytesSpilled());
+
+        if(logRotator != null) {
+            activeSegmentName.set(logRotator.getActiveSegmentName());
+            activeSegmentSizeBytes.set(logRotator.getActiveSegmentSizeBytes());
+            numSegmentsRotated.set(logRotator.getNumSegmentsRotated());
+        } else {
+            activeSegmentName.set("");
+            activeSegmentSizeBytes.set(0);
+            numSegmentsRotated.set(0);
         }
     }
 
     /**
-     * Disables logging.
+     * Disables logging. The listeners are removed straight away, but the files are closed on a background thread
+     * (as this waits for all queued data to be written and any rotated segments to be compressed), so this
+     * does not block the UI thread. A message is added to the status once the files are closed.
+     * Call <code>waitUntilClosed()</code> to wait for this.
      */
     public void disableLogging() {
 
@@ -185,28 +510,93 @@ public class Logging {
             return;
 
         isLogging.set(false);
+        metricsTimeline.stop();
 
         // Remove listener at the correct point along the RX data processing chain.
         // This will stop saveNewDataToLogFile() from being called.
-        if(selWhatAreWeLogging.get() == WhatAreWeLogging.RAW_RX_DATA_AS_ASCII) {
+        if(selWhatAreWeLogging.get() == WhatAreWeLogging.RAW_RX_DATA) {
+            terminal.rawRxDataListeners.remove(rawRxDataListener);
+        } else if(selWhatAreWeLogging.get() == WhatAreWeLogging.RAW_RX_DATA_AS_ASCII) {
             // Listen to the raw RX data coming from the COM port
             terminal.txRx.rxDataEngine.rawDataReceivedListeners.remove(rawDataReceivedListener);
         } else if (selWhatAreWeLogging.get() == WhatAreWeLogging.RX_PANE_OUTPUT){
             terminal.txRx.rxDataEngine.newOutputListeners.remove(newOutputListener);
+
+            // Log the last partial line
+            rxPaneOutputFormatter.flush(rxPaneOutputText);
+            saveRxPaneOutputText();
         } else {
             throw new RuntimeException("WhatAreWeLogging enum unsupported.");
         }
 
-        // Now close the file
-        try {
-            bufferedWriter.close();
-        } catch (IOException e) {
-            model.status.addErr("Could not close log file. Reported error: " + e.getMessage());
-            // Not that isLogging will still transistion to false. Do we want this?
+        if(captureWriter != null) {
+            terminal.rawRxDataListeners.remove(rxCaptureListener);
+            terminal.txRx.rawDataSentTxListeners.remove(txCaptureListener);
+        }
+
+        // Nothing else is written to these, they are now owned by the closing thread
+        CaptureWriter closingCaptureWriter = captureWriter;
+        LogWriter closingLogWriter = logWriter;
+        LogRotator closingLogRotator = logRotator;
+        String closingLogFilePath = logFilePath.get();
+
+        captureWriter = null;
+        logWriter = null;
+        logRotator = null;
+        writeBytesPerSecond.set(0.0);
+
+        // Not a daemon, so the JVM does not exit before the queued data has been written
+        closingThread = new Thread(() -> {
+
+            if(closingCaptureWriter != null) {
+                try {
+                    closingCaptureWriter.close();
+                } catch (IOException e) {
+                    Platform.runLater(() -> model.status.addErr("Could not close capture file. Reported error: " + e.getMessage()));
+                }
+            }
+
+            // This waits for all queued data to be written (and any rotated segments to be compressed)
+            try {
+                closingLogWriter.close();
+            } catch (IOException e) {
+                Platform.runLater(() -> model.status.addErr("Could not close log file. Reported error: " + e.getMessage()));
+                return;
+            }
+
+            Platform.runLater(() -> {
+                // Show the final metrics, unless logging has been enabled again since
+                if(logWriter == null) {
+                    updateMetrics(closingLogWriter, closingLogRotator);
+                    writeBytesPerSecond.set(0.0);
+                }
+                model.status.addMsg("Log file \"" + closingLogFilePath + "\" closed.");
+            });
+        }, "Log closer");
+        closingThread.start();
+    }
+
+    /**
+     * Blocks until the files from the last call to <code>disableLogging()</code> have been closed, i.e. until all
+     * queued data has been written to them. Used when the app is closing.
+     */
+    public void waitUntilClosed() {
+
+        if(closingThread == null)
             return;
+
+        try {
+            closingThread.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        model.status.addMsg("Log file \"" + logFilePath.get() + "\" closed.");
+    /**
+     * @return True if the files from the last call to <code>disableLogging()</code> are still being closed.
+     */
+    public boolean isClosing() {
+        return closingThread != null && closingThread.isAlive();
     }
 
 }
@@ -0,0 +1,612 @@
+package ninja.mbedded.ninjaterm.model.terminal.scrollback;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import ninja.mbedded.ninjaterm.model.Model;
+import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.AnsiECParser;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedDataFormatter.StreamedDataFormatter;
+import ninja.mbedded.ninjaterm.util.scrollback.CompressedLineStore;
+import ninja.mbedded.ninjaterm.util.scrollback.LineStore;
+import ninja.mbedded.ninjaterm.util.scrollback.MemoryMappedLineStore;
+import ninja.mbedded.ninjaterm.util.scrollback.ScrollbackExporter;
+import ninja.mbedded.ninjaterm.util.scrollback.ScrollbackStore;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Model containing the complete line history of the RX pane of a terminal.
+ * <p>
+ * The RX pane only holds the last <code>Display.bufferSizeChars</code> characters. Every completed line output
+ * by the RX data engine is also added to a <code>{@link ScrollbackStore}</code>, which keeps the newest lines
+ * in memory and spills older lines to either a memory-mapped file on disk (so the heap does not grow), or to
+ * compressed blocks on the heap (for when there is no disk to spill to), depending on <code>storeType</code>.
+ * The oldest spilled lines are removed once they take up <code>maxHistorySizeMB</code>.
+ * <p>
+ * Lines are stored with their ANSI colour escape codes, so they can be exported with colour. The codes are
+ * removed from the lines returned by <code>getLine()</code>.
+ * <p>
+ * Like the RX pane, the history is cleared whenever the RX data is cleared (including when a filter is
+ * re-applied to the buffered data). All methods must be called from the UI thread. Exporting and searching read
+ * the history from a background thread, so all access to the store is synchronized on <code>storeLock</code>.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class Scrollback {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    /**
+     * The number of lines read from the store at a time while exporting (each read holds the store lock).
+     */
+    private static final int EXPORT_CHUNK_NUM_LINES = 1000;
+
+    private static final int EXPORT_BUFFER_SIZE_BYTES = 256 * 1024;
+
+    private static final long EXPORT_PROGRESS_UPDATE_PERIOD_MS = 100;
+
+    public static final int DEFAULT_MAX_HISTORY_SIZE_MB = 256;
+
+    /**
+     * The number of lines searched at a time (each chunk holds the store lock, so new lines can be added in between).
+     */
+    private static final int SEARCH_CHUNK_NUM_LINES = 1000;
+
+    /**
+     * Passed to the <code>startSearch()</code> callback when no matching line was found.
+     */
+    public static final long SEARCH_NO_MATCH = -1;
+
+    /**
+     * Passed to the <code>startSearch()</code> callback when the search was cancelled, or the history was cleared.
+     */
+    public static final long SEARCH_STOPPED = -2;
+
+    //================================================================================================//
+    //============================================= ENUMS ============================================//
+    //================================================================================================//
+
+    public enum StoreType {
+        DISK("Disk (memory-mapped)"),
+        COMPRESSED_MEMORY("Memory (compressed)");
+
+        private String label;
+
+        StoreType(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    /**
+     * Where lines are spilled to once they are no longer in the (uncompressed) in-memory window.
+     * Changing this clears the history.
+     */
+    public SimpleObjectProperty<StoreType> storeType = new SimpleObjectProperty<>(StoreType.DISK);
+
+    /**
+     * The max. size (as stored, i.e. on disk or after compression) of the spilled lines. Once this is reached,
+     * the oldest lines are removed. 0 means no limit.
+     */
+    public SimpleIntegerProperty maxHistorySizeMB = new SimpleIntegerProperty(DEFAULT_MAX_HISTORY_SIZE_MB);
+
+    //==============================================//
+    //=================== METRICS ==================//
+    //==============================================//
+
+    /**
+     * The total number of lines in the history (in memory and spilled).
+     */
+    public SimpleLongProperty numLines = new SimpleLongProperty(0);
+
+    /**
+     * The number of lines which have been spilled out of the in-memory window.
+     */
+    public SimpleLongProperty numLinesSpilled = new SimpleLongProperty(0);
+
+    /**
+     * The number of the oldest lines which have been removed because of <code>maxHistorySizeMB</code>, since the
+     * history was last cleared.
+     */
+    public SimpleLongProperty numLinesRemoved = new SimpleLongProperty(0);
+
+    /**
+     * The size of the spilled lines, as stored (i.e. on disk or after compression).
+     */
+    public SimpleLongProperty storedSizeBytes = new SimpleLongProperty(0);
+
+    /**
+     * The uncompressed size of the spilled lines, divided by the space they take up. 1.0 when nothing is spilled.
+     */
+    public SimpleDoubleProperty compressionRatio = new SimpleDoubleProperty(1.0);
+
+    /**
+     * An estimate of the heap used by the history.
+     */
+    public SimpleLongProperty heapUsedBytes = new SimpleLongProperty(0);
+
+    //==============================================//
+    //=================== EXPORT ===================//
+    //==============================================//
+
+    public ReadOnlyBooleanWrapper isExporting = new ReadOnlyBooleanWrapper(false);
+
+    /**
+     * 0.0-1.0 while exporting.
+     */
+    public SimpleDoubleProperty exportProgress = new SimpleDoubleProperty(0.0);
+
+    private volatile boolean isExportCancelled = false;
+
+    //==============================================//
+    //=================== SEARCH ===================//
+    //==============================================//
+
+    public ReadOnlyBooleanWrapper isSearching = new ReadOnlyBooleanWrapper(false);
+
+    private volatile boolean isSearchCancelled = false;
+
+    private Model model;
+    private Terminal terminal;
+
+    private final Object storeLock = new Object();
+
+    /**
+     * Only accessed while synchronized on <code>storeLock</code>.
+     */
+    private ScrollbackStore scrollbackStore;
+
+    /**
+     * Incremented every time the history is cleared (or the store replaced), so that an export in progress
+     * can tell its lines have gone. Only accessed while synchronized on <code>storeLock</code>.
+     */
+    private int historyGeneration = 0;
+
+    /**
+     * Converts the RX data engine output into lines of text, with ANSI colour codes.
+     * Re-created whenever the history is cleared.
+     */
+    private StreamedDataFormatter formatter;
+
+    /**
+     * Re-used to hold the text output by <code>formatter</code>.
+     */
+    private final StringBuilder formattedText = new StringBuilder();
+
+    /**
+     * Set if the store fails (e.g. the disk is full), after which no more lines are added.
+     */
+    private boolean hasFailed = false;
+
+    private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public Scrollback(Model model, Terminal terminal) {
+
+        this.model = model;
+        this.terminal = terminal;
+
+        formatter = createFormatter();
+        scrollbackStore = createScrollbackStore(storeType.get());
+
+        storeType.addListener((observable, oldValue, newValue) -> {
+            synchronized (storeLock) {
+                closeScrollbackStore();
+                scrollbackStore = createScrollbackStore(newValue);
+                historyGeneration++;
+            }
+            clear();
+        });
+
+        maxHistorySizeMB.addListener((observable, oldValue, newValue) -> {
+            try {
+                synchronized (storeLock) {
+                    scrollbackStore.setMaxSpilledSizeBytes(newValue.intValue() * 1024L * 1024L);
+                }
+            } catch (IOException e) {
+                logger.error("Could not trim scrollback store.", e);
+                model.status.addErr("Could not remove old lines from the RX history.");
+            }
+            updateMetrics();
+        });
+
+        terminal.txRx.rxDataEngine.newOutputListeners.add(streamedData -> {
+            // Only complete lines are output
+            formatter.format(streamedData, formattedText);
+            addLines();
+        });
+
+        terminal.txRx.rxDataClearedListeners.add(this::clear);
+    }
+
+    private StreamedDataFormatter createFormatter() {
+        StreamedDataFormatter newFormatter = new StreamedDataFormatter();
+        newFormatter.colourMode = StreamedDataFormatter.ColourMode.ANSI;
+        newFormatter.lineSeparator = "\n";
+        return newFormatter;
+    }
+
+    private ScrollbackStore createScrollbackStore(StoreType storeType) {
+        LineStore spillStore;
+        switch (storeType) {
+            case DISK:
+                spillStore = new MemoryMappedLineStore();
+                break;
+            case COMPRESSED_MEMORY:
+                spillStore = new CompressedLineStore();
+                break;
+            default:
+                throw new RuntimeException("StoreType enum unsupported.");
+        }
+        ScrollbackStore newScrollbackStore = new ScrollbackStore(ScrollbackStore.DEFAULT_MAX_NUM_LINES_IN_MEMORY, spillStore);
+        try {
+            newScrollbackStore.setMaxSpilledSizeBytes(maxHistorySizeMB.get() * 1024L * 1024L);
+        } catch (IOException e) {
+            // Nothing to remove from an empty store
+            throw new RuntimeException(e);
+        }
+        return newScrollbackStore;
+    }
+
+    private void addLines() {
+
+        if (formattedText.length() == 0 || hasFailed)
+            return;
+
+        try {
+            synchronized (storeLock) {
+                int lineStart = 0;
+                int lineEnd;
+                while ((lineEnd = formattedText.indexOf("\n", lineStart)) != -1) {
+                    scrollbackStore.addLine(formattedText.substring(lineStart, lineEnd));
+                    lineStart = lineEnd + 1;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not add line to scrollback store.", e);
+            formattedText.setLength(0);
+
+            if (storeType.get() == StoreType.DISK) {
+                // The history spilled to disk is lost, but at least new lines can still be kept
+                model.status.addErr("Could not save RX history to disk, switching to compressed in-memory history.");
+                storeType.set(StoreType.COMPRESSED_MEMORY);
+            } else {
+                hasFailed = true;
+                model.status.addErr("Could not save RX history, no more lines will be added to the history.");
+            }
+            return;
+        }
+
+        formattedText.setLength(0);
+        updateMetrics();
+    }
+
+    /**
+     * @param lineNum   0 is the oldest line.
+     * @return The line, without any ANSI escape codes.
+     */
+    public String getLine(long lineNum) {
+        try {
+            synchronized (storeLock) {
+                return AnsiECParser.stripEscapeCodes(scrollbackStore.getLine(lineNum));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void clear() {
+        try {
+            synchronized (storeLock) {
+                scrollbackStore.clear();
+                historyGeneration++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Discard any partial line
+        formatter = createFormatter();
+        formattedText.setLength(0);
+        hasFailed = false;
+        updateMetrics();
+    }
+
+    /**
+     * Deletes the history (and any files on disk). Must be called when the terminal is closed.
+     */
+    public void close() {
+        cancelExport();
+        cancelSearch();
+        synchronized (storeLock) {
+            closeScrollbackStore();
+            historyGeneration++;
+        }
+        updateMetrics();
+    }
+
+    private void closeScrollbackStore() {
+        try {
+            scrollbackStore.close();
+        } catch (IOException e) {
+            logger.error("Could not close scrollback store.", e);
+        }
+    }
+
+    private void updateMetrics() {
+        synchronized (storeLock) {
+            LineStore spillStore = scrollbackStore.getSpillStore();
+            compressionRatio.set(spillStore.getStoredSizeBytes() == 0 ?
+                    1.0 : (double) spillStore.getSizeBytes() / spillStore.getStoredSizeBytes());
+            heapUsedBytes.set(scrollbackStore.getHeapUsedBytes());
+            storedSizeBytes.set(spillStore.getStoredSizeBytes());
+            numLinesSpilled.set(scrollbackStore.getNumLinesSpilled());
+            // Set before numLines, as listeners to numLines use this
+            numLinesRemoved.set(scrollbackStore.getNumLinesRemoved());
+            numLines.set(scrollbackStore.getNumLines());
+        }
+    }
+
+    //==============================================//
+    //=================== EXPORT ===================//
+    //==============================================//
+
+    /**
+     * Starts exporting the whole history (as it is now) to a file, on a background thread.
+     * <code>isExporting</code> is set until the export finishes, and the result is reported to the status bar.
+     *
+     * @param file  Overwritten if it exists.
+     */
+    public void startExport(File file, ScrollbackExporter.Format format) {
+
+        if (isExporting.get())
+            throw new IllegalStateException("An export is already in progress.");
+
+        long numLinesToExport;
+        long firstLineNum;
+        int generation;
+        synchronized (storeLock) {
+            numLinesToExport = scrollbackStore.getNumLines();
+            firstLineNum = scrollbackStore.getNumLinesRemoved();
+            generation = historyGeneration;
+        }
+
+        isExportCancelled = false;
+        exportProgress.set(0.0);
+        isExporting.set(true);
+
+        Thread exportThread = new Thread(() -> {
+            String result;
+            try {
+                result = export(file, format, firstLineNum, numLinesToExport, generation);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Exporting RX history failed.", e);
+                result = "Could not export RX history to \"" + file.getPath() + "\": " + e.getMessage();
+            }
+
+            String finalResult = result;
+            Platform.runLater(() -> {
+                isExporting.set(false);
+                model.status.addMsg(finalResult);
+            });
+        }, "Scrollback export");
+        exportThread.setDaemon(true);
+        exportThread.setPriority(Thread.MIN_PRIORITY);
+        exportThread.start();
+    }
+
+    public void cancelExport() {
+        isExportCancelled = true;
+    }
+
+    /**
+     * Called from the export thread.
+     *
+     * @param firstLineNum  The number of the first line to export, counting the lines removed from the store
+     *                      (see <code>ScrollbackStore.getNumLinesRemoved()</code>), as more may be removed
+     *                      while exporting.
+     * @return A message describing the result.
+     */
+    private String export(File file, ScrollbackExporter.Format format, long firstLineNum, long numLinesToExport, int generation) throws IOException {
+
+        List<String> lines = new ArrayList<>(EXPORT_CHUNK_NUM_LINES);
+        long lastProgressUpdateTimeMs = 0;
+        long endLineNum = firstLineNum + numLinesToExport;
+        long numLinesSkipped = 0;
+
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE_BYTES)) {
+
+            ScrollbackExporter exporter = new ScrollbackExporter(writer, format, System.lineSeparator());
+            exporter.writeHeader();
+
+            for (long lineNum = firstLineNum; lineNum < endLineNum; lineNum += lines.size()) {
+
+                if (isExportCancelled)
+                    return "RX history export to \"" + file.getPath() + "\" cancelled.";
+
+                // Only hold the lock while copying lines out of the store, not while writing them
+                lines.clear();
+                synchronized (storeLock) {
+                    if (historyGeneration != generation)
+                        return "RX history export to \"" + file.getPath() + "\" stopped, the history was cleared.";
+
+                    // The oldest lines may have been removed (because of the size limit) since the export started
+                    long numLinesRemoved = scrollbackStore.getNumLinesRemoved();
+                    if (lineNum < numLinesRemoved) {
+                        long newLineNum = Math.min(numLinesRemoved, endLineNum);
+                        numLinesSkipped += newLineNum - lineNum;
+                        lineNum = newLineNum;
+                    }
+
+                    int numLines = (int) Math.min(EXPORT_CHUNK_NUM_LINES, endLineNum - lineNum);
+                    for (int i = 0; i < numLines; i++) {
+                        lines.add(scrollbackStore.getLine(lineNum - numLinesRemoved + i));
+                    }
+                }
+
+                for (String line : lines) {
+                    exporter.writeLine(line);
+                }
+
+                long currTimeMs = System.currentTimeMillis();
+                if (currTimeMs - lastProgressUpdateTimeMs >= EXPORT_PROGRESS_UPDATE_PERIOD_MS) {
+                    lastProgressUpdateTimeMs = currTimeMs;
+                    double progress = (double) (lineNum + lines.size() - firstLineNum) / numLinesToExport;
+                    Platform.runLater(() -> exportProgress.set(progress));
+                }
+            }
+
+            exporter.writeFooter();
+        }
+
+        if (numLinesSkipped > 0)
+            return "Exported " + (numLinesToExport - numLinesSkipped) + " lines of RX history to \"" + file.getPath() + "\" ("
+                    + numLinesSkipped + " of the oldest lines were removed by the history size limit before they could be exported).";
+
+        return "Exported " + numLinesToExport + " lines of RX history to \"" + file.getPath() + "\".";
+    }
+
+    //==============================================//
+    //=================== SEARCH ===================//
+    //==============================================//
+
+    /**
+     * Starts finding the next line containing the given text (case-insensitive), on a background thread.
+     * <code>isSearching</code> is set until the search finishes.
+     *
+     * @param fromLineNum   The line to start searching from (inclusive).
+     * @param isForwards    If true, searches towards newer lines (up to the newest line when the search was started),
+     *                      otherwise towards older lines.
+     * @param onFinished    Called on the UI thread with the number of the first matching line (as the lines are
+     *                      numbered when it is called), <code>SEARCH_NO_MATCH</code> or <code>SEARCH_STOPPED</code>.
+     */
+    public void startSearch(String text, long fromLineNum, boolean isForwards, LongConsumer onFinished) {
+
+        if (isSearching.get())
+            throw new IllegalStateException("A search is already in progress.");
+
+        // Line numbers counting the lines removed from the store (see ScrollbackStore.getNumLinesRemoved()),
+        // as more may be removed while searching. The store is only changed on the UI thread, so the metrics
+        // are up-to-date here
+        long firstLineNum = numLinesRemoved.get();
+        long endLineNum = firstLineNum + numLines.get();
+        int generation;
+        synchronized (storeLock) {
+            generation = historyGeneration;
+        }
+
+        isSearchCancelled = false;
+        isSearching.set(true);
+
+        Thread searchThread = new Thread(() -> {
+            long result;
+            String errorMsg = null;
+            try {
+                result = search(text.toLowerCase(), firstLineNum + fromLineNum, endLineNum, isForwards, generation);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Searching RX history failed.", e);
+                errorMsg = "Could not search RX history: " + e.getMessage();
+                result = SEARCH_STOPPED;
+            }
+
+            long finalResult = result;
+            String finalErrorMsg = errorMsg;
+            Platform.runLater(() -> {
+                isSearching.set(false);
+                if (finalErrorMsg != null)
+                    model.status.addErr(finalErrorMsg);
+
+                if (finalResult < 0) {
+                    onFinished.accept(finalResult);
+                    return;
+                }
+
+                // Convert back to the current line numbering, the matching line may since have been removed
+                long lineNum = finalResult - numLinesRemoved.get();
+                onFinished.accept(lineNum >= 0 ? lineNum : SEARCH_NO_MATCH);
+            });
+        }, "Scrollback search");
+        searchThread.setDaemon(true);
+        searchThread.setPriority(Thread.MIN_PRIORITY);
+        searchThread.start();
+    }
+
+    public void cancelSearch() {
+        isSearchCancelled = true;
+    }
+
+    /**
+     * Called from the search thread.
+     *
+     * @param fromLineNum   The line to start searching from (inclusive), counting the lines removed from the store.
+     * @param endLineNum    The line after the newest line to search, counting the lines removed from the store.
+     * @return The number of the first matching line (counting the lines removed from the store),
+     * <code>SEARCH_NO_MATCH</code> or <code>SEARCH_STOPPED</code>.
+     */
+    private long search(String text, long fromLineNum, long endLineNum, boolean isForwards, int generation) throws IOException {
+
+        long lineNum = Math.min(fromLineNum, endLineNum - 1);
+
+        while (true) {
+
+            if (isSearchCancelled)
+                return SEARCH_STOPPED;
+
+            // Only hold the lock while searching one chunk, so new lines can still be added
+            synchronized (storeLock) {
+                if (historyGeneration != generation)
+                    return SEARCH_STOPPED;
+
+                // The oldest lines may have been removed (because of the size limit) since the search started
+                long numLinesRemoved = scrollbackStore.getNumLinesRemoved();
+                if (lineNum < numLinesRemoved) {
+                    if (!isForwards)
+                        return SEARCH_NO_MATCH;
+                    lineNum = numLinesRemoved;
+                }
+
+                if (lineNum >= endLineNum)
+                    return SEARCH_NO_MATCH;
+
+                long numLines = isForwards ? Math.min(SEARCH_CHUNK_NUM_LINES, endLineNum - lineNum) : SEARCH_CHUNK_NUM_LINES;
+                long matchLineNum = scrollbackStore.search(text, lineNum - numLinesRemoved, isForwards, false, numLines);
+                if (matchLineNum >= 0)
+                    return matchLineNum + numLinesRemoved;
+
+                lineNum += isForwards ? numLines : -numLines;
+            }
+        }
+    }
+
+}
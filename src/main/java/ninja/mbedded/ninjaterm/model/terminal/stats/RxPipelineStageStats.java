@@ -0,0 +1,73 @@
+package ninja.mbedded.ninjaterm.model.terminal.stats;
+
+import ninja.mbedded.ninjaterm.util.metrics.LatencyHistogram;
+import ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine.RxDataEngineMetrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * An immutable copy of the metrics for one stage of the RX data engine, taken so that they can be read from
+ * other threads (e.g. over JMX, where this is mapped to a <code>CompositeData</code>).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class RxPipelineStageStats {
+
+    private final String stage;
+    private final long numCalls;
+    private final double meanLatencyUs;
+    private final double p50LatencyUs;
+    private final double p99LatencyUs;
+    private final double maxLatencyUs;
+
+    @ConstructorProperties({"stage", "numCalls", "meanLatencyUs", "p50LatencyUs", "p99LatencyUs", "maxLatencyUs"})
+    public RxPipelineStageStats(String stage, long numCalls, double meanLatencyUs, double p50LatencyUs, double p99LatencyUs, double maxLatencyUs) {
+        this.stage = stage;
+        this.numCalls = numCalls;
+        this.meanLatencyUs = meanLatencyUs;
+        this.p50LatencyUs = p50LatencyUs;
+        this.p99LatencyUs = p99LatencyUs;
+        this.maxLatencyUs = maxLatencyUs;
+    }
+
+    /**
+     * Copies the metrics. Must be called from the thread which owns them (the UI thread).
+     */
+    public static RxPipelineStageStats copyOf(String stage, RxDataEngineMetrics.StageMetrics stageMetrics) {
+        LatencyHistogram latencyNs = stageMetrics.latencyNs;
+        return new RxPipelineStageStats(
+                stage,
+                stageMetrics.getNumCalls(),
+                latencyNs.getMean() / 1e3,
+                latencyNs.getValueAtPercentile(50) / 1e3,
+                latencyNs.getValueAtPercentile(99) / 1e3,
+                latencyNs.getMax() / 1e3);
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public long getNumCalls() {
+        return numCalls;
+    }
+
+    public double getMeanLatencyUs() {
+        return meanLatencyUs;
+    }
+
+    public double getP50LatencyUs() {
+        return p50LatencyUs;
+    }
+
+    public double getP99LatencyUs() {
+        return p99LatencyUs;
+    }
+
+    public double getMaxLatencyUs() {
+        return maxLatencyUs;
+    }
+
+}
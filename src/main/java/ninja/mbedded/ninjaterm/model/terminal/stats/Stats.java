@@ -5,17 +5,33 @@ import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.util.Duration;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.util.comPort.ComPort;
+import ninja.mbedded.ninjaterm.util.metrics.RateHistory;
+
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Model containing data and logic for statistics about a terminal (COM port).
  * <p>
  * This class does not concern itself with any global stats, but just those
  * of single terminal instance (COM port).
+ * <p>
+ * The byte counts are not incremented as data is sent/received. Instead, the COM port counts the bytes as they
+ * cross the wire, and <code>sample()</code> copies them into the properties here. <code>sample()</code> is called
+ * on a fixed tick by <code>{@link ninja.mbedded.ninjaterm.model.status.Status}</code>, so the properties (and
+ * anything bound to them) change at most once per tick, no matter how fast the data is arriving.
+ * <p>
+ * The RX pipeline lag gauges show whether the UI is keeping up with the RX data: how many bytes have been read
+ * but not yet parsed, how many chars have been parsed but not yet rendered, and how long the chunks took to get
+ * from the COM port to the RX pane.
+ * <p>
+ * <code>snapshot</code> is a copy of these stats which is updated on each sample, and is exposed over JMX.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2016-11-22
+ * @last-modified 2026-10-19
  * @since 2016-09-16
  */
 public class Stats {
@@ -26,6 +42,11 @@ public class Stats {
 
     private static final double BYTES_PER_SECOND_CALC_PERIOD_MS = 1000.0;
 
+    /**
+     * The RX pipeline metrics are copied into the snapshot once every this many samples.
+     */
+    private static final int RX_PIPELINE_SNAPSHOT_NUM_SAMPLES = 10;
+
     //================================================================================================//
     //=========================================== CLASS FIELDS =======================================//
     //================================================================================================//
@@ -41,8 +62,72 @@ public class Stats {
     //========== TOTAL RAW CHAR COUNT SETUP ========//
     //==============================================//
 
-    public SimpleIntegerProperty totalRawCharCountTx = new SimpleIntegerProperty(0);
-    public SimpleIntegerProperty totalRawCharCountRx = new SimpleIntegerProperty(0);
+    public SimpleLongProperty totalRawCharCountTx = new SimpleLongProperty(0);
+    public SimpleLongProperty totalRawCharCountRx = new SimpleLongProperty(0);
+
+    //==============================================//
+    //============= LINE COUNT FIELDS ==============//
+    //==============================================//
+
+    /**
+     * Only accessed from the UI thread.
+     */
+    private long numLinesRx = 0;
+    private long numLinesTx = 0;
+
+    //==============================================//
+    //=========== RX PIPELINE LAG FIELDS ===========//
+    //==============================================//
+
+    /**
+     * The number of bytes which have been read from the COM port but not yet parsed, i.e. are queued
+     * waiting for the UI thread. Updated once per sample.
+     */
+    public SimpleLongProperty numBytesAwaitingParseRx = new SimpleLongProperty(0);
+
+    /**
+     * The number of chars which have been parsed but not yet rendered in the RX pane.
+     * This is "pushed" to this model by the view.
+     */
+    public SimpleIntegerProperty numCharsAwaitingRenderRx = new SimpleIntegerProperty(0);
+
+    /**
+     * The longest time (in ms) taken by an RX chunk to get from the COM port to the RX pane, out of the chunks
+     * displayed since the previous sample. 0 if no chunks were displayed. Updated once per sample.
+     */
+    public SimpleDoubleProperty rxDisplayLagMs = new SimpleDoubleProperty(0.0);
+
+    /**
+     * Incremented from the RX thread, decremented from the UI thread.
+     */
+    private final LongAdder numBytesAwaitingParseRxAdder = new LongAdder();
+
+    /**
+     * Only accessed from the UI thread.
+     */
+    private long maxRxDisplayLagNsSinceLastSample = 0;
+
+    //==============================================//
+    //=============== SAMPLING FIELDS ==============//
+    //==============================================//
+
+    private final Terminal terminal;
+
+    /**
+     * The COM port the last sample was taken from. If the terminal's COM port changes, the counts of the new one
+     * are added on from zero.
+     */
+    private ComPort sampledComPort;
+
+    private long lastNumBytesTx = 0;
+    private long lastNumBytesRx = 0;
+
+    private long numBytesTxInLastSample = 0;
+    private long numBytesRxInLastSample = 0;
+
+    private int numSamplesSinceRxPipelineSnapshot = 0;
+
+    public final TerminalStatsSnapshot snapshot;
 
     //==============================================//
     //=============== BYTES/SEC FIELDS =============//
@@ -54,12 +139,40 @@ public class Stats {
     public SimpleDoubleProperty bytesPerSecondTx = new SimpleDoubleProperty(0.0);
     public SimpleDoubleProperty bytesPerSecondRx = new SimpleDoubleProperty(0.0);
 
+    public SimpleDoubleProperty linesPerSecondTx = new SimpleDoubleProperty(0.0);
+    public SimpleDoubleProperty linesPerSecondRx = new SimpleDoubleProperty(0.0);
+
+    private long numLinesTxAtLastCalc = 0;
+    private long numLinesRxAtLastCalc = 0;
+
+    /**
+     * Triggers <code>calculateBytesPerSecond()</code>. Stopped by <code>close()</code>, as a running Timeline is
+     * referenced by the JavaFX toolkit (which would keep the terminal from being garbage collected).
+     */
+    private final Timeline bytesPerSecondTimeline;
+
+    //==============================================//
+    //============= RATE HISTORY FIELDS ============//
+    //==============================================//
+
+    /**
+     * The recent history of the rates above, one sample per <code>BYTES_PER_SECOND_CALC_PERIOD_MS</code>.
+     * Only accessed from the UI thread.
+     */
+    public final RateHistory bytesPerSecondTxHistory = new RateHistory();
+    public final RateHistory bytesPerSecondRxHistory = new RateHistory();
+    public final RateHistory linesPerSecondTxHistory = new RateHistory();
+    public final RateHistory linesPerSecondRxHistory = new RateHistory();
+
     //================================================================================================//
     //========================================== CLASS METHODS =======================================//
     //================================================================================================//
 
     public Stats(Terminal terminal) {
 
+        this.terminal = terminal;
+        snapshot = new TerminalStatsSnapshot(terminal);
+
         //==============================================//
         //===== NUM. CHARS IN DISPLAY BUFFER SETUP =====//
         //==============================================//
@@ -69,37 +182,163 @@ public class Stats {
         // in the view
 
         //==============================================//
-        //================ BYTES/SEC SETUP =============//
+        //============== LINE COUNT SETUP ==============//
         //==============================================//
 
-        // INSTALL TX/RX DATA LISTENERS
-        terminal.txRx.dataSentTxListeners.add(txData -> {
-            bytesSinceLastCalcTx += txData.length();
+        terminal.txRx.rxDataEngine.newOutputListeners.add(streamedData -> {
+            numLinesRx += streamedData.getNewLineMarkers().size();
         });
 
-        terminal.txRx.rxDataEngine.rawDataReceivedListeners.add(data -> {
-            bytesSinceLastCalcRx += data.length();
+        terminal.txRx.rawDataSentTxListeners.add(txData -> {
+            for (byte txByte : txData) {
+                if (txByte == '\n')
+                    numLinesTx++;
+            }
         });
 
+        //==============================================//
+        //================ BYTES/SEC SETUP =============//
+        //==============================================//
+
         // Setup timer to trigger calculation of bits/second at a fixed rate
-        Timeline timeline = new Timeline(new KeyFrame(
+        bytesPerSecondTimeline = new Timeline(new KeyFrame(
                 Duration.millis(BYTES_PER_SECOND_CALC_PERIOD_MS),
                 ae -> calculateBytesPerSecond()));
-        timeline.setCycleCount(Animation.INDEFINITE);
-        timeline.play();
+        bytesPerSecondTimeline.setCycleCount(Animation.INDEFINITE);
+        bytesPerSecondTimeline.play();
+    }
+
+    /**
+     * Stops calculating the rates. Called when the terminal is closed.
+     */
+    public void close() {
+        bytesPerSecondTimeline.stop();
+    }
+
+    /**
+     * Called (from the RX thread) when a chunk of RX data has been read from the COM port and is about to be
+     * queued for parsing.
+     */
+    public void onRxDataRead(int numBytes) {
+        numBytesAwaitingParseRxAdder.add(numBytes);
+    }
+
+    /**
+     * Called (from the UI thread) once a chunk of RX data has been parsed and passed to the RX pane.
+     *
+     * @param readNanoTime  The time (from <code>System.nanoTime()</code>) the chunk was read from the COM port.
+     */
+    public void onRxDataDisplayed(int numBytes, long readNanoTime) {
+        numBytesAwaitingParseRxAdder.add(-numBytes);
+        maxRxDisplayLagNsSinceLastSample = Math.max(maxRxDisplayLagNsSinceLastSample, System.nanoTime() - readNanoTime);
+    }
+
+    /**
+     * Reads the COM port's wire-level byte counters, and adds any bytes sent/received since the last sample to
+     * the totals. Also updates the RX pipeline lag gauges. Must be called from the UI thread.
+     */
+    public void sample() {
+
+        numBytesAwaitingParseRx.set(numBytesAwaitingParseRxAdder.sum());
+        rxDisplayLagMs.set(maxRxDisplayLagNsSinceLastSample / 1e6);
+        maxRxDisplayLagNsSinceLastSample = 0;
+
+        sampleByteCounts();
+
+        numSamplesSinceRxPipelineSnapshot++;
+        boolean isRxPipelineIncluded = numSamplesSinceRxPipelineSnapshot >= RX_PIPELINE_SNAPSHOT_NUM_SAMPLES;
+        if (isRxPipelineIncluded)
+            numSamplesSinceRxPipelineSnapshot = 0;
+        snapshot.update(isRxPipelineIncluded);
+    }
+
+    private void sampleByteCounts() {
+
+        ComPort comPort = terminal.comPort;
+        if (comPort == null) {
+            numBytesTxInLastSample = 0;
+            numBytesRxInLastSample = 0;
+            return;
+        }
+
+        if (comPort != sampledComPort) {
+            sampledComPort = comPort;
+            lastNumBytesTx = 0;
+            lastNumBytesRx = 0;
+        }
+
+        long numBytesTx = comPort.getNumBytesTx();
+        long numBytesRx = comPort.getNumBytesRx();
+
+        numBytesTxInLastSample = numBytesTx - lastNumBytesTx;
+        numBytesRxInLastSample = numBytesRx - lastNumBytesRx;
+        lastNumBytesTx = numBytesTx;
+        lastNumBytesRx = numBytesRx;
+
+        // Only touch the properties if something changed, so idle terminals do not fire listeners
+        if (numBytesTxInLastSample != 0) {
+            totalRawCharCountTx.set(totalRawCharCountTx.get() + numBytesTxInLastSample);
+            bytesSinceLastCalcTx += numBytesTxInLastSample;
+        }
+
+        if (numBytesRxInLastSample != 0) {
+            totalRawCharCountRx.set(totalRawCharCountRx.get() + numBytesRxInLastSample);
+            bytesSinceLastCalcRx += numBytesRxInLastSample;
+        }
+    }
+
+    /**
+     * @return The number of RX lines (new lines) output by the RX data engine since this object was created.
+     */
+    public long getNumLinesRx() {
+        return numLinesRx;
+    }
+
+    /**
+     * @return The number of new line chars sent since this object was created.
+     */
+    public long getNumLinesTx() {
+        return numLinesTx;
+    }
+
+    /**
+     * @return The number of bytes sent between the previous two calls to <code>sample()</code>.
+     */
+    public long getNumBytesTxInLastSample() {
+        return numBytesTxInLastSample;
+    }
+
+    /**
+     * @return The number of bytes received between the previous two calls to <code>sample()</code>.
+     */
+    public long getNumBytesRxInLastSample() {
+        return numBytesRxInLastSample;
     }
 
     /**
      * This should be called once every <code>BYTES_PER_SECOND_CALC_PERIOD_MS</code> by a Timeline object
-     * setup in this classes constructor.
+     * setup in this classes constructor. Also calculates the lines/second, and adds all the rates to their histories.
      */
     private void calculateBytesPerSecond() {
 
-        bytesPerSecondTx.set(bytesSinceLastCalcTx / (BYTES_PER_SECOND_CALC_PERIOD_MS / 1000.0));
+        double periodS = BYTES_PER_SECOND_CALC_PERIOD_MS / 1000.0;
+
+        bytesPerSecondTx.set(bytesSinceLastCalcTx / periodS);
         bytesSinceLastCalcTx = 0.0;
 
-        bytesPerSecondRx.set(bytesSinceLastCalcRx / (BYTES_PER_SECOND_CALC_PERIOD_MS / 1000.0));
+        bytesPerSecondRx.set(bytesSinceLastCalcRx / periodS);
         bytesSinceLastCalcRx = 0.0;
+
+        linesPerSecondTx.set((numLinesTx - numLinesTxAtLastCalc) / periodS);
+        numLinesTxAtLastCalc = numLinesTx;
+
+        linesPerSecondRx.set((numLinesRx - numLinesRxAtLastCalc) / periodS);
+        numLinesRxAtLastCalc = numLinesRx;
+
+        bytesPerSecondTxHistory.addSecond(bytesPerSecondTx.get());
+        bytesPerSecondRxHistory.addSecond(bytesPerSecondRx.get());
+        linesPerSecondTxHistory.addSecond(linesPerSecondTx.get());
+        linesPerSecondRxHistory.addSecond(linesPerSecondRx.get());
     }
 
 }
@@ -0,0 +1,77 @@
+package ninja.mbedded.ninjaterm.model.terminal.stats;
+
+import java.util.List;
+
+/**
+ * The performance counters of one terminal, as exposed over JMX (as
+ * <code>ninja.mbedded.ninjaterm:type=Terminal,id=&lt;terminal ID&gt;</code>).
+ * <p>
+ * The byte counts are read live from the COM port. Everything else is a copy taken on the stats sample tick
+ * (see <code>{@link ninja.mbedded.ninjaterm.model.status.Status}</code>), so reading these never touches the UI thread.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public interface TerminalStatsMXBean {
+
+    String getName();
+
+    String getComPortName();
+
+    boolean isComPortOpen();
+
+    //==============================================//
+    //================== DATA COUNTS ===============//
+    //==============================================//
+
+    long getBytesRx();
+
+    long getBytesTx();
+
+    long getLinesRx();
+
+    long getLinesTx();
+
+    double getBytesPerSecondRx();
+
+    double getBytesPerSecondTx();
+
+    //==============================================//
+    //================ BUFFER LEVELS ===============//
+    //==============================================//
+
+    int getRxBufferNumChars();
+
+    int getRxBufferCapacityChars();
+
+    double getRxBufferFillPercent();
+
+    long getRxBytesAwaitingParse();
+
+    int getRxCharsAwaitingRender();
+
+    double getRxDisplayLagMs();
+
+    //==============================================//
+    //=================== LOGGING ==================//
+    //==============================================//
+
+    boolean isLogging();
+
+    int getLogQueueSizeBytes();
+
+    long getLogBytesDropped();
+
+    long getLogBytesSpilled();
+
+    //==============================================//
+    //================ RX PIPELINE =================//
+    //==============================================//
+
+    /**
+     * @return One entry per stage of the RX data engine, then one for the total. Copied once per second.
+     */
+    List<RxPipelineStageStats> getRxPipelineStages();
+
+}
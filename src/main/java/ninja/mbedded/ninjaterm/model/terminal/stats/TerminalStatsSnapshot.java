@@ -0,0 +1,201 @@
+package ninja.mbedded.ninjaterm.model.terminal.stats;
+
+import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.util.comPort.ComPort;
+import ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine.RxDataEngineMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implements <code>{@link TerminalStatsMXBean}</code> with copies of the terminal's stats, which are taken on the
+ * UI thread by <code>update()</code> and can then be read from any thread.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class TerminalStatsSnapshot implements TerminalStatsMXBean {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final Terminal terminal;
+
+    private volatile String name = "";
+    private volatile String comPortName = "";
+    private volatile boolean isComPortOpen = false;
+
+    private volatile long linesRx = 0;
+    private volatile long linesTx = 0;
+    private volatile double bytesPerSecondRx = 0.0;
+    private volatile double bytesPerSecondTx = 0.0;
+
+    private volatile int rxBufferNumChars = 0;
+    private volatile int rxBufferCapacityChars = 0;
+    private volatile long rxBytesAwaitingParse = 0;
+    private volatile int rxCharsAwaitingRender = 0;
+    private volatile double rxDisplayLagMs = 0.0;
+
+    private volatile boolean isLogging = false;
+    private volatile int logQueueSizeBytes = 0;
+    private volatile long logBytesDropped = 0;
+    private volatile long logBytesSpilled = 0;
+
+    private volatile List<RxPipelineStageStats> rxPipelineStages = Collections.emptyList();
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public TerminalStatsSnapshot(Terminal terminal) {
+        this.terminal = terminal;
+    }
+
+    /**
+     * Copies the terminal's current stats. Must be called from the UI thread.
+     *
+     * @param isRxPipelineIncluded  If true, the RX data engine metrics are copied too (this is more expensive,
+     *                              so is done less often).
+     */
+    public void update(boolean isRxPipelineIncluded) {
+
+        name = terminal.terminalName.get();
+        comPortName = terminal.comPort != null ? terminal.comPort.getName() : "";
+        isComPortOpen = terminal.isComPortOpen.get();
+
+        Stats stats = terminal.stats;
+        linesRx = stats.getNumLinesRx();
+        linesTx = stats.getNumLinesTx();
+        bytesPerSecondRx = stats.bytesPerSecondRx.get();
+        bytesPerSecondTx = stats.bytesPerSecondTx.get();
+
+        rxBufferNumChars = stats.numCharsInRxDisplayBuffer.get();
+        rxBufferCapacityChars = terminal.txRx.display.bufferSizeChars.get();
+        rxBytesAwaitingParse = stats.numBytesAwaitingParseRx.get();
+        rxCharsAwaitingRender = stats.numCharsAwaitingRenderRx.get();
+        rxDisplayLagMs = stats.rxDisplayLagMs.get();
+
+        isLogging = terminal.logging.isLogging.get();
+        logQueueSizeBytes = terminal.logging.queueSizeBytes.get();
+        logBytesDropped = terminal.logging.numBytesDropped.get();
+        logBytesSpilled = terminal.logging.numBytesSpilled.get();
+
+        if (isRxPipelineIncluded) {
+            RxDataEngineMetrics metrics = terminal.txRx.rxDataEngine.metrics;
+            List<RxPipelineStageStats> stages = new ArrayList<>();
+            for (RxDataEngineMetrics.Stage stage : RxDataEngineMetrics.Stage.values()) {
+                stages.add(RxPipelineStageStats.copyOf(stage.label, metrics.get(stage)));
+            }
+            stages.add(RxPipelineStageStats.copyOf("Total", metrics.total));
+            rxPipelineStages = Collections.unmodifiableList(stages);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getComPortName() {
+        return comPortName;
+    }
+
+    @Override
+    public boolean isComPortOpen() {
+        return isComPortOpen;
+    }
+
+    @Override
+    public long getBytesRx() {
+        // Live, the COM port counters are thread-safe
+        ComPort comPort = terminal.comPort;
+        return comPort != null ? comPort.getNumBytesRx() : 0;
+    }
+
+    @Override
+    public long getBytesTx() {
+        ComPort comPort = terminal.comPort;
+        return comPort != null ? comPort.getNumBytesTx() : 0;
+    }
+
+    @Override
+    public long getLinesRx() {
+        return linesRx;
+    }
+
+    @Override
+    public long getLinesTx() {
+        return linesTx;
+    }
+
+    @Override
+    public double getBytesPerSecondRx() {
+        return bytesPerSecondRx;
+    }
+
+    @Override
+    public double getBytesPerSecondTx() {
+        return bytesPerSecondTx;
+    }
+
+    @Override
+    public int getRxBufferNumChars() {
+        return rxBufferNumChars;
+    }
+
+    @Override
+    public int getRxBufferCapacityChars() {
+        return rxBufferCapacityChars;
+    }
+
+    @Override
+    public double getRxBufferFillPercent() {
+        int capacity = rxBufferCapacityChars;
+        return capacity > 0 ? 100.0 * rxBufferNumChars / capacity : 0.0;
+    }
+
+    @Override
+    public long getRxBytesAwaitingParse() {
+        return rxBytesAwaitingParse;
+    }
+
+    @Override
+    public int getRxCharsAwaitingRender() {
+        return rxCharsAwaitingRender;
+    }
+
+    @Override
+    public double getRxDisplayLagMs() {
+        return rxDisplayLagMs;
+    }
+
+    @Override
+    public boolean isLogging() {
+        return isLogging;
+    }
+
+    @Override
+    public int getLogQueueSizeBytes() {
+        return logQueueSizeBytes;
+    }
+
+    @Override
+    public long getLogBytesDropped() {
+        return logBytesDropped;
+    }
+
+    @Override
+    public long getLogBytesSpilled() {
+        return logBytesSpilled;
+    }
+
+    @Override
+    public List<RxPipelineStageStats> getRxPipelineStages() {
+        return rxPipelineStages;
+    }
+
+}
@@ -0,0 +1,12 @@
+package ninja.mbedded.ninjaterm.model.terminal.txRx;
+
+/**
+ * Interface for listeners listening for the exact bytes sent to the COM port.
+ *
+ * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since           2026-10-19
+ * @last-modified   2026-10-19
+ */
+public interface RawDataSentTxListener {
+    void run(byte[] txData);
+}
@@ -14,6 +14,7 @@ import ninja.mbedded.ninjaterm.model.terminal.txRx.formatting.Formatting;
 import ninja.mbedded.ninjaterm.model.terminal.txRx.macros.MacroManager;
 import ninja.mbedded.ninjaterm.util.arrayUtils.ArrayUtils;
 import ninja.mbedded.ninjaterm.util.debugging.Debugging;
+import ninja.mbedded.ninjaterm.util.javafx.configBindings.ConfigBindings;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine.RxDataEngine;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
@@ -27,7 +28,7 @@ import java.util.List;
  * tab in the GUI.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2017-10-08
+ * @last-modified 2026-10-19
  * @since 2016-09-16
  */
 public class TxRx {
@@ -54,6 +55,11 @@ public class TxRx {
 
     public List<DataSentTxListener> dataSentTxListeners = new ArrayList<>();
 
+    /**
+     * Called with the exact bytes sent to the COM port (straight after they are sent).
+     */
+    public List<RawDataSentTxListener> rawDataSentTxListeners = new ArrayList<>();
+
     public List<DataClearedListener> txDataClearedListeners = new ArrayList<>();
     public List<DataClearedListener> rxDataClearedListeners = new ArrayList<>();
 
@@ -85,7 +91,10 @@ public class TxRx {
         macroManager = new MacroManager(model, terminal);
 
         // Bind the enabled boolean for the time stamping to the RX engine
-        rxDataEngine.isTimeStampParserEnabled.bindBidirectional(formatting.isTimeStampingEnabled);
+        ConfigBindings.bindBidirectional(rxDataEngine.isTimeStampParserEnabled, formatting.isTimeStampingEnabled);
+
+        // Bind the carriage return overwrite mode to the RX engine
+        ConfigBindings.bindBidirectional(rxDataEngine.isCarriageReturnParserEnabled, formatting.isCarriageReturnOverwriteEnabled);
 
         //====================================//
         //========= BUFFER-SIZE SETUP ========//
@@ -94,7 +103,13 @@ public class TxRx {
         // Bind the RX data engine's buffer size to the value held in the
         // display class (the value in the display class will be updated by the
         // user)
-        rxDataEngine.maxBufferSize.bind(display.bufferSizeChars);
+        ConfigBindings.bind(rxDataEngine.maxBufferSize, display.bufferSizeChars);
+
+        //====================================//
+        //===== REPEATED LINE COLLAPSING =====//
+        //====================================//
+
+        ConfigBindings.bindBidirectional(rxDataEngine.isRepeatedLineCollapserEnabled, display.collapseRepeatedLines);
 
         //====================================//
         //============ FILTER SETUP =========//
@@ -220,13 +235,13 @@ public class TxRx {
             return;
         }
 
-        // Send data to COM port, and update stats (both local and global)
+        // Send data to COM port (the COM port counts the bytes sent, for the stats)
         byte[] dataAsByteArray = ArrayUtils.fromObservableListToByteArray(toSendTxData);
         terminal.comPort.sendData(dataAsByteArray);
 
-        // Update stats
-        terminal.stats.totalRawCharCountTx.setValue(terminal.stats.totalRawCharCountTx.getValue() + dataAsByteArray.length);
-        model.globalStats.numCharactersTx.setValue(model.globalStats.numCharactersTx.getValue() + dataAsByteArray.length);
+        for (RawDataSentTxListener rawDataSentTxListener : rawDataSentTxListeners) {
+            rawDataSentTxListener.run(dataAsByteArray);
+        }
 
         // Create string from data
         String dataAsString = "";
@@ -299,7 +314,8 @@ public class TxRx {
      * @param data
      */
     public void addRxData(byte[] data) {
-        logger.debug("addRxData() called with data = " + Debugging.toString(data));
+        if (logger.isDebugEnabled())
+            logger.debug("addRxData() called with data = " + Debugging.toString(data));
         rxDataEngine.parse(data);
     }
 
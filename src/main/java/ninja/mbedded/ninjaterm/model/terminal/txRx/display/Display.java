@@ -11,7 +11,7 @@ import org.slf4j.Logger;
  * Model containing data and logic for the display components of the TX/RX data.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2016-11-22
+ * @last-modified 2026-10-19
  * @since 2016-09-16
  */
 public class Display {
@@ -104,6 +104,12 @@ public class Display {
      */
     public SimpleDoubleProperty wrappingWidth = new SimpleDoubleProperty(DEFAULT_WRAPPING_WIDTH_PX);
 
+    /**
+     * If true, runs of identical consecutive RX lines are displayed once, with a count of the number of times
+     * the line was received. This only affects what is displayed, logging still receives every line.
+     */
+    public SimpleBooleanProperty collapseRepeatedLines = new SimpleBooleanProperty(false);
+
     /**
      * The selected scroll behaviour. This is set by radio buttons in the UI.
      */
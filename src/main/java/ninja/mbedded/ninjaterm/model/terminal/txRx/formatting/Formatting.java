@@ -9,7 +9,7 @@ import ninja.mbedded.ninjaterm.model.terminal.Terminal;
  * Model containing data and logic for the formatting of TX/RX data.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2016-11-25
+ * @last-modified 2026-10-19
  * @since 2016-09-26
  */
 public class Formatting {
@@ -44,6 +44,12 @@ public class Formatting {
 
     public SimpleBooleanProperty isTimeStampingEnabled = new SimpleBooleanProperty(false);
 
+    /**
+     * When true, a carriage return (which is not part of a new line) returns to the start of the current
+     * line, and the following RX text overwrites it (e.g. for progress bars which are redrawn in place).
+     */
+    public SimpleBooleanProperty isCarriageReturnOverwriteEnabled = new SimpleBooleanProperty(false);
+
     public Formatting(Model model, Terminal terminal) {
 
 
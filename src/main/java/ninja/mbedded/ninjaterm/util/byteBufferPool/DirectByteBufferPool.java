@@ -0,0 +1,75 @@
+package ninja.mbedded.ninjaterm.util.byteBufferPool;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * A pool of direct <code>{@link ByteBuffer}</code>s, all of the same size.
+ * <p>
+ * Direct buffers are expensive to allocate (and are only freed when garbage collected), but can be passed
+ * to a channel without the data being copied again. The pool allocates up to <code>maxNumBuffers</code>
+ * of them as needed, and then re-uses them.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class DirectByteBufferPool {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final int bufferSizeBytes;
+    private final int maxNumBuffers;
+
+    private final ArrayDeque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+
+    private int numBuffersAllocated = 0;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public DirectByteBufferPool(int bufferSizeBytes, int maxNumBuffers) {
+        this.bufferSizeBytes = bufferSizeBytes;
+        this.maxNumBuffers = maxNumBuffers;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool.
+     *
+     * @return A buffer, or null if all <code>maxNumBuffers</code> buffers are in use.
+     */
+    public synchronized ByteBuffer acquire() {
+
+        ByteBuffer buffer = freeBuffers.poll();
+        if (buffer != null)
+            return buffer;
+
+        if (numBuffersAllocated == maxNumBuffers)
+            return null;
+
+        numBuffersAllocated++;
+        return ByteBuffer.allocateDirect(bufferSizeBytes);
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used after this call.
+     */
+    public synchronized void release(ByteBuffer buffer) {
+        buffer.clear();
+        freeBuffers.push(buffer);
+    }
+
+    public int getBufferSizeBytes() {
+        return bufferSizeBytes;
+    }
+
+    public synchronized int getNumBuffersAllocated() {
+        return numBuffersAllocated;
+    }
+
+}
@@ -8,6 +8,7 @@ import ninja.mbedded.ninjaterm.util.rxProcessing.Decoding.BytesToString;
 import org.slf4j.Logger;
 
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Object that represents a single COM port.
@@ -17,7 +18,7 @@ import java.util.List;
  * the future, and this means the code changes just have to occur in this file.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2016-11-22
+ * @last-modified 2026-10-19
  * @since 2016-07-16
  */
 public class ComPort {
@@ -66,6 +67,14 @@ public class ComPort {
     private Thread rxWorkerThread;
     private RxWorker rxWorker;
 
+    /**
+     * The number of bytes received from/sent to the port, counted as they cross the wire (before any decoding).
+     * Incremented from the RX thread and whichever thread sends data, these never fire listeners.
+     * Sample them with <code>getNumBytesRx()</code>/<code>getNumBytesTx()</code>.
+     */
+    protected final LongAdder numBytesRx = new LongAdder();
+    protected final LongAdder numBytesTx = new LongAdder();
+
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
 
     //================================================================================================//
@@ -77,7 +86,7 @@ public class ComPort {
         // Create an RX data worker (will run in a separate thread)
         // Serial port object is provided in open() method before thread
         // is run.
-        rxWorker = new RxWorker();
+        rxWorker = new RxWorker(numBytesRx);
 
         // Expose the RxWorker's listener to the public
         onRxDataListeners = rxWorker.onRxDataListeners;
@@ -293,6 +302,22 @@ public class ComPort {
         } catch (SerialPortException e) {
             throw new RuntimeException(e);
         }
+
+        numBytesTx.add(data.length);
+    }
+
+    /**
+     * @return The total number of bytes received since this object was created. Can be called from any thread.
+     */
+    public long getNumBytesRx() {
+        return numBytesRx.sum();
+    }
+
+    /**
+     * @return The total number of bytes sent since this object was created. Can be called from any thread.
+     */
+    public long getNumBytesTx() {
+        return numBytesTx.sum();
     }
 
     public void close() throws ComPortException {
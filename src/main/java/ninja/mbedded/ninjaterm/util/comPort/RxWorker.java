@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * An RX worker is used because the to gather RX data so that we have complete
@@ -20,7 +21,7 @@ import java.util.List;
  * This worker can be stopped with stopRunning().
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2017-01-30
+ * @last-modified 2026-10-19
  * @since 2017-01-30
  */
 public class RxWorker implements Runnable {
@@ -48,9 +49,16 @@ public class RxWorker implements Runnable {
      */
     private volatile boolean running = false;
 
+    /**
+     * Incremented with the number of bytes read from the port (owned by the <code>{@link ComPort}</code>).
+     */
+    private final LongAdder numBytesRx;
+
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
 
-    RxWorker() {}
+    RxWorker(LongAdder numBytesRx) {
+        this.numBytesRx = numBytesRx;
+    }
 
     @Override
     public void run() {
@@ -72,6 +80,7 @@ public class RxWorker implements Runnable {
             // (this is jssc behaviour)
             if(rxData != null) {
                 //logger.debug("Read " + rxData.length + " bytes of RX data.");
+                numBytesRx.add(rxData.length);
 
                 for (Iterator<OnRxDataListener> it = onRxDataListeners.iterator(); it.hasNext(); ) {
                     OnRxDataListener onRxDataListener = it.next();
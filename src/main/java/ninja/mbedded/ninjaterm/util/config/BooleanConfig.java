@@ -0,0 +1,43 @@
+package ninja.mbedded.ninjaterm.util.config;
+
+/**
+ * A <code>{@link Config}</code> holding a <code>boolean</code>.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class BooleanConfig extends Config<Boolean> {
+
+    private volatile boolean value;
+
+    public BooleanConfig(boolean value) {
+        this.value = value;
+    }
+
+    public boolean get() {
+        return value;
+    }
+
+    public void set(boolean newValue) {
+        boolean oldValue;
+        synchronized (this) {
+            oldValue = value;
+            if (newValue == oldValue)
+                return;
+            value = newValue;
+        }
+        fireChanged(oldValue, newValue);
+    }
+
+    @Override
+    public Boolean getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Boolean value) {
+        set(value);
+    }
+
+}
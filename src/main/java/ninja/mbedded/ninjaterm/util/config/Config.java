@@ -0,0 +1,54 @@
+package ninja.mbedded.ninjaterm.util.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A lightweight observable setting, used instead of JavaFX properties by the classes which have to work
+ * without the JavaFX toolkit (e.g. the RX processing engine).
+ * <p>
+ * Values are held in volatile fields, so <code>get()</code> is a single volatile read (no listener or
+ * binding machinery), and can be called from any thread. Listeners are only called when the value
+ * actually changes, from the thread which set it.
+ * <p>
+ * Use <code>ConfigBindings</code> to bind these to the UI's JavaFX properties.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public abstract class Config<T> {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final List<ConfigListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @return The current value, boxed if it is a primitive. Prefer the primitive <code>get()</code> of the
+     * sub-classes in hot code.
+     */
+    public abstract T getValue();
+
+    public abstract void setValue(T value);
+
+    public void addListener(ConfigListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ConfigListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    protected void fireChanged(T oldValue, T newValue) {
+        for (ConfigListener<T> listener : listeners) {
+            listener.changed(this, oldValue, newValue);
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package ninja.mbedded.ninjaterm.util.config;
+
+/**
+ * Interface for listeners listening for when the value of a <code>{@link Config}</code> changes. This is
+ * called from the thread which set the value.
+ * <p>
+ * The signature matches JavaFX's <code>ChangeListener</code>, so the same lambdas can be used for both.
+ *
+ * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since           2026-10-19
+ * @last-modified   2026-10-19
+ */
+public interface ConfigListener<T> {
+    void changed(Config<T> config, T oldValue, T newValue);
+}
@@ -0,0 +1,43 @@
+package ninja.mbedded.ninjaterm.util.config;
+
+/**
+ * A <code>{@link Config}</code> holding an <code>int</code>.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class IntConfig extends Config<Integer> {
+
+    private volatile int value;
+
+    public IntConfig(int value) {
+        this.value = value;
+    }
+
+    public int get() {
+        return value;
+    }
+
+    public void set(int newValue) {
+        int oldValue;
+        synchronized (this) {
+            oldValue = value;
+            if (newValue == oldValue)
+                return;
+            value = newValue;
+        }
+        fireChanged(oldValue, newValue);
+    }
+
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(Integer value) {
+        set(value);
+    }
+
+}
@@ -0,0 +1,46 @@
+package ninja.mbedded.ninjaterm.util.config;
+
+import java.util.Objects;
+
+/**
+ * A <code>{@link Config}</code> holding an object (e.g. a <code>String</code> or an enum). Listeners are only
+ * called if the new value is not <code>equals()</code> to the old one.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ObjectConfig<T> extends Config<T> {
+
+    private volatile T value;
+
+    public ObjectConfig(T value) {
+        this.value = value;
+    }
+
+    public T get() {
+        return value;
+    }
+
+    public void set(T newValue) {
+        T oldValue;
+        synchronized (this) {
+            oldValue = value;
+            if (Objects.equals(newValue, oldValue))
+                return;
+            value = newValue;
+        }
+        fireChanged(oldValue, newValue);
+    }
+
+    @Override
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public void setValue(T value) {
+        set(value);
+    }
+
+}
@@ -0,0 +1,267 @@
+package ninja.mbedded.ninjaterm.util.headless;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.LogWriter;
+import ninja.mbedded.ninjaterm.util.comPort.BaudRates;
+import ninja.mbedded.ninjaterm.util.comPort.ComPort;
+import ninja.mbedded.ninjaterm.util.comPort.ComPortException;
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import ninja.mbedded.ninjaterm.util.replay.ReplayComPort;
+import ninja.mbedded.ninjaterm.util.replay.ReplaySourceFactory;
+import ninja.mbedded.ninjaterm.util.rxProcessing.Decoding.DecodingOptions;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedDataFormatter.StreamedDataFormatter;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs NinjaTerm from the command line without a UI (when <code>--headless</code> is passed to <code>Main</code>).
+ * <p>
+ * One <code>{@link HeadlessTerminal}</code> is created for each <code>--port</code>, and the parsed RX data
+ * (with the given decoding, new line, time stamp and filter settings) is written to the console, or to one
+ * log file per port if <code>--out</code> is given. No JavaFX toolkit is started, so there is no Stage, WebView
+ * or pulse overhead.
+ * <p>
+ * A port is either the name of a COM port (e.g. <code>COM3</code> or <code>/dev/ttyUSB0</code>), or
+ * <code>replay:&lt;file&gt;</code> to run a capture or log file through the same pipeline as fast as possible.
+ * NinjaTerm runs until it is interrupted (e.g. Ctrl-C), or until every port is a replay which has finished.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class HeadlessMain {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final String HEADLESS_OPTION = "headless";
+
+    public static final String REPLAY_PORT_PREFIX = "replay:";
+
+    public static final String LOG_FILE_EXTENSION = ".log";
+
+    private static final int POLL_PERIOD_MS = 100;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final List<HeadlessTerminal> terminals = new ArrayList<>();
+
+    private boolean isClosed = false;
+
+    private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @return True if the command-line arguments ask for headless mode.
+     */
+    public static boolean isHeadless(String[] args) {
+        return Arrays.asList(args).contains("--" + HEADLESS_OPTION);
+    }
+
+    private static Options createOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder(null).longOpt(HEADLESS_OPTION).numberOfArgs(0).desc("run without the UI").build());
+        options.addOption(Option.builder(null).longOpt("port").hasArg().required().desc("COM port name, or " + REPLAY_PORT_PREFIX + "<capture or log file> (can be repeated)").build());
+        options.addOption(Option.builder(null).longOpt("baud").hasArg().desc("baud rate (default " + BaudRates.BAUD_9600 + ")").build());
+        options.addOption(Option.builder(null).longOpt("decoding").hasArg().desc("one of " + Arrays.toString(DecodingOptions.values()) + " (default " + DecodingOptions.ASCII.name() + ")").build());
+        options.addOption(Option.builder(null).longOpt("newline").hasArg().desc("new line pattern, empty to disable (default \\n)").build());
+        options.addOption(Option.builder(null).longOpt("timestamps").numberOfArgs(0).desc("time stamp every line").build());
+        options.addOption(Option.builder(null).longOpt("filter").hasArg().desc("only output lines which match this filter").build());
+        options.addOption(Option.builder(null).longOpt("colour").numberOfArgs(0).desc("output colours as ANSI escape codes").build());
+        options.addOption(Option.builder(null).longOpt("out").hasArg().desc("write each port's output to <port>" + LOG_FILE_EXTENSION + " in this directory, instead of the console").build());
+        options.addOption(Option.builder(null).longOpt("logc").numberOfArgs(0).desc("log to console").build());
+        options.addOption(Option.builder(null).longOpt("logf").numberOfArgs(0).desc("log to file").build());
+        return options;
+    }
+
+    /**
+     * Parses the command-line arguments, opens the ports and processes RX data until interrupted or finished.
+     *
+     * @return The exit code for the process.
+     */
+    public static int run(String[] args) throws InterruptedException {
+
+        Options options = createOptions();
+        CommandLine cmd;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            System.err.println(e.getMessage());
+            new HelpFormatter().printHelp("NinjaTerm --" + HEADLESS_OPTION, options);
+            return 1;
+        }
+
+        if (cmd.hasOption("logc"))
+            LoggerUtils.consoleLoggingEnabled.set(true);
+        if (cmd.hasOption("logf"))
+            LoggerUtils.fileLoggingEnabled.set(true);
+
+        HeadlessMain headlessMain = new HeadlessMain();
+        try {
+            headlessMain.createTerminals(cmd);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println(e.getMessage());
+            headlessMain.close();
+            return 1;
+        }
+
+        // Ctrl-C stops the process through here
+        Thread shutdownHook = new Thread(headlessMain::close, "Headless shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        try {
+            headlessMain.open();
+        } catch (ComPortException e) {
+            headlessMain.close();
+            return 1;
+        }
+
+        headlessMain.waitUntilFinished();
+        headlessMain.close();
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down
+        }
+
+        long numErrors = headlessMain.getNumErrors();
+        if (numErrors != 0)
+            System.err.println(numErrors + " RX data chunk(s) could not be parsed.");
+
+        return 0;
+    }
+
+    private void createTerminals(CommandLine cmd) throws IOException {
+
+        BaudRates baudRate = parseBaudRate(cmd.getOptionValue("baud", BaudRates.BAUD_9600.toString()));
+
+        DecodingOptions decodingOption;
+        try {
+            decodingOption = DecodingOptions.valueOf(cmd.getOptionValue("decoding", DecodingOptions.ASCII.name()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Decoding must be one of " + Arrays.toString(DecodingOptions.values()) + ".");
+        }
+
+        File outDir = cmd.hasOption("out") ? new File(cmd.getOptionValue("out")) : null;
+        if (outDir != null && !outDir.isDirectory() && !outDir.mkdirs())
+            throw new IOException("Could not create the output directory \"" + outDir.getPath() + "\".");
+
+        String[] portNames = cmd.getOptionValues("port");
+
+        for (String portName : portNames) {
+
+            ComPort comPort = createComPort(portName);
+
+            HeadlessTerminal terminal;
+            if (outDir == null) {
+                terminal = new HeadlessTerminal(comPort, System.out);
+                // Tell the ports apart if they all go to the console
+                if (portNames.length > 1)
+                    terminal.linePrefix = "[" + comPort.getName() + "] ";
+            } else {
+                // Port names can be paths (e.g. /dev/ttyUSB0)
+                String logFileName = comPort.getName().replaceAll("[\\\\/:]", "_") + LOG_FILE_EXTENSION;
+                terminal = new HeadlessTerminal(comPort, createLogWriter(new File(outDir, logFileName)));
+            }
+
+            terminal.baudRate = baudRate;
+            terminal.colourMode = cmd.hasOption("colour") ? StreamedDataFormatter.ColourMode.ANSI : StreamedDataFormatter.ColourMode.STRIP;
+            terminal.rxDataEngine.selDecodingOption.set(decodingOption);
+            terminal.rxDataEngine.newLinePattern.set(cmd.getOptionValue("newline", terminal.rxDataEngine.newLinePattern.get()));
+            // Must be set after the new line pattern, as setting the pattern re-enables the time stamp parser
+            terminal.rxDataEngine.isTimeStampParserEnabled.set(cmd.hasOption("timestamps"));
+            if (cmd.hasOption("filter"))
+                terminal.rxDataEngine.setFilterPattern(cmd.getOptionValue("filter"));
+
+            terminals.add(terminal);
+        }
+    }
+
+    private static BaudRates parseBaudRate(String label) {
+        for (BaudRates baudRate : BaudRates.values()) {
+            if (baudRate.toString().equals(label))
+                return baudRate;
+        }
+        throw new IllegalArgumentException("Baud rate must be one of " + Arrays.toString(BaudRates.values()) + ".");
+    }
+
+    private static ComPort createComPort(String portName) throws IOException {
+
+        if (portName.startsWith(REPLAY_PORT_PREFIX)) {
+            File file = new File(portName.substring(REPLAY_PORT_PREFIX.length()));
+            ReplayComPort replayComPort = new ReplayComPort(new ReplaySourceFactory().create(file));
+            replayComPort.setName(file.getName());
+            replayComPort.setSpeed(ReplayComPort.MAX_SPEED);
+            return replayComPort;
+        }
+
+        ComPort comPort = new ComPort();
+        comPort.setName(portName);
+        return comPort;
+    }
+
+    private static LogWriter createLogWriter(File logFile) throws IOException {
+        LogWriter logWriter = new LogWriter(new FileOutputStream(logFile, true).getChannel());
+        logWriter.errorListener = e -> System.err.println("Could not write to \"" + logFile.getPath() + "\": " + e.getMessage());
+        logWriter.start();
+        return logWriter;
+    }
+
+    private void open() throws ComPortException {
+        for (HeadlessTerminal terminal : terminals) {
+            try {
+                terminal.open();
+            } catch (ComPortException e) {
+                System.err.println("Could not open \"" + terminal.getComPort().getName() + "\" (" + e.type + ").");
+                throw e;
+            }
+        }
+    }
+
+    private void waitUntilFinished() throws InterruptedException {
+        while (!terminals.stream().allMatch(HeadlessTerminal::isFinished)) {
+            Thread.sleep(POLL_PERIOD_MS);
+        }
+    }
+
+    /**
+     * Closes every terminal. Safe to call more than once, and from the shutdown hook.
+     */
+    private synchronized void close() {
+
+        if (isClosed)
+            return;
+        isClosed = true;
+
+        for (HeadlessTerminal terminal : terminals) {
+            try {
+                terminal.close();
+            } catch (ComPortException | IOException e) {
+                logger.error("Failed to close \"" + terminal.getComPort().getName() + "\".", e);
+            }
+        }
+    }
+
+    private long getNumErrors() {
+        return terminals.stream().mapToLong(HeadlessTerminal::getNumErrors).sum();
+    }
+
+}
@@ -0,0 +1,249 @@
+package ninja.mbedded.ninjaterm.util.headless;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.LogWriter;
+import ninja.mbedded.ninjaterm.util.comPort.BaudRates;
+import ninja.mbedded.ninjaterm.util.comPort.ComPort;
+import ninja.mbedded.ninjaterm.util.comPort.ComPortException;
+import ninja.mbedded.ninjaterm.util.comPort.NumDataBits;
+import ninja.mbedded.ninjaterm.util.comPort.NumStopBits;
+import ninja.mbedded.ninjaterm.util.comPort.Parities;
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import ninja.mbedded.ninjaterm.util.replay.ReplayComPort;
+import ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine.RxDataEngine;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedDataFormatter.StreamedDataFormatter;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A terminal without a UI. The RX data from the COM port is run through an <code>{@link RxDataEngine}</code>
+ * and the output is written as plain text (in the same format as the RX pane, see
+ * <code>{@link StreamedDataFormatter}</code>) to either the console or a <code>{@link LogWriter}</code>.
+ * <p>
+ * Unlike <code>Terminal</code>, no JavaFX toolkit is needed. The RX data is parsed on the COM port's
+ * RX thread, rather than being passed to the UI thread.
+ * <p>
+ * The settings (public fields, and those of <code>rxDataEngine</code>) must be set before
+ * <code>open()</code> is called.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class HeadlessTerminal {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    //==============================================//
+    //================== SETTINGS ==================//
+    //==============================================//
+
+    public BaudRates baudRate = BaudRates.BAUD_9600;
+
+    public StreamedDataFormatter.ColourMode colourMode = StreamedDataFormatter.ColourMode.STRIP;
+
+    /**
+     * If not null, this is written at the start of every line sent to the console (used to tell the ports apart
+     * when more than one is being written to the console).
+     */
+    public String linePrefix = null;
+
+    public final RxDataEngine rxDataEngine = new RxDataEngine();
+
+    //==============================================//
+    //==================== STATE ===================//
+    //==============================================//
+
+    private final ComPort comPort;
+
+    /**
+     * Null if the output is being written to a log writer.
+     */
+    private final PrintStream console;
+
+    /**
+     * Null if the output is being written to the console.
+     */
+    private final LogWriter logWriter;
+
+    private final StreamedDataFormatter formatter = new StreamedDataFormatter();
+
+    /**
+     * Re-used to hold the text output by <code>formatter</code>.
+     */
+    private final StringBuilder outputText = new StringBuilder();
+
+    /**
+     * Re-used to hold <code>outputText</code> once the line prefixes have been added.
+     */
+    private final StringBuilder prefixedOutputText = new StringBuilder();
+
+    private boolean isAtStartOfLine = true;
+
+    private boolean isOpen = false;
+
+    private boolean isClosed = false;
+
+    private long numErrors = 0;
+
+    private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * Creates a terminal which writes its output to the console.
+     *
+     * @param console   This is shared with other terminals, it is flushed but not closed by <code>close()</code>.
+     */
+    public HeadlessTerminal(ComPort comPort, PrintStream console) {
+        this.comPort = comPort;
+        this.console = console;
+        this.logWriter = null;
+    }
+
+    /**
+     * Creates a terminal which writes its output to a log file.
+     *
+     * @param logWriter This must be started already, and is closed by <code>close()</code>.
+     */
+    public HeadlessTerminal(ComPort comPort, LogWriter logWriter) {
+        this.comPort = comPort;
+        this.console = null;
+        this.logWriter = logWriter;
+    }
+
+    /**
+     * Opens the COM port. RX data is processed from now on.
+     */
+    public void open() throws ComPortException {
+
+        formatter.colourMode = colourMode;
+        rxDataEngine.newOutputListeners.add(streamedData -> formatter.format(streamedData, outputText));
+
+        comPort.getOnRxDataListeners().add(this::handleRxData);
+
+        // Set first, so that no data is dropped if it arrives straight after the port is opened
+        synchronized (this) {
+            isOpen = true;
+        }
+
+        try {
+            comPort.open();
+        } catch (ComPortException e) {
+            synchronized (this) {
+                isOpen = false;
+            }
+            throw e;
+        }
+
+        comPort.setParams(baudRate, NumDataBits.EIGHT, Parities.NONE, NumStopBits.ONE);
+    }
+
+    /**
+     * Called from the COM port's RX thread.
+     */
+    private synchronized void handleRxData(byte[] rxData) {
+
+        if (!isOpen)
+            return;
+
+        try {
+            rxDataEngine.parse(rxData);
+        } catch (RuntimeException e) {
+            // Keep going, a bad chunk should not stop a long running capture
+            numErrors++;
+            logger.error("Failed to parse RX data from \"" + comPort.getName() + "\".", e);
+        }
+
+        writeOutputText();
+    }
+
+    private void writeOutputText() {
+
+        if (outputText.length() == 0)
+            return;
+
+        CharSequence text = outputText;
+        if (console != null && linePrefix != null) {
+            prefixedOutputText.setLength(0);
+            for (int i = 0; i < outputText.length(); i++) {
+                char c = outputText.charAt(i);
+                if (isAtStartOfLine)
+                    prefixedOutputText.append(linePrefix);
+                prefixedOutputText.append(c);
+                isAtStartOfLine = c == '\n';
+            }
+            text = prefixedOutputText;
+        }
+
+        // A new array every time, as the log writer takes ownership of it
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        outputText.setLength(0);
+
+        if (console != null) {
+            // Whole lines are written in one call, so the output of different terminals is not interleaved
+            console.write(bytes, 0, bytes.length);
+            console.flush();
+        } else {
+            logWriter.write(bytes);
+        }
+    }
+
+    /**
+     * Closes the COM port (if it was opened), writes out the current partial line, and closes the log writer
+     * (if there is one). The log writer is closed even if the port was never opened (e.g. because another
+     * port failed to open first), or fails to close. Safe to call more than once.
+     */
+    public void close() throws ComPortException, IOException {
+
+        boolean wasOpen;
+        synchronized (this) {
+            if (isClosed)
+                return;
+            isClosed = true;
+            wasOpen = isOpen;
+        }
+
+        try {
+            // Not synchronized, as this waits for the RX thread (which may be in handleRxData())
+            if (wasOpen)
+                comPort.close();
+        } finally {
+            synchronized (this) {
+                isOpen = false;
+
+                formatter.flush(outputText);
+                writeOutputText();
+
+                if (logWriter != null)
+                    logWriter.close();
+            }
+        }
+    }
+
+    /**
+     * @return True if the COM port is a <code>{@link ReplayComPort}</code> which has replayed all of its data. Real
+     * COM ports never finish.
+     */
+    public boolean isFinished() {
+        return comPort instanceof ReplayComPort && ((ReplayComPort) comPort).isFinished();
+    }
+
+    public ComPort getComPort() {
+        return comPort;
+    }
+
+    /**
+     * @return The number of RX chunks which could not be parsed.
+     */
+    public synchronized long getNumErrors() {
+        return numErrors;
+    }
+
+}
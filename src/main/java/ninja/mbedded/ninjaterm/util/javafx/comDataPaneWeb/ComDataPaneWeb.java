@@ -1,5 +1,7 @@
 package ninja.mbedded.ninjaterm.util.javafx.comDataPaneWeb;
 
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -15,7 +17,9 @@ import netscape.javascript.JSObject;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
 import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser.ClearLineMarker;
 import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.repeatedLineCollapser.RepeatCountMarker;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
 import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampMarker;
 import ninja.mbedded.ninjaterm.util.stringUtils.StringUtils;
@@ -26,10 +30,11 @@ import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.net.URL;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -39,7 +44,7 @@ import java.util.Collections;
  * functionality (for ANSI escape code colours).
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2017-10-08
+ * @last-modified 2026-10-19
  * @since 2016-11-14
  */
 public class ComDataPaneWeb extends StackPane {
@@ -57,6 +62,22 @@ public class ComDataPaneWeb extends StackPane {
 
     private final Color DEFAULT_COLOR = new Color(0, 1, 0, 1);
 
+    /**
+     * The Javascript files which are executed in every WebView once the page has loaded,
+     * in the order they are executed.
+     */
+    private static final String[] SCRIPT_FILES = { "stuff.js" };
+
+    //================================================================================================//
+    //======================================== STATIC FIELDS =========================================//
+    //================================================================================================//
+
+    /**
+     * All of the files in <code>SCRIPT_FILES</code>, joined together. This is read from disk once
+     * and shared by all ComDataPaneWeb objects.
+     */
+    private static String scriptBundle = null;
+
     //private final int WEB_VIEW_LOAD_WAIT_TIME_MS = 2000;
 
     //================================================================================================//
@@ -94,6 +115,71 @@ public class ComDataPaneWeb extends StackPane {
 
     public SimpleIntegerProperty currNumChars = new SimpleIntegerProperty(0);
 
+    /**
+     * When true, data passed to <code>addData()</code> is not rendered but held back in <code>deferredData</code>
+     * (trimmed to <code>bufferSize</code>). When set back to false, the held back data is rendered in one batch.
+     * <p>
+     * Used so that terminals which are not visible to the user do not keep re-rendering their WebView.
+     */
+    public SimpleBooleanProperty isRenderingSuspended = new SimpleBooleanProperty(false);
+
+    /**
+     * Data which has arrived while rendering is suspended. This is never allowed to grow larger than
+     * <code>bufferSize</code>, since anything older would be trimmed as soon as it was rendered anyway.
+     */
+    private StreamedData deferredData = new StreamedData();
+
+    /**
+     * The number of chars which have been passed to <code>addData()</code> but are not yet in the WebView,
+     * either because rendering is suspended or because the WebView has not finished loading.
+     */
+    public SimpleIntegerProperty numCharsAwaitingRender = new SimpleIntegerProperty(0);
+
+    /**
+     * Set to true once the WebView has loaded the page and run the script bundle, i.e. once data added to this
+     * pane is shown.
+     */
+    private ReadOnlyBooleanWrapper isReady = new ReadOnlyBooleanWrapper(false);
+
+    /**
+     * The number of chars in <code>pendingScripts</code>.
+     */
+    private int numCharsInPendingScripts = 0;
+
+    /**
+     * The colour currently being applied to text appended to the end of the WebView.
+     */
+    private Color currColor = DEFAULT_COLOR;
+
+    /**
+     * When not null, scripts passed to <code>runScriptWhenReady()</code> are collected here rather than being
+     * run straight away, so that they can all be executed with a single call into the WebView.
+     */
+    private StringBuilder scriptBatch = null;
+
+    /**
+     * Tracks the length of each displayed line, so that the scroll position can be corrected
+     * when old data is trimmed (in SMART_SCROLL mode) without measuring the WebView content.
+     */
+    private DisplayedLines displayedLines = new DisplayedLines();
+
+    /**
+     * The number of chars at the start of the current line which are kept when the line is cleared
+     * (i.e. the time stamp, if the line has one).
+     */
+    private int currLineNumCharsToKeep = 0;
+
+    private boolean wrappingEnabled = false;
+
+    private double wrappingWidthPx = 0.0;
+
+    /**
+     * The width of one character in the WebView (the font is monospaced). Measured when the page has loaded,
+     * and again whenever the wrapping settings change (or if it could not be measured, e.g. because the
+     * WebView was not laid out yet), see <code>measureFont()</code>.
+     */
+    private double charWidthPx = 0.0;
+
     private WebEngine webEngine;
 
     private double currScrollPos = 0;
@@ -104,7 +190,21 @@ public class ComDataPaneWeb extends StackPane {
      * "undefined is not a function" error can result due to loading time issues (Worker.State.SUCCEEDED did not
      * seem to indicate that the javascript had fully loaded with more than one WebView in the UI).
      */
-    private SimpleBooleanProperty safeToRunScripts = new SimpleBooleanProperty(false);
+    private boolean safeToRunScripts = false;
+
+    /**
+     * Scripts which were requested to run before <code>safeToRunScripts</code> was true. These are
+     * run in order (in a single call to the WebView) as soon as the script bundle has been loaded.
+     */
+    private List<String> pendingScripts = new ArrayList<>();
+
+    /**
+     * The time (from <code>System.nanoTime()</code>) at which this object was created. Used to measure how long
+     * the WebView takes to become ready.
+     */
+    private final long createdTimeNs = System.nanoTime();
+
+    private long timeToReadyNs = 0;
 
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
 
@@ -143,6 +243,10 @@ public class ComDataPaneWeb extends StackPane {
 
         webEngine.javaScriptEnabledProperty().set(true);
 
+        // Set the style sheet before loading, so the page does not have to
+        // be re-styled after it has been rendered once
+        webEngine.setUserStyleSheetLocation(getClass().getResource("style.css").toString());
+
         webEngine.getLoadWorker().stateProperty().addListener(new ChangeListener<Worker.State>() {
             @Override
             public void changed(ObservableValue<? extends Worker.State> observable, Worker.State oldValue, Worker.State newValue) {
@@ -152,61 +256,12 @@ public class ComDataPaneWeb extends StackPane {
                 }
                 logger.debug("WebView has transitioned to State.SUCCEEDED.");
 
-                try {
-
-                    logger.debug("Loading javascript files...");
-
-                    byte[] encoded = IOUtils.toByteArray(getClass().getResourceAsStream("jquery-3.1.1.js"));
-                    String code = new String(encoded, Charset.defaultCharset());
-                    webEngine.executeScript(code);
-
-                    encoded = IOUtils.toByteArray(getClass().getResourceAsStream("stuff.js"));
-                    code = new String(encoded, Charset.defaultCharset());
-                    webEngine.executeScript(code);
-
-                    //Thread.sleep(2000);
-
-                    safeToRunScripts.set(true);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
+                handlePageLoaded();
             }
         });
 
         webEngine.load(mapUrl.toExternalForm());
 
-        if (safeToRunScripts.get()) {
-            logger.debug("WebView has loaded page and is ready.");
-
-            JSObject window = (JSObject) webEngine.executeScript("window");
-            window.setMember("java", this);
-
-            if (SHOW_FIREBUG)
-                enableFirebug(webEngine);
-            webEngine.setUserStyleSheetLocation(getClass().getResource("style.css").toString());
-        } else {
-            safeToRunScripts.addListener((observable, oldValue, newValue) ->
-            {
-                if (newValue) {
-                    logger.debug("WebView has loaded page and is ready.");
-
-                    JSObject window = (JSObject) webEngine.executeScript("window");
-                    window.setMember("java", this);
-
-                    if (SHOW_FIREBUG)
-                        enableFirebug(webEngine);
-
-                    webEngine.setUserStyleSheetLocation(getClass().getResource("style.css").toString());
-
-                    // Call to setup defaults
-                    handleScrollStateChanged();
-
-
-                }
-            });
-        }
-
-
         //==============================================//
         //============== BUFFER SIZE SETUP =============//
         //==============================================//
@@ -218,6 +273,17 @@ public class ComDataPaneWeb extends StackPane {
             // If the buffer size is changed, we may need to trim the data
             // to fit the new size (if smaller)
             trimIfRequired();
+            trimDeferredData();
+        });
+
+        //==============================================//
+        //========== RENDERING SUSPENSION SETUP ========//
+        //==============================================//
+
+        isRenderingSuspended.addListener((observable, oldValue, newValue) -> {
+            if (!newValue) {
+                renderDeferredData();
+            }
         });
 
         //==============================================//
@@ -273,6 +339,89 @@ public class ComDataPaneWeb extends StackPane {
 
     }
 
+    /**
+     * Reads the script bundle from disk, if it has not been already. This is called from <code>Main</code>
+     * on startup so that the first terminal created does not have to wait for it.
+     */
+    public static void preloadScriptBundle() {
+        Thread thread = new Thread(ComDataPaneWeb::getScriptBundle, "ComDataPaneWeb script preload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return  All of the Javascript files needed by the WebView, joined together in one string.
+     */
+    private static synchronized String getScriptBundle() {
+        if (scriptBundle != null)
+            return scriptBundle;
+
+        StringBuilder bundle = new StringBuilder();
+        for (String scriptFile : SCRIPT_FILES) {
+            try {
+                bundle.append(IOUtils.toString(ComDataPaneWeb.class.getResourceAsStream(scriptFile), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            bundle.append("\n");
+        }
+
+        scriptBundle = bundle.toString();
+        return scriptBundle;
+    }
+
+    /**
+     * Called once the WebView has loaded richText.html. Executes the script bundle, and then
+     * all scripts which were requested to run while the page was loading.
+     */
+    private void handlePageLoaded() {
+
+        webEngine.executeScript(getScriptBundle());
+
+        JSObject window = (JSObject) webEngine.executeScript("window");
+        window.setMember("java", this);
+
+        if (SHOW_FIREBUG)
+            enableFirebug(webEngine);
+
+        safeToRunScripts = true;
+
+        // Run everything that was requested before we were ready in one go,
+        // in the order it was requested
+        if (!pendingScripts.isEmpty()) {
+            webEngine.executeScript(String.join(";\n", pendingScripts));
+            pendingScripts.clear();
+        }
+        numCharsInPendingScripts = 0;
+        updateNumCharsAwaitingRender();
+
+        // Used from now on to work out how many rows are removed when data is trimmed
+        measureFont();
+
+        // Call to setup defaults
+        handleScrollStateChanged();
+
+        timeToReadyNs = System.nanoTime() - createdTimeNs;
+        logger.debug("WebView has loaded page and is ready. Took " + timeToReadyNs / 1000000 + "ms.");
+
+        isReady.set(true);
+    }
+
+    /**
+     * @return A read-only view of <code>isReady</code>.
+     */
+    public ReadOnlyBooleanProperty isReadyProperty() {
+        return isReady.getReadOnlyProperty();
+    }
+
+    /**
+     * @return The time from this object being created to it being ready (see <code>isReadyProperty()</code>), or 0
+     * if it is not ready yet.
+     */
+    public long getTimeToReadyNs() {
+        return timeToReadyNs;
+    }
+
     private void handleIsCaretEnabledChange() {
         if (isCaretEnabled.get()) {
             logger.debug("Showing caret...");
@@ -303,10 +452,29 @@ public class ComDataPaneWeb extends StackPane {
 
     public void addData(StreamedData data) {
 
+        if (isRenderingSuspended.get()) {
+            deferData(data);
+        } else {
+            renderData(data);
+        }
+
+        updateNumCharsAwaitingRender();
+    }
+
+    private void updateNumCharsAwaitingRender() {
+        numCharsAwaitingRender.set(deferredData.getText().length() + numCharsInPendingScripts);
+    }
+
+    private void renderData(StreamedData data) {
+
         int currPos = 0;
 
         // Sort markers
-        Collections.sort(data.getMarkers());
+        data.sortMarkersInOutputOrder();
+
+        // Collect everything this render does (appending, trimming and scrolling) into one
+        // script, rather than calling into the WebView once per piece of text/marker
+        scriptBatch = new StringBuilder();
 
         for (Marker marker : data.getMarkers()) {
 
@@ -319,6 +487,10 @@ public class ComDataPaneWeb extends StackPane {
                 appendText("\n");
             } else if (marker instanceof TimeStampMarker) {
                 appendTimeStamp(((TimeStampMarker) marker).localDateTime);
+            } else if (marker instanceof ClearLineMarker) {
+                clearCurrLine();
+            } else if (marker instanceof RepeatCountMarker) {
+                runScriptWhenReady("setRepeatCount(" + ((RepeatCountMarker) marker).repeatCount + ")");
             } else
                 throw new RuntimeException("Marker sub-type not supported.");
 
@@ -332,62 +504,116 @@ public class ComDataPaneWeb extends StackPane {
         //= TRIM START OF DOCUMENT IF EXCEEDS BUFFER LENGTH =//
         //===================================================//
 
+        // In SMART_SCROLL mode, this also moves the scroll position up by the number of
+        // rows trimmed, so the user keeps looking at the same data
+        trimIfRequired();
 
-        Integer textHeightBeforeTrim = getTextHeight();
+        //==============================================//
+        //============== SCROLL POSITION ===============//
+        //==============================================//
 
-        //logger.debug("textHeightBeforeTrim = " + textHeightBeforeTrim);
+        if (scrollState.get() == ScrollState.FIXED_TO_BOTTOM) {
+            scrollToBottom();
+        }
 
-        trimIfRequired();
+        String batchedScripts = scriptBatch.toString();
+        scriptBatch = null;
+        if (!batchedScripts.isEmpty()) {
+            runScriptWhenReady(batchedScripts);
+        }
+    }
 
-        Integer textHeightAfterTrim = getTextHeight();
-        //logger.debug("textHeightAfterTrim = " + textHeightAfterTrim);
+    /**
+     * Stores data which has arrived while rendering is suspended, keeping only the tail which will fit
+     * in the display buffer.
+     *
+     * @param data  The data to store. This is copied, not modified.
+     */
+    private void deferData(StreamedData data) {
 
+        // Lines which are redrawn while rendering is suspended only need their last redraw to be kept
+        deferredData.copyCharsFromClearingLines(data);
 
-        //==============================================//
-        //============== SCROLL POSITION ===============//
-        //==============================================//
+        trimDeferredData();
+    }
 
-        switch (scrollState.get()) {
-            case FIXED_TO_BOTTOM:
-                // Scroll to the bottom
-                scrollToBottom();
+    /**
+     * Trims the oldest deferred data so that no more than <code>bufferSize</code> chars are held.
+     * The colour in effect at the new first char is preserved.
+     */
+    private void trimDeferredData() {
+
+        int numCharsToRemove = deferredData.getText().length() - bufferSize.get();
+        if (numCharsToRemove <= 0)
+            return;
+
+        // Find the colour which will be in effect for the first char that is kept,
+        // as trimming will delete the marker which set it
+        ColourMarker colourInEffect = null;
+        for (ColourMarker colourMarker : deferredData.getColourMarkers()) {
+            if (colourMarker.charPos > numCharsToRemove)
                 break;
+            colourInEffect = colourMarker;
+        }
 
-            case SMART_SCROLL:
+        deferredData.removeCharsFromStart(numCharsToRemove, false);
 
-                Integer heightChange = textHeightBeforeTrim - textHeightAfterTrim;
-                //logger.debug("heightChange = " + heightChange);
+        if (colourInEffect != null && !deferredData.isColorAt(0)) {
+            // Insert at the front, colour markers must be kept in order
+            deferredData.getMarkers().add(0, new ColourMarker(0, colourInEffect.color));
+        }
+    }
 
-                // We need to shift the scroll up by the amount the height changed
-                Integer oldScrollTop = getComDataWrapperScrollTop();
-                //logger.debug("oldScrollTop = " + oldScrollTop);
+    /**
+     * Renders all data which arrived while rendering was suspended, in one batch.
+     */
+    private void renderDeferredData() {
 
-                Integer newScrollTop = oldScrollTop - heightChange;
-                if (newScrollTop < 0)
-                    newScrollTop = 0;
-                //logger.debug("newScrollTop = " + newScrollTop);
+        if (deferredData.getText().isEmpty() && deferredData.getMarkers().isEmpty())
+            return;
 
-                setComDataWrapperScrollTop(newScrollTop);
+        StreamedData dataToRender = deferredData;
+        deferredData = new StreamedData();
 
-                break;
-            default:
-                throw new RuntimeException("scrollState not recognised.");
+        // If the deferred data fills the whole buffer, everything currently displayed would be
+        // trimmed anyway, so start from an empty pane rather than trimming it
+        if (dataToRender.getText().length() >= bufferSize.get()) {
+            Color colorInEffect = currColor;
+            clearData();
+            if (!dataToRender.isColorAt(0)) {
+                appendColor(colorInEffect);
+            }
         }
 
+        logger.debug("Rendering " + dataToRender.getText().length() + " chars of deferred data.");
+        renderData(dataToRender);
+        updateNumCharsAwaitingRender();
     }
 
     public void setWrappingEnabled(Boolean value) {
         logger.debug("setWrappingEnabled() called with value = " + value.toString());
+        wrappingEnabled = value;
         runScriptWhenReady("setWrappingEnabled(" + value.toString() + ")");
+        measureFont();
     }
 
     public void setWrappingWidthPx(double width) {
         logger.debug("setWrappingWidthPx() called with width = " + Double.toString(width));
+        wrappingWidthPx = width;
         runScriptWhenReady("setWrappingWidthPx(" + Double.toString(width) + ")");
+        measureFont();
     }
 
-    private Integer getComDataWrapperScrollTop() {
-        return (Integer) webEngine.executeScript("getComDataWrapperScrollTop()");
+    /**
+     * Re-measures the width of one character in the WebView. The measurement does not depend on any scripts
+     * still waiting to be run, so this runs straight away (unless the page has not loaded yet, in which case it
+     * is measured once it has).
+     */
+    private void measureFont() {
+        if (!safeToRunScripts)
+            return;
+
+        charWidthPx = ((Number) webEngine.executeScript("measureFont(); charWidthPx")).doubleValue();
     }
 
     private void setComDataWrapperScrollTop(Integer value) {
@@ -399,6 +625,8 @@ public class ComDataPaneWeb extends StackPane {
 
         // Remove all COM data
         runScriptWhenReady("clearData()");
+        deferredData.clear();
+        updateNumCharsAwaitingRender();
 
         // Add new default span (since all existing ones have now
         // been deleted)
@@ -413,6 +641,8 @@ public class ComDataPaneWeb extends StackPane {
 
         // Reset character count
         currNumChars.set(0);
+        displayedLines.clear();
+        currLineNumCharsToKeep = 0;
 
 
     }
@@ -436,10 +666,34 @@ public class ComDataPaneWeb extends StackPane {
             // Update the character count
             currNumChars.set(currNumChars.get() - numCharsToRemove);
 
+            int numRowsRemoved = displayedLines.removeFromStart(numCharsToRemove, getCharsPerRow());
+            if (scrollState.get() == ScrollState.SMART_SCROLL && numRowsRemoved > 0) {
+                // Scroll up by the height of the removed rows, so the user is still looking at the same data.
+                // The WebView applies this on its next frame, so there is no need to measure anything here
+                runScriptWhenReady("scrollUpByRows(" + numRowsRemoved + ")");
+            }
+
             //logger.debug("currNumChars.get() = " + currNumChars.get());
         }
     }
 
+    /**
+     * @return  The number of characters which fit on one rendered row before wrapping, or 0 if wrapping is disabled
+     *          (or the font metrics are not known yet).
+     */
+    private int getCharsPerRow() {
+        if (!wrappingEnabled)
+            return 0;
+
+        // The WebView has no size until it is first laid out (e.g. if the terminal's tab has not been shown yet)
+        if (charWidthPx <= 0.0)
+            measureFont();
+        if (charWidthPx <= 0.0)
+            return 0;
+
+        return Math.max((int) (wrappingWidthPx / charWidthPx), 1);
+    }
+
     /**
      * Updates the visibility of the scroll-to-bottom (the down arrow) button.
      * This should be called when <code>scrollState</code> changes.
@@ -459,24 +713,23 @@ public class ComDataPaneWeb extends StackPane {
     }
 
     /**
+     * Runs the provided script in the WebView. If the WebView has not finished loading yet, the script is queued
+     * and run (in order with all other queued scripts) when it has.
+     *
      * @param script
-     * @warning This is hacky! Relies on {@code safeToRunScripts}, which is set by a simple timeout.
      */
     private void runScriptWhenReady(String script) {
         //logger.debug("runScriptWhenReady() called with script = " + script);
 
-        if (safeToRunScripts.get()) {
-            logger.debug("Safe to run JS script immediately.");
+        if (scriptBatch != null) {
+            scriptBatch.append(script).append(";\n");
+            return;
+        }
+
+        if (safeToRunScripts) {
             webEngine.executeScript(script);
         } else {
-            logger.debug("Scheduling script to run when safeToRunScripts == true...");
-            safeToRunScripts.addListener((observable, oldValue, newValue) -> {
-                if (newValue) {
-                    //logger.debug("Executing script = \"" + script + "\".");
-                    webEngine.executeScript(script);
-                }
-            });
-
+            pendingScripts.add(script);
         }
     }
 
@@ -500,6 +753,13 @@ public class ComDataPaneWeb extends StackPane {
         // chars in the WebView rich text object.
         // Note: Keep track of number of chars BEFORE escaping new lines
         currNumChars.set(currNumChars.get() + text.length());
+        displayedLines.addText(text);
+        if (text.indexOf('\n') != -1) {
+            currLineNumCharsToKeep = 0;
+        }
+        if (!safeToRunScripts) {
+            numCharsInPendingScripts += text.length();
+        }
 
         // Escape new lines
         //logger.debug("Non-escaped HTML = " + text);
@@ -516,6 +776,8 @@ public class ComDataPaneWeb extends StackPane {
     }
 
     private void appendColor(Color color) {
+        currColor = color;
+
         String js = "addColor(\"" + StringUtils.toWebColor(color) + "\")";
         //logger.debug("js = " + js);
         //webEngine.executeScript(js);
@@ -532,9 +794,28 @@ public class ComDataPaneWeb extends StackPane {
 
         runScriptWhenReady("appendTimeStamp(\"" + timeStamp + "\")");
 
+        if (displayedLines.getCurrLineLength() == 0) {
+            currLineNumCharsToKeep = timeStamp.length();
+        }
+
         // Update the variable that keeps track of the number of displayed
         // chars in the WebView rich text object.
         currNumChars.set(currNumChars.get() + timeStamp.length());
+        displayedLines.addChars(timeStamp.length());
+    }
+
+    /**
+     * Removes all text on the current line (except for the time stamp, if the line has one).
+     */
+    private void clearCurrLine() {
+
+        int numCharsRemoved = displayedLines.clearCurrLine(currLineNumCharsToKeep);
+        if (numCharsRemoved == 0)
+            return;
+
+        runScriptWhenReady("clearCurrLine(" + numCharsRemoved + ")");
+
+        currNumChars.set(currNumChars.get() - numCharsRemoved);
     }
 
     private void scrollToBottom() {
@@ -590,10 +871,6 @@ public class ComDataPaneWeb extends StackPane {
         scrollToBottom();
     }
 
-    private Integer getTextHeight() {
-        return (Integer) webEngine.executeScript("getTextHeight()");
-    }
-
     /**
      * Gets called by the Javascript when either the up key is pressed or the mouse wheel is scrolled
      * in the upwards direction (when the WebView has focus).
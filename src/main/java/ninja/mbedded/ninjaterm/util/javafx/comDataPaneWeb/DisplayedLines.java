@@ -0,0 +1,161 @@
+package ninja.mbedded.ninjaterm.util.javafx.comDataPaneWeb;
+
+/**
+ * Keeps track of the length of every line of text currently displayed in a <code>{@link ComDataPaneWeb}</code>,
+ * so that the number of rendered rows removed when the start of the data is trimmed can be worked out
+ * without asking the WebView.
+ * <p>
+ * Lengths are stored in a circular array of ints, with the last entry being the line currently being
+ * appended to. The length of a completed line includes its trailing new line character.
+ * <p>
+ * Every char is assumed to take up one column, and lines to wrap at exactly <code>charsPerRow</code> chars.
+ * This matches how <code>#com-data</code> is styled (<code>white-space: pre-wrap</code> and
+ * <code>word-break: break-all</code>, see style.css).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @last-modified 2026-10-19
+ * @since 2026-10-19
+ */
+class DisplayedLines {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private int[] lineLengths = new int[64];
+
+    /**
+     * Index in <code>lineLengths</code> of the oldest line.
+     */
+    private int head = 0;
+
+    /**
+     * The number of lines, including the line currently being appended to (so always at least 1).
+     */
+    private int numLines = 1;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * Forgets all lines.
+     */
+    public void clear() {
+        head = 0;
+        numLines = 1;
+        lineLengths[0] = 0;
+    }
+
+    public int getNumLines() {
+        return numLines;
+    }
+
+    /**
+     * @return  The number of chars on the line currently being appended to.
+     */
+    public int getCurrLineLength() {
+        return lineLengths[indexOf(numLines - 1)];
+    }
+
+    /**
+     * Records text appended to the display. A new line is started after every <code>'\n'</code>.
+     *
+     * @param text  The appended text.
+     */
+    public void addText(String text) {
+        int startIndex = 0;
+        int newLineIndex;
+        while ((newLineIndex = text.indexOf('\n', startIndex)) != -1) {
+            addChars(newLineIndex + 1 - startIndex);
+            startNewLine();
+            startIndex = newLineIndex + 1;
+        }
+        addChars(text.length() - startIndex);
+    }
+
+    /**
+     * Records chars appended to the current line, which are known not to contain new lines
+     * (e.g. time stamps).
+     *
+     * @param numChars  The number of chars appended.
+     */
+    public void addChars(int numChars) {
+        lineLengths[indexOf(numLines - 1)] += numChars;
+    }
+
+    /**
+     * Removes chars from the end of the line currently being appended to.
+     *
+     * @param numCharsToKeep    The number of chars at the start of the line which are not removed.
+     * @return                  The number of chars removed.
+     */
+    public int clearCurrLine(int numCharsToKeep) {
+        int index = indexOf(numLines - 1);
+        int numChars = Math.max(lineLengths[index] - numCharsToKeep, 0);
+        lineLengths[index] -= numChars;
+        return numChars;
+    }
+
+    /**
+     * Records the removal of chars from the start of the display.
+     *
+     * @param numChars      The number of chars removed.
+     * @param charsPerRow   The number of chars which fit on one rendered row before wrapping,
+     *                      or 0 if wrapping is disabled.
+     * @return              The number of rendered rows which were removed.
+     */
+    public int removeFromStart(int numChars, int charsPerRow) {
+
+        int numRowsRemoved = 0;
+
+        while (numChars > 0) {
+
+            int firstLineLength = lineLengths[head];
+            boolean isLastLine = numLines == 1;
+
+            if (!isLastLine && numChars >= firstLineLength) {
+                // Whole line removed
+                numRowsRemoved += calcNumRows(firstLineLength - 1, charsPerRow);
+                numChars -= firstLineLength;
+                head = (head + 1) % lineLengths.length;
+                numLines--;
+            } else {
+                // Only the start of the line removed, it may now wrap onto fewer rows
+                int numRowsBefore = calcNumRows(isLastLine ? firstLineLength : firstLineLength - 1, charsPerRow);
+                int newLength = Math.max(firstLineLength - numChars, 0);
+                lineLengths[head] = newLength;
+                numChars = 0;
+                numRowsRemoved += numRowsBefore - calcNumRows(isLastLine ? newLength : newLength - 1, charsPerRow);
+            }
+        }
+
+        return numRowsRemoved;
+    }
+
+    private static int calcNumRows(int numVisibleChars, int charsPerRow) {
+        if (charsPerRow <= 0 || numVisibleChars <= charsPerRow)
+            return 1;
+
+        return (numVisibleChars + charsPerRow - 1) / charsPerRow;
+    }
+
+    private void startNewLine() {
+        if (numLines == lineLengths.length) {
+            // Grow the circular array, unwrapping it so the oldest line is at index 0
+            int[] newLineLengths = new int[lineLengths.length * 2];
+            for (int i = 0; i < numLines; i++) {
+                newLineLengths[i] = lineLengths[indexOf(i)];
+            }
+            lineLengths = newLineLengths;
+            head = 0;
+        }
+
+        numLines++;
+        lineLengths[indexOf(numLines - 1)] = 0;
+    }
+
+    private int indexOf(int lineNum) {
+        return (head + lineNum) % lineLengths.length;
+    }
+}
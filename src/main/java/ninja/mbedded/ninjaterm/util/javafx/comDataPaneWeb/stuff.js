@@ -1,5 +1,10 @@
 "use strict";
 
+// This script is executed by ComDataPaneWeb once the page (richText.html) has loaded.
+// It uses the plain DOM API only (no jQuery), as it is executed once for every
+// ComDataPaneWeb that is created, and the less code there is to parse the quicker
+// a new terminal is ready to display data.
+
 /// \brief      name is used purely for debugging purposes.
 var name = "";
 var isCaretShown = false;
@@ -8,162 +13,203 @@ var currColor = '#FFFFFF';
 var wrappingEnabled = false;
 var wrappingWidthPx = 200.0;
 
-$( document ).ready(function() {
-    console.log('doc ready');
-
-    $("#down-arrow").click(function(){
-        java.downArrowClicked();
-    });
-
-    // Notify the Java code if the mouse wheel is scrolled in
-    // the upwards direction.
-    $("#com-data-wrapper").bind('mousewheel', function(e) {
-        if(e.originalEvent.wheelDelta > 0) {
-            //java.log('up');
-            java.upKeyOrMouseWheelUpOccurred();
-        }
-    });
-
-    // Notify Java if the up key is pressed.
-    // Note that this event handler won't work if it is just bound to the
-    // $("#com-data-wrapper") node. For some reason it has to be applied the the
-    // whole document
-    $(document).on('keydown', function(e) {
-        if (e.keyCode === 38) {
-            //java.log('up key pressed');
-            java.upKeyOrMouseWheelUpOccurred();
-        }
-    });
+// Elements which are used on every call are looked up once and cached here
+var comDataWrapper = document.getElementById("com-data-wrapper");
+var comData = document.getElementById("com-data");
+var downArrow = document.getElementById("down-arrow");
+var nameText = document.getElementById("name-text");
+var caret = null;
+
+// The "xN" badge at the end of the last line, while that line is being repeated
+var repeatBadge = null;
+
+// Font metrics, measured by measureFont() (when the page loads, and again whenever the Java code
+// asks). The font is monospaced, so these are used to convert rows (as counted by the Java code)
+// into pixels
+var lineHeightPx = 0;
+var charWidthPx = 0;
+
+// Scroll changes are applied once per frame rather than on every call, so
+// that the layout does not have to be recalculated each time data is added
+var pendingScrollUpRows = 0;
+var isScrollToBottomPending = false;
+var isScrollUpdateScheduled = false;
+var requestFrame = window.requestAnimationFrame ?
+    window.requestAnimationFrame.bind(window) :
+    function(callback) { return setTimeout(callback, 16); };
+
+downArrow.addEventListener("click", function() {
+    java.downArrowClicked();
 });
 
-/*function handleScroll() {
-    console.log("scroll() event handler called.");
-    java.scrolled($("#com-data-wrapper").scrollTop());
-}*/
-
-function addText(newText) {
-    java.log("addText() called for \"" + name + "\" with newText = \"" + newText + "\".");
-    //java.log("com-data = " + JSON.stringify($("#com-data")));
+// Notify the Java code if the mouse wheel is scrolled in
+// the upwards direction.
+comDataWrapper.addEventListener("mousewheel", function(e) {
+    if(e.wheelDelta > 0) {
+        java.upKeyOrMouseWheelUpOccurred();
+    }
+});
 
-    if(!newText) {
-        return;
+// Notify Java if the up key is pressed.
+// Note that this event handler won't work if it is just bound to the
+// #com-data-wrapper node. For some reason it has to be applied the the
+// whole document
+document.addEventListener("keydown", function(e) {
+    if (e.keyCode === 38) {
+        java.upKeyOrMouseWheelUpOccurred();
     }
+});
 
-    var lastChild;
+//! @brief  Measures the height of one line and the width of one char of COM data.
+function measureFont() {
+    var measure = document.createElement("div");
+    measure.style.display = "inline-block";
+    measure.textContent = "XXXXXXXXXX";
+    comData.appendChild(measure);
+    var rect = measure.getBoundingClientRect();
+    lineHeightPx = rect.height;
+    charWidthPx = rect.width / 10;
+    comData.removeChild(measure);
+}
+
+measureFont();
 
+//! @brief  Returns the span which text is currently being appended to.
+function getLastDataSpan() {
     if(isCaretShown) {
-        // If caret is shown, the caret if the last element,
+        // If caret is shown, the caret is the last element,
         // the last textual data is the second-to-last element
-        lastChild = $("#com-data").children().last().prev();
-        if(!lastChild) {
-            throw "Could not find child element to insert text into.";
-        }
+        return caret.previousElementSibling;
     } else {
-        lastChild = $("#com-data").children().last();
-        if(!lastChild) {
-            throw "Could not find child element to insert text into.";
-        }
+        return comData.lastElementChild;
     }
+}
 
-//    java.log("lastChild = \"" + JSON.stringify(lastChild) + "\".");
-    java.log("lastChild.html() = \"" + lastChild.html() + "\".");
-
-    //if (typeof lastChild.html() == 'undefined'){
-    //    java.log("lastChild was 'undefined'");
-    //    lastChild.html("");
-    //}
+//! @brief  Inserts a new element at the end of the COM data (but before the caret, if shown).
+function insertDataElement(element) {
+    if(isCaretShown) {
+        comData.insertBefore(element, caret);
+    } else {
+        comData.appendChild(element);
+    }
+}
 
-    //java.log("lastChild (before 2) = \"" + lastChild.html() + "\".");
+function addText(newText) {
 
-    //java.log("lastChild.html() (before add) = ");
-    //java.log(lastChild.html());
+    if(!newText) {
+        return;
+    }
 
-    // Add text to this last span element
-    // The span element should only contain text and new line characters,
-    // and NO child HTML elements
-    lastChild.html(lastChild.html() + newText);
+    var lastChild = getLastDataSpan();
+    if(!lastChild) {
+        throw "Could not find child element to insert text into.";
+    }
 
-    //java.log("lastChild (after) = " + lastChild.html());
+    if(newText.indexOf("\n") !== -1) {
+        // The repeated line has ended, the next repeat count gets a new badge
+        repeatBadge = null;
+    }
 
-    //java.log("lastChild.html() (after add) = ");
-    //java.log(lastChild.html());
-    //java.log("addText() finished.");
+    // Add text to this last span element. Text is always added as a text node
+    // (never parsed as HTML), and appended to the existing text node if there is one
+    var lastNode = lastChild.lastChild;
+    if(lastNode && lastNode.nodeType === Node.TEXT_NODE) {
+        lastNode.appendData(newText);
+    } else {
+        lastChild.appendChild(document.createTextNode(newText));
+    }
 }
 
 function addColor(color) {
 
-    java.log("addColor() called for \"" + name + "\" with color = " + color);
-
-    java.log("#com-data.html before addColor() = " + $("#com-data").html());
-
-    var html = "<span style='color: " + color + ";'></span>";
-    java.log("html to add = " + html);
-
-    java.log('isCaretShown = ' + isCaretShown);
+    var lastChild = getLastDataSpan();
+    if(lastChild && lastChild.textContent.length === 0) {
+        // Nothing has been written in the current colour yet (e.g. the line
+        // has just been cleared), so re-use the span rather than adding another
+        lastChild.style.color = color;
+    } else {
+        var span = document.createElement("span");
+        span.style.color = color;
+        insertDataElement(span);
+    }
 
     if(isCaretShown) {
-        // If the caret is shown, we have to insert this new color before
-        // the caret node
-        java.log('Inserting color span before caret...');
-        $(html).insertBefore("#caret");
-
         // Set the caret color to be the same as the current text color
-        $('#caret').css('color', color);
-    } else {
-        java.log('Appending color span to end of com-data object...');
-        $("#com-data").append(html);
+        caret.style.color = color;
     }
 
     currColor = color;
-    java.log("#com-data.html after addColor() = " + $("#com-data").html());
 }
 
 function appendTimeStamp(timeStamp) {
-    java.log("appendTimeStamp called for \"" + name + "\" with timeStamp = " + timeStamp);
 
-    var html = "<span style='color: white;'>" + timeStamp + "</span>";
-
-    if(isCaretShown) {
-        // If the caret is shown, we have to insert this new color before
-        // the caret node
-        $(html).insertBefore("#caret");
-    } else {
-        $("#com-data").append(html);
-    }
+    var span = document.createElement("span");
+    span.style.color = "white";
+    span.textContent = timeStamp;
+    insertDataElement(span);
 
     // Go back to existing colour
     addColor(currColor);
+}
 
+//! @brief  Shows (or updates) the number of times the last line has been received in a row.
+//!         The badge is not counted as displayed chars.
+function setRepeatCount(count) {
+    if(!repeatBadge) {
+        repeatBadge = document.createElement("span");
+        repeatBadge.className = "repeat-count";
+        repeatBadge.textContent = "\u00D7" + count;
+        insertDataElement(repeatBadge);
+
+        // Text which follows goes in a new span of the current colour, not the badge
+        addColor(currColor);
+    } else {
+        repeatBadge.textContent = "\u00D7" + count;
+    }
 }
 
-function scrollToBottom() {
+function scheduleScrollUpdate() {
+    if(!isScrollUpdateScheduled) {
+        isScrollUpdateScheduled = true;
+        requestFrame(applyScrollUpdate);
+    }
+}
+
+function applyScrollUpdate() {
+    isScrollUpdateScheduled = false;
 
-    //$("#com-data-wrapper").off('scroll', handleScroll);
-    $("#com-data-wrapper").scrollTop($("#com-data").height()-$("#com-data-wrapper").height());
-    //$("#com-data-wrapper").on('scroll', handleScroll);
+    if(isScrollToBottomPending) {
+        // The browser clamps this to the maximum scroll position
+        comDataWrapper.scrollTop = comDataWrapper.scrollHeight;
+    } else if(pendingScrollUpRows > 0) {
+        comDataWrapper.scrollTop = Math.max(comDataWrapper.scrollTop - pendingScrollUpRows * lineHeightPx, 0);
+    }
 
-//    $("#com-data-wrapper").animate({
-//       scrollTop: $("#com-data").height()-$("#com-data-wrapper").height()},
-//       1400,
-//       "swing"
-//    );
+    isScrollToBottomPending = false;
+    pendingScrollUpRows = 0;
+}
 
+function scrollToBottom() {
+    isScrollToBottomPending = true;
+    scheduleScrollUpdate();
 }
 
-function getComDataWrapperScrollTop() {
-    return $("#com-data-wrapper").scrollTop();
+//! @brief  Moves the scroll position up by the provided number of rows (used when rows
+//!         have been trimmed from the top, so that the same data stays in view).
+function scrollUpByRows(numRows) {
+    pendingScrollUpRows += numRows;
+    scheduleScrollUpdate();
 }
 
 function setWrappingEnabled(value) {
     java.log("setWrappingEnabled() called with value = \"" + value + "\".");
     if(value) {
-        java.log("Setting CSS property to enable wrapping...");
-        $("#com-data").css("width", wrappingWidthPx);
-        $("#com-data").css("white-space", "pre-line");
+        comData.style.width = wrappingWidthPx + "px";
+        // Wrap at exactly every (width / char width) chars, as counted by DisplayedLines
+        comData.style.whiteSpace = "pre-wrap";
     } else {
-        java.log("Setting CSS property to disable wrapping...");
-        $("#com-data").css("width", "100%");
-        $("#com-data").css("white-space", "nowrap");
+        comData.style.width = "100%";
+        comData.style.whiteSpace = "pre";
     }
     wrappingEnabled = value;
 }
@@ -171,103 +217,107 @@ function setWrappingEnabled(value) {
 function setWrappingWidthPx(width) {
     java.log("setWrappingWidthPx() with width = \"" + width + "\".");
     if(wrappingEnabled) {
-        $("#com-data").css("width", width);
+        comData.style.width = width + "px";
     }
     // Save width to global so we can set width again if wrapping is enabled then disabled
     wrappingWidthPx = width;
 }
 
 function setComDataWrapperScrollTop(scrollTop) {
-    $("#com-data-wrapper").scrollTop(scrollTop);
+    // This overrides any scroll changes still waiting for the next frame
+    isScrollToBottomPending = false;
+    pendingScrollUpRows = 0;
+    comDataWrapper.scrollTop = scrollTop;
 }
 
 function clearData() {
-    java.log("clearData() called for \"" + name + "\".")
-    java.log("#com-data.html before clearData() = " + $("#com-data").html());
+    java.log("clearData() called for \"" + name + "\".");
 
-    if(isCaretShown) {
-        // Delete all child elements except for last (which is the caret)
-        $("#com-data").children().not(":last").remove()
-    } else {
-        $("#com-data").empty();
+    // Delete all child elements except for the caret (if shown)
+    while(comData.firstChild && comData.firstChild !== caret) {
+        comData.removeChild(comData.firstChild);
     }
-
-    java.log("#com-data.html after clearData() = " + $("#com-data").html());
+    repeatBadge = null;
 }
 
 function showDownArrow(trueFalse) {
-    // Wrapped in jQuery ready() function because of weird asynchronicity bug
-    // with Java WebView
-    $(document).ready(function() {
-        java.log("showDownArrow() called with trueFalse = " + trueFalse);
-        if(trueFalse) {
-            java.log("Showing down-arrow...");
-            $("#down-arrow").show();
-        } else {
-            java.log("Hiding down-arrow...");
-            $("#down-arrow").hide();
-        }
-    });
-}
-
-function getTextHeight() {
-    //java.log("height = " + $("#com-data").height());
-    return $("#com-data").height();
+    java.log("showDownArrow() called with trueFalse = " + trueFalse);
+    downArrow.style.display = trueFalse ? "" : "none";
 }
 
 function setName(value) {
-    // Wrapped in jQuery ready() function because of weird asynchronicity bug
-    // with Java WebView
-    //$(document).ready(function() {
-        java.log("setName() called with value = " + value);
-        $("#name-text").text(value);
-        name = value;
-    //});
+    java.log("setName() called with value = " + value);
+    nameText.textContent = value;
+    name = value;
 }
 
 //! @brief  Trims the oldest characters from the rich text object.
 function trim(numChars) {
 
-    java.log("trim() called for \"" + name + "\" with numChars = " + numChars);
+    var numCharsToRemove = numChars;
 
-    // Disable scroll handler, as trimming can cause this to fire when
-    // we don't want it to
-    //$("#com-data-wrapper").off('scroll', handleScroll);
+    // #com-data is a div, all children are spans
+    var element = comData.firstElementChild;
+    while(element && element !== caret && numCharsToRemove > 0) {
 
-    var numCharsToRemove = numChars;
+        var nextElement = element.nextElementSibling;
+        var text = element.textContent;
 
-    // #com-data is a div
-    $("#com-data").children().each(function(index, element) {
+        if(element.className === "repeat-count") {
+            // Repeat counts are not included in the char count, and are removed
+            // along with the line they are on
+            if(element === repeatBadge) {
+                repeatBadge = null;
+            }
+            comData.removeChild(element);
+        } else if(text.length > numCharsToRemove) {
+            // This element has enough text to satisfy the trim() operation
+            element.textContent = text.slice(numCharsToRemove);
+            numCharsToRemove = 0;
+        } else {
+            numCharsToRemove -= text.length;
+            comData.removeChild(element);
+        }
 
-        //java.log("currChildNode = ");
-        //java.log(JSON.stringify(element));
+        element = nextElement;
+    }
 
-        var text = $(element).text();
-        //java.log("element.text() = ");
-        //java.log(JSON.stringify(text));
+    if(numCharsToRemove > 0) {
+        throw "trim() was requested to remove too many chars. Remaining chars to remove = " + numCharsToRemove;
+    }
+}
+
+//! @brief  Removes the newest characters from the rich text object (used to clear
+//!         the current line when it is redrawn in place).
+function clearCurrLine(numChars) {
+
+    var numCharsToRemove = numChars;
+
+    var lastElement = getLastDataSpan();
+    var element = lastElement;
+    while(element && numCharsToRemove > 0) {
+
+        var prevElement = element.previousElementSibling;
+        var text = element.textContent;
 
         if(text.length > numCharsToRemove) {
-            //java.log("element has enough text to satisfy trim() operation.");
-            $(element).text(text.slice(numCharsToRemove));
+            element.textContent = text.slice(0, text.length - numCharsToRemove);
             numCharsToRemove = 0;
-            // We have remove enough chars, stop loop
-            return false;
         } else {
-            //java.log("element does not has enough text to satisfy trim() operation, removing and progressing through loop.");
             numCharsToRemove -= text.length;
-            $(element).remove();
-
-            if(numCharsToRemove == 0) {
-                return false;
+            if(element === lastElement) {
+                // Keep the last span, it sets the colour of the text which is added next
+                element.textContent = "";
+            } else {
+                comData.removeChild(element);
             }
         }
 
-    });
-
-    //$("#com-data-wrapper").on('scroll', handleScroll);
+        element = prevElement;
+    }
 
     if(numCharsToRemove > 0) {
-        throw "trim() was requested to remove too many chars. Remaining chars to remove = " + numCharsToRemove;
+        throw "clearCurrLine() was requested to remove too many chars. Remaining chars to remove = " + numCharsToRemove;
     }
 }
 
@@ -280,27 +330,19 @@ function showCaret(trueFalse) {
         return;
     }
 
-    // Wrapped in jQuery ready() function because of weird asynchronicity bug
-    // with Java WebView
-    //$(document).ready(function() {
-        if(trueFalse) {
-            // Create cursor
-            java.log("Displaying caret...");
-            //java.log("$('#com-data') (before adding caret) = " + JSON.stringify($("#com-data")));
-            // &#x2588; is the hex code for the unicode character 'FULL BLOCK' (looks like a caret)
-            $("#com-data").append('<span id="caret">&#x2588;</span>');
-            //java.log("$('#com-data') (after adding caret) = " + JSON.stringify($("#com-data")));
-            $('#caret').css('color', currColor);
-            isCaretShown = true;
-            java.log("#com-data.html = " + $("#com-data").html());
-
-        } else {
-            java.log("Hiding caret...");
-            $("#caret").remove();
-            isCaretShown = false;
-            java.log("#com-data.html = " + $("#com-data").html());
-        }
-    //});
+    if(trueFalse) {
+        // \u2588 is the unicode character 'FULL BLOCK' (looks like a caret)
+        caret = document.createElement("span");
+        caret.id = "caret";
+        caret.textContent = "\u2588";
+        caret.style.color = currColor;
+        comData.appendChild(caret);
+        isCaretShown = true;
+    } else {
+        comData.removeChild(caret);
+        caret = null;
+        isCaretShown = false;
+    }
 }
 
 //! @brief      Checks the number of textual characters displayed as data is equal
@@ -309,17 +351,13 @@ function showCaret(trueFalse) {
 function checkCharCount(expectedCharCount) {
 
     var charCount = 0;
-    $("#com-data").children().each(function(index, element) {
-        //java.log("html().length = " + $(element).html().length);
-        charCount += $(element).html().length;
-    });
+    for(var element = comData.firstElementChild; element && element !== caret; element = element.nextElementSibling) {
+        if(element.className !== "repeat-count") {
+            charCount += element.textContent.length;
+        }
+    }
 
-    //java.log("charCount = " + charCount + ", expectedCharCount = " + expectedCharCount);
     if(charCount != expectedCharCount) {
         throw "Actual char count (" + charCount + ") did not match expected char count (" + expectedCharCount + ").";
     }
 }
-
-
-
-
@@ -0,0 +1,60 @@
+package ninja.mbedded.ninjaterm.util.javafx.configBindings;
+
+import javafx.beans.property.Property;
+import javafx.beans.value.ObservableValue;
+import ninja.mbedded.ninjaterm.util.config.Config;
+import ninja.mbedded.ninjaterm.util.config.IntConfig;
+
+/**
+ * Binds <code>{@link Config}</code> objects (used by the JavaFX-free classes, e.g. the RX processing engine)
+ * to the JavaFX properties of the UI.
+ * <p>
+ * As with JavaFX bindings, the first argument takes the value of the second when the binding is made. Changes
+ * are copied on the thread which made them, so configs which are bound to UI properties must only be set from
+ * the UI thread. The bindings cannot be removed (they live as long as the config and property do).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ConfigBindings {
+
+    /**
+     * Keeps the config and property in sync. The config takes the value of the property.
+     */
+    public static <T> void bindBidirectional(Config<T> config, Property<T> property) {
+        config.setValue(property.getValue());
+        addListeners(config, property);
+    }
+
+    /**
+     * Keeps the property and config in sync. The property takes the value of the config.
+     */
+    public static <T> void bindBidirectional(Property<T> property, Config<T> config) {
+        property.setValue(config.getValue());
+        addListeners(config, property);
+    }
+
+    private static <T> void addListeners(Config<T> config, Property<T> property) {
+        // Both only notify on an actual change, so setting the other back to the same value ends the loop
+        config.addListener((changedConfig, oldValue, newValue) -> property.setValue(newValue));
+        property.addListener((observable, oldValue, newValue) -> config.setValue(newValue));
+    }
+
+    /**
+     * Makes the config follow the observable value.
+     */
+    public static <T> void bind(Config<T> config, ObservableValue<? extends T> observableValue) {
+        config.setValue(observableValue.getValue());
+        observableValue.addListener((observable, oldValue, newValue) -> config.setValue(newValue));
+    }
+
+    /**
+     * Makes the config follow the observable number (e.g. an <code>IntegerProperty</code>).
+     */
+    public static void bind(IntConfig config, ObservableValue<? extends Number> observableValue) {
+        config.set(observableValue.getValue().intValue());
+        observableValue.addListener((observable, oldValue, newValue) -> config.set(newValue.intValue()));
+    }
+
+}
@@ -0,0 +1,94 @@
+package ninja.mbedded.ninjaterm.util.javafx.sparkline;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import ninja.mbedded.ninjaterm.util.metrics.DoubleRingBuffer;
+
+/**
+ * A small line chart (with no axes) of the samples in a <code>{@link DoubleRingBuffer}</code>, scaled so that
+ * the largest sample reaches the top. The newest sample is at the right, and the line starts part way across
+ * until the buffer is full.
+ * <p>
+ * The samples are not watched, call <code>redraw()</code> after they change.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class Sparkline extends Region {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final double DEFAULT_WIDTH_PX = 300.0;
+
+    private static final double DEFAULT_HEIGHT_PX = 40.0;
+
+    private static final Color BACKGROUND_COLOR = Color.BLACK;
+
+    private static final Color LINE_COLOR = new Color(0, 1, 0, 1);
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final Canvas canvas = new Canvas(DEFAULT_WIDTH_PX, DEFAULT_HEIGHT_PX);
+
+    private DoubleRingBuffer samples;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public Sparkline() {
+        getChildren().add(canvas);
+        setMinSize(DEFAULT_WIDTH_PX, DEFAULT_HEIGHT_PX);
+        setPrefSize(DEFAULT_WIDTH_PX, DEFAULT_HEIGHT_PX);
+        setMaxSize(DEFAULT_WIDTH_PX, DEFAULT_HEIGHT_PX);
+        redraw();
+    }
+
+    /**
+     * Sets the samples to draw, and redraws.
+     */
+    public void setSamples(DoubleRingBuffer samples) {
+        this.samples = samples;
+        redraw();
+    }
+
+    public void redraw() {
+
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(BACKGROUND_COLOR);
+        gc.fillRect(0, 0, width, height);
+
+        if (samples == null || samples.size() < 2)
+            return;
+
+        // Leave a pixel at the top and bottom so that the line is not clipped
+        double max = samples.getMax();
+        double yScale = max > 0 ? (height - 2) / max : 0.0;
+        double xStep = width / (samples.getCapacity() - 1);
+        double xStart = width - (samples.size() - 1) * xStep;
+
+        gc.setStroke(LINE_COLOR);
+        gc.setLineWidth(1.0);
+        gc.beginPath();
+        for (int i = 0; i < samples.size(); i++) {
+            double x = xStart + i * xStep;
+            double y = height - 1 - samples.get(i) * yScale;
+            if (i == 0)
+                gc.moveTo(x, y);
+            else
+                gc.lineTo(x, y);
+        }
+        gc.stroke();
+    }
+
+}
@@ -0,0 +1,88 @@
+package ninja.mbedded.ninjaterm.util.jmx;
+
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import org.slf4j.Logger;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registers NinjaTerm's MXBeans with the platform MBean server, so that they can be read by tools such as
+ * jconsole or a JMX exporter.
+ * <p>
+ * Monitoring is never allowed to stop NinjaTerm working, so failures are logged rather than thrown.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class JmxUtils {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final String DOMAIN = "ninja.mbedded.ninjaterm";
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private static Logger logger = LoggerUtils.createLoggerFor(JmxUtils.class.getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @param type  The "type" key of the object name, e.g. "Terminal". Must not need quoting.
+     * @param id    The "id" key of the object name, or null to leave it out. Must not need quoting.
+     * @return The object name, e.g. <code>ninja.mbedded.ninjaterm:type=Terminal,id=1</code>.
+     */
+    public static ObjectName createObjectName(String type, String id) {
+        try {
+            return new ObjectName(DOMAIN + ":type=" + type + (id != null ? ",id=" + id : ""));
+        } catch (JMException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Registers the MXBean with the platform MBean server. Any bean already registered under the same name
+     * is replaced.
+     *
+     * @return True if the bean was registered.
+     */
+    public static boolean register(ObjectName objectName, Object mxBean) {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(mxBean, objectName);
+            return true;
+        } catch (JMException e) {
+            logger.error("Could not register MXBean \"" + objectName + "\".", e);
+            return false;
+        }
+    }
+
+    /**
+     * Unregisters the bean from the platform MBean server. Does nothing if it is not registered.
+     */
+    public static void unregister(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // Already gone
+        } catch (JMException e) {
+            logger.error("Could not unregister MXBean \"" + objectName + "\".", e);
+        }
+    }
+
+}
@@ -7,7 +7,7 @@ import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.ConsoleAppender;
 import ch.qos.logback.core.FileAppender;
-import javafx.beans.property.SimpleBooleanProperty;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
@@ -22,12 +22,12 @@ public class LoggerUtils {
     /**
      * Controls whether console logging is enabled or disabled.
      */
-    public static SimpleBooleanProperty consoleLoggingEnabled;
+    public static BooleanConfig consoleLoggingEnabled;
 
     /**
      * Controls whether file logging is enabled or disabled.
      */
-    public static SimpleBooleanProperty fileLoggingEnabled;
+    public static BooleanConfig fileLoggingEnabled;
 
     static {
         LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -57,7 +57,7 @@ public class LoggerUtils {
         rootLogger.addAppender(consoleAppender);
         rootLogger.setLevel(Level.WARN);*/
 
-        consoleLoggingEnabled = new SimpleBooleanProperty(false);
+        consoleLoggingEnabled = new BooleanConfig(false);
         consoleLoggingEnabled.addListener((observable, oldValue, newValue) -> {
             handleConsoleLoggingEnabledChanged();
         });
@@ -81,7 +81,7 @@ public class LoggerUtils {
         fileAppender.setEncoder(patternLayoutEncoder);
         fileAppender.setContext(loggerContext);
 
-        fileLoggingEnabled = new SimpleBooleanProperty(false);
+        fileLoggingEnabled = new BooleanConfig(false);
         fileLoggingEnabled.addListener((observable, oldValue, newValue) -> {
             handleFileLoggingEnabledChanged();
         });
@@ -0,0 +1,121 @@
+package ninja.mbedded.ninjaterm.util.metrics;
+
+/**
+ * A fixed-size ring buffer of <code>double</code> samples. Once full, each new sample overwrites the oldest.
+ * <p>
+ * Adding a sample is O(1) and never allocates. The mean is kept as a running sum, the min. and max. are found
+ * by scanning the samples when asked for. Not thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class DoubleRingBuffer {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final double[] samples;
+
+    /**
+     * The index in <code>samples</code> the next sample will be written to.
+     */
+    private int nextIndex = 0;
+
+    private int size = 0;
+
+    private double sum = 0.0;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public DoubleRingBuffer(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        samples = new double[capacity];
+    }
+
+    public void add(double sample) {
+
+        if (size == samples.length) {
+            sum -= samples[nextIndex];
+        } else {
+            size++;
+        }
+
+        samples[nextIndex] = sample;
+        sum += sample;
+
+        nextIndex++;
+        if (nextIndex == samples.length)
+            nextIndex = 0;
+    }
+
+    /**
+     * @param index 0 is the oldest sample, <code>size() - 1</code> the newest.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of range for a size of " + size + ".");
+
+        int arrayIndex = nextIndex - size + index;
+        if (arrayIndex < 0)
+            arrayIndex += samples.length;
+        return samples[arrayIndex];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return samples.length;
+    }
+
+    /**
+     * @return The smallest sample, or 0 if there are none.
+     */
+    public double getMin() {
+        if (size == 0)
+            return 0.0;
+
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, get(i));
+        }
+        return min;
+    }
+
+    /**
+     * @return The largest sample, or 0 if there are none.
+     */
+    public double getMax() {
+        if (size == 0)
+            return 0.0;
+
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, get(i));
+        }
+        return max;
+    }
+
+    /**
+     * @return The mean of the samples, or 0 if there are none.
+     */
+    public double getMean() {
+        if (size == 0)
+            return 0.0;
+
+        return sum / size;
+    }
+
+    public void clear() {
+        nextIndex = 0;
+        size = 0;
+        sum = 0.0;
+    }
+
+}
@@ -0,0 +1,129 @@
+package ninja.mbedded.ninjaterm.util.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies (or any other non-negative long values), with log-linear buckets.
+ * <p>
+ * Each power of two is split into <code>NUM_SUB_BUCKETS</code> linear sub-buckets, so any recorded value is
+ * reported to within 12.5%, using a fixed-size bucket array for the entire range of a long. Recording is a few
+ * bit operations and an array increment, with no allocation.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LatencyHistogram {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int NUM_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int NUM_BUCKETS = (63 - SUB_BUCKET_BITS + 2) * NUM_SUB_BUCKETS;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final long[] counts = new long[NUM_BUCKETS];
+
+    private long count = 0;
+    private long sum = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @param value Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+
+        counts[getBucketIndex(value)]++;
+        count++;
+        sum += value;
+        if (value < min)
+            min = value;
+        if (value > max)
+            max = value;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < NUM_SUB_BUCKETS)
+            return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (NUM_SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * NUM_SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return The largest value which goes in the given bucket.
+     */
+    static long getBucketUpperBound(int index) {
+        if (index < NUM_SUB_BUCKETS)
+            return index;
+
+        int exponent = index / NUM_SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % NUM_SUB_BUCKETS;
+        long lowerBound = (long) (NUM_SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * @param percentile    0-100.
+     * @return A value which at least the given percentage of recorded values are less than or equal to
+     * (accurate to within the bucket size), or 0 if nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0)
+            return 0;
+
+        long targetCount = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulativeCount = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= targetCount)
+                return Math.min(getBucketUpperBound(i), max);
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The smallest recorded value, or 0 if nothing has been recorded.
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+}
@@ -0,0 +1,76 @@
+package ninja.mbedded.ninjaterm.util.metrics;
+
+/**
+ * The recent history of a rate (e.g. bytes/second), as per-second samples and per-minute averages of them.
+ * <p>
+ * <code>addSecond()</code> is O(1) and never allocates. Not thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class RateHistory {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final int DEFAULT_NUM_SECONDS = 300;
+
+    public static final int DEFAULT_NUM_MINUTES = 60;
+
+    private static final int NUM_SECONDS_PER_MINUTE = 60;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    public final DoubleRingBuffer perSecond;
+
+    /**
+     * Each sample is the mean of 60 per-second samples.
+     */
+    public final DoubleRingBuffer perMinute;
+
+    private double currMinuteSum = 0.0;
+
+    private int currMinuteNumSeconds = 0;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public RateHistory() {
+        this(DEFAULT_NUM_SECONDS, DEFAULT_NUM_MINUTES);
+    }
+
+    public RateHistory(int numSeconds, int numMinutes) {
+        perSecond = new DoubleRingBuffer(numSeconds);
+        perMinute = new DoubleRingBuffer(numMinutes);
+    }
+
+    /**
+     * Adds the rate measured over the last second. Every 60th call also adds the mean of the last 60 to
+     * <code>perMinute</code>.
+     */
+    public void addSecond(double rate) {
+
+        perSecond.add(rate);
+
+        currMinuteSum += rate;
+        currMinuteNumSeconds++;
+        if (currMinuteNumSeconds == NUM_SECONDS_PER_MINUTE) {
+            perMinute.add(currMinuteSum / NUM_SECONDS_PER_MINUTE);
+            currMinuteSum = 0.0;
+            currMinuteNumSeconds = 0;
+        }
+    }
+
+    public void clear() {
+        perSecond.clear();
+        perMinute.clear();
+        currMinuteSum = 0.0;
+        currMinuteNumSeconds = 0;
+    }
+
+}
@@ -0,0 +1,56 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureReader;
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureRecord;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Replays the RX records of a binary capture file (see <code>{@link CaptureReader}</code>). TX records are skipped.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CaptureReplaySource implements ReplaySource {
+
+    /**
+     * Passed as the terminal ID to replay the RX records of all terminals in the capture.
+     */
+    public static final int ALL_TERMINALS = -1;
+
+    private final CaptureReader captureReader;
+
+    private final int terminalId;
+
+    /**
+     * @param terminalId    Only RX records from this terminal are replayed, or <code>ALL_TERMINALS</code>.
+     */
+    public CaptureReplaySource(File captureFile, int terminalId) throws IOException {
+        captureReader = new CaptureReader(captureFile);
+        this.terminalId = terminalId;
+    }
+
+    @Override
+    public CaptureRecord next() throws IOException {
+        CaptureRecord record;
+        while ((record = captureReader.next()) != null) {
+            if (record.direction == CaptureRecord.Direction.RX
+                    && (terminalId == ALL_TERMINALS || record.terminalId == terminalId))
+                return record;
+        }
+        return null;
+    }
+
+    @Override
+    public void seek(long timestampNs) throws IOException {
+        captureReader.seek(timestampNs);
+    }
+
+    @Override
+    public void close() throws IOException {
+        captureReader.close();
+    }
+
+}
@@ -0,0 +1,105 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Replays a plain log file (or any other file) as RX data.
+ * <p>
+ * A plain file holds no timing information, so the file is split into fixed size chunks which are
+ * timed as if the data was arriving at the given baud rate (with 10 bits per byte, i.e. 8N1).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LogFileReplaySource implements ReplaySource {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final int NUM_BITS_PER_BYTE = 10;
+
+    private static final long NS_PER_S = 1000000000L;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+
+    private final int baudRate;
+
+    /**
+     * Re-used to read each chunk.
+     */
+    private final ByteBuffer chunkBuffer;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @param baudRate          Used to calculate the time of each chunk.
+     * @param chunkSizeBytes    The max. size of each chunk.
+     */
+    public LogFileReplaySource(File logFile, int baudRate, int chunkSizeBytes) throws IOException {
+        file = new RandomAccessFile(logFile, "r");
+        channel = file.getChannel();
+        this.baudRate = baudRate;
+        chunkBuffer = ByteBuffer.allocate(chunkSizeBytes);
+    }
+
+    @Override
+    public CaptureRecord next() throws IOException {
+
+        long position = channel.position();
+
+        chunkBuffer.clear();
+        while (chunkBuffer.hasRemaining() && channel.read(chunkBuffer) != -1) {
+            // Keep reading until the chunk is full or the end of the file is reached
+        }
+
+        if (chunkBuffer.position() == 0)
+            return null;
+
+        // The chunk is handed on, so it can't be the re-used buffer
+        byte[] data = new byte[chunkBuffer.position()];
+        chunkBuffer.flip();
+        chunkBuffer.get(data);
+
+        return new CaptureRecord(getTimestampNs(position), CaptureRecord.Direction.RX, 0, data, position);
+    }
+
+    private long getTimestampNs(long position) {
+        // In floating point, as this would overflow a long for files larger than ~1GB
+        return (long) ((double) position * NUM_BITS_PER_BYTE * NS_PER_S / baudRate);
+    }
+
+    @Override
+    public void seek(long timestampNs) throws IOException {
+
+        // Round down to the start of a chunk, so that chunks are always the same
+        long position = (long) ((double) timestampNs * baudRate / NUM_BITS_PER_BYTE / NS_PER_S);
+        position -= position % chunkBuffer.capacity();
+
+        // Move forward to the first chunk at or after the time
+        if (getTimestampNs(position) < timestampNs)
+            position += chunkBuffer.capacity();
+
+        channel.position(Math.min(position, channel.size()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+}
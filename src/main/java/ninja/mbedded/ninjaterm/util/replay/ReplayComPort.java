@@ -0,0 +1,319 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureRecord;
+import ninja.mbedded.ninjaterm.util.comPort.BaudRates;
+import ninja.mbedded.ninjaterm.util.comPort.ComPort;
+import ninja.mbedded.ninjaterm.util.comPort.ComPortException;
+import ninja.mbedded.ninjaterm.util.comPort.NumDataBits;
+import ninja.mbedded.ninjaterm.util.comPort.NumStopBits;
+import ninja.mbedded.ninjaterm.util.comPort.OnRxDataListener;
+import ninja.mbedded.ninjaterm.util.comPort.Parities;
+import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A COM port which replays recorded RX data from a <code>{@link ReplaySource}</code>, instead of talking to
+ * real hardware. It can be used anywhere a <code>{@link ComPort}</code> is (e.g. as <code>Terminal.comPort</code>),
+ * and the RX data goes to the <code>onRxDataListeners</code> from its own thread, just like a real COM port.
+ * <p>
+ * Chunks are replayed with their original timing, scaled by <code>speed</code> (e.g. 2.0 replays twice as fast),
+ * or as fast as possible if the speed is <code>MAX_SPEED</code>. Replay can be paused, resumed, and moved to
+ * any point in the recording with <code>seek()</code>. TX data is discarded.
+ * <p>
+ * Note that at <code>MAX_SPEED</code> the data can arrive faster than the UI can process it. Use
+ * <code>ReplayBenchmark</code> (in the benchmark source set) to run a recording through the RX pipeline as
+ * fast as possible.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ReplayComPort extends ComPort {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final ReplaySource replaySource;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled whenever any of the replay state below changes.
+     */
+    private final Condition stateChanged = lock.newCondition();
+
+    private double speed = 1.0;
+    private boolean isPaused = false;
+    private boolean isRunning = false;
+    private boolean isFinished = false;
+
+    /**
+     * -1 if no seek has been requested.
+     */
+    private long seekTimestampNs = -1;
+
+    /**
+     * Set when the replay clock has to be re-synchronised to the wall clock (e.g. after a pause).
+     */
+    private boolean isTimingReset = true;
+
+    /**
+     * The timestamp of the last replayed chunk.
+     */
+    private volatile long currTimestampNs = 0;
+
+    private Thread replayThread;
+
+    private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public ReplayComPort(ReplaySource replaySource) {
+        this.replaySource = replaySource;
+        setName("Replay");
+    }
+
+    @Override
+    public String[] scan() {
+        return new String[]{getName()};
+    }
+
+    @Override
+    public void open() throws ComPortException {
+        lock.lock();
+        try {
+            isRunning = true;
+        } finally {
+            lock.unlock();
+        }
+
+        replayThread = new Thread(this::run, "Replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    @Override
+    public boolean isPortOpen() {
+        lock.lock();
+        try {
+            return isRunning;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void setParams(BaudRates baudRate, NumDataBits numDataBits, Parities parity, NumStopBits numStopBits) {
+        // Nothing to configure, the data is already recorded
+    }
+
+    @Override
+    public void sendData(byte[] data) {
+        logger.debug("Discarding " + data.length + " bytes of TX data sent to replay COM port.");
+        numBytesTx.add(data.length);
+    }
+
+    @Override
+    public void close() throws ComPortException {
+
+        lock.lock();
+        try {
+            if (!isRunning)
+                return;
+            isRunning = false;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            replayThread.join();
+            replaySource.close();
+        } catch (InterruptedException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //==============================================//
+    //============== REPLAY CONTROLS ===============//
+    //==============================================//
+
+    /**
+     * @param speed The replay speed, relative to the original timing (must be > 0), or <code>MAX_SPEED</code>.
+     */
+    public void setSpeed(double speed) {
+        if (speed <= 0)
+            throw new IllegalArgumentException("Replay speed must be greater than 0.");
+
+        lock.lock();
+        try {
+            this.speed = speed;
+            isTimingReset = true;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void pause() {
+        lock.lock();
+        try {
+            isPaused = true;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void resume() {
+        lock.lock();
+        try {
+            isPaused = false;
+            isTimingReset = true;
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Continues the replay from the first chunk at or after the given time. This also restarts a finished replay.
+     *
+     * @param timestampNs   Time since the start of the recording.
+     */
+    public void seek(long timestampNs) {
+        lock.lock();
+        try {
+            seekTimestampNs = Math.max(timestampNs, 0);
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isPaused() {
+        lock.lock();
+        try {
+            return isPaused;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return True once all chunks have been replayed.
+     */
+    public boolean isFinished() {
+        lock.lock();
+        try {
+            return isFinished;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The timestamp (since the start of the recording) of the last chunk which was replayed.
+     */
+    public long getCurrTimestampNs() {
+        return currTimestampNs;
+    }
+
+    //==============================================//
+    //================ REPLAY THREAD ===============//
+    //==============================================//
+
+    private void run() {
+
+        CaptureRecord nextRecord = null;
+
+        // The replay clock: the wall clock time at which the chunk with the anchor timestamp is replayed
+        long anchorNanoTime = 0;
+        long anchorTimestampNs = 0;
+
+        try {
+            while (true) {
+
+                lock.lock();
+                try {
+                    while (isRunning && isPaused && seekTimestampNs < 0) {
+                        stateChanged.awaitUninterruptibly();
+                    }
+
+                    if (!isRunning)
+                        return;
+
+                    if (seekTimestampNs >= 0) {
+                        replaySource.seek(seekTimestampNs);
+                        seekTimestampNs = -1;
+                        nextRecord = null;
+                        isFinished = false;
+                        isTimingReset = true;
+                    }
+
+                    if (isPaused)
+                        continue;
+
+                    if (nextRecord == null) {
+                        nextRecord = replaySource.next();
+                        if (nextRecord == null) {
+                            // Wait here, in case of a seek back into the recording
+                            isFinished = true;
+                            stateChanged.awaitUninterruptibly();
+                            continue;
+                        }
+                    }
+
+                    if (isTimingReset) {
+                        anchorNanoTime = System.nanoTime();
+                        anchorTimestampNs = nextRecord.timestampNs;
+                        isTimingReset = false;
+                    }
+
+                    if (speed != MAX_SPEED) {
+                        long dueNanoTime = anchorNanoTime + (long) ((nextRecord.timestampNs - anchorTimestampNs) / speed);
+                        long waitNs = dueNanoTime - System.nanoTime();
+                        if (waitNs > 0) {
+                            // Wakes early if the state is changed, in which case everything is re-checked
+                            stateChanged.await(waitNs, TimeUnit.NANOSECONDS);
+                            continue;
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                // Deliver outside of the lock, so the listeners can control the replay
+                numBytesRx.add(nextRecord.data.length);
+                for (OnRxDataListener onRxDataListener : getOnRxDataListeners()) {
+                    onRxDataListener.run(nextRecord.data);
+                }
+                currTimestampNs = nextRecord.timestampNs;
+                nextRecord = null;
+            }
+        } catch (IOException | InterruptedException e) {
+            logger.error("Replay failed.", e);
+            lock.lock();
+            try {
+                isFinished = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A source of recorded RX data chunks, for replaying through the RX pipeline.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public interface ReplaySource extends Closeable {
+
+    /**
+     * @return The next RX chunk (in time order), or null if there are no more.
+     */
+    CaptureRecord next() throws IOException;
+
+    /**
+     * Moves to the first chunk with a timestamp at or after the given time.
+     *
+     * @param timestampNs   Time since the start of the recording.
+     */
+    void seek(long timestampNs) throws IOException;
+
+}
@@ -0,0 +1,42 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureFormat;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Creates the right <code>{@link ReplaySource}</code> for a recording, based on its file extension.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ReplaySourceFactory {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    /**
+     * Used to time plain log files, which have no timing of their own.
+     */
+    private static final int LOG_FILE_BAUD_RATE = 115200;
+
+    private static final int LOG_FILE_CHUNK_SIZE_BYTES = 1024;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @return A replay source for the given capture (<code>.ntcap</code>) or log file.
+     */
+    public ReplaySource create(File file) throws IOException {
+        if (file.getName().endsWith(CaptureFormat.FILE_EXTENSION))
+            return new CaptureReplaySource(file, CaptureReplaySource.ALL_TERMINALS);
+        else
+            return new LogFileReplaySource(file, LOG_FILE_BAUD_RATE, LOG_FILE_CHUNK_SIZE_BYTES);
+    }
+
+}
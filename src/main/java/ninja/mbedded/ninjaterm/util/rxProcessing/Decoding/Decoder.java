@@ -1,6 +1,6 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.Decoding;
 
-import javafx.beans.property.SimpleObjectProperty;
+import ninja.mbedded.ninjaterm.util.config.ObjectConfig;
 
 import java.io.UnsupportedEncodingException;
 
@@ -11,11 +11,11 @@ import java.io.UnsupportedEncodingException;
  *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-08-25
- * @last-modified   2016-10-07
+ * @last-modified   2026-10-19
  */
 public class Decoder {
 
-    public SimpleObjectProperty<DecodingOptions> decodingOption = new SimpleObjectProperty<>(DecodingOptions.ASCII);
+    public final ObjectConfig<DecodingOptions> decodingOption = new ObjectConfig<>(DecodingOptions.ASCII);
 
     public Decoder() {
 
@@ -25,16 +25,19 @@ public class Decoder {
 
         String output;
 
+        // Read once, the option may be changed from another thread
+        DecodingOptions decodingOption = this.decodingOption.get();
+
         // All ASCII variants have the same decoding
         // (ASCII control chars will be processed later)
-        if(decodingOption.get() == DecodingOptions.ASCII ||
-                decodingOption.get() == DecodingOptions.ASCII_WITH_CONTROL_CHARS) {
+        if(decodingOption == DecodingOptions.ASCII ||
+                decodingOption == DecodingOptions.ASCII_WITH_CONTROL_CHARS) {
             try {
                 output = new String(data, "UTF-8");
             } catch (UnsupportedEncodingException e) {
                 throw new RuntimeException(e);
             }
-        } else if(decodingOption.get() == DecodingOptions.HEX) {
+        } else if(decodingOption == DecodingOptions.HEX) {
             output = BytesToString.bytesToHex(data);
         } else {
             throw new RuntimeException("formatting option was not recognised.");
@@ -1,7 +1,7 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser;
 
-import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.paint.Color;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
 
 import java.util.HashMap;
@@ -14,25 +14,26 @@ import java.util.regex.Pattern;
  *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-09-26
- * @last-modified   2016-10-17
+ * @last-modified   2026-10-19
  */
 public class AnsiECParser {
 
-    Map<String, Color> codeToNormalColourMap = new HashMap<>();
-    Map<String, Color> codeToBoldColourMap = new HashMap<>();
-
-    private Pattern pattern;
+    static final Map<String, Color> codeToNormalColourMap = new HashMap<>();
+    static final Map<String, Color> codeToBoldColourMap = new HashMap<>();
 
     /**
-     * Partial matches and the end of provided input strings to <code>parse()</code> are
-     * stored in this variable for the next time <code>parse() is called.</code>
+     * The reverse of the two maps above, from a colour to the ANSI escape code which produces it.
      */
-//    private String withheldTextWithPartialMatch = "";
+    private static final Map<Color, String> colourToEscapeCodeMap = new HashMap<>();
 
-    public SimpleBooleanProperty isEnabled = new SimpleBooleanProperty(true);
+    /**
+     * Matches a complete ANSI escape code (of the type handled by this parser). It matches an arbitrary number of
+     * numbers after the "[ESC][", separated by a ";" and then suffixed by a "m".
+     */
+    private static final Pattern ESCAPE_CODE_PATTERN = Pattern.compile("\u001B\\[[;\\d]*m");
 
-    public AnsiECParser() {
-        // Populate the map with data
+    static {
+        // Populate the maps with data
         codeToNormalColourMap.put("30", Color.rgb(0, 0, 0));
         codeToNormalColourMap.put("31", Color.rgb(170, 0, 0));
         codeToNormalColourMap.put("32", Color.rgb(0, 170, 0));
@@ -51,11 +52,22 @@ public class AnsiECParser {
         codeToBoldColourMap.put("36", Color.rgb(85, 255, 255));
         codeToBoldColourMap.put("37", Color.rgb(255, 255, 255));
 
-        // This pattern matches an ANSI escape code. It matches an arbitrary number of
-        // numbers after the "[ESC][", separated by a ";" and then prefixed by a "m".
-        pattern = Pattern.compile("\u001B\\[[;\\d]*m");
+        for (Map.Entry<String, Color> entry : codeToNormalColourMap.entrySet()) {
+            colourToEscapeCodeMap.put(entry.getValue(), "\u001B[" + entry.getKey() + "m");
+        }
+        for (Map.Entry<String, Color> entry : codeToBoldColourMap.entrySet()) {
+            colourToEscapeCodeMap.put(entry.getValue(), "\u001B[" + entry.getKey() + ";1m");
+        }
     }
 
+    /**
+     * Partial matches and the end of provided input strings to <code>parse()</code> are
+     * stored in this variable for the next time <code>parse() is called.</code>
+     */
+//    private String withheldTextWithPartialMatch = "";
+
+    public final BooleanConfig isEnabled = new BooleanConfig(true);
+
     /**
      *
      * Runs the ANSI escape code parser on the input streaming text, and produces and output StreamedData object.
@@ -83,7 +95,7 @@ public class AnsiECParser {
 
         // IF WE REACH HERE ASCII ESCAPE CODE PARSING IS ENABLED
 
-        Matcher matcher = pattern.matcher(inputData.getText());
+        Matcher matcher = ESCAPE_CODE_PATTERN.matcher(inputData.getText());
 
         //String remainingInput = "";
         int currShiftIndex = 0;
@@ -151,8 +163,55 @@ public class AnsiECParser {
         // ALL COMPLETE ANSI ESCAPE CODES FOUND!
 
         // Shift remaining characters from input to output
-        outputStreamedData.shiftCharsInUntilPartialMatch(inputData, pattern);
+        outputStreamedData.shiftCharsInUntilPartialMatch(inputData, ESCAPE_CODE_PATTERN);
+
+    }
 
+    /**
+     * Gets the ANSI escape code which sets the given colour (the opposite of what this parser does).
+     *
+     * @param color The colour, as found in a <code>{@link ColourMarker}</code> created by this parser.
+     * @return The escape code, or null if no escape code produces this colour.
+     */
+    public static String getEscapeCode(Color color) {
+        return colourToEscapeCodeMap.get(color);
+    }
+
+    /**
+     * Gets the colour set by an ANSI escape code (the opposite of <code>getEscapeCode()</code>).
+     *
+     * @param escapeCode    A complete escape code, e.g. <code>"\u001B[31m"</code>.
+     * @return The colour, or null if the escape code is not supported (this includes the reset code).
+     */
+    public static Color getColour(String escapeCode) {
+        Matcher matcher = ESCAPE_CODE_PATTERN.matcher(escapeCode);
+        if (!matcher.matches())
+            return null;
+
+        String[] numbers = escapeCode.substring(2, escapeCode.length() - 1).split(";");
+        if (numbers.length == 1)
+            return codeToNormalColourMap.get(numbers[0]);
+        else if (numbers.length == 2 && numbers[1].equals("1"))
+            return codeToBoldColourMap.get(numbers[0]);
+        else
+            return null;
+    }
+
+    /**
+     * @return The matcher used to find complete ANSI escape codes in the given text.
+     */
+    public static Matcher matchEscapeCodes(CharSequence text) {
+        return ESCAPE_CODE_PATTERN.matcher(text);
+    }
+
+    /**
+     * @return The text with all ANSI escape codes removed.
+     */
+    public static String stripEscapeCodes(String text) {
+        // Fast path, most text has no escape codes
+        if (text.indexOf('\u001B') == -1)
+            return text;
+        return ESCAPE_CODE_PATTERN.matcher(text).replaceAll("");
     }
 
     private String[] extractNumbersAsArray(String ansiEscapeCode) {
@@ -1,6 +1,6 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.asciiControlCharParser;
 
-import javafx.beans.property.SimpleBooleanProperty;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
 import org.slf4j.Logger;
@@ -19,7 +19,7 @@ import java.util.regex.Pattern;
  * will remove the characters that typically represent a new line.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2017-10-08
+ * @last-modified 2026-10-19
  * @since 2016-10-17
  */
 public class AsciiControlCharParser {
@@ -28,7 +28,7 @@ public class AsciiControlCharParser {
     //=========================================== CLASS FIELDS =======================================//
     //================================================================================================//
 
-    public SimpleBooleanProperty replaceWithVisibleSymbols = new SimpleBooleanProperty(false);
+    public final BooleanConfig replaceWithVisibleSymbols = new BooleanConfig(false);
 
     private Map<String, String> controlCharToVisibleChar = new HashMap<>();
 
@@ -101,9 +101,11 @@ public class AsciiControlCharParser {
         int currIndex = 0;
 
         while(matcher.find()) {
-            logger.debug("Found regex match = \"" + matcher.group(0) + "\".");
-            logger.debug("match start = " + matcher.start());
-            logger.debug("match end = " + matcher.end());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Found regex match = \"" + matcher.group(0) + "\".");
+                logger.debug("match start = " + matcher.start());
+                logger.debug("match end = " + matcher.end());
+            }
 
             // Look for character in map
             String replacementChar = "";
@@ -115,7 +117,7 @@ public class AsciiControlCharParser {
                 // loop
                 if(replacementChar == "") {
                     logger.debug("No replacement char found for this control code.");
-                } else {
+                } else if (logger.isDebugEnabled()) {
                     logger.debug("Replacement char = " + replacementChar);
                 }
             }
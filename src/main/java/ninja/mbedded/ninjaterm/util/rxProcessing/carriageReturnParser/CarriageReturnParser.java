@@ -0,0 +1,161 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser;
+
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lets a device redraw the current line in place (e.g. progress bars and status lines).
+ * <p>
+ * When enabled, a carriage return which is not part of a new line rewinds to the start of the current line,
+ * so the text which follows replaces the line rather than being appended to it. The ANSI "erase in line" escape
+ * codes <code>ESC[1K</code> and <code>ESC[2K</code> also clear the current line, while <code>ESC[K</code> and
+ * <code>ESC[0K</code> (erase to end of line) are just removed, as the cursor is always at the end of the line.
+ * <p>
+ * Text of the current line which has not been released yet is removed from the output. If the line started in
+ * text which has already been released, a <code>{@link ClearLineMarker}</code> is added so that the consumers of
+ * the output (the RX pane, the stored history) clear their copy of the line.
+ * <p>
+ * This needs to be run AFTER the new line parser, as it uses the new line markers to decide if a carriage
+ * return is part of a new line.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CarriageReturnParser {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    /**
+     * Use this to enable/disable the carriage return parser.
+     *
+     * If disabled, <code>parse()</code> will just pass all input to output, and carriage returns
+     * are left to be removed (or made visible) by the ASCII control char parser.
+     */
+    public final BooleanConfig isEnabled = new BooleanConfig(false);
+
+    /**
+     * Matches a carriage return, or an ANSI "erase in line" escape code.
+     */
+    private Pattern pattern = Pattern.compile("\r|\u001B\\[[012]?K");
+
+    /**
+     * Matches the start of an ANSI "erase in line" escape code at the end of the input.
+     */
+    private Pattern partialEscapeCodePattern = Pattern.compile("\u001B(\\[[012]?)?$");
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * Searches the input for carriage returns and "erase in line" escape codes, removing them and clearing
+     * the current line in the output as required.
+     *
+     * Data may remain in the input if it ends in a carriage return (it may be the start of a "\r\n") or
+     * a partial escape code.
+     *
+     * @param input
+     * @param output
+     */
+    public void parse(StreamedData input, StreamedData output) {
+
+        if (!isEnabled.get()) {
+            output.shiftDataIn(input, input.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+            return;
+        }
+
+        // IF WE REACH HERE THEN THE CARRIAGE RETURN PARSER IS ENABLED
+
+        Matcher matcher = pattern.matcher(input.getText());
+
+        int currShiftIndex = 0;
+
+        while (matcher.find()) {
+
+            String match = matcher.group(0);
+            int matchStartInInput = matcher.start() - currShiftIndex;
+
+            if (match.equals("\r") && !isRewind(input, matchStartInInput)) {
+                continue;
+            }
+
+            // Release everything before the match, then drop the match itself
+            shiftDataIn(input, output, matchStartInInput);
+            input.removeCharsFromStart(match.length(), false);
+
+            currShiftIndex = matcher.end();
+
+            if (match.equals("\u001B[K") || match.equals("\u001B[0K")) {
+                // Erase to end of line, there is never anything after the cursor
+                continue;
+            }
+
+            output.clearCurrLine();
+        }
+
+        // Release everything we can make a decision on
+        shiftDataIn(input, output, input.getText().length() - getNumCharsToHoldBack(input));
+    }
+
+    /**
+     * Works out if the carriage return at the provided position in the input should rewind to the start
+     * of the current line.
+     */
+    private boolean isRewind(StreamedData input, int charPos) {
+
+        // A carriage return which is part of the new line pattern (e.g. "\r\n", or just "\r")
+        // does not rewind
+        if (isNewLineAt(input, charPos + 1))
+            return false;
+
+        // We can't tell yet, this carriage return will be held back until more data arrives
+        if (charPos + 1 >= input.getText().length())
+            return false;
+
+        // Leave "\r\r\n" and similar alone
+        char nextChar = input.getText().charAt(charPos + 1);
+        return nextChar != '\r' && nextChar != '\n';
+    }
+
+    private int getNumCharsToHoldBack(StreamedData input) {
+
+        String text = input.getText();
+
+        if (text.endsWith("\r") && !isNewLineAt(input, text.length()))
+            return 1;
+
+        // An "erase in line" escape code is at most 4 chars long
+        Matcher matcher = partialEscapeCodePattern.matcher(text);
+        if (matcher.find(Math.max(text.length() - 3, 0)))
+            return text.length() - matcher.start();
+
+        return 0;
+    }
+
+    private boolean isNewLineAt(StreamedData input, int charPos) {
+        for (NewLineMarker newLineMarker : input.getNewLineMarkers()) {
+            if (newLineMarker.charPos == charPos)
+                return true;
+        }
+        return false;
+    }
+
+    private void shiftDataIn(StreamedData input, StreamedData output, int numChars) {
+
+        // A colour change at the start of the input supersedes any colour change left at the end of the
+        // output (e.g. the colour in effect on a line which has just been cleared)
+        if (input.isColorAt(0)) {
+            output.removeColourMarkerAtEnd();
+        }
+
+        output.shiftDataIn(input, numChars, StreamedData.MarkerBehaviour.NOT_FILTERING);
+    }
+
+}
@@ -0,0 +1,35 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
+
+/**
+ * Marks a position at which the line currently being written should be cleared, i.e. all text
+ * since the last new line (which has already been passed on by the <code>{@link CarriageReturnParser}</code>)
+ * is removed before any of the following text is displayed.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ClearLineMarker extends Marker {
+
+    public ClearLineMarker(int charPos) {
+        // Sorted after a new line at the same position, as it is the line which that new line
+        // starts which is cleared
+        super(charPos, Association.SPACE_BEFORE, 2);
+    }
+
+    public ClearLineMarker(ClearLineMarker clearLineMarker) {
+        this(clearLineMarker.charPos);
+    }
+
+    @Override
+    public Marker deepCopy() {
+        return new ClearLineMarker(this);
+    }
+
+    @Override
+    public String toString() {
+        return "{ charPos: " + charPos + ", clearLine }";
+    }
+}
@@ -1,6 +1,6 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.freezeParser;
 
-import javafx.beans.property.SimpleBooleanProperty;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
 
 /**
@@ -9,11 +9,11 @@ import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-10-17
- * @last-modified 2016-10-17
+ * @last-modified 2026-10-19
  */
 public class FreezeParser {
 
-    public SimpleBooleanProperty isFrozen = new SimpleBooleanProperty(false);
+    public final BooleanConfig isFrozen = new BooleanConfig(false);
 
     public void parse(StreamedData inputData, StreamedData releasedData) {
 
@@ -1,6 +1,6 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser;
 
-import javafx.beans.property.SimpleBooleanProperty;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
 import org.slf4j.Logger;
@@ -14,7 +14,7 @@ import java.util.regex.Pattern;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-10-15
- * @last-modified 2016-10-18
+ * @last-modified 2026-10-19
  */
 public class NewLineParser {
 
@@ -28,7 +28,7 @@ public class NewLineParser {
      * If the new line parser is disables, <code>parse()</code> will just
      * pass all input to output, without adding any new line markers.
      */
-    public SimpleBooleanProperty isEnabled = new SimpleBooleanProperty(true);
+    public final BooleanConfig isEnabled = new BooleanConfig(true);
 
     private Pattern newLinePattern;
 
@@ -78,8 +78,9 @@ public class NewLineParser {
         int currShiftIndex = 0;
 
         while(matcher.find()) {
-            logger.debug("Match found. match = \"" + matcher.group(0) + "\"." +
-                    " Start index = " + matcher.start() + ", end index = " + matcher.end());
+            if (logger.isDebugEnabled())
+                logger.debug("Match found. match = \"" + matcher.group(0) + "\"." +
+                        " Start index = " + matcher.start() + ", end index = " + matcher.end());
 
             // NEW LINE FOUND!
 
@@ -0,0 +1,37 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.repeatedLineCollapser;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
+
+/**
+ * Marks the end of a line which has just been repeated, and how many times it has now been received
+ * in a row. Inserted by the <code>{@link RepeatedLineCollapser}</code> in place of the repeated line.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class RepeatCountMarker extends Marker {
+
+    public int repeatCount;
+
+    public RepeatCountMarker(int charPos, int repeatCount) {
+        // Sorted before a new line at the same position, as the count belongs to the
+        // line before it
+        super(charPos, Association.SPACE_BEFORE, 0);
+        this.repeatCount = repeatCount;
+    }
+
+    public RepeatCountMarker(RepeatCountMarker repeatCountMarker) {
+        this(repeatCountMarker.charPos, repeatCountMarker.repeatCount);
+    }
+
+    @Override
+    public Marker deepCopy() {
+        return new RepeatCountMarker(this);
+    }
+
+    @Override
+    public String toString() {
+        return "{ charPos: " + charPos + ", repeatCount: " + repeatCount + " }";
+    }
+}
@@ -0,0 +1,286 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.repeatedLineCollapser;
+
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
+import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser.ClearLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
+import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampMarker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collapses runs of identical consecutive lines into one line, followed by a count of how many times
+ * it has been received (e.g. for firmware which repeatedly sends the same heartbeat or error line).
+ * <p>
+ * Each repeat of the previous line is removed and replaced with a <code>{@link RepeatCountMarker}</code>.
+ * To do this, the new line at the end of each completed line is held back until the next line is known not
+ * to be a repeat, and the text of the current line is held back while it matches the start of the previous
+ * line (each char is compared once, as it arrives). This means a partial line which matches the start of the
+ * previous line is not released until it either completes or stops matching.
+ * <p>
+ * This is designed to be run on the data which is displayed to the user, AFTER the ASCII control char
+ * parser (so that lines are compared as they are displayed).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class RepeatedLineCollapser {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    /**
+     * Use this to enable/disable the repeated line collapser.
+     *
+     * If disabled, <code>parse()</code> will just pass all input to output.
+     */
+    public final BooleanConfig isEnabled = new BooleanConfig(false);
+
+    /**
+     * The text of the last completed line, or null if there is no line the current line can be compared to.
+     */
+    private String prevLine = null;
+
+    /**
+     * The number of times <code>prevLine</code> has been received in a row.
+     */
+    private int repeatCount = 1;
+
+    /**
+     * The new line marker at the end of the last completed line. This is held in the input until the
+     * current line is known not to be a repeat. Null if the new line marker has been released.
+     */
+    private NewLineMarker heldNewLineMarker = null;
+
+    /**
+     * The number of chars at the start of the input (on the current line) which are known to match the start
+     * of <code>prevLine</code>.
+     */
+    private int numCharsMatched = 0;
+
+    /**
+     * True once text on the current line has been released (the current line can no longer be a repeat).
+     */
+    private boolean isCurrLineReleased = false;
+
+    /**
+     * The text on the current line which has already been released. Only used if <code>isCurrLineReleased</code>
+     * is true.
+     */
+    private StringBuilder releasedCurrLineText = new StringBuilder();
+
+    /**
+     * True if part of the current line has been cleared (e.g. by a carriage return). Such a line is never
+     * compared against the next line.
+     */
+    private boolean isCurrLineCleared = false;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public RepeatedLineCollapser() {
+
+        // Release anything that is being held back as soon as this is disabled
+        isEnabled.addListener((observable, oldValue, newValue) -> {
+            if (!newValue) {
+                reset();
+            }
+        });
+    }
+
+    /**
+     * Forgets the previous line. Call this when the data passed into <code>parse()</code> no longer
+     * follows on from the last call (e.g. the input has been cleared).
+     */
+    public void reset() {
+        prevLine = null;
+        repeatCount = 1;
+        heldNewLineMarker = null;
+        startNewLine();
+    }
+
+    /**
+     * Searches the input for completed lines which are identical to the line before them,
+     * and removes them.
+     *
+     * @param input
+     * @param output
+     */
+    public void parse(StreamedData input, StreamedData output) {
+
+        if (!isEnabled.get()) {
+            output.shiftDataIn(input, input.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+            return;
+        }
+
+        // IF WE REACH HERE THEN THE REPEATED LINE COLLAPSER IS ENABLED
+
+        // If the held new line marker has been trimmed from the input, there is nothing
+        // left to compare against
+        if (heldNewLineMarker != null && !input.getMarkers().contains(heldNewLineMarker)) {
+            reset();
+        }
+
+        List<NewLineMarker> newLineMarkers = input.getNewLineMarkers();
+        newLineMarkers.remove(heldNewLineMarker);
+        Collections.sort(newLineMarkers);
+
+        // The char positions of these markers are kept up to date as data is
+        // removed from the start of the input
+        for (NewLineMarker newLineMarker : newLineMarkers) {
+            handleCompletedLine(input, output, newLineMarker);
+        }
+
+        handlePartialLine(input, output);
+    }
+
+    private void handleCompletedLine(StreamedData input, StreamedData output, NewLineMarker newLineMarker) {
+
+        int lineLength = newLineMarker.charPos;
+        String lineText = input.getText().substring(0, lineLength);
+        boolean isCleared = isCurrLineCleared || hasClearLineMarker(input, lineLength);
+
+        if (!isCurrLineReleased && !isCleared && prevLine != null && !lineText.isEmpty() && lineText.equals(prevLine)) {
+
+            // REPEATED LINE FOUND!
+
+            repeatCount++;
+            removeRepeatedLine(input, newLineMarker);
+            output.addMarker(new RepeatCountMarker(output.getText().length(), repeatCount));
+
+        } else {
+
+            String fullLineText = isCurrLineReleased ? releasedCurrLineText.append(lineText).toString() : lineText;
+
+            // Release the line (and the new line before it, if held), but hold back the new line at the end of it.
+            // Markers at the start of the next line stay in the input, including the new lines of any empty
+            // lines which follow this one
+            input.getMarkers().remove(newLineMarker);
+            List<NewLineMarker> emptyLineMarkers = new ArrayList<>();
+            for (NewLineMarker otherNewLineMarker : input.getNewLineMarkers()) {
+                if (otherNewLineMarker.charPos == lineLength && otherNewLineMarker != heldNewLineMarker)
+                    emptyLineMarkers.add(otherNewLineMarker);
+            }
+            input.getMarkers().removeAll(emptyLineMarkers);
+            output.shiftDataIn(input, lineLength, StreamedData.MarkerBehaviour.FILTERING);
+            if (lineLength == 0) {
+                releaseTimeStampOfEmptyLine(input, output, emptyLineMarkers.size());
+            }
+            for (NewLineMarker emptyLineMarker : emptyLineMarkers) {
+                emptyLineMarker.charPos = 0;
+                input.addMarker(emptyLineMarker);
+            }
+            heldNewLineMarker = new NewLineMarker(0);
+            input.addMarker(heldNewLineMarker);
+
+            prevLine = isCleared ? null : fullLineText;
+            repeatCount = 1;
+        }
+
+        startNewLine();
+    }
+
+    /**
+     * Removes a repeated line from the start of the input, leaving the held new line marker in place of
+     * the one at the end of the repeated line.
+     */
+    private void removeRepeatedLine(StreamedData input, NewLineMarker newLineMarker) {
+
+        int lineLength = newLineMarker.charPos;
+
+        // Keep the colour which is in effect at the end of the repeated line
+        ColourMarker colourInEffect = null;
+        for (ColourMarker colourMarker : input.getColourMarkers()) {
+            if (colourMarker.charPos >= lineLength)
+                break;
+            colourInEffect = colourMarker;
+        }
+
+        input.getMarkers().remove(newLineMarker);
+        input.getMarkers().remove(heldNewLineMarker);
+        input.removeCharsFromStart(lineLength, false);
+
+        heldNewLineMarker = new NewLineMarker(0);
+        input.addMarker(heldNewLineMarker);
+
+        if (colourInEffect != null && !input.isColorAt(0)) {
+            // Insert at the front, colour markers must be kept in order
+            input.getMarkers().add(0, new ColourMarker(0, colourInEffect.color));
+        }
+    }
+
+    /**
+     * The time stamp of an empty line is at the same position as the time stamps of the empty lines after it
+     * (and of the line after those), so is not released with the line. Each of those lines has its own time stamp,
+     * so the empty line has one here if there is one more time stamp than lines after it.
+     */
+    private void releaseTimeStampOfEmptyLine(StreamedData input, StreamedData output, int numEmptyLinesAfter) {
+
+        List<TimeStampMarker> timeStampMarkers = new ArrayList<>();
+        for (TimeStampMarker timeStampMarker : input.getTimeStampMarkers()) {
+            if (timeStampMarker.charPos == 0)
+                timeStampMarkers.add(timeStampMarker);
+        }
+
+        if (timeStampMarkers.size() <= numEmptyLinesAfter)
+            return;
+
+        TimeStampMarker timeStampMarker = timeStampMarkers.get(0);
+        input.getMarkers().remove(timeStampMarker);
+        timeStampMarker.charPos = output.getText().length();
+        output.addMarker(timeStampMarker);
+    }
+
+    private void handlePartialLine(StreamedData input, StreamedData output) {
+
+        String text = input.getText();
+
+        if (text.isEmpty())
+            return;
+
+        if (!isCurrLineReleased) {
+
+            if (hasClearLineMarker(input, text.length())) {
+                isCurrLineCleared = true;
+            }
+
+            // Only the chars which have arrived since the last call need to be compared
+            if (!isCurrLineCleared && prevLine != null && text.length() <= prevLine.length()
+                    && prevLine.regionMatches(numCharsMatched, text, numCharsMatched, text.length() - numCharsMatched)) {
+                // Could still be a repeat, hold it back
+                numCharsMatched = text.length();
+                return;
+            }
+
+            // Not a repeat, release the held new line and the text so far
+            isCurrLineReleased = true;
+            heldNewLineMarker = null;
+        }
+
+        releasedCurrLineText.append(text);
+        output.shiftDataIn(input, text.length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+    }
+
+    private void startNewLine() {
+        numCharsMatched = 0;
+        isCurrLineReleased = false;
+        releasedCurrLineText.setLength(0);
+        isCurrLineCleared = false;
+    }
+
+    private boolean hasClearLineMarker(StreamedData input, int endCharPos) {
+        for (Marker marker : input.getMarkers()) {
+            if (marker instanceof ClearLineMarker && marker.charPos <= endCharPos)
+                return true;
+        }
+        return false;
+    }
+
+}
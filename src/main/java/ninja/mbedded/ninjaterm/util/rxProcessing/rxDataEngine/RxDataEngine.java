@@ -1,20 +1,20 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine;
 
-import javafx.beans.binding.Bindings;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.property.SimpleStringProperty;
 import ninja.mbedded.ninjaterm.model.terminal.txRx.RawDataReceivedListener;
 import ninja.mbedded.ninjaterm.model.terminal.txRx.StreamedDataListener;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
+import ninja.mbedded.ninjaterm.util.config.IntConfig;
+import ninja.mbedded.ninjaterm.util.config.ObjectConfig;
 import ninja.mbedded.ninjaterm.util.debugging.Debugging;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.Decoding.Decoder;
 import ninja.mbedded.ninjaterm.util.rxProcessing.Decoding.DecodingOptions;
 import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.AnsiECParser;
 import ninja.mbedded.ninjaterm.util.rxProcessing.asciiControlCharParser.AsciiControlCharParser;
+import ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser.CarriageReturnParser;
 import ninja.mbedded.ninjaterm.util.rxProcessing.freezeParser.FreezeParser;
 import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineParser;
+import ninja.mbedded.ninjaterm.util.rxProcessing.repeatedLineCollapser.RepeatedLineCollapser;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamingFilter.StreamingFilter;
 import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampParser;
@@ -26,9 +26,13 @@ import java.util.List;
 
 /**
  * The entire RX data processing engine, encapsulated in a single class.
+ * <p>
+ * This does not depend on the JavaFX toolkit. The settings are <code>{@link ninja.mbedded.ninjaterm.util.config.Config}</code>
+ * objects, which the UI binds to its properties with <code>ConfigBindings</code>. Some settings re-configure the
+ * parsers when changed, so they must be changed on the same thread that calls <code>parse()</code>.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2016-11-30
+ * @last-modified 2026-10-19
  * @since 2016-10-14
  */
 public class RxDataEngine {
@@ -47,12 +51,12 @@ public class RxDataEngine {
 
     private Decoder decoder = new Decoder();
 
-    public SimpleObjectProperty<DecodingOptions> selDecodingOption = new SimpleObjectProperty<>(DecodingOptions.ASCII);
+    public final ObjectConfig<DecodingOptions> selDecodingOption = decoder.decodingOption;
 
     /**
-     * Initialise with "" so that it does not display "null".
+     * The decoded RX data, trimmed to <code>maxBufferSize</code> chars.
      */
-    public SimpleStringProperty rawRxData = new SimpleStringProperty("");
+    private String rawRxData = "";
 
     private StreamedData bufferBetweenDecoderAndTimeStampParser = new StreamedData();
 
@@ -64,7 +68,7 @@ public class RxDataEngine {
 
     private StreamedData bufferBetweenTimeStampParserAndFreezeParser = new StreamedData();
 
-    public SimpleBooleanProperty isTimeStampParserEnabled = new SimpleBooleanProperty(false);
+    public final BooleanConfig isTimeStampParserEnabled = timeStampParser.isEnabled;
 
     //==============================================//
     //================ FREEZE PARSER ===============//
@@ -74,7 +78,7 @@ public class RxDataEngine {
 
     private StreamedData bufferBetweenFreezeParserAndAnsiParser = new StreamedData();
 
-    public SimpleBooleanProperty isFrozen = freezeParser.isFrozen;
+    public final BooleanConfig isFrozen = freezeParser.isFrozen;
 
     //==============================================//
     //============ ANSI ESCAPE CODE PARSER =========//
@@ -88,10 +92,24 @@ public class RxDataEngine {
     //================ NEW LINE PARSER =============//
     //==============================================//
 
-    public SimpleStringProperty newLinePattern = new SimpleStringProperty("\\n");
+    public final ObjectConfig<String> newLinePattern = new ObjectConfig<>("\\n");
 
     private NewLineParser newLineParser = new NewLineParser(newLinePattern.get());
 
+    private StreamedData bufferBetweenNewLineParserAndCarriageReturnParser = new StreamedData();
+
+    //==============================================//
+    //============ CARRIAGE RETURN PARSER ==========//
+    //==============================================//
+
+    private CarriageReturnParser carriageReturnParser = new CarriageReturnParser();
+
+    /**
+     * When true, carriage returns (which are not part of a new line) and the "erase in line" ANSI escape codes
+     * clear the current line, so that devices can redraw a line in place.
+     */
+    public final BooleanConfig isCarriageReturnParserEnabled = carriageReturnParser.isEnabled;
+
     private StreamedData bufferBetweenNewLineParserAndFiltering = new StreamedData();
 
     //==============================================//
@@ -115,6 +133,25 @@ public class RxDataEngine {
 
     private AsciiControlCharParser asciiControlCharParser = new AsciiControlCharParser();
 
+    //==============================================//
+    //=========== REPEATED LINE COLLAPSER ==========//
+    //==============================================//
+
+    /**
+     * Holds a copy of the output of the ASCII control char parser which is consumed by the
+     * <code>repeatedLineCollapser</code>. The collapser only changes what is displayed, the output
+     * passed to <code>newOutputListeners</code> still contains every line.
+     */
+    private StreamedData bufferBetweenControlCharParserAndRepeatedLineCollapser = new StreamedData();
+
+    private RepeatedLineCollapser repeatedLineCollapser = new RepeatedLineCollapser();
+
+    /**
+     * When true, consecutive identical lines in the display output are shown once, with a count of how many times
+     * the line has been received.
+     */
+    public final BooleanConfig isRepeatedLineCollapserEnabled = repeatedLineCollapser.isEnabled;
+
     /**
      * This is a buffer for the output of the ANSI parser. This is for when the filter text
      * is changed, and the user wishes to re-run the filter over data stored in the buffer.
@@ -131,15 +168,27 @@ public class RxDataEngine {
     public List<RawDataReceivedListener> rawDataReceivedListeners = new ArrayList<>();
 
     /**
-     * This event is emitted when new streamed output is available. This is what the
-     * RX pane in the UI should be listening for.
+     * This event is emitted when new streamed output is available. This contains every line
+     * of the output (the logging class might be listening to this).
      */
     public List<StreamedDataListener> newOutputListeners = new ArrayList<>();
 
+    /**
+     * This event is emitted when new output is available for display. This is the same as the output passed to
+     * <code>newOutputListeners</code>, except that repeated lines have been collapsed (if enabled). This is what
+     * the RX pane in the UI should be listening for.
+     */
+    public List<StreamedDataListener> newDisplayOutputListeners = new ArrayList<>();
+
     /**
      * The maximum buffer size of any <code>StreamedData</code> object within the <code>{@link RxDataEngine}</code>.
      */
-    public SimpleIntegerProperty maxBufferSize = new SimpleIntegerProperty();
+    public final IntConfig maxBufferSize = new IntConfig(DEFAULT_BUFFER_SIZE);
+
+    /**
+     * Per-stage call counts, data sizes and latencies of <code>parse()</code>.
+     */
+    public final RxDataEngineMetrics metrics = new RxDataEngineMetrics();
 
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
 
@@ -149,13 +198,6 @@ public class RxDataEngine {
 
     public RxDataEngine() {
 
-
-        isTimeStampParserEnabled.bindBidirectional(timeStampParser.isEnabled);
-
-        // Bind the selDecodingOption variable to the copy inside the Decoder object
-        // (selDecodingOption exposes the field inside the Decoder object)
-        Bindings.bindBidirectional(selDecodingOption, decoder.decodingOption);
-
         // If the selected decoding option is changed, we also need to
         // change the behaviour of the ASCII control char parser
         selDecodingOption.addListener((observable, oldValue, newValue) -> {
@@ -195,43 +237,51 @@ public class RxDataEngine {
         //============ MAX BUFFER SIZE SETUP ===========//
         //==============================================//
 
-        // Bind the max buffer size to all of the "max num. chars" properties of all
-        // StreamedData objects
-        Bindings.bindBidirectional(maxBufferSize, bufferBetweenDecoderAndTimeStampParser.maxNumChars);
-        Bindings.bindBidirectional(maxBufferSize, bufferBetweenTimeStampParserAndFreezeParser.maxNumChars);
-        Bindings.bindBidirectional(maxBufferSize, bufferBetweenFreezeParserAndAnsiParser.maxNumChars);
-        Bindings.bindBidirectional(maxBufferSize, bufferBetweenAnsiParserAndNewLineParser.maxNumChars);
-        Bindings.bindBidirectional(maxBufferSize, bufferBetweenNewLineParserAndFiltering.maxNumChars);
-        Bindings.bindBidirectional(maxBufferSize, bufferBetweenFilterAndControlCharParser.maxNumChars);
-        Bindings.bindBidirectional(maxBufferSize, totalNewLineParserOutput.maxNumChars);
-
-        maxBufferSize.set(DEFAULT_BUFFER_SIZE);
+        // Apply the max buffer size to the "max num. chars" of all StreamedData objects
+        setMaxNumCharsOfBuffers(maxBufferSize.get());
 
         maxBufferSize.addListener((observable, oldValue, newValue) -> {
             logger.debug("maxBufferSize set to " + Integer.toString(newValue.intValue()) + ".");
 
+            setMaxNumCharsOfBuffers(newValue);
             trimRawRxData();
         });
+    }
 
-        rawRxData.addListener((observable, oldValue, newValue) -> {
-            trimRawRxData();
-        });
+    private void setMaxNumCharsOfBuffers(int maxNumChars) {
+        bufferBetweenDecoderAndTimeStampParser.setMaxNumChars(maxNumChars);
+        bufferBetweenTimeStampParserAndFreezeParser.setMaxNumChars(maxNumChars);
+        bufferBetweenFreezeParserAndAnsiParser.setMaxNumChars(maxNumChars);
+        bufferBetweenAnsiParserAndNewLineParser.setMaxNumChars(maxNumChars);
+        bufferBetweenNewLineParserAndCarriageReturnParser.setMaxNumChars(maxNumChars);
+        bufferBetweenNewLineParserAndFiltering.setMaxNumChars(maxNumChars);
+        bufferBetweenFilterAndControlCharParser.setMaxNumChars(maxNumChars);
+        bufferBetweenControlCharParserAndRepeatedLineCollapser.setMaxNumChars(maxNumChars);
+        totalNewLineParserOutput.setMaxNumChars(maxNumChars);
     }
 
     /**
      * Trims the internal RX buffer according to the value set in maxBufferSize.
      */
     public void trimRawRxData() {
-        logger.debug(
-                "trimRawRxData() called. rawRxData.length() = " + rawRxData.length() +
-                        ", maxBufferSize = " + maxBufferSize.get() + ".");
+        if (logger.isDebugEnabled())
+            logger.debug(
+                    "trimRawRxData() called. rawRxData.length() = " + rawRxData.length() +
+                            ", maxBufferSize = " + maxBufferSize.get() + ".");
         // Truncate if necessary
-        if (rawRxData.get().length() > maxBufferSize.get()) {
+        if (rawRxData.length() > maxBufferSize.get()) {
             // Remove old characters from buffer
-            rawRxData.set(StringUtils.removeOldChars(rawRxData.get(), maxBufferSize.get()));
+            rawRxData = StringUtils.removeOldChars(rawRxData, maxBufferSize.get());
         }
     }
 
+    /**
+     * @return The decoded RX data, trimmed to <code>maxBufferSize</code> chars.
+     */
+    public String getRawRxData() {
+        return rawRxData;
+    }
+
     /**
      * This method passes RX data. It encapsulates all the individual processes on the RX
      * stream.
@@ -249,14 +299,18 @@ public class RxDataEngine {
      * 3. Pass through new line detector. This does not modify the textual data, but populates the
      * <code>newLineMarkers</code> array with entries and where new lines are to be inserted. This may
      * hold back data if a partial new line is detected.
+     * 3. Pass through carriage return parser (if enabled). This clears the current line when a carriage return
+     * (that is not part of a new line) is detected, adding a clear line marker if part of the line has already
+     * been released.
      * 3. Pass through ASCII control code parser. This finds all ASCII control codes, and either converts
      * them to their visible unicode symbol equivalent, or removes them. This may hold back data if
      * it is a partial ASCII control code match. This does not affect new lines as they have already
      * been detected (and the new line markers array populated).
      * 4. Pass through filter. Filter only releases lines of text which match the provided pattern. Filter
      * may hold back text which contains a partial match.
-     * 5. The resulting {@link StreamedData} object is outputted to any listeners (the RX pane on the GUI should be
-     * listening to this).
+     * 5. The resulting {@link StreamedData} object is outputted to any listeners.
+     * 6. A copy is passed through the repeated line collapser (if enabled), and the result is outputted to any display
+     * listeners (the RX pane on the GUI should be listening to this).
      * </p>
      * <p>
      * The method can be called with an empty byte array. This will cause all RX parsers to be run,
@@ -268,18 +322,25 @@ public class RxDataEngine {
     public void parse(byte[] rxData) {
         /*logger.debug(getClass().getSimpleName() + ".addRxData() called with data = \"" + Debugging.convertNonPrintable(data) + "\".");*/
 
+        boolean isMetricsEnabled = metrics.isEnabled.get();
+        long parseStartNanoTime = isMetricsEnabled ? System.nanoTime() : 0;
+        long stageStartNanoTime = parseStartNanoTime;
+        int numCharsIn;
+
         //==============================================//
         //==================== DECODER =================//
         //==============================================//
 
         String newDecodedData = decoder.parse(rxData);
 
-        // Data should be automatically trimmed (there is a listener attached
-        // to this property)
-        rawRxData.set(rawRxData.get() + newDecodedData);
+        rawRxData = rawRxData + newDecodedData;
+        trimRawRxData();
 
         bufferBetweenDecoderAndTimeStampParser.append(newDecodedData);
 
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.DECODER, stageStartNanoTime, rxData.length, newDecodedData.length());
+
         // This streamed data object is just to temporarily hold released output
         // from each parser, before it is shifted into the appropriate buffer
         StreamedData releasedData = new StreamedData();
@@ -289,7 +350,10 @@ public class RxDataEngine {
         //==============================================//
 
         releasedData.clear();
+        numCharsIn = bufferBetweenDecoderAndTimeStampParser.getText().length();
         timeStampParser.parse(bufferBetweenDecoderAndTimeStampParser, releasedData);
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.TIME_STAMP, stageStartNanoTime, numCharsIn, releasedData.getText().length());
 
         bufferBetweenTimeStampParserAndFreezeParser.shiftDataIn(
                 releasedData,
@@ -302,7 +366,10 @@ public class RxDataEngine {
         //==============================================//
 
         releasedData.clear();
+        numCharsIn = bufferBetweenTimeStampParserAndFreezeParser.getText().length();
         freezeParser.parse(bufferBetweenTimeStampParserAndFreezeParser, releasedData);
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.FREEZE, stageStartNanoTime, numCharsIn, releasedData.getText().length());
 
         bufferBetweenFreezeParserAndAnsiParser.shiftDataIn(
                 releasedData,
@@ -314,30 +381,52 @@ public class RxDataEngine {
         //==============================================//
 
         releasedData.clear();
+        numCharsIn = bufferBetweenFreezeParserAndAnsiParser.getText().length();
         ansiECParser.parse(bufferBetweenFreezeParserAndAnsiParser, releasedData);
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.ANSI_EC, stageStartNanoTime, numCharsIn, releasedData.getText().length());
 
-        logger.debug("releasedData = " + Debugging.convertNonPrintable(releasedData.toString()));
+        if (logger.isDebugEnabled())
+            logger.debug("releasedData = " + Debugging.convertNonPrintable(releasedData.toString()));
 
         // Now add all the new ANSI parser output to any that was not used up by the
         // streaming filter from last time
         bufferBetweenAnsiParserAndNewLineParser.shiftDataIn(releasedData, releasedData.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
 
-        logger.debug("Finished adding data to buffer between ANSI parser and filter. bufferBetweenAnsiParserAndNewLineParser = " + bufferBetweenAnsiParserAndNewLineParser);
+        if (logger.isDebugEnabled())
+            logger.debug("Finished adding data to buffer between ANSI parser and filter. bufferBetweenAnsiParserAndNewLineParser = " + bufferBetweenAnsiParserAndNewLineParser);
 
         //==============================================//
         //============== NEW LINE DETECTION ============//
         //==============================================//
 
         releasedData.clear();
+        numCharsIn = bufferBetweenAnsiParserAndNewLineParser.getText().length();
         newLineParser.parse(bufferBetweenAnsiParserAndNewLineParser, releasedData);
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.NEW_LINE, stageStartNanoTime, numCharsIn, releasedData.getText().length());
+
+        bufferBetweenNewLineParserAndCarriageReturnParser.shiftDataIn(releasedData, releasedData.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+
+        //==============================================//
+        //============ CARRIAGE RETURN PARSER ==========//
+        //==============================================//
+
+        releasedData.clear();
+        numCharsIn = bufferBetweenNewLineParserAndCarriageReturnParser.getText().length();
+        carriageReturnParser.parse(bufferBetweenNewLineParserAndCarriageReturnParser, releasedData);
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.CARRIAGE_RETURN, stageStartNanoTime, numCharsIn, releasedData.getText().length());
 
         // Append the output of the ANSI parser to the "total" ANSI parser output buffer
         // This will be used if the user changes the filter pattern and wishes to re-run
         // it on buffered data.
         // NOTE: We only want to append NEW data added to the ANSI parser output, since
         // there may still be characters in there from last time this method was called, and
-        // we don't want to add them twice
-        totalNewLineParserOutput.copyCharsFrom(releasedData, releasedData.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
+        // we don't want to add them twice.
+        // Lines which are cleared by the carriage return parser are cleared here too, so that a
+        // line which is redrawn many times is only stored once
+        totalNewLineParserOutput.copyCharsFromClearingLines(releasedData);
 
         // Add released text to buffer
         bufferBetweenNewLineParserAndFiltering.shiftDataIn(releasedData, releasedData.getText().length(), StreamedData.MarkerBehaviour.NOT_FILTERING);
@@ -348,7 +437,10 @@ public class RxDataEngine {
 
         // NOTE: filteredRxData is the actual text which gets displayed in the RX pane
         releasedData.clear();
+        numCharsIn = bufferBetweenNewLineParserAndFiltering.getText().length();
         streamingFilter.parse(bufferBetweenNewLineParserAndFiltering, releasedData);
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.FILTER, stageStartNanoTime, numCharsIn, releasedData.getText().length());
 
         // Add the released text to buffer
         bufferBetweenFilterAndControlCharParser.shiftDataIn(
@@ -361,7 +453,30 @@ public class RxDataEngine {
         //==============================================//
 
         releasedData.clear();
+        numCharsIn = bufferBetweenFilterAndControlCharParser.getText().length();
         asciiControlCharParser.parse(bufferBetweenFilterAndControlCharParser, releasedData);
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.CONTROL_CHAR, stageStartNanoTime, numCharsIn, releasedData.getText().length());
+
+        //==============================================//
+        //=========== REPEATED LINE COLLAPSING =========//
+        //==============================================//
+
+        // This works on a copy, as the released data is also passed on in full. A colour kept
+        // from a removed line is replaced if the released data starts with a new one
+        if (releasedData.isColorAt(0)) {
+            bufferBetweenControlCharParserAndRepeatedLineCollapser.removeColourMarkerAtEnd();
+        }
+        bufferBetweenControlCharParserAndRepeatedLineCollapser.copyCharsFrom(
+                releasedData,
+                releasedData.getText().length(),
+                StreamedData.MarkerBehaviour.NOT_FILTERING);
+
+        StreamedData releasedDisplayData = new StreamedData();
+        repeatedLineCollapser.parse(bufferBetweenControlCharParserAndRepeatedLineCollapser, releasedDisplayData);
+
+        if (isMetricsEnabled)
+            stageStartNanoTime = metrics.endStage(RxDataEngineMetrics.Stage.REPEATED_LINE_COLLAPSER, stageStartNanoTime, releasedData.getText().length(), releasedDisplayData.getText().length());
 
 
         //==============================================//
@@ -382,7 +497,8 @@ public class RxDataEngine {
         //==============================================//
 
         // Call any listeners that want the raw data (the logging class of the model might be listening)
-        logger.debug("Calling raw data listeners with data = \"" + Debugging.convertNonPrintable(newDecodedData) + "\".");
+        if (logger.isDebugEnabled())
+            logger.debug("Calling raw data listeners with data = \"" + Debugging.convertNonPrintable(newDecodedData) + "\".");
         for (RawDataReceivedListener rawDataReceivedListener : rawDataReceivedListeners) {
             rawDataReceivedListener.run(newDecodedData);
         }
@@ -396,7 +512,17 @@ public class RxDataEngine {
             newStreamedDataListener.run(copyOfFilterOutput);
         }
 
-        logger.debug(getClass().getSimpleName() + ".addRxData() finished.");
+        for (StreamedDataListener newDisplayOutputListener : newDisplayOutputListeners) {
+            newDisplayOutputListener.run(new StreamedData(releasedDisplayData));
+        }
+
+        if (isMetricsEnabled) {
+            metrics.endStage(RxDataEngineMetrics.Stage.LISTENERS, stageStartNanoTime, releasedData.getText().length(), 0);
+            metrics.endParse(parseStartNanoTime, rxData.length, releasedData.getText().length());
+        }
+
+        if (logger.isDebugEnabled())
+            logger.debug(getClass().getSimpleName() + ".addRxData() finished.");
     }
 
     /**
@@ -406,6 +532,8 @@ public class RxDataEngine {
     public void rerunFilterOnExistingData() {
         // Clear all filter output
         bufferBetweenFilterAndControlCharParser.clear();
+        bufferBetweenControlCharParserAndRepeatedLineCollapser.clear();
+        repeatedLineCollapser.reset();
 
         // We need to run the entire ANSI parser output back through the filter
         // Make a temp. StreamedData object that can be consumed (we want to preserve
@@ -447,8 +575,11 @@ public class RxDataEngine {
         bufferBetweenTimeStampParserAndFreezeParser.clear();
         bufferBetweenFreezeParserAndAnsiParser.clear();
         bufferBetweenAnsiParserAndNewLineParser.clear();
+        bufferBetweenNewLineParserAndCarriageReturnParser.clear();
         bufferBetweenNewLineParserAndFiltering.clear();
         bufferBetweenFilterAndControlCharParser.clear();
+        bufferBetweenControlCharParserAndRepeatedLineCollapser.clear();
+        repeatedLineCollapser.reset();
         totalNewLineParserOutput.clear();
     }
 
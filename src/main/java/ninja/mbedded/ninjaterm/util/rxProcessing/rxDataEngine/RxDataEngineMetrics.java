@@ -0,0 +1,140 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine;
+
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
+import ninja.mbedded.ninjaterm.util.metrics.LatencyHistogram;
+
+/**
+ * Instrumentation for the <code>{@link RxDataEngine}</code>. For every stage of <code>parse()</code>, records the
+ * number of calls, the amount of data in and out, and a histogram of how long the stage took.
+ * <p>
+ * Recording only costs a <code>System.nanoTime()</code> call and a histogram update per stage, and can be disabled
+ * with <code>isEnabled</code>. Must only be used from the thread which calls <code>parse()</code> (the UI thread).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class RxDataEngineMetrics {
+
+    //================================================================================================//
+    //============================================= ENUMS ============================================//
+    //================================================================================================//
+
+    public enum Stage {
+        DECODER("Decoder"),
+        TIME_STAMP("Time stamp"),
+        FREEZE("Freeze"),
+        ANSI_EC("ANSI escape codes"),
+        NEW_LINE("New line"),
+        CARRIAGE_RETURN("Carriage return"),
+        FILTER("Filter"),
+        CONTROL_CHAR("Control chars"),
+        REPEATED_LINE_COLLAPSER("Repeated lines"),
+        LISTENERS("Listeners"),
+        ;
+
+        public final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Metrics for a single stage.
+     */
+    public static class StageMetrics {
+
+        private long numCalls = 0;
+
+        /**
+         * Bytes for the decoder, chars for all other stages.
+         */
+        private long numIn = 0;
+        private long numOut = 0;
+
+        public final LatencyHistogram latencyNs = new LatencyHistogram();
+
+        void record(long latencyNs, int numIn, int numOut) {
+            numCalls++;
+            this.numIn += numIn;
+            this.numOut += numOut;
+            this.latencyNs.record(latencyNs);
+        }
+
+        public long getNumCalls() {
+            return numCalls;
+        }
+
+        public long getNumIn() {
+            return numIn;
+        }
+
+        public long getNumOut() {
+            return numOut;
+        }
+
+        void reset() {
+            numCalls = 0;
+            numIn = 0;
+            numOut = 0;
+            latencyNs.reset();
+        }
+    }
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    public final BooleanConfig isEnabled = new BooleanConfig(true);
+
+    private final StageMetrics[] stageMetrics = new StageMetrics[Stage.values().length];
+
+    /**
+     * Metrics for the whole of <code>parse()</code>.
+     */
+    public final StageMetrics total = new StageMetrics();
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public RxDataEngineMetrics() {
+        for (int i = 0; i < stageMetrics.length; i++) {
+            stageMetrics[i] = new StageMetrics();
+        }
+    }
+
+    public StageMetrics get(Stage stage) {
+        return stageMetrics[stage.ordinal()];
+    }
+
+    /**
+     * Records that a stage has finished.
+     *
+     * @param startNanoTime The <code>System.nanoTime()</code> the stage started at.
+     * @return The current <code>System.nanoTime()</code>, i.e. the start time of the next stage.
+     */
+    long endStage(Stage stage, long startNanoTime, int numIn, int numOut) {
+        long nanoTime = System.nanoTime();
+        stageMetrics[stage.ordinal()].record(nanoTime - startNanoTime, numIn, numOut);
+        return nanoTime;
+    }
+
+    void endParse(long startNanoTime, int numBytesIn, int numCharsOut) {
+        total.record(System.nanoTime() - startNanoTime, numBytesIn, numCharsOut);
+    }
+
+    public void reset() {
+        for (StageMetrics metrics : stageMetrics) {
+            metrics.reset();
+        }
+        total.reset();
+    }
+
+}
@@ -1,16 +1,18 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.streamedData;
 
 import ch.qos.logback.classic.Level;
-import javafx.beans.property.SimpleIntegerProperty;
 import ninja.mbedded.ninjaterm.util.debugging.Debugging;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
 import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser.ClearLineMarker;
 import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
 import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampMarker;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.regex.Matcher;
@@ -22,7 +24,7 @@ import java.util.regex.Pattern;
  * whose output is another <code>{@link StreamedData}</code> object.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2016-10-27
+ * @last-modified 2026-10-19
  * @since 2016-09-28
  */
 public class StreamedData {
@@ -37,6 +39,14 @@ public class StreamedData {
      */
     public static final char NEW_LINE_CHAR_SEQUENCE_FOR_TEXT_FLOW = '\n';
 
+    /**
+     * See <code>sortMarkersInOutputOrder()</code>.
+     */
+    private static final Comparator<Marker> OUTPUT_ORDER = Comparator
+            .comparingInt((Marker marker) -> marker.charPos)
+            .thenComparing(marker -> marker.association)
+            .thenComparingInt(marker -> marker.typeSortOrder);
+
     //================================================================================================//
     //=========================================== ENUMS ==============================================//
     //================================================================================================//
@@ -86,8 +96,10 @@ public class StreamedData {
      * <p>
      * If <code>maxNumChars</code> = -1, then the StreamedData object does not have a limit and
      * will never delete old data.
+     * <p>
+     * This is a plain field rather than a property, as a lot of these objects are created while parsing.
      */
-    public SimpleIntegerProperty maxNumChars = new SimpleIntegerProperty(-1);
+    private int maxNumChars = -1;
 
     private Logger logger = LoggerUtils.createLoggerFor(getClass().getName());
 
@@ -99,12 +111,6 @@ public class StreamedData {
      * Default constructor.
      */
     public StreamedData() {
-
-        // Add a listener so that if the maxNumChars property is changed, we trim as
-        // required
-        maxNumChars.addListener((observable, oldValue, newValue) -> {
-            trimDataIfRequired();
-        });
     }
 
     /**
@@ -180,17 +186,152 @@ public class StreamedData {
 
     /**
      * Removes the specified number of characters from the start of this <code>{@link StreamedData}</code> object.
+     * <p>
+     * This gives exactly the same result as calling <code>removeChar(0, deleteNewLines)</code> <code>numChars</code>
+     * times, but runs in a single pass over the text and markers rather than rebuilding the text once per
+     * removed character.
      *
      * @param numChars The number of characters to remove.
      */
     public void removeCharsFromStart(int numChars, boolean deleteNewLines) {
-        //StreamedData dummyStreamedData = new StreamedData();
-        //dummyStreamedData.shiftDataIn(this, numChars);
-        //checkAllColoursAreInOrder();
 
-        for (int i = 0; i < numChars; i++) {
-            removeChar(0, deleteNewLines);
+        if (numChars == 0)
+            return;
+
+        if (numChars > getText().length()) {
+            throw new IllegalArgumentException("charIndex pointed outside of length of text.");
+        }
+
+        text = text.substring(numChars);
+
+        for (ListIterator<Marker> iter = markers.listIterator(); iter.hasNext(); ) {
+            Marker element = iter.next();
+
+            // Removing a char one at a time deletes every marker which ends up at position 0
+            // (and also new line markers which end up at position 1, if deleteNewLines is true)
+            if (element instanceof ClearLineMarker) {
+                // Clear line markers are never removed, they move to the start
+                element.setCharPos(Math.max(element.getCharPos() - numChars, 0));
+            } else if (element.charPos < numChars || (deleteNewLines && element.charPos == numChars && element instanceof NewLineMarker)) {
+                iter.remove();
+            } else {
+                element.setCharPos(element.getCharPos() - numChars);
+            }
+        }
+    }
+
+    /**
+     * Removes all text on the current line (i.e. after the last new line marker).
+     * <p>
+     * The colour in effect at the end of the line, time stamps at the start of the line and any existing
+     * <code>{@link ClearLineMarker}</code> at the start of the line are kept. If the start of the line is not
+     * in this object (there are no new line markers), a <code>{@link ClearLineMarker}</code> is added at the
+     * start so that anything which has already consumed the start of the line also clears it.
+     */
+    public void clearCurrLine() {
+
+        int lineStart = 0;
+        boolean isLineStartInThis = false;
+        for (Marker marker : markers) {
+            if (marker instanceof NewLineMarker && marker.charPos >= lineStart) {
+                lineStart = marker.charPos;
+                isLineStartInThis = true;
+            }
+        }
+
+        text = text.substring(0, lineStart);
+
+        ColourMarker colourInEffect = null;
+        boolean hasClearLineMarker = false;
+        for (ListIterator<Marker> iter = markers.listIterator(); iter.hasNext(); ) {
+            Marker element = iter.next();
+
+            if (element.charPos < lineStart)
+                continue;
+
+            if (element instanceof ColourMarker) {
+                // Colour markers are always in order, so the last one found is the one in effect
+                colourInEffect = (ColourMarker) element;
+                iter.remove();
+            } else if (element.charPos > lineStart) {
+                iter.remove();
+            } else if (element instanceof ClearLineMarker) {
+                hasClearLineMarker = true;
+            }
+        }
+
+        if (colourInEffect != null) {
+            colourInEffect.charPos = lineStart;
+            markers.add(colourInEffect);
+        }
+
+        if (!isLineStartInThis && !hasClearLineMarker) {
+            markers.add(new ClearLineMarker(lineStart));
+        }
+    }
+
+    /**
+     * Removes the colour marker at the end of the text (i.e. one which does not apply to any char yet),
+     * if there is one.
+     */
+    public void removeColourMarkerAtEnd() {
+        markers.removeIf(marker -> marker instanceof ColourMarker && marker.charPos == text.length());
+    }
+
+    /**
+     * Copies all of the chars from the input onto the end of this object, applying (rather than copying)
+     * the <code>{@link ClearLineMarker}</code>s in the input with <code>clearCurrLine()</code>.
+     * <p>
+     * This is used to store data for which redrawn lines should only take up the space of the last redraw.
+     *
+     * @param inputStreamedData The data to copy. This is not modified.
+     */
+    public void copyCharsFromClearingLines(StreamedData inputStreamedData) {
+
+        boolean hasClearLineMarkers = false;
+        for (Marker marker : inputStreamedData.markers) {
+            if (marker instanceof ClearLineMarker) {
+                hasClearLineMarkers = true;
+                break;
+            }
+        }
+
+        if (!hasClearLineMarkers) {
+            // Nothing to apply, so a plain copy will do
+            if (inputStreamedData.isColorAt(0)) {
+                removeColourMarkerAtEnd();
+            }
+            copyCharsFrom(inputStreamedData, inputStreamedData.getText().length(), MarkerBehaviour.NOT_FILTERING);
+            return;
+        }
+
+        StreamedData toBeConsumed = new StreamedData(inputStreamedData);
+
+        List<ClearLineMarker> clearLineMarkers = new ArrayList<>();
+        for (ListIterator<Marker> iter = toBeConsumed.markers.listIterator(); iter.hasNext(); ) {
+            Marker element = iter.next();
+            if (element instanceof ClearLineMarker) {
+                clearLineMarkers.add((ClearLineMarker) element);
+                iter.remove();
+            }
+        }
+        Collections.sort(clearLineMarkers);
+
+        int numCharsConsumed = 0;
+        for (ClearLineMarker clearLineMarker : clearLineMarkers) {
+            shiftDataInReplacingEndColour(toBeConsumed, clearLineMarker.charPos - numCharsConsumed);
+            numCharsConsumed = clearLineMarker.charPos;
+            clearCurrLine();
+        }
+
+        shiftDataInReplacingEndColour(toBeConsumed, toBeConsumed.getText().length());
+    }
+
+    private void shiftDataInReplacingEndColour(StreamedData input, int numChars) {
+        if (input.isColorAt(0)) {
+            removeColourMarkerAtEnd();
         }
+        shiftDataIn(input, numChars, MarkerBehaviour.NOT_FILTERING);
     }
 
     /**
@@ -360,7 +501,8 @@ public class StreamedData {
      * @param textToAppend
      */
     public void append(String textToAppend) {
-        logger.debug("append() called with text = \"" + Debugging.convertNonPrintable(textToAppend) + "\".");
+        if (logger.isDebugEnabled())
+            logger.debug("append() called with text = \"" + Debugging.convertNonPrintable(textToAppend) + "\".");
 
         // Passing in an empty string is not invalid, but we don't have to do anything,
         // so just return.
@@ -622,6 +764,55 @@ public class StreamedData {
         return output;
     }
 
+    /**
+     * Sorts the markers into the order they are to be output in (e.g. rendered or logged). This differs from the
+     * natural order of markers, as markers for the space before a char (e.g. new lines) come before markers on that
+     * char (e.g. the time stamp at the start of the new line).
+     * <p>
+     * Empty lines put a new line and the time stamp of the line after it at the same char position, so
+     * these are interleaved (starting with a time stamp if there is one more of them than new lines, as
+     * then the first one belongs to the line which these new lines end).
+     */
+    public void sortMarkersInOutputOrder() {
+
+        markers.sort(OUTPUT_ORDER);
+
+        int groupStart = 0;
+        while (groupStart < markers.size()) {
+
+            int charPos = markers.get(groupStart).charPos;
+            int groupEnd = groupStart;
+            List<Marker> newLineMarkers = new ArrayList<>();
+            List<Marker> timeStampMarkers = new ArrayList<>();
+            while (groupEnd < markers.size() && markers.get(groupEnd).charPos == charPos) {
+                Marker marker = markers.get(groupEnd);
+                if (marker instanceof NewLineMarker)
+                    newLineMarkers.add(marker);
+                else if (marker instanceof TimeStampMarker)
+                    timeStampMarkers.add(marker);
+                groupEnd++;
+            }
+
+            if (newLineMarkers.size() > 0 && timeStampMarkers.size() > 0) {
+
+                // The OUTPUT_ORDER puts new lines first, so the interleaved markers go where the first one was
+                int insertPos = markers.indexOf(newLineMarkers.get(0));
+                markers.removeAll(newLineMarkers);
+                markers.removeAll(timeStampMarkers);
+
+                boolean isTimeStampNext = timeStampMarkers.size() > newLineMarkers.size();
+                while (newLineMarkers.size() > 0 || timeStampMarkers.size() > 0) {
+                    List<Marker> next = isTimeStampNext && timeStampMarkers.size() > 0 || newLineMarkers.isEmpty()
+                            ? timeStampMarkers : newLineMarkers;
+                    markers.add(insertPos++, next.remove(0));
+                    isTimeStampNext = !isTimeStampNext;
+                }
+            }
+
+            groupStart = groupEnd;
+        }
+    }
+
     /**
      * Shifts as much data as it can from the <code>input</code> to this <code>StreamedData</code> object,
      * until a partial match (a mutli-character regex pattern) is detected in the input.
@@ -731,9 +922,10 @@ public class StreamedData {
             } /*else if (element.charPos == charIndex + 1 && element.association == Marker.Association.SPACE_BEFORE) {
                 // Remove marker that points to the space between deleted char and the one after it
                 iter.remove();
-            }*/ else if (charIndex == 0 && element.charPos == 0 && element.association == Marker.Association.SPACE_BEFORE) {
+            }*/ else if (charIndex == 0 && element.charPos == 0 && element.association == Marker.Association.SPACE_BEFORE
+                    && !(element instanceof ClearLineMarker)) {
                 // If we are removing the first char, and the marker is something like a
-                // new line, delete it
+                // new line, delete it (clear line markers still apply to the chars which follow)
                 iter.remove();
             } else if (element.getCharPos() != 0 && element.getCharPos() >= charIndex) {
                 element.setCharPos(element.getCharPos() - 1);
@@ -767,6 +959,20 @@ public class StreamedData {
 //        return output.toString();
 //    }
 
+    /**
+     * Sets the maximum number of chars, and trims the oldest data if there are now too many.
+     *
+     * @param maxNumChars   -1 for no limit.
+     */
+    public void setMaxNumChars(int maxNumChars) {
+        this.maxNumChars = maxNumChars;
+        trimDataIfRequired();
+    }
+
+    public int getMaxNumChars() {
+        return maxNumChars;
+    }
+
     /**
      * Trims this StreamedData object as necessary to keep the number of chars no greater than
      * <code>maxNumChars</code>.
@@ -776,12 +982,13 @@ public class StreamedData {
         logger.debug("trimDataIfRequired() called.");
 
         // Check if -1, if so, we don't want to perform any trimming
-        if (maxNumChars.get() == -1)
+        if (maxNumChars == -1)
             return;
 
-        if (text.length() > maxNumChars.get()) {
-            int numCharsToRemove = text.length() - maxNumChars.get();
-            logger.debug("Trimming first" + numCharsToRemove + " characters from StreamedData object.");
+        if (text.length() > maxNumChars) {
+            int numCharsToRemove = text.length() - maxNumChars;
+            if (logger.isDebugEnabled())
+                logger.debug("Trimming first" + numCharsToRemove + " characters from StreamedData object.");
             removeCharsFromStart(numCharsToRemove, false);
         }
     }
@@ -810,7 +1017,8 @@ public class StreamedData {
 
             // Look for entry in color array
             if (!isColorAt(x + 1)) {
-                logger.debug("The was no color on the line starting at position " + Integer.toString(x + 1) + ".");
+                if (logger.isDebugEnabled())
+                    logger.debug("The was no color on the line starting at position " + Integer.toString(x + 1) + ".");
                 return false;
             }
         }
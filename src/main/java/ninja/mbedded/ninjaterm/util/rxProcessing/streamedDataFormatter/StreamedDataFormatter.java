@@ -0,0 +1,163 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.streamedDataFormatter;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.AnsiECParser;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser.ClearLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.repeatedLineCollapser.RepeatCountMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
+import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampMarker;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converts a stream of <code>{@link StreamedData}</code> objects into plain text, as it is shown in the RX pane
+ * (e.g. for logging).
+ * <p>
+ * New line markers are converted into <code>lineSeparator</code>, time stamps are written in the same format as
+ * the RX pane, and colours are either written as ANSI escape codes or stripped.
+ * <p>
+ * Text is only output once the line it is on is complete, so that lines which are cleared (e.g. by a carriage return)
+ * can be overwritten before they are output. Call <code>flush()</code> to output the current partial line.
+ * <p>
+ * The current line is held in a re-used <code>StringBuilder</code>, and text is copied from the
+ * <code>{@link StreamedData}</code> objects directly into it.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class StreamedDataFormatter {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    /**
+     * The same format as is used in the RX pane.
+     */
+    public static final DateTimeFormatter TIME_STAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH-mm-ss.SSS: ");
+
+    /**
+     * Resets the colour back to the terminal's default.
+     */
+    private static final String ANSI_RESET_ESCAPE_CODE = "\u001B[0m";
+
+    //================================================================================================//
+    //============================================== ENUMS ===========================================//
+    //================================================================================================//
+
+    public enum ColourMode {
+        /**
+         * Colours are not output.
+         */
+        STRIP,
+        /**
+         * Colours are output as ANSI escape codes.
+         */
+        ANSI,
+    }
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    public ColourMode colourMode = ColourMode.STRIP;
+
+    public String lineSeparator = System.lineSeparator();
+
+    private final StringBuilder currLine = new StringBuilder();
+
+    /**
+     * The number of chars at the start of <code>currLine</code> which are kept when it is cleared (the time stamp).
+     */
+    private int currLineNumCharsToKeep = 0;
+
+    /**
+     * The escape code of the colour currently in effect, or null if no colour has been set.
+     */
+    private String currColourEscapeCode = null;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * Appends the text of all lines completed by the given data to the output.
+     *
+     * @param data      The data to format. The markers in this object are re-ordered.
+     * @param output    Completed lines are appended to this.
+     */
+    public void format(StreamedData data, StringBuilder output) {
+
+        data.sortMarkersInOutputOrder();
+
+        String text = data.getText();
+        int currPos = 0;
+
+        for (Marker marker : data.getMarkers()) {
+
+            currLine.append(text, currPos, marker.charPos);
+            currPos = marker.charPos;
+
+            if (marker instanceof ColourMarker) {
+                if (colourMode == ColourMode.ANSI) {
+                    String escapeCode = AnsiECParser.getEscapeCode(((ColourMarker) marker).color);
+                    if (escapeCode != null) {
+                        currLine.append(escapeCode);
+                        currColourEscapeCode = escapeCode;
+                    }
+                }
+            } else if (marker instanceof NewLineMarker) {
+                currLine.append(lineSeparator);
+                output.append(currLine);
+                currLine.setLength(0);
+                currLineNumCharsToKeep = 0;
+            } else if (marker instanceof TimeStampMarker) {
+                appendTimeStamp((TimeStampMarker) marker);
+            } else if (marker instanceof ClearLineMarker) {
+                currLine.setLength(currLineNumCharsToKeep);
+                // The colour may have been set in the part of the line which was removed
+                if (colourMode == ColourMode.ANSI && currColourEscapeCode != null) {
+                    currLine.append(currColourEscapeCode);
+                }
+            } else if (marker instanceof RepeatCountMarker) {
+                // Repeated lines are only collapsed for display, nothing to output
+            } else
+                throw new RuntimeException("Marker sub-type not supported.");
+        }
+
+        currLine.append(text, currPos, text.length());
+    }
+
+    private void appendTimeStamp(TimeStampMarker timeStampMarker) {
+
+        boolean isLineEmpty = currLine.length() == 0;
+
+        // Time stamps are not coloured in the RX pane either
+        if (colourMode == ColourMode.ANSI && currColourEscapeCode != null) {
+            currLine.append(ANSI_RESET_ESCAPE_CODE);
+        }
+
+        TIME_STAMP_FORMATTER.formatTo(timeStampMarker.localDateTime, currLine);
+
+        if (colourMode == ColourMode.ANSI && currColourEscapeCode != null) {
+            currLine.append(currColourEscapeCode);
+        }
+
+        if (isLineEmpty) {
+            currLineNumCharsToKeep = currLine.length();
+        }
+    }
+
+    /**
+     * Appends the current (partial) line to the output. Call this when there is no more data.
+     */
+    public void flush(StringBuilder output) {
+        output.append(currLine);
+        currLine.setLength(0);
+        currLineNumCharsToKeep = 0;
+    }
+
+}
@@ -16,7 +16,7 @@ import java.util.regex.Pattern;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-09-28
- * @last-modified 2016-10-03
+ * @last-modified 2026-10-19
  */
 public class StreamingFilter {
 
@@ -46,9 +46,11 @@ public class StreamingFilter {
             StreamedData inputStreamedData,
             StreamedData outputStreamedData) {
 
-        logger.debug(getClass().getSimpleName() + ".parse() called with:");
-        logger.debug("inputStreamedData { " + Debugging.convertNonPrintable(inputStreamedData.toString()) + "}.");
-        logger.debug("outputStreamedData { " + Debugging.convertNonPrintable(outputStreamedData.toString()) + "}.");
+        if (logger.isDebugEnabled()) {
+            logger.debug(getClass().getSimpleName() + ".parse() called with:");
+            logger.debug("inputStreamedData { " + Debugging.convertNonPrintable(inputStreamedData.toString()) + "}.");
+            logger.debug("outputStreamedData { " + Debugging.convertNonPrintable(outputStreamedData.toString()) + "}.");
+        }
 
         if(filterPattern.equals("")) {
             logger.debug("Filter text empty. Not performing any filtering.");
@@ -72,7 +74,8 @@ public class StreamingFilter {
             // Check to see if we can release all text on this line without even bothering
             // to check for a match. This will occur if a match has already occurred on this line.
             if(releaseTextOnCurrLine) {
-                logger.debug("releaseTextOnCurrLine = true. Releasing text " + Debugging.convertNonPrintable(line));
+                if (logger.isDebugEnabled())
+                    logger.debug("releaseTextOnCurrLine = true. Releasing text " + Debugging.convertNonPrintable(line));
                 outputStreamedData.shiftDataIn(inputStreamedData, line.length(), StreamedData.MarkerBehaviour.FILTERING);
 
                 /*if(hasNewLineChar(line)) {
@@ -93,11 +96,13 @@ public class StreamingFilter {
 
             if (matcher.find()) {
                 // Match in line found!
-                logger.debug("Match in line found. Line = " + Debugging.convertNonPrintable(line));
+                if (logger.isDebugEnabled())
+                    logger.debug("Match in line found. Line = " + Debugging.convertNonPrintable(line));
 
                 // We can release all text/nodes up to the end of this line
                 int numCharsToRelease = line.length();
-                logger.debug("numCharsToRelease = " + numCharsToRelease);
+                if (logger.isDebugEnabled())
+                    logger.debug("numCharsToRelease = " + numCharsToRelease);
                 outputStreamedData.shiftDataIn(inputStreamedData, numCharsToRelease, StreamedData.MarkerBehaviour.FILTERING);
 
                 // Check to see if this is the last line. If so, set the releaseTextOnCurrLine to true
@@ -111,7 +116,8 @@ public class StreamingFilter {
             } else {
                 // No match found on this line. If this line is completed, then we know there can never be a match,
                 // and it can be deleted from the heldStreamedText
-                logger.debug("No match found on line = " + Debugging.convertNonPrintable(line));
+                if (logger.isDebugEnabled())
+                    logger.debug("No match found on line = " + Debugging.convertNonPrintable(line));
 
                 //if(hasNewLineChar(line)) {
                 if(line != lines[lines.length - 1]) {
@@ -122,9 +128,11 @@ public class StreamingFilter {
             }
         } // for (String line : lines)
 
-        logger.debug(getClass().getSimpleName() + ".parse() finished. Variables are now:");
-        logger.debug("inputStreamedData { " + Debugging.convertNonPrintable(inputStreamedData.toString()) + "}.");
-        logger.debug("outputStreamedData { " + Debugging.convertNonPrintable(outputStreamedData.toString()) + "}.");
+        if (logger.isDebugEnabled()) {
+            logger.debug(getClass().getSimpleName() + ".parse() finished. Variables are now:");
+            logger.debug("inputStreamedData { " + Debugging.convertNonPrintable(inputStreamedData.toString()) + "}.");
+            logger.debug("outputStreamedData { " + Debugging.convertNonPrintable(outputStreamedData.toString()) + "}.");
+        }
 
     }
 
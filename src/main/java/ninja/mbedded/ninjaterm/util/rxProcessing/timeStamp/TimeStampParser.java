@@ -1,6 +1,6 @@
 package ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp;
 
-import javafx.beans.property.SimpleBooleanProperty;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
 import org.slf4j.Logger;
@@ -14,7 +14,7 @@ import java.util.regex.Pattern;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-11-23
- * @last-modified 2016-11-25
+ * @last-modified 2026-10-19
  **/
 public class TimeStampParser {
 
@@ -28,7 +28,7 @@ public class TimeStampParser {
      * If the time stamp parser is disabled, <code>parse()</code> will just
      * pass all input to output, without adding any new line markers.
      */
-    public SimpleBooleanProperty isEnabled = new SimpleBooleanProperty(true);
+    public final BooleanConfig isEnabled = new BooleanConfig(true);
 
     private Pattern newLinePattern;
 
@@ -80,8 +80,9 @@ public class TimeStampParser {
         int currShiftIndex = 0;
 
         while(matcher.find()) {
-            logger.debug("Match found. match = \"" + matcher.group(0) + "\"." +
-                    " Start index = " + matcher.start() + ", end index = " + matcher.end());
+            if (logger.isDebugEnabled())
+                logger.debug("Match found. match = \"" + matcher.group(0) + "\"." +
+                        " Start index = " + matcher.start() + ", end index = " + matcher.end());
 
             // NEW LINE FOUND!
 
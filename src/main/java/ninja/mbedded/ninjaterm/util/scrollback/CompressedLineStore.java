@@ -0,0 +1,311 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A <code>{@link LineStore}</code> which keeps the lines on the heap, but compressed. For when lines can't be
+ * spilled to disk.
+ * <p>
+ * New lines are added to an uncompressed "hot" block. Once this reaches <code>blockSizeBytes</code>, it is compressed
+ * with Deflate (at the fastest level) into a "cold" block. Cold blocks are only decompressed when a line in them
+ * is read, and the most recently decompressed block is cached, so that scrolling and searching through consecutive
+ * lines only decompresses each block once. Serial logs typically compress 5-10x. <code>trimToSize()</code> removes
+ * the oldest cold blocks.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CompressedLineStore implements LineStore {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final int DEFAULT_BLOCK_SIZE_BYTES = 64 * 1024;
+
+    /**
+     * Rough heap overhead of each cold block object and its arrays.
+     */
+    private static final int BLOCK_OVERHEAD_BYTES = 64;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final int blockSizeBytes;
+
+    private final List<Block> coldBlocks = new ArrayList<>();
+
+    //==============================================//
+    //================== HOT BLOCK =================//
+    //==============================================//
+
+    private byte[] hotData;
+    private int hotDataSize = 0;
+
+    /**
+     * The start offset in <code>hotData</code> of each line in the hot block.
+     */
+    private int[] hotLineOffsets = new int[256];
+    private int numHotLines = 0;
+
+    /**
+     * The line number of the first line in the hot block, counting from the last clear (including lines which
+     * have been removed).
+     */
+    private long hotFirstLineNum = 0;
+
+    /**
+     * The number of lines which have been removed by <code>trimToSize()</code> since the last clear.
+     */
+    private long numLinesRemoved = 0;
+
+    //==============================================//
+    //=================== METRICS ==================//
+    //==============================================//
+
+    private long sizeBytes = 0;
+    private long coldStoredSizeBytes = 0;
+
+    //==============================================//
+    //=================== CACHING ==================//
+    //==============================================//
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * Re-used as the output buffer when compressing.
+     */
+    private byte[] compressBuffer;
+
+    private Block cachedBlock;
+    private byte[] cachedBlockData;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public CompressedLineStore() {
+        this(DEFAULT_BLOCK_SIZE_BYTES);
+    }
+
+    /**
+     * @param blockSizeBytes    The (uncompressed) size at which the hot block is compressed. A single line longer
+     *                          than this is stored in a block of its own.
+     */
+    public CompressedLineStore(int blockSizeBytes) {
+        this.blockSizeBytes = blockSizeBytes;
+        hotData = new byte[blockSizeBytes];
+        compressBuffer = new byte[blockSizeBytes];
+    }
+
+    @Override
+    public void addLine(String line) {
+
+        byte[] data = line.getBytes(StandardCharsets.UTF_8);
+
+        if (numHotLines > 0 && hotDataSize + data.length > blockSizeBytes)
+            compressHotBlock();
+
+        if (hotDataSize + data.length > hotData.length)
+            hotData = Arrays.copyOf(hotData, hotDataSize + data.length);
+        if (numHotLines == hotLineOffsets.length)
+            hotLineOffsets = Arrays.copyOf(hotLineOffsets, hotLineOffsets.length * 2);
+
+        hotLineOffsets[numHotLines++] = hotDataSize;
+        System.arraycopy(data, 0, hotData, hotDataSize, data.length);
+        hotDataSize += data.length;
+        sizeBytes += data.length;
+    }
+
+    private void compressHotBlock() {
+
+        deflater.reset();
+        deflater.setInput(hotData, 0, hotDataSize);
+        deflater.finish();
+
+        int compressedSize = 0;
+        while (!deflater.finished()) {
+            if (compressedSize == compressBuffer.length)
+                compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+            compressedSize += deflater.deflate(compressBuffer, compressedSize, compressBuffer.length - compressedSize);
+        }
+
+        Block block = new Block(
+                hotFirstLineNum,
+                Arrays.copyOf(hotLineOffsets, numHotLines),
+                hotDataSize,
+                Arrays.copyOf(compressBuffer, compressedSize));
+        coldBlocks.add(block);
+        coldStoredSizeBytes += block.getStoredSizeBytes();
+
+        hotFirstLineNum += numHotLines;
+        numHotLines = 0;
+        hotDataSize = 0;
+
+        // Don't keep an oversized buffer around after a very long line
+        if (hotData.length > blockSizeBytes)
+            hotData = new byte[blockSizeBytes];
+    }
+
+    @Override
+    public long getNumLines() {
+        return hotFirstLineNum + numHotLines - numLinesRemoved;
+    }
+
+    @Override
+    public String getLine(long lineNum) {
+
+        if (lineNum < 0 || lineNum >= getNumLines())
+            throw new IndexOutOfBoundsException("Line " + lineNum + " does not exist (num. lines = " + getNumLines() + ").");
+
+        lineNum += numLinesRemoved;
+
+        if (lineNum >= hotFirstLineNum) {
+            int index = (int) (lineNum - hotFirstLineNum);
+            int end = index + 1 < numHotLines ? hotLineOffsets[index + 1] : hotDataSize;
+            return new String(hotData, hotLineOffsets[index], end - hotLineOffsets[index], StandardCharsets.UTF_8);
+        }
+
+        Block block = findColdBlock(lineNum);
+        byte[] blockData = decompress(block);
+
+        int index = (int) (lineNum - block.firstLineNum);
+        int end = index + 1 < block.lineOffsets.length ? block.lineOffsets[index + 1] : block.uncompressedSize;
+        return new String(blockData, block.lineOffsets[index], end - block.lineOffsets[index], StandardCharsets.UTF_8);
+    }
+
+    private Block findColdBlock(long lineNum) {
+        int low = 0;
+        int high = coldBlocks.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (coldBlocks.get(mid).firstLineNum <= lineNum)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        return coldBlocks.get(low);
+    }
+
+    private byte[] decompress(Block block) {
+
+        if (block == cachedBlock)
+            return cachedBlockData;
+
+        byte[] blockData = new byte[block.uncompressedSize];
+        inflater.reset();
+        inflater.setInput(block.compressedData);
+        try {
+            int size = 0;
+            while (size < blockData.length) {
+                int numBytes = inflater.inflate(blockData, size, blockData.length - size);
+                if (numBytes == 0 && (inflater.finished() || inflater.needsInput()))
+                    throw new RuntimeException("Compressed scrollback block is truncated.");
+                size += numBytes;
+            }
+        } catch (DataFormatException e) {
+            throw new RuntimeException(e);
+        }
+
+        cachedBlock = block;
+        cachedBlockData = blockData;
+        return blockData;
+    }
+
+    @Override
+    public long trimToSize(long maxStoredSizeBytes) {
+
+        long oldNumLinesRemoved = numLinesRemoved;
+
+        // The hot block is never removed
+        while (!coldBlocks.isEmpty() && getStoredSizeBytes() > maxStoredSizeBytes) {
+            Block block = coldBlocks.remove(0);
+            numLinesRemoved += block.lineOffsets.length;
+            sizeBytes -= block.uncompressedSize;
+            coldStoredSizeBytes -= block.getStoredSizeBytes();
+
+            if (block == cachedBlock) {
+                cachedBlock = null;
+                cachedBlockData = null;
+            }
+        }
+
+        return numLinesRemoved - oldNumLinesRemoved;
+    }
+
+    @Override
+    public void clear() {
+        coldBlocks.clear();
+        cachedBlock = null;
+        cachedBlockData = null;
+        hotFirstLineNum = 0;
+        numLinesRemoved = 0;
+        numHotLines = 0;
+        hotDataSize = 0;
+        sizeBytes = 0;
+        coldStoredSizeBytes = 0;
+    }
+
+    @Override
+    public void close() {
+        clear();
+        deflater.end();
+        inflater.end();
+    }
+
+    @Override
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    @Override
+    public long getStoredSizeBytes() {
+        return coldStoredSizeBytes + hotDataSize + numHotLines * 4L;
+    }
+
+    @Override
+    public long getHeapUsedBytes() {
+        long heapUsedBytes = coldStoredSizeBytes + hotData.length + hotLineOffsets.length * 4L + compressBuffer.length;
+        if (cachedBlockData != null)
+            heapUsedBytes += cachedBlockData.length;
+        return heapUsedBytes;
+    }
+
+    /**
+     * A compressed block of consecutive lines.
+     */
+    private static class Block {
+        final long firstLineNum;
+
+        /**
+         * The start offset of each line in the uncompressed data.
+         */
+        final int[] lineOffsets;
+
+        final int uncompressedSize;
+        final byte[] compressedData;
+
+        Block(long firstLineNum, int[] lineOffsets, int uncompressedSize, byte[] compressedData) {
+            this.firstLineNum = firstLineNum;
+            this.lineOffsets = lineOffsets;
+            this.uncompressedSize = uncompressedSize;
+            this.compressedData = compressedData;
+        }
+
+        long getStoredSizeBytes() {
+            return compressedData.length + lineOffsets.length * 4L + BLOCK_OVERHEAD_BYTES;
+        }
+    }
+
+}
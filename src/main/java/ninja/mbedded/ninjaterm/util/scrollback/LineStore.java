@@ -0,0 +1,51 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * An append-only store of lines of text, accessed by line number (starting from 0, the oldest line). The oldest
+ * lines can be removed with <code>trimToSize()</code>, after which the line numbers start from 0 again.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public interface LineStore extends Closeable {
+
+    void addLine(String line) throws IOException;
+
+    long getNumLines();
+
+    String getLine(long lineNum) throws IOException;
+
+    /**
+     * Removes all lines.
+     */
+    void clear() throws IOException;
+
+    /**
+     * Removes the oldest lines until <code>getStoredSizeBytes()</code> is no more than the given size. Lines are
+     * removed a whole block (or file segment) at a time, so the most recent lines may take up a little more
+     * than this.
+     *
+     * @return The number of lines removed.
+     */
+    long trimToSize(long maxStoredSizeBytes) throws IOException;
+
+    /**
+     * @return The total size of the lines, encoded as UTF-8.
+     */
+    long getSizeBytes();
+
+    /**
+     * @return The number of bytes used to hold the lines (e.g. after compression), including any index.
+     */
+    long getStoredSizeBytes();
+
+    /**
+     * @return An estimate of the heap used by this store.
+     */
+    long getHeapUsedBytes();
+
+}
@@ -0,0 +1,194 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A file which is only ever appended to, and which is read and written through memory-mapped segments of a
+ * fixed size (new segments are mapped as the file grows). The data is held by the OS's page cache, not on the heap.
+ * <p>
+ * Each segment is a separate temp. file, so that the oldest segments can be deleted with
+ * <code>removeBefore()</code> to free up disk space. Positions are not changed by this (the first position which
+ * can still be read just moves forwards).
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+class MappedAppendFile implements Closeable {
+
+    private final String fileSuffix;
+
+    private final int segmentSizeBytes;
+
+    /**
+     * The segments which have not been removed, oldest first.
+     */
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * Segments which have been emptied by <code>clear()</code>, and can be re-used.
+     */
+    private final List<Segment> spareSegments = new ArrayList<>();
+
+    /**
+     * The index (position / segment size) of <code>segments.get(0)</code>.
+     */
+    private long firstSegmentIndex = 0;
+
+    private long size = 0;
+
+    private final ByteBuffer longBuffer = ByteBuffer.allocate(8);
+
+    /**
+     * @param fileSuffix    The suffix of the segment files, which are created in the temp. directory
+     *                      and deleted by <code>close()</code>.
+     */
+    MappedAppendFile(String fileSuffix, int segmentSizeBytes) {
+        this.fileSuffix = fileSuffix;
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    /**
+     * @return The position after the last byte appended.
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * @return The number of bytes in the segments which have not been removed (i.e. the disk space used).
+     */
+    long getStoredSize() {
+        return size - firstSegmentIndex * segmentSizeBytes;
+    }
+
+    private MappedByteBuffer getSegment(long segmentIndex) throws IOException {
+
+        if (segmentIndex < firstSegmentIndex)
+            throw new IndexOutOfBoundsException("Position " + segmentIndex * segmentSizeBytes + " has been removed.");
+
+        while (firstSegmentIndex + segments.size() <= segmentIndex) {
+            segments.add(spareSegments.isEmpty() ? new Segment() : spareSegments.remove(spareSegments.size() - 1));
+        }
+        return segments.get((int) (segmentIndex - firstSegmentIndex)).buffer;
+    }
+
+    void append(byte[] data, int offset, int length) throws IOException {
+        while (length > 0) {
+            MappedByteBuffer segment = getSegment(size / segmentSizeBytes);
+            int segmentOffset = (int) (size % segmentSizeBytes);
+            int numBytes = Math.min(length, segmentSizeBytes - segmentOffset);
+
+            segment.position(segmentOffset);
+            segment.put(data, offset, numBytes);
+
+            offset += numBytes;
+            length -= numBytes;
+            size += numBytes;
+        }
+    }
+
+    void appendLong(long value) throws IOException {
+        longBuffer.putLong(0, value);
+        append(longBuffer.array(), 0, 8);
+    }
+
+    /**
+     * Reads bytes which have already been appended (and not removed).
+     */
+    void get(long position, byte[] dest, int offset, int length) throws IOException {
+        while (length > 0) {
+            MappedByteBuffer segment = getSegment(position / segmentSizeBytes);
+            int segmentOffset = (int) (position % segmentSizeBytes);
+            int numBytes = Math.min(length, segmentSizeBytes - segmentOffset);
+
+            segment.position(segmentOffset);
+            segment.get(dest, offset, numBytes);
+
+            offset += numBytes;
+            length -= numBytes;
+            position += numBytes;
+        }
+    }
+
+    long getLong(long position) throws IOException {
+        // Longs are always 8-byte aligned (and the segment size is a multiple of 8), so never split across segments
+        if (position % 8 == 0 && segmentSizeBytes % 8 == 0)
+            return getSegment(position / segmentSizeBytes).getLong((int) (position % segmentSizeBytes));
+
+        get(position, longBuffer.array(), 0, 8);
+        return longBuffer.getLong(0);
+    }
+
+    /**
+     * Deletes the segments which only hold data before the given position. The segment holding the position
+     * is kept (so some data before it may still be readable).
+     */
+    void removeBefore(long position) throws IOException {
+        long segmentIndex = Math.min(position, size) / segmentSizeBytes;
+        while (firstSegmentIndex < segmentIndex) {
+            segments.remove(0).close();
+            firstSegmentIndex++;
+        }
+    }
+
+    /**
+     * Empties the file. The mapped segments are kept, and re-used as the file is appended to again.
+     */
+    void clear() {
+        spareSegments.addAll(segments);
+        segments.clear();
+        firstSegmentIndex = 0;
+        size = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        for (Segment segment : spareSegments) {
+            segment.close();
+        }
+        segments.clear();
+        spareSegments.clear();
+    }
+
+    /**
+     * A segment file, mapped in its entirety.
+     */
+    private class Segment implements Closeable {
+
+        final File file;
+        final RandomAccessFile randomAccessFile;
+        final MappedByteBuffer buffer;
+
+        Segment() throws IOException {
+            file = File.createTempFile("NinjaTerm-scrollback-", fileSuffix);
+            randomAccessFile = new RandomAccessFile(file, "rw");
+            // Mapping past the end of the file grows it
+            buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSizeBytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            randomAccessFile.close();
+
+            // Some OSes don't allow a file to be deleted while it is still mapped (mappings are only released when
+            // garbage collected)
+            if (!file.delete())
+                file.deleteOnExit();
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A <code>{@link LineStore}</code> which keeps the lines on disk, in two memory-mapped append-only files:
+ * the UTF-8 text of all the lines one after another, and an index holding the offset of the start of every line.
+ * <p>
+ * The files are created in the temp. directory the first time a line is added, and deleted on <code>close()</code>.
+ * Heap usage does not grow with the number of lines. <code>trimToSize()</code> deletes the oldest segments of
+ * the files, see <code>{@link MappedAppendFile}</code>.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class MemoryMappedLineStore implements LineStore {
+
+    public static final int DEFAULT_SEGMENT_SIZE_BYTES = 16 * 1024 * 1024;
+
+    private final int segmentSizeBytes;
+
+    /**
+     * Null until the first line is added.
+     */
+    private MappedAppendFile dataFile;
+    private MappedAppendFile indexFile;
+
+    /**
+     * The number of lines added since the store was last cleared (including those which have been removed).
+     */
+    private long numLines = 0;
+
+    /**
+     * The number of the oldest line which has not been removed, counting from the last clear.
+     */
+    private long firstLineNum = 0;
+
+    /**
+     * The position of the oldest line in <code>dataFile</code>.
+     */
+    private long firstLineStart = 0;
+
+    public MemoryMappedLineStore() {
+        this(DEFAULT_SEGMENT_SIZE_BYTES);
+    }
+
+    /**
+     * @param segmentSizeBytes  The size of each memory-mapped region of the files. Must be a multiple of 8.
+     */
+    public MemoryMappedLineStore(int segmentSizeBytes) {
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    @Override
+    public void addLine(String line) throws IOException {
+
+        if (dataFile == null) {
+            dataFile = new MappedAppendFile(".dat", segmentSizeBytes);
+            indexFile = new MappedAppendFile(".idx", segmentSizeBytes);
+        }
+
+        byte[] data = line.getBytes(StandardCharsets.UTF_8);
+        indexFile.appendLong(dataFile.getSize());
+        dataFile.append(data, 0, data.length);
+        numLines++;
+    }
+
+    @Override
+    public long getNumLines() {
+        return numLines - firstLineNum;
+    }
+
+    @Override
+    public String getLine(long lineNum) throws IOException {
+
+        if (lineNum < 0 || lineNum >= getNumLines())
+            throw new IndexOutOfBoundsException("Line " + lineNum + " does not exist (num. lines = " + getNumLines() + ").");
+
+        lineNum += firstLineNum;
+        long start = indexFile.getLong(lineNum * 8);
+        long end = lineNum + 1 < numLines ? indexFile.getLong((lineNum + 1) * 8) : dataFile.getSize();
+
+        byte[] data = new byte[(int) (end - start)];
+        dataFile.get(start, data, 0, data.length);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public long trimToSize(long maxStoredSizeBytes) throws IOException {
+
+        long oldFirstLineNum = firstLineNum;
+
+        while (getNumLines() > 0 && getStoredSizeBytes() > maxStoredSizeBytes) {
+            // Remove all lines which start before the next data segment, so that the oldest one can be deleted
+            long nextSegmentStart = (firstLineStart / segmentSizeBytes + 1) * segmentSizeBytes;
+            firstLineNum = findFirstLineStartingFrom(nextSegmentStart);
+            firstLineStart = firstLineNum < numLines ? indexFile.getLong(firstLineNum * 8) : dataFile.getSize();
+
+            dataFile.removeBefore(firstLineStart);
+            indexFile.removeBefore(firstLineNum * 8);
+        }
+
+        return firstLineNum - oldFirstLineNum;
+    }
+
+    /**
+     * @return The number of the first line which starts at or after the given position in the data file, or
+     * <code>numLines</code> if there is none.
+     */
+    private long findFirstLineStartingFrom(long position) throws IOException {
+        long low = firstLineNum;
+        long high = numLines;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (indexFile.getLong(mid * 8) < position)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    @Override
+    public long getSizeBytes() {
+        return dataFile == null ? 0 : dataFile.getSize() - firstLineStart;
+    }
+
+    @Override
+    public long getStoredSizeBytes() {
+        return dataFile == null ? 0 : dataFile.getStoredSize() + indexFile.getStoredSize();
+    }
+
+    /**
+     * @return 0, as the files are mapped outside of the heap.
+     */
+    @Override
+    public long getHeapUsedBytes() {
+        return 0;
+    }
+
+    @Override
+    public void clear() {
+        if (dataFile != null) {
+            dataFile.clear();
+            indexFile.clear();
+        }
+        numLines = 0;
+        firstLineNum = 0;
+        firstLineStart = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (dataFile != null) {
+            dataFile.close();
+            indexFile.close();
+            dataFile = null;
+            indexFile = null;
+        }
+        numLines = 0;
+        firstLineNum = 0;
+        firstLineStart = 0;
+    }
+
+}
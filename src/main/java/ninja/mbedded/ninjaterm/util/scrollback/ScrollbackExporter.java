@@ -0,0 +1,181 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import javafx.scene.paint.Color;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.AnsiECParser;
+import ninja.mbedded.ninjaterm.util.stringUtils.StringUtils;
+import org.apache.commons.lang3.StringEscapeUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.regex.Matcher;
+
+/**
+ * Writes lines of RX history (which can contain ANSI colour escape codes) to a <code>Writer</code>, one line at a
+ * time, as plain text, ANSI-coloured text or HTML. Nothing is buffered here apart from the current line, so
+ * histories of any size can be exported (wrap the writer in a <code>BufferedWriter</code>).
+ * <p>
+ * Colours carry on from one line to the next, as they do in the RX pane, so lines must be written in order.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ScrollbackExporter {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final String ANSI_RESET_ESCAPE_CODE = "\u001B[0m";
+
+    /**
+     * The same colours as the RX pane.
+     */
+    private static final String HTML_HEADER =
+            "<!DOCTYPE html>\n" +
+            "<html>\n" +
+            "<head>\n" +
+            "<meta charset=\"UTF-8\">\n" +
+            "<title>NinjaTerm RX Export</title>\n" +
+            "<style>body { background-color: black; color: #00FF00; font-family: monospace; white-space: pre-wrap; word-wrap: break-word; }</style>\n" +
+            "</head>\n" +
+            "<body>";
+
+    private static final String HTML_FOOTER = "</body>\n</html>\n";
+
+    //================================================================================================//
+    //============================================= ENUMS ============================================//
+    //================================================================================================//
+
+    public enum Format {
+        PLAIN_TEXT("Plain text", "*.txt"),
+        ANSI("ANSI-coloured text", "*.log"),
+        HTML("HTML", "*.html");
+
+        public final String label;
+
+        /**
+         * The file name pattern, for use in file choosers.
+         */
+        public final String extensionPattern;
+
+        Format(String label, String extensionPattern) {
+            this.label = label;
+            this.extensionPattern = extensionPattern;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final Writer writer;
+    private final Format format;
+    private final String lineSeparator;
+
+    /**
+     * True while an ANSI colour (or HTML span) is in effect.
+     */
+    private boolean isColoured = false;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public ScrollbackExporter(Writer writer, Format format, String lineSeparator) {
+        this.writer = writer;
+        this.format = format;
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Must be called before the first line is written.
+     */
+    public void writeHeader() throws IOException {
+        if (format == Format.HTML)
+            writer.write(HTML_HEADER);
+    }
+
+    public void writeLine(String line) throws IOException {
+        switch (format) {
+            case PLAIN_TEXT:
+                writer.write(AnsiECParser.stripEscapeCodes(line));
+                writer.write(lineSeparator);
+                break;
+            case ANSI:
+                writer.write(line);
+                writer.write(lineSeparator);
+                if (line.indexOf('\u001B') != -1)
+                    isColoured = AnsiECParser.getColour(lastEscapeCode(line)) != null;
+                break;
+            case HTML:
+                writeHtmlLine(line);
+                break;
+            default:
+                throw new RuntimeException("Format enum unsupported.");
+        }
+    }
+
+    private String lastEscapeCode(String line) {
+        Matcher matcher = AnsiECParser.matchEscapeCodes(line);
+        String lastEscapeCode = "";
+        while (matcher.find()) {
+            lastEscapeCode = matcher.group();
+        }
+        return lastEscapeCode;
+    }
+
+    private void writeHtmlLine(String line) throws IOException {
+
+        Matcher matcher = AnsiECParser.matchEscapeCodes(line);
+        int currPos = 0;
+
+        while (matcher.find()) {
+            writer.write(StringEscapeUtils.escapeHtml4(line.substring(currPos, matcher.start())));
+            currPos = matcher.end();
+
+            if (isColoured) {
+                writer.write("</span>");
+                isColoured = false;
+            }
+
+            Color color = AnsiECParser.getColour(matcher.group());
+            if (color != null) {
+                writer.write("<span style=\"color: " + StringUtils.toWebColor(color) + "\">");
+                isColoured = true;
+            }
+        }
+
+        writer.write(StringEscapeUtils.escapeHtml4(line.substring(currPos)));
+        writer.write("\n");
+    }
+
+    /**
+     * Must be called after the last line is written. Does not close the writer.
+     */
+    public void writeFooter() throws IOException {
+        switch (format) {
+            case PLAIN_TEXT:
+                break;
+            case ANSI:
+                // Don't leave the user's terminal coloured when the file is printed
+                if (isColoured)
+                    writer.write(ANSI_RESET_ESCAPE_CODE);
+                break;
+            case HTML:
+                if (isColoured)
+                    writer.write("</span>");
+                writer.write(HTML_FOOTER);
+                break;
+            default:
+                throw new RuntimeException("Format enum unsupported.");
+        }
+        isColoured = false;
+    }
+
+}
@@ -0,0 +1,228 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.AnsiECParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A tiered store of lines of terminal history.
+ * <p>
+ * The newest <code>maxNumLinesInMemory</code> lines are kept on the heap (in a circular buffer). When this fills up,
+ * the oldest line is spilled to a second <code>{@link LineStore}</code>, which holds the rest of the history more
+ * compactly (on disk with <code>{@link MemoryMappedLineStore}</code>, or compressed on the heap with
+ * <code>{@link CompressedLineStore}</code>). Lines are numbered from 0 (the oldest line) no matter which tier
+ * they are in.
+ * <p>
+ * The size of the spilled history can be limited with <code>setMaxSpilledSizeBytes()</code>, in which case the
+ * oldest lines are removed once it is reached (and the remaining lines are numbered from 0 again).
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ScrollbackStore implements Closeable {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final int DEFAULT_MAX_NUM_LINES_IN_MEMORY = 10000;
+
+    /**
+     * Rough heap overhead of each String object (object header, fields and char array header).
+     */
+    private static final int STRING_OVERHEAD_BYTES = 56;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final LineStore spillStore;
+
+    /**
+     * Circular buffer of the newest lines.
+     */
+    private final String[] memoryLines;
+
+    /**
+     * The index in <code>memoryLines</code> of the oldest line in memory.
+     */
+    private int memoryStart = 0;
+
+    private int numLinesInMemory = 0;
+
+    private long numCharsInMemory = 0;
+
+    /**
+     * 0 means no limit.
+     */
+    private long maxSpilledSizeBytes = 0;
+
+    private long numLinesRemoved = 0;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public ScrollbackStore() {
+        this(DEFAULT_MAX_NUM_LINES_IN_MEMORY, new MemoryMappedLineStore());
+    }
+
+    /**
+     * @param spillStore The store lines are spilled to. This is closed when this store is closed.
+     */
+    public ScrollbackStore(int maxNumLinesInMemory, LineStore spillStore) {
+        if (maxNumLinesInMemory < 1)
+            throw new IllegalArgumentException("maxNumLinesInMemory must be at least 1.");
+
+        this.memoryLines = new String[maxNumLinesInMemory];
+        this.spillStore = spillStore;
+    }
+
+    public void addLine(String line) throws IOException {
+
+        if (numLinesInMemory == memoryLines.length) {
+            // Full, spill the oldest line to disk and re-use its slot
+            spillStore.addLine(memoryLines[memoryStart]);
+            trimSpillStore();
+            numCharsInMemory += line.length() - memoryLines[memoryStart].length();
+            memoryLines[memoryStart] = line;
+            memoryStart = (memoryStart + 1) % memoryLines.length;
+            return;
+        }
+
+        memoryLines[(memoryStart + numLinesInMemory) % memoryLines.length] = line;
+        numLinesInMemory++;
+        numCharsInMemory += line.length();
+    }
+
+    /**
+     * Limits the size of the spilled lines (as stored, e.g. after compression). The oldest lines are removed
+     * once this is reached.
+     *
+     * @param maxSpilledSizeBytes   0 means no limit.
+     */
+    public void setMaxSpilledSizeBytes(long maxSpilledSizeBytes) throws IOException {
+        this.maxSpilledSizeBytes = maxSpilledSizeBytes;
+        trimSpillStore();
+    }
+
+    public long getMaxSpilledSizeBytes() {
+        return maxSpilledSizeBytes;
+    }
+
+    private void trimSpillStore() throws IOException {
+        if (maxSpilledSizeBytes > 0)
+            numLinesRemoved += spillStore.trimToSize(maxSpilledSizeBytes);
+    }
+
+    /**
+     * @return The number of the oldest lines which have been removed because of the size limit, since the store
+     * was last cleared. Line 0 is the oldest line which has not been removed.
+     */
+    public long getNumLinesRemoved() {
+        return numLinesRemoved;
+    }
+
+    public long getNumLines() {
+        return spillStore.getNumLines() + numLinesInMemory;
+    }
+
+    public int getNumLinesInMemory() {
+        return numLinesInMemory;
+    }
+
+    public long getNumLinesSpilled() {
+        return spillStore.getNumLines();
+    }
+
+    /**
+     * @return The store lines are spilled to, e.g. for its metrics.
+     */
+    public LineStore getSpillStore() {
+        return spillStore;
+    }
+
+    /**
+     * @return An estimate of the heap used by the lines in memory and the spill store.
+     */
+    public long getHeapUsedBytes() {
+        return numCharsInMemory * 2 + (long) numLinesInMemory * STRING_OVERHEAD_BYTES
+                + memoryLines.length * 8L + spillStore.getHeapUsedBytes();
+    }
+
+    /**
+     * @param lineNum   0 is the oldest line.
+     */
+    public String getLine(long lineNum) throws IOException {
+
+        long numLinesSpilled = spillStore.getNumLines();
+        if (lineNum < numLinesSpilled)
+            return spillStore.getLine(lineNum);
+
+        long memoryIndex = lineNum - numLinesSpilled;
+        if (memoryIndex >= numLinesInMemory)
+            throw new IndexOutOfBoundsException("Line " + lineNum + " does not exist (num. lines = " + getNumLines() + ").");
+
+        return memoryLines[(int) ((memoryStart + memoryIndex) % memoryLines.length)];
+    }
+
+    /**
+     * Finds the next line containing the given text. ANSI escape codes in the lines are ignored.
+     *
+     * @param fromLineNum   The line to start searching from (inclusive).
+     * @param isForwards    If true, searches towards newer lines, otherwise towards older lines.
+     * @return The number of the first matching line, or -1 if there is no match.
+     */
+    public long search(String text, long fromLineNum, boolean isForwards, boolean isCaseSensitive) throws IOException {
+        return search(text, fromLineNum, isForwards, isCaseSensitive, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as <code>search(String, long, boolean, boolean)</code>, but only searches up to <code>maxNumLines</code>
+     * lines, so that a long search can be split into chunks (e.g. to not hold a lock for the entire search).
+     *
+     * @param maxNumLines   The max. number of lines to search, starting at (and including) <code>fromLineNum</code>.
+     * @return The number of the first matching line, or -1 if there is no match in the searched lines.
+     */
+    public long search(String text, long fromLineNum, boolean isForwards, boolean isCaseSensitive, long maxNumLines) throws IOException {
+
+        String searchText = isCaseSensitive ? text : text.toLowerCase();
+        long numLines = getNumLines();
+        long endLineNum = isForwards ?
+                fromLineNum + Math.min(maxNumLines, numLines - fromLineNum) :
+                fromLineNum - Math.min(maxNumLines, fromLineNum + 1);
+
+        for (long lineNum = fromLineNum; lineNum != endLineNum && lineNum >= 0 && lineNum < numLines; lineNum += isForwards ? 1 : -1) {
+            String line = AnsiECParser.stripEscapeCodes(getLine(lineNum));
+            if ((isCaseSensitive ? line : line.toLowerCase()).contains(searchText))
+                return lineNum;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Removes all lines, from both memory and disk.
+     */
+    public void clear() throws IOException {
+        spillStore.clear();
+        for (int i = 0; i < memoryLines.length; i++) {
+            memoryLines[i] = null;
+        }
+        memoryStart = 0;
+        numLinesInMemory = 0;
+        numCharsInMemory = 0;
+        numLinesRemoved = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        clear();
+        spillStore.close();
+    }
+
+}
@@ -36,7 +36,7 @@ import java.util.List;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-07-08
- * @last-modified 2016-11-08
+ * @last-modified 2026-10-19
  */
 public class MainWindowViewController {
 
@@ -286,7 +286,10 @@ public class MainWindowViewController {
         // Find the terminal controller associated with this terminal
         for (TerminalViewController terminalViewController : terminalViewControllers) {
             if (terminalViewController.getTerminal() == terminal) {
-                // We have found the correct terminal to close
+                // We have found the correct terminal to close. Detach the controller
+                // from the model first, as removing the Tab changes the selected terminal
+                terminalViewController.close();
+
                 // Remove both the Tab from the TabPane and the TerminalController
                 // from the list
                 terminalTabPane.getTabs().remove(terminalViewController.getTerminalTab());
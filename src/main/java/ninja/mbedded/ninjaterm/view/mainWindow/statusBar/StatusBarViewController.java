@@ -1,7 +1,7 @@
 package ninja.mbedded.ninjaterm.view.mainWindow.statusBar;
 
 import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
 import javafx.fxml.FXML;
@@ -9,6 +9,7 @@ import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.text.TextFlow;
 import ninja.mbedded.ninjaterm.model.Model;
 import ninja.mbedded.ninjaterm.util.javafx.led.Led;
@@ -20,7 +21,7 @@ import org.controlsfx.glyphfont.GlyphFont;
  *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-07-10
- * @last-modified   2016-11-05
+ * @last-modified   2026-10-19
  */
 public class StatusBarViewController {
 
@@ -56,6 +57,12 @@ public class StatusBarViewController {
     @FXML
     private Label totalBytesPerSecRx;
 
+    @FXML
+    private HBox rxLagWarningHBox;
+
+    @FXML
+    private Label rxLagWarningLabel;
+
 
     private Model model;
     private GlyphFont glyphFont;
@@ -80,6 +87,7 @@ public class StatusBarViewController {
         //================= LED SETUP ==================//
         //==============================================//
 
+        // The global counts change at most once per sample tick, so the LEDs flash at most once per tick
         model.globalStats.numCharactersTx.addListener((observable, oldValue, newValue) -> {
             activityTxLed.flash();
         });
@@ -94,21 +102,21 @@ public class StatusBarViewController {
 
         //======================= TX ===================//
         ChangeListener<Number> totalByteCountTxChangeListener = (observable, oldValue, newValue) -> {
-            totalByteCountTx.setText(Integer.toString(newValue.intValue()));
+            totalByteCountTx.setText(Long.toString(newValue.longValue()));
         };
         model.status.totalByteCountTx.addListener(totalByteCountTxChangeListener);
 
         // Set default (giving bogus data as it is not used)
-        totalByteCountTxChangeListener.changed(new SimpleIntegerProperty(), 0.0, 0.0);
+        totalByteCountTxChangeListener.changed(new SimpleLongProperty(), 0, 0);
 
         //======================= RX ===================//
         ChangeListener<Number> totalByteCountRxChangeListener = (observable, oldValue, newValue) -> {
-            totalByteCountRx.setText(Integer.toString(newValue.intValue()));
+            totalByteCountRx.setText(Long.toString(newValue.longValue()));
         };
         model.status.totalByteCountRx.addListener(totalByteCountRxChangeListener);
 
         // Set default (giving bogus data as it is not used)
-        totalByteCountRxChangeListener.changed(new SimpleIntegerProperty(), 0.0, 0.0);
+        totalByteCountRxChangeListener.changed(new SimpleLongProperty(), 0, 0);
 
 
         //==============================================//
@@ -132,6 +140,20 @@ public class StatusBarViewController {
 
         // Set default (giving bogus data as it is not used)
         totalBytesPerSecRxChangeListener.changed(new SimpleDoubleProperty(), 0.0, 0.0);
+
+        //==============================================//
+        //============= RX LAG WARNING SETUP ===========//
+        //==============================================//
+
+        rxLagWarningHBox.visibleProperty().bind(model.status.isRxLagging);
+        rxLagWarningHBox.managedProperty().bind(model.status.isRxLagging);
+
+        model.status.maxRxDisplayLagMs.addListener((observable, oldValue, newValue) -> {
+            // Left showing the last lag measured if the RX data stops while the warning is held
+            if (model.status.isRxLagging.get() && newValue.doubleValue() > 0.0) {
+                rxLagWarningLabel.setText("RX display lag: " + Math.round(newValue.doubleValue()) + "ms");
+            }
+        });
     }
 
 }
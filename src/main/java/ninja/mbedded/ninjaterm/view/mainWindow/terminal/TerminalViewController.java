@@ -13,6 +13,7 @@ import ninja.mbedded.ninjaterm.model.terminal.Terminal;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.view.mainWindow.terminal.comSettings.ComSettingsViewController;
 import ninja.mbedded.ninjaterm.view.mainWindow.terminal.logging.LoggingViewController;
+import ninja.mbedded.ninjaterm.view.mainWindow.terminal.scrollback.ScrollbackViewController;
 import ninja.mbedded.ninjaterm.view.mainWindow.terminal.stats.StatsViewController;
 import ninja.mbedded.ninjaterm.view.mainWindow.terminal.txRx.TxRxViewController;
 import org.controlsfx.glyphfont.FontAwesome;
@@ -26,7 +27,7 @@ import java.util.Optional;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-08-23
- * @last-modified 2016-11-05
+ * @last-modified 2026-10-19
  */
 public class TerminalViewController {
 
@@ -55,6 +56,9 @@ public class TerminalViewController {
     @FXML
     private StatsViewController statsViewController;
 
+    @FXML
+    private ScrollbackViewController scrollbackViewController;
+
     //================================================================================================//
     //=========================================== CLASS FIELDS =======================================//
     //================================================================================================//
@@ -119,6 +123,12 @@ public class TerminalViewController {
 
         statsViewController.init(terminal);
 
+        //==============================================//
+        //=========== INIT SCROLLBACK SUB-TAB ==========//
+        //==============================================//
+
+        scrollbackViewController.init(model, terminal, glyphFont);
+
         //==============================================//
         //============= SETUP CONTEXT MENU =============//
         //==============================================//
@@ -189,6 +199,14 @@ public class TerminalViewController {
         return terminal;
     }
 
+    /**
+     * Removes the listeners this controller added to the model, so that it can be garbage collected.
+     * Called when the terminal is closed.
+     */
+    public void close() {
+        txRxViewController.close();
+    }
+
     public Tab getTerminalTab() {
         return terminalTab;
     }
@@ -2,14 +2,22 @@ package ninja.mbedded.ninjaterm.view.mainWindow.terminal.logging;
 
 import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.TextField;
 import javafx.stage.FileChooser;
 import jfxtras.scene.control.ToggleGroupValue;
 import ninja.mbedded.ninjaterm.model.Model;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.model.terminal.logging.LogWriter;
 import ninja.mbedded.ninjaterm.model.terminal.logging.Logging;
+import ninja.mbedded.ninjaterm.util.javafx.applyTextField.ApplyTextField;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedDataFormatter.StreamedDataFormatter;
+import ninja.mbedded.ninjaterm.util.tooltip.TooltipUtil;
 import org.controlsfx.glyphfont.FontAwesome;
 import org.controlsfx.glyphfont.GlyphFont;
 
@@ -20,7 +28,7 @@ import java.io.File;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-09-16
- * @last-modified 2016-10-17
+ * @last-modified 2026-10-19
  */
 public class LoggingViewController {
 
@@ -46,12 +54,57 @@ public class LoggingViewController {
     @FXML
     private RadioButton overwriteFileBehaviourRadioButton;
 
+    @FXML
+    private RadioButton rawRxDataRadioButton;
+
     @FXML
     private RadioButton rawRxDataAsAsciiRadioButton;
 
     @FXML
     private RadioButton rxPaneOutputRadioButton;
 
+    @FXML
+    private CheckBox keepColoursCheckBox;
+
+    @FXML
+    private CheckBox captureCheckBox;
+
+    @FXML
+    private ApplyTextField flushIntervalTextField;
+
+    @FXML
+    private ApplyTextField flushThresholdTextField;
+
+    @FXML
+    private CheckBox fsyncCheckBox;
+
+    @FXML
+    private RadioButton blockOverflowRadioButton;
+
+    @FXML
+    private RadioButton dropOverflowRadioButton;
+
+    @FXML
+    private RadioButton spillOverflowRadioButton;
+
+    @FXML
+    private Label logWriterStatsLabel;
+
+    @FXML
+    private CheckBox rotationCheckBox;
+
+    @FXML
+    private ApplyTextField maxSegmentSizeTextField;
+
+    @FXML
+    private ApplyTextField rotationPeriodTextField;
+
+    @FXML
+    private ApplyTextField maxNumRotatedSegmentsTextField;
+
+    @FXML
+    private Label rotationStatsLabel;
+
     @FXML
     private Button startStopLoggingButton;
 
@@ -68,6 +121,8 @@ public class LoggingViewController {
 
     private ToggleGroupValue<Logging.WhatAreWeLogging> whatAreWeLoggingTGV = new ToggleGroupValue<>();
 
+    private ToggleGroupValue<LogWriter.OverflowPolicy> overflowPolicyTGV = new ToggleGroupValue<>();
+
     //================================================================================================//
     //========================================== CLASS METHODS =======================================//
     //================================================================================================//
@@ -120,11 +175,127 @@ public class LoggingViewController {
         //========== WHAT ARE WE LOGGING SETUP =========//
         //==============================================//
 
+        whatAreWeLoggingTGV.add(rawRxDataRadioButton, Logging.WhatAreWeLogging.RAW_RX_DATA);
         whatAreWeLoggingTGV.add(rawRxDataAsAsciiRadioButton, Logging.WhatAreWeLogging.RAW_RX_DATA_AS_ASCII);
         whatAreWeLoggingTGV.add(rxPaneOutputRadioButton, Logging.WhatAreWeLogging.RX_PANE_OUTPUT);
 
         Bindings.bindBidirectional(whatAreWeLoggingTGV.valueProperty(), terminal.logging.selWhatAreWeLogging);
 
+        // Colours only apply to the RX pane output
+        keepColoursCheckBox.selectedProperty().set(
+                terminal.logging.selRxPaneOutputColourMode.get() == StreamedDataFormatter.ColourMode.ANSI);
+        keepColoursCheckBox.selectedProperty().addListener((observable, oldValue, newValue) -> {
+            terminal.logging.selRxPaneOutputColourMode.set(
+                    newValue ? StreamedDataFormatter.ColourMode.ANSI : StreamedDataFormatter.ColourMode.STRIP);
+        });
+        keepColoursCheckBox.visibleProperty().bind(rxPaneOutputRadioButton.selectedProperty());
+        keepColoursCheckBox.managedProperty().bind(keepColoursCheckBox.visibleProperty());
+
+        TooltipUtil.addDefaultTooltip(rawRxDataRadioButton, "Logs the exact bytes received from the COM port, with no decoding. Use this for binary data.");
+
+        captureCheckBox.selectedProperty().bindBidirectional(terminal.logging.isCaptureEnabled);
+        TooltipUtil.addDefaultTooltip(captureCheckBox, "Also writes all RX and TX data, with a time stamp for every chunk, to a binary capture file next to the log file (same name, .ntcap extension). An existing capture file is overwritten.");
+
+        //==============================================//
+        //============== LOG WRITER SETUP ==============//
+        //==============================================//
+
+        setupPositiveIntegerTextField(flushIntervalTextField, terminal.logging.flushIntervalMs, "Flush interval");
+        TooltipUtil.addDefaultTooltip(flushIntervalTextField, "The max. time (in milliseconds) logged data is held in memory before it is written to the log file.");
+
+        setupPositiveIntegerTextField(flushThresholdTextField, terminal.logging.flushThresholdBytes, "Flush threshold");
+        TooltipUtil.addDefaultTooltip(flushThresholdTextField, "Logged data is written to the log file early if this many bytes are waiting to be written.");
+
+        fsyncCheckBox.selectedProperty().bindBidirectional(terminal.logging.isFsyncEnabled);
+        TooltipUtil.addDefaultTooltip(fsyncCheckBox, "Makes sure the logged data is on the disk (and not just in the operating system's cache) after every flush. Safer if the computer crashes, but slower.");
+
+        overflowPolicyTGV.add(blockOverflowRadioButton, LogWriter.OverflowPolicy.BLOCK);
+        overflowPolicyTGV.add(dropOverflowRadioButton, LogWriter.OverflowPolicy.DROP);
+        overflowPolicyTGV.add(spillOverflowRadioButton, LogWriter.OverflowPolicy.SPILL);
+
+        Bindings.bindBidirectional(overflowPolicyTGV.valueProperty(), terminal.logging.selOverflowPolicy);
+
+        ChangeListener<Number> logWriterStatsChangeListener = (observable, oldValue, newValue) -> {
+            logWriterStatsLabel.setText(
+                    "Queued: " + terminal.logging.queueSizeBytes.get() + " B" +
+                    ", writing: " + String.format("%.0f", terminal.logging.writeBytesPerSecond.get()) + " B/s" +
+                    ", dropped: " + terminal.logging.numBytesDropped.get() + " B" +
+                    ", spilled: " + terminal.logging.numBytesSpilled.get() + " B");
+        };
+        terminal.logging.queueSizeBytes.addListener(logWriterStatsChangeListener);
+        terminal.logging.writeBytesPerSecond.addListener(logWriterStatsChangeListener);
+        terminal.logging.numBytesDropped.addListener(logWriterStatsChangeListener);
+        terminal.logging.numBytesSpilled.addListener(logWriterStatsChangeListener);
+
+        // Set default
+        logWriterStatsChangeListener.changed(null, 0, 0);
+
+        //==============================================//
+        //=============== ROTATION SETUP ===============//
+        //==============================================//
+
+        rotationCheckBox.selectedProperty().bindBidirectional(terminal.logging.isRotationEnabled);
+        TooltipUtil.addDefaultTooltip(rotationCheckBox, "Splits the log into multiple files. The log file path is always the newest file, older files are numbered and compressed (gzip) in the background.");
+
+        setupIntegerTextField(maxSegmentSizeTextField, terminal.logging.maxSegmentSizeMB, "Max. file size", 0);
+        setupIntegerTextField(rotationPeriodTextField, terminal.logging.rotationPeriodMins, "Rotation period", 0);
+        TooltipUtil.addDefaultTooltip(rotationPeriodTextField, "Files are rotated at multiples of this period since midnight, e.g. 60 rotates on the hour.");
+        setupPositiveIntegerTextField(maxNumRotatedSegmentsTextField, terminal.logging.maxNumRotatedSegments, "Num. of old files to keep");
+
+        ChangeListener<Object> rotationStatsChangeListener = (observable, oldValue, newValue) -> {
+            if(terminal.logging.activeSegmentName.get().isEmpty()) {
+                rotationStatsLabel.setText("");
+                return;
+            }
+            rotationStatsLabel.setText(
+                    "Active file: " + terminal.logging.activeSegmentName.get() +
+                    " (" + terminal.logging.activeSegmentSizeBytes.get() + " B)" +
+                    ", rotated: " + terminal.logging.numSegmentsRotated.get());
+        };
+        terminal.logging.activeSegmentName.addListener(rotationStatsChangeListener);
+        terminal.logging.activeSegmentSizeBytes.addListener(rotationStatsChangeListener);
+        terminal.logging.numSegmentsRotated.addListener(rotationStatsChangeListener);
+
+        // Set default
+        rotationStatsChangeListener.changed(null, null, null);
+
+    }
+
+    /**
+     * Binds a text field to an integer property in the model, reporting an error and keeping the
+     * old value if the entered value is not a positive integer.
+     */
+    private void setupPositiveIntegerTextField(ApplyTextField textField, SimpleIntegerProperty property, String name) {
+        setupIntegerTextField(textField, property, name, 1);
+    }
+
+    /**
+     * Binds a text field to an integer property in the model, reporting an error and keeping the
+     * old value if the entered value is not an integer, or is less than <code>minValue</code>.
+     */
+    private void setupIntegerTextField(ApplyTextField textField, SimpleIntegerProperty property, String name, int minValue) {
+
+        textField.onApply.addListener((observable, oldValue, newValue) -> {
+            int intValue;
+            try {
+                intValue = Integer.parseInt(newValue);
+            } catch (NumberFormatException e) {
+                model.status.addErr(name + " is not a valid integer.");
+                textField.textProperty().set(Integer.toString(property.get()));
+                return;
+            }
+
+            if (intValue < minValue) {
+                model.status.addErr(name + " must be at least " + minValue + ".");
+                textField.textProperty().set(Integer.toString(property.get()));
+                return;
+            }
+
+            property.set(intValue);
+        });
+
+        // Set default value from model
+        textField.textProperty().set(Integer.toString(property.get()));
     }
 
     private void openFileChooser() {
@@ -157,8 +328,21 @@ public class LoggingViewController {
             browseButton.setDisable(false);
             appendFileBehaviourRadioButton.setDisable(false);
             overwriteFileBehaviourRadioButton.setDisable(false);
+            rawRxDataRadioButton.setDisable(false);
             rawRxDataAsAsciiRadioButton.setDisable(false);
             rxPaneOutputRadioButton.setDisable(false);
+            keepColoursCheckBox.setDisable(false);
+            captureCheckBox.setDisable(false);
+            flushIntervalTextField.setDisable(false);
+            flushThresholdTextField.setDisable(false);
+            fsyncCheckBox.setDisable(false);
+            blockOverflowRadioButton.setDisable(false);
+            dropOverflowRadioButton.setDisable(false);
+            spillOverflowRadioButton.setDisable(false);
+            rotationCheckBox.setDisable(false);
+            maxSegmentSizeTextField.setDisable(false);
+            rotationPeriodTextField.setDisable(false);
+            maxNumRotatedSegmentsTextField.setDisable(false);
 
         } else {
             startStopLoggingButton.setGraphic(glyphFont.create(FontAwesome.Glyph.STOP));
@@ -171,8 +355,21 @@ public class LoggingViewController {
             browseButton.setDisable(true);
             appendFileBehaviourRadioButton.setDisable(true);
             overwriteFileBehaviourRadioButton.setDisable(true);
+            rawRxDataRadioButton.setDisable(true);
             rawRxDataAsAsciiRadioButton.setDisable(true);
             rxPaneOutputRadioButton.setDisable(true);
+            keepColoursCheckBox.setDisable(true);
+            captureCheckBox.setDisable(true);
+            flushIntervalTextField.setDisable(true);
+            flushThresholdTextField.setDisable(true);
+            fsyncCheckBox.setDisable(true);
+            blockOverflowRadioButton.setDisable(true);
+            dropOverflowRadioButton.setDisable(true);
+            spillOverflowRadioButton.setDisable(true);
+            rotationCheckBox.setDisable(true);
+            maxSegmentSizeTextField.setDisable(true);
+            rotationPeriodTextField.setDisable(true);
+            maxNumRotatedSegmentsTextField.setDisable(true);
         }
     }
 
@@ -0,0 +1,319 @@
+package ninja.mbedded.ninjaterm.view.mainWindow.terminal.scrollback;
+
+import javafx.collections.ObservableListBase;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TextField;
+import javafx.stage.FileChooser;
+import ninja.mbedded.ninjaterm.model.Model;
+import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.model.terminal.scrollback.Scrollback;
+import ninja.mbedded.ninjaterm.util.javafx.applyTextField.ApplyTextField;
+import ninja.mbedded.ninjaterm.util.scrollback.ScrollbackExporter;
+import ninja.mbedded.ninjaterm.util.tooltip.TooltipUtil;
+import org.controlsfx.glyphfont.FontAwesome;
+import org.controlsfx.glyphfont.GlyphFont;
+
+import java.io.File;
+import java.util.Collections;
+
+/**
+ * Controller for the "History" sub-tab which is part of a terminal tab. Displays (and searches) the complete
+ * RX line history held by <code>{@link ninja.mbedded.ninjaterm.model.terminal.scrollback.Scrollback}</code>.
+ * <p>
+ * The list view is backed by a virtual list which reads lines from the model as the cells are shown, so only
+ * the visible lines are ever loaded.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ScrollbackViewController {
+
+    //================================================================================================//
+    //========================================== FXML BINDINGS =======================================//
+    //================================================================================================//
+
+    @FXML
+    private TextField searchTextField;
+
+    @FXML
+    private Button searchPrevButton;
+
+    @FXML
+    private Button searchNextButton;
+
+    @FXML
+    private Button searchCancelButton;
+
+    @FXML
+    private Label searchResultLabel;
+
+    @FXML
+    private ProgressBar exportProgressBar;
+
+    @FXML
+    private Button exportButton;
+
+    @FXML
+    private ListView<String> linesListView;
+
+    @FXML
+    private Label numLinesLabel;
+
+    @FXML
+    private ComboBox<Scrollback.StoreType> storeTypeComboBox;
+
+    @FXML
+    private ApplyTextField maxHistorySizeTextField;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private Model model;
+    private Terminal terminal;
+
+    private LineList lineList;
+
+    private GlyphFont glyphFont;
+
+    public ScrollbackViewController() { }
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public void init(Model model, Terminal terminal, GlyphFont glyphFont) {
+
+        this.model = model;
+        this.terminal = terminal;
+        this.glyphFont = glyphFont;
+
+        lineList = new LineList();
+        linesListView.setItems(lineList);
+
+        terminal.scrollback.numLines.addListener((observable, oldValue, newValue) -> {
+            if (!lineList.update()) {
+                // The history was cleared, start again with a new list
+                lineList = new LineList();
+                linesListView.setItems(lineList);
+                lineList.update();
+            }
+            updateNumLinesLabel();
+        });
+        updateNumLinesLabel();
+
+        storeTypeComboBox.getItems().setAll(Scrollback.StoreType.values());
+        storeTypeComboBox.valueProperty().bindBidirectional(terminal.scrollback.storeType);
+        TooltipUtil.addDefaultTooltip(storeTypeComboBox, "Where lines are stored once they are no longer in the most recent "
+                + "10000 lines. \"Disk\" keeps the heap usage flat, \"Memory\" compresses them instead (for when "
+                + "there is no disk space). Changing this clears the history.");
+
+        maxHistorySizeTextField.onApply.addListener((observable, oldValue, newValue) -> {
+            int maxHistorySizeMB;
+            try {
+                maxHistorySizeMB = Integer.parseInt(newValue);
+            } catch (NumberFormatException e) {
+                maxHistorySizeMB = -1;
+            }
+
+            if (maxHistorySizeMB < 0) {
+                model.status.addErr("Max. history size must be a positive integer (or 0 for no limit).");
+                maxHistorySizeTextField.textProperty().set(Integer.toString(terminal.scrollback.maxHistorySizeMB.get()));
+                return;
+            }
+
+            terminal.scrollback.maxHistorySizeMB.set(maxHistorySizeMB);
+        });
+        maxHistorySizeTextField.textProperty().set(Integer.toString(terminal.scrollback.maxHistorySizeMB.get()));
+        TooltipUtil.addDefaultTooltip(maxHistorySizeTextField, "The max. space (on disk, or on the heap after compression) taken "
+                + "up by the lines which are no longer in the most recent 10000 lines. Once this is reached, the oldest lines are removed.");
+
+        //==============================================//
+        //================ SEARCH SETUP ================//
+        //==============================================//
+
+        searchPrevButton.setGraphic(glyphFont.create(FontAwesome.Glyph.ARROW_UP));
+        TooltipUtil.addDefaultTooltip(searchPrevButton, "Find the previous line (older) containing the search text.");
+        searchPrevButton.setOnAction(event -> search(false));
+
+        searchNextButton.setGraphic(glyphFont.create(FontAwesome.Glyph.ARROW_DOWN));
+        TooltipUtil.addDefaultTooltip(searchNextButton, "Find the next line (newer) containing the search text.");
+        searchNextButton.setOnAction(event -> search(true));
+
+        // Enter searches backwards, as the most recent matches are usually the interesting ones
+        searchTextField.setOnAction(event -> search(false));
+        TooltipUtil.addDefaultTooltip(searchTextField, "Case-insensitive search through the entire RX history. Press enter to find the previous match.");
+
+        searchCancelButton.setGraphic(glyphFont.create(FontAwesome.Glyph.STOP));
+        TooltipUtil.addDefaultTooltip(searchCancelButton, "Stop searching.");
+        searchCancelButton.setOnAction(event -> terminal.scrollback.cancelSearch());
+
+        terminal.scrollback.isSearching.addListener((observable, oldValue, newValue) -> {
+            updateSearchControls();
+        });
+        updateSearchControls();
+
+        //==============================================//
+        //================ EXPORT SETUP ================//
+        //==============================================//
+
+        exportButton.setOnAction(event -> {
+            if (!terminal.scrollback.isExporting.get()) {
+                export();
+            } else {
+                terminal.scrollback.cancelExport();
+            }
+        });
+        TooltipUtil.addDefaultTooltip(exportButton, "Saves the entire RX history to a file, as plain text, ANSI-coloured text or HTML.");
+
+        exportProgressBar.progressProperty().bind(terminal.scrollback.exportProgress);
+
+        terminal.scrollback.isExporting.addListener((observable, oldValue, newValue) -> {
+            updateExportControls();
+        });
+        updateExportControls();
+    }
+
+    private void export() {
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export RX History");
+        for (ScrollbackExporter.Format format : ScrollbackExporter.Format.values()) {
+            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(format.label, format.extensionPattern));
+        }
+
+        File selectedFile = fileChooser.showSaveDialog(exportButton.getScene().getWindow());
+        if (selectedFile == null)
+            return;
+
+        // The format is chosen by the selected extension filter (not reported on all platforms)
+        ScrollbackExporter.Format selectedFormat = ScrollbackExporter.Format.PLAIN_TEXT;
+        int selectedFilterIndex = fileChooser.getExtensionFilters().indexOf(fileChooser.getSelectedExtensionFilter());
+        if (selectedFilterIndex >= 0)
+            selectedFormat = ScrollbackExporter.Format.values()[selectedFilterIndex];
+
+        terminal.scrollback.startExport(selectedFile, selectedFormat);
+    }
+
+    private void updateExportControls() {
+        boolean isExporting = terminal.scrollback.isExporting.get();
+        if (!isExporting) {
+            exportButton.setText("Export");
+            exportButton.setGraphic(glyphFont.create(FontAwesome.Glyph.SAVE));
+        } else {
+            exportButton.setText("Cancel Export");
+            exportButton.setGraphic(glyphFont.create(FontAwesome.Glyph.STOP));
+        }
+        exportProgressBar.setVisible(isExporting);
+        exportProgressBar.setManaged(isExporting);
+    }
+
+    private void updateSearchControls() {
+        boolean isSearching = terminal.scrollback.isSearching.get();
+        searchPrevButton.setDisable(isSearching);
+        searchNextButton.setDisable(isSearching);
+        searchCancelButton.setVisible(isSearching);
+        searchCancelButton.setManaged(isSearching);
+    }
+
+    /**
+     * Starts searching through the history on a background thread (as it can take a while for a large history
+     * on disk). The found line is selected once the search finishes.
+     */
+    private void search(boolean isForwards) {
+
+        String text = searchTextField.getText();
+        if (text.isEmpty() || terminal.scrollback.isSearching.get())
+            return;
+
+        // Start from the line after/before the selected one, or from the end if nothing is selected
+        int selectedIndex = linesListView.getSelectionModel().getSelectedIndex();
+        long fromLineNum;
+        if (selectedIndex >= 0)
+            fromLineNum = isForwards ? selectedIndex + 1 : selectedIndex - 1;
+        else
+            fromLineNum = isForwards ? 0 : lineList.size() - 1;
+
+        searchResultLabel.setText("Searching...");
+        terminal.scrollback.startSearch(text, fromLineNum, isForwards, lineNum -> {
+            if (lineNum == Scrollback.SEARCH_STOPPED) {
+                searchResultLabel.setText("Search stopped.");
+                return;
+            }
+
+            if (lineNum < 0 || lineNum >= lineList.size()) {
+                searchResultLabel.setText("No more matches.");
+                return;
+            }
+
+            searchResultLabel.setText("Found on line " + (lineNum + 1) + ".");
+            linesListView.getSelectionModel().clearAndSelect((int) lineNum);
+            linesListView.scrollTo((int) lineNum);
+        });
+    }
+
+    private void updateNumLinesLabel() {
+        numLinesLabel.setText(terminal.scrollback.numLines.get() + " lines ("
+                + terminal.scrollback.numLinesSpilled.get() + " spilled, "
+                + terminal.scrollback.numLinesRemoved.get() + " oldest removed).");
+    }
+
+    /**
+     * A read-only list which fetches each line from the model when it is requested.
+     */
+    private class LineList extends ObservableListBase<String> {
+
+        private int size = 0;
+
+        private long numLinesRemoved = terminal.scrollback.numLinesRemoved.get();
+
+        /**
+         * Fires remove events for any lines removed from the start of the model (because of the history size
+         * limit), and add events for any lines added, since this was last called.
+         *
+         * @return False if the history has been cleared, in which case this list can no longer be used.
+         */
+        boolean update() {
+            long newNumLinesRemoved = terminal.scrollback.numLinesRemoved.get();
+            int newSize = (int) Math.min(terminal.scrollback.numLines.get(), Integer.MAX_VALUE);
+
+            if (newNumLinesRemoved < numLinesRemoved)
+                return false;
+            int numRemoved = (int) Math.min(newNumLinesRemoved - numLinesRemoved, size);
+            if (newSize < size - numRemoved)
+                return false;
+
+            numLinesRemoved = newNumLinesRemoved;
+            if (numRemoved == 0 && newSize == size)
+                return true;
+
+            int numRemaining = size - numRemoved;
+            size = newSize;
+
+            beginChange();
+            if (numRemoved > 0)
+                nextRemove(0, Collections.nCopies(numRemoved, (String) null));
+            if (newSize > numRemaining)
+                nextAdd(numRemaining, newSize);
+            endChange();
+            return true;
+        }
+
+        @Override
+        public String get(int index) {
+            return terminal.scrollback.getLine(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+}
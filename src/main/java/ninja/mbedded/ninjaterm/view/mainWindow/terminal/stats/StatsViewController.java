@@ -1,11 +1,25 @@
 package ninja.mbedded.ninjaterm.view.mainWindow.terminal.stats;
 
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.util.javafx.configBindings.ConfigBindings;
+import ninja.mbedded.ninjaterm.util.javafx.sparkline.Sparkline;
+import ninja.mbedded.ninjaterm.util.metrics.DoubleRingBuffer;
+import ninja.mbedded.ninjaterm.util.metrics.LatencyHistogram;
+import ninja.mbedded.ninjaterm.util.metrics.RateHistory;
+import ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine.RxDataEngineMetrics;
 import ninja.mbedded.ninjaterm.util.tooltip.TooltipUtil;
 
 /**
@@ -13,7 +27,7 @@ import ninja.mbedded.ninjaterm.util.tooltip.TooltipUtil;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-09-16
- * @last-modified 2016-11-22
+ * @last-modified 2026-10-19
  */
 public class StatsViewController {
 
@@ -42,12 +56,112 @@ public class StatsViewController {
     @FXML
     private Label bytesPerSecondRxLabel;
 
+    @FXML
+    private VBox rateHistoryVBox;
+
+    @FXML
+    private ComboBox<RateHistoryWindow> rateHistoryWindowComboBox;
+
+    @FXML
+    private Sparkline bytesPerSecondRxSparkline;
+
+    @FXML
+    private Label bytesPerSecondRxSummaryLabel;
+
+    @FXML
+    private Sparkline bytesPerSecondTxSparkline;
+
+    @FXML
+    private Label bytesPerSecondTxSummaryLabel;
+
+    @FXML
+    private Sparkline linesPerSecondRxSparkline;
+
+    @FXML
+    private Label linesPerSecondRxSummaryLabel;
+
+    @FXML
+    private Sparkline linesPerSecondTxSparkline;
+
+    @FXML
+    private Label linesPerSecondTxSummaryLabel;
+
+    @FXML
+    private VBox rxHistoryVBox;
+
+    @FXML
+    private Label rxHistoryNumLinesLabel;
+
+    @FXML
+    private Label rxHistoryCompressionRatioLabel;
+
+    @FXML
+    private Label rxHistorySizeLabel;
+
+    @FXML
+    private Label rxHistoryHeapUsedLabel;
+
+    @FXML
+    private VBox rxLagVBox;
+
+    @FXML
+    private Label numBytesAwaitingParseRxLabel;
+
+    @FXML
+    private Label numCharsAwaitingRenderRxLabel;
+
+    @FXML
+    private Label rxDisplayLagLabel;
+
+    @FXML
+    private VBox rxPipelineVBox;
+
+    @FXML
+    private CheckBox rxPipelineMetricsEnabledCheckBox;
+
+    @FXML
+    private Button rxPipelineMetricsResetButton;
+
+    @FXML
+    private GridPane rxPipelineGridPane;
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final double RX_PIPELINE_UPDATE_PERIOD_MS = 1000.0;
+
+    private enum RateHistoryWindow {
+        PER_SECOND("Last 5 minutes (per second)"),
+        PER_MINUTE("Last hour (per minute)"),
+        ;
+
+        private final String label;
+
+        RateHistoryWindow(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final String[] RX_PIPELINE_COLUMN_NAMES = {
+            "Stage", "Calls", "In", "Out", "Mean (us)", "p50 (us)", "p90 (us)", "p99 (us)", "Max (us)"};
+
     //================================================================================================//
     //=========================================== CLASS FIELDS =======================================//
     //================================================================================================//
 
     private Terminal terminal;
 
+    /**
+     * The value labels for each row of the RX pipeline table (one row per stage, then the total).
+     */
+    private Label[][] rxPipelineLabels;
+
     public StatsViewController() { }
 
     //================================================================================================//
@@ -85,17 +199,17 @@ public class StatsViewController {
 
 
         //======================= TX ===================//
-        totalRawCharCountTxLabel.setText(Integer.toString(terminal.stats.totalRawCharCountTx.getValue()));
+        totalRawCharCountTxLabel.setText(Long.toString(terminal.stats.totalRawCharCountTx.get()));
         terminal.stats.totalRawCharCountTx.addListener((observable, oldValue, newValue) -> {
             // Convert new value into string and update label
-            totalRawCharCountTxLabel.setText(Integer.toString(newValue.intValue()));
+            totalRawCharCountTxLabel.setText(Long.toString(newValue.longValue()));
         });
 
         //======================= RX ===================//
-        totalRawCharCountRxLabel.setText(Integer.toString(terminal.stats.totalRawCharCountRx.getValue()));
+        totalRawCharCountRxLabel.setText(Long.toString(terminal.stats.totalRawCharCountRx.get()));
         terminal.stats.totalRawCharCountRx.addListener((observable, oldValue, newValue) -> {
             // Convert new value into string and update label
-            totalRawCharCountRxLabel.setText(Integer.toString(newValue.intValue()));
+            totalRawCharCountRxLabel.setText(Long.toString(newValue.longValue()));
         });
 
         //==============================================//
@@ -120,6 +234,143 @@ public class StatsViewController {
         // Set default (giving bogus data as it is not used)
         bytesPerSecondRxChangeListener.changed(new SimpleDoubleProperty(), 0.0, 0.0);
 
+        //==============================================//
+        //============= RATE HISTORY SETUP =============//
+        //==============================================//
+
+        TooltipUtil.addDefaultTooltip(rateHistoryVBox, "The recent data rates, scaled so the peak reaches the top of each chart. The summary is min./avg./peak over the window shown.");
+
+        rateHistoryWindowComboBox.getItems().setAll(RateHistoryWindow.values());
+        rateHistoryWindowComboBox.setValue(RateHistoryWindow.PER_SECOND);
+        rateHistoryWindowComboBox.valueProperty().addListener((observable, oldValue, newValue) -> {
+            updateRateHistory();
+        });
+        updateRateHistory();
+
+        //==============================================//
+        //============== RX HISTORY SETUP ==============//
+        //==============================================//
+
+        TooltipUtil.addDefaultTooltip(rxHistoryVBox, "The complete RX line history shown on the History tab. The compression ratio and size are for the lines no longer in the most recent 10000 lines. Once the max. size is reached (set on the History tab), the oldest lines are removed.");
+
+        // All the metrics are updated together, whenever lines are added
+        terminal.scrollback.numLines.addListener((observable, oldValue, newValue) -> {
+            updateRxHistoryLabels();
+        });
+        terminal.scrollback.maxHistorySizeMB.addListener((observable, oldValue, newValue) -> {
+            updateRxHistoryLabels();
+        });
+        updateRxHistoryLabels();
+
+        //==============================================//
+        //================ RX LAG SETUP ================//
+        //==============================================//
+
+        TooltipUtil.addDefaultTooltip(rxLagVBox, "Whether the UI is keeping up with the RX data. \"Awaiting parse\" is data read from the COM port which is queued for processing, \"awaiting render\" is processed data which is not yet shown in the RX pane (e.g. because the TX/RX tab is hidden). The lag is the longest time a chunk of RX data took to get from the COM port to the RX pane in the last 100ms.");
+
+        ChangeListener<Number> rxLagChangeListener = (observable, oldValue, newValue) -> {
+            numBytesAwaitingParseRxLabel.setText(Long.toString(terminal.stats.numBytesAwaitingParseRx.get()));
+            numCharsAwaitingRenderRxLabel.setText(Integer.toString(terminal.stats.numCharsAwaitingRenderRx.get()));
+            rxDisplayLagLabel.setText(String.format("%.1f", terminal.stats.rxDisplayLagMs.get()));
+        };
+        terminal.stats.numBytesAwaitingParseRx.addListener(rxLagChangeListener);
+        terminal.stats.numCharsAwaitingRenderRx.addListener(rxLagChangeListener);
+        terminal.stats.rxDisplayLagMs.addListener(rxLagChangeListener);
+
+        // Set default (giving bogus data as it is not used)
+        rxLagChangeListener.changed(new SimpleDoubleProperty(), 0.0, 0.0);
+
+        //==============================================//
+        //============= RX PIPELINE SETUP ==============//
+        //==============================================//
+
+        TooltipUtil.addDefaultTooltip(rxPipelineVBox, "How long each stage of the RX data processing takes per call. \"In\" and \"Out\" are bytes for the decoder, and characters for all other stages. \"Listeners\" includes the RX pane, logging and the history.");
+
+        ConfigBindings.bindBidirectional(rxPipelineMetricsEnabledCheckBox.selectedProperty(), terminal.txRx.rxDataEngine.metrics.isEnabled);
+        rxPipelineMetricsResetButton.setOnAction(event -> {
+            terminal.txRx.rxDataEngine.metrics.reset();
+            updateRxPipelineLabels();
+        });
+
+        setupRxPipelineGridPane();
+        updateRxPipelineLabels();
+
+        // The metrics are not properties (they change on every parse), so they are polled
+        Timeline timeline = new Timeline(new KeyFrame(
+                Duration.millis(RX_PIPELINE_UPDATE_PERIOD_MS),
+                ae -> {
+                    updateRxPipelineLabels();
+                    updateRateHistory();
+                }));
+        timeline.setCycleCount(Animation.INDEFINITE);
+        timeline.play();
+    }
+
+    private void setupRxPipelineGridPane() {
+
+        for (int column = 0; column < RX_PIPELINE_COLUMN_NAMES.length; column++) {
+            rxPipelineGridPane.add(new Label(RX_PIPELINE_COLUMN_NAMES[column]), column, 0);
+        }
+
+        RxDataEngineMetrics.Stage[] stages = RxDataEngineMetrics.Stage.values();
+        rxPipelineLabels = new Label[stages.length + 1][RX_PIPELINE_COLUMN_NAMES.length - 1];
+
+        for (int row = 0; row < rxPipelineLabels.length; row++) {
+            String name = row < stages.length ? stages[row].label : "Total";
+            rxPipelineGridPane.add(new Label(name), 0, row + 1);
+
+            for (int column = 0; column < rxPipelineLabels[row].length; column++) {
+                rxPipelineLabels[row][column] = new Label();
+                rxPipelineGridPane.add(rxPipelineLabels[row][column], column + 1, row + 1);
+            }
+        }
+    }
+
+    private void updateRxPipelineLabels() {
+
+        RxDataEngineMetrics metrics = terminal.txRx.rxDataEngine.metrics;
+        RxDataEngineMetrics.Stage[] stages = RxDataEngineMetrics.Stage.values();
+
+        for (int row = 0; row < rxPipelineLabels.length; row++) {
+            RxDataEngineMetrics.StageMetrics stageMetrics = row < stages.length ? metrics.get(stages[row]) : metrics.total;
+            LatencyHistogram latencyNs = stageMetrics.latencyNs;
+            Label[] labels = rxPipelineLabels[row];
+
+            labels[0].setText(Long.toString(stageMetrics.getNumCalls()));
+            labels[1].setText(Long.toString(stageMetrics.getNumIn()));
+            labels[2].setText(Long.toString(stageMetrics.getNumOut()));
+            labels[3].setText(String.format("%.1f", latencyNs.getMean() / 1e3));
+            labels[4].setText(String.format("%.1f", latencyNs.getValueAtPercentile(50) / 1e3));
+            labels[5].setText(String.format("%.1f", latencyNs.getValueAtPercentile(90) / 1e3));
+            labels[6].setText(String.format("%.1f", latencyNs.getValueAtPercentile(99) / 1e3));
+            labels[7].setText(String.format("%.1f", latencyNs.getMax() / 1e3));
+        }
+    }
+
+    private void updateRateHistory() {
+        updateRateHistory(terminal.stats.bytesPerSecondRxHistory, bytesPerSecondRxSparkline, bytesPerSecondRxSummaryLabel);
+        updateRateHistory(terminal.stats.bytesPerSecondTxHistory, bytesPerSecondTxSparkline, bytesPerSecondTxSummaryLabel);
+        updateRateHistory(terminal.stats.linesPerSecondRxHistory, linesPerSecondRxSparkline, linesPerSecondRxSummaryLabel);
+        updateRateHistory(terminal.stats.linesPerSecondTxHistory, linesPerSecondTxSparkline, linesPerSecondTxSummaryLabel);
+    }
+
+    private void updateRateHistory(RateHistory rateHistory, Sparkline sparkline, Label summaryLabel) {
+
+        DoubleRingBuffer samples = rateHistoryWindowComboBox.getValue() == RateHistoryWindow.PER_SECOND ?
+                rateHistory.perSecond : rateHistory.perMinute;
+
+        sparkline.setSamples(samples);
+        summaryLabel.setText(String.format("%.1f / %.1f / %.1f", samples.getMin(), samples.getMean(), samples.getMax()));
+    }
+
+    private void updateRxHistoryLabels() {
+        rxHistoryNumLinesLabel.setText(terminal.scrollback.numLines.get() + " (" + terminal.scrollback.numLinesSpilled.get() + " spilled, "
+                + terminal.scrollback.numLinesRemoved.get() + " removed)");
+        rxHistoryCompressionRatioLabel.setText(String.format("%.1f", terminal.scrollback.compressionRatio.get()));
+        int maxHistorySizeMB = terminal.scrollback.maxHistorySizeMB.get();
+        rxHistorySizeLabel.setText(String.format("%.1f / %s", terminal.scrollback.storedSizeBytes.get() / (1024.0 * 1024.0),
+                maxHistorySizeMB == 0 ? "no limit" : maxHistorySizeMB + " MB"));
+        rxHistoryHeapUsedLabel.setText(String.format("%.1f MB", terminal.scrollback.heapUsedBytes.get() / (1024.0 * 1024.0)));
     }
 
 }
@@ -9,14 +9,18 @@ import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Control;
+import javafx.scene.control.Label;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import ninja.mbedded.ninjaterm.model.Model;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
 import ninja.mbedded.ninjaterm.util.javafx.comDataPaneWeb.ComDataPaneWeb;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
+import ninja.mbedded.ninjaterm.util.tooltip.TooltipUtil;
 import ninja.mbedded.ninjaterm.view.mainWindow.terminal.txRx.colouriser.ColouriserViewController;
 import ninja.mbedded.ninjaterm.view.mainWindow.terminal.txRx.display.DisplayViewController;
 import ninja.mbedded.ninjaterm.view.mainWindow.terminal.txRx.filters.FiltersViewController;
@@ -27,6 +31,7 @@ import org.controlsfx.glyphfont.FontAwesome;
 import org.controlsfx.glyphfont.GlyphFont;
 import org.slf4j.Logger;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Observable;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -36,7 +41,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * can open it's own COM port.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2017-02-20
+ * @last-modified 2026-10-19
  * @since 2016-07-16
  */
 public class TxRxViewController {
@@ -75,6 +80,15 @@ public class TxRxViewController {
     @FXML
     private ComDataPaneWeb rxComDataPane;
 
+    @FXML
+    private VBox bulkCaptureOverlay;
+
+    @FXML
+    private Label bulkCaptureFilePathLabel;
+
+    @FXML
+    private Label bulkCaptureStatsLabel;
+
     @FXML
     private HBox draggableHBox;
 
@@ -106,6 +120,9 @@ public class TxRxViewController {
     @FXML
     private Button freezeRxButton;
 
+    @FXML
+    private Button bulkCaptureButton;
+
     //==============================================//
     //======== RIGHT-HAND SIDE MACROS PANE =========//
     //==============================================//
@@ -151,6 +168,13 @@ public class TxRxViewController {
 
     private ChangeListener<? super Boolean> openCloseChangeListener;
 
+    /**
+     * The listeners added to <code>model.selTerminal</code>, which outlives this controller. Kept so they can
+     * be removed by <code>close()</code>.
+     */
+    private ChangeListener<Terminal> selTerminalOpenCloseListener;
+    private ChangeListener<Terminal> selTerminalRenderingListener;
+
     //================================================================================================//
     //========================================== CLASS METHODS =======================================//
     //================================================================================================//
@@ -190,7 +214,7 @@ public class TxRxViewController {
             refreshOpenCloseButton();
         };
 
-        model.selTerminal.addListener((observable, oldValue, newValue) -> {
+        selTerminalOpenCloseListener = (observable, oldValue, newValue) -> {
 
             if (oldValue != null) {
                 oldValue.isComPortOpen.removeListener(openCloseChangeListener);
@@ -201,7 +225,8 @@ public class TxRxViewController {
             // Refresh the style of the open/close COM port button when the selected
             // terminal changes (i.e. when the user selects a different terminal tab)
             refreshOpenCloseButton();
-        });
+        };
+        model.selTerminal.addListener(selTerminalOpenCloseListener);
 
         // Attach handler for when selected COM port changes. This is responsible for
         // enabling/disabling the "Open" button as appropriate
@@ -328,6 +353,36 @@ public class TxRxViewController {
         // Set to default, should update button appropriately
         refreshFreezeRxButton();
 
+        //==============================================//
+        //========== CAPTURE TO FILE BUTTON SETUP ======//
+        //==============================================//
+
+        bulkCaptureButton.setOnAction(event -> {
+            if (!terminal.bulkCapture.isCapturing.get()) {
+                FileChooser fileChooser = new FileChooser();
+                fileChooser.setTitle("Capture RX Data To File");
+                File selectedFile = fileChooser.showSaveDialog(bulkCaptureButton.getScene().getWindow());
+                if (selectedFile == null)
+                    return;
+                terminal.bulkCapture.start(selectedFile);
+            } else {
+                terminal.bulkCapture.stop();
+            }
+        });
+        TooltipUtil.addDefaultTooltip(bulkCaptureButton, "Writes RX data straight to a file, without processing or displaying it. Use this for large transfers, e.g. flash dumps.");
+
+        terminal.bulkCapture.isCapturing.addListener((observable, oldValue, newValue) -> {
+            refreshBulkCapture();
+        });
+        terminal.bulkCapture.numBytesCaptured.addListener((observable, oldValue, newValue) -> {
+            refreshBulkCaptureStats();
+        });
+        terminal.bulkCapture.bytesPerSecond.addListener((observable, oldValue, newValue) -> {
+            refreshBulkCaptureStats();
+        });
+
+        refreshBulkCapture();
+
         //==============================================//
         //== ATTACH LISTENERS TO WRAPPING PROPERTIES ===//
         //==============================================//
@@ -359,7 +414,7 @@ public class TxRxViewController {
 //        });
 
         // Add a listener for the new ComDataPane object
-        terminal.txRx.rxDataEngine.newOutputListeners.add(streamedData -> {
+        terminal.txRx.rxDataEngine.newDisplayOutputListeners.add(streamedData -> {
             rxComDataPane.addData(streamedData);
         });
 
@@ -371,6 +426,11 @@ public class TxRxViewController {
         });
         terminal.stats.numCharsInRxDisplayBuffer.set(rxComDataPane.currNumChars.intValue());
 
+        rxComDataPane.numCharsAwaitingRender.addListener((observable, oldValue, newValue) -> {
+            terminal.stats.numCharsAwaitingRenderRx.set(newValue.intValue());
+        });
+        terminal.stats.numCharsAwaitingRenderRx.set(rxComDataPane.numCharsAwaitingRender.intValue());
+
         // WRAPPING ENABLED
         terminal.txRx.display.wrappingEnabled.addListener((observable, oldValue, newValue) -> {
             rxComDataPane.setWrappingEnabled(newValue);
@@ -464,6 +524,18 @@ public class TxRxViewController {
 
         macrosViewController.init(model, terminal, glyphFont);
 
+        //==============================================//
+        //======== BACKGROUND TERMINAL RENDERING =======//
+        //==============================================//
+
+        // Terminals which are not selected keep parsing (and logging) RX data, but
+        // do not render it until the user selects them again
+        selTerminalRenderingListener = (observable, oldValue, newValue) -> {
+            updateRenderingSuspended();
+        };
+        model.selTerminal.addListener(selTerminalRenderingListener);
+        updateRenderingSuspended();
+
         //! @debug
         dataContainerGridPane.heightProperty().addListener((observable, oldValue, newValue) -> {
             resizeTxRxPanes();
@@ -479,6 +551,49 @@ public class TxRxViewController {
 //        }
 //    }
 
+    /**
+     * Removes the listeners this controller added to the model (other than to its own terminal), so that it
+     * (and its panes) can be garbage collected. Called when the terminal is closed.
+     */
+    public void close() {
+        model.selTerminal.removeListener(selTerminalOpenCloseListener);
+        model.selTerminal.removeListener(selTerminalRenderingListener);
+
+        if (model.selTerminal.get() != null)
+            model.selTerminal.get().isComPortOpen.removeListener(openCloseChangeListener);
+    }
+
+    /**
+     * Suspends rendering in the TX and RX panes if this terminal is not the one currently
+     * selected by the user, and resumes it (rendering anything that arrived in the meantime) if it is.
+     */
+    private void updateRenderingSuspended() {
+        boolean isSelected = model.selTerminal.get() == terminal;
+        rxComDataPane.isRenderingSuspended.set(!isSelected);
+        txComDataPane.isRenderingSuspended.set(!isSelected);
+    }
+
+    private void refreshBulkCapture() {
+        boolean isCapturing = terminal.bulkCapture.isCapturing.get();
+        if (!isCapturing) {
+            bulkCaptureButton.setText("Capture to File");
+            bulkCaptureButton.setGraphic(glyphFont.create(FontAwesome.Glyph.DOWNLOAD));
+        } else {
+            bulkCaptureButton.setText("Stop Capture");
+            bulkCaptureButton.setGraphic(glyphFont.create(FontAwesome.Glyph.STOP));
+        }
+
+        bulkCaptureOverlay.setVisible(isCapturing);
+        bulkCaptureFilePathLabel.setText(terminal.bulkCapture.filePath.get());
+        refreshBulkCaptureStats();
+    }
+
+    private void refreshBulkCaptureStats() {
+        bulkCaptureStatsLabel.setText(String.format("%.2f MB (%.1f kB/s)",
+                terminal.bulkCapture.numBytesCaptured.get() / (1024.0 * 1024.0),
+                terminal.bulkCapture.bytesPerSecond.get() / 1024.0));
+    }
+
     private void refreshFreezeRxButton() {
         if (!terminal.txRx.rxDataEngine.isFrozen.get()) {
             freezeRxButton.setText("Freeze RX");
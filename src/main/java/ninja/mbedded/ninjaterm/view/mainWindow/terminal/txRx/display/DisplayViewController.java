@@ -25,7 +25,7 @@ import org.controlsfx.validation.Validator;
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since 2016-09-16
- * @last-modified 2016-11-22
+ * @last-modified 2026-10-19
  */
 public class DisplayViewController {
 
@@ -51,6 +51,9 @@ public class DisplayViewController {
     @FXML
     private ApplyTextField bufferSizeTextField;
 
+    @FXML
+    private CheckBox collapseRepeatedLinesCheckBox;
+
     //==============================================//
     //=============== SCROLL BEHAVIOUR =============//
     //==============================================//
@@ -244,6 +247,14 @@ public class DisplayViewController {
 
         TooltipUtil.addDefaultTooltip(bufferSizeTextField, "The max. number of characters to store in the TX and RX panes. Once the num. of characters exceeds this limit, the oldest characters are removed from the UI (this does not affect logging).");
 
+        //==============================================//
+        //======== COLLAPSE REPEATED LINES SETUP =======//
+        //==============================================//
+
+        collapseRepeatedLinesCheckBox.selectedProperty().bindBidirectional(terminal.txRx.display.collapseRepeatedLines);
+
+        TooltipUtil.addDefaultTooltip(collapseRepeatedLinesCheckBox, "If enabled, when the same RX line is received many times in a row it is only displayed once, followed by a count of the number of times it was received (e.g. \"×25\"). A partial line which matches the start of the previous line is not displayed until it is completed. This does not affect logging.");
+
         //==============================================//
         //=========== SCROLL BEHAVIOUR SETUP ===========//
         //==============================================//
@@ -10,6 +10,7 @@ import ninja.mbedded.ninjaterm.model.Model;
 import ninja.mbedded.ninjaterm.model.terminal.Terminal;
 import ninja.mbedded.ninjaterm.model.terminal.txRx.formatting.Formatting;
 import ninja.mbedded.ninjaterm.util.javafx.applyTextField.ApplyTextField;
+import ninja.mbedded.ninjaterm.util.javafx.configBindings.ConfigBindings;
 import ninja.mbedded.ninjaterm.util.loggerUtils.LoggerUtils;
 import ninja.mbedded.ninjaterm.util.rxProcessing.Decoding.DecodingOptions;
 import ninja.mbedded.ninjaterm.util.tooltip.TooltipUtil;
@@ -19,7 +20,7 @@ import org.slf4j.Logger;
  * Controller for the formatting pop-up window.
  *
  * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
- * @last-modified 2016-11-25
+ * @last-modified 2026-10-19
  * @since 2016-09-26
  */
 public class FormattingViewController {
@@ -68,6 +69,13 @@ public class FormattingViewController {
     @FXML
     private CheckBox timeStampCheckBox;
 
+    //==============================================//
+    //========= CARRIAGE RETURN OVERWRITE ==========//
+    //==============================================//
+
+    @FXML
+    private CheckBox carriageReturnOverwriteCheckBox;
+
     //================================================================================================//
     //=========================================== CLASS FIELDS =======================================//
     //================================================================================================//
@@ -98,7 +106,7 @@ public class FormattingViewController {
         // Populate decoding options combobox
         decodingComboBox.getItems().setAll(DecodingOptions.values());
 
-        terminal.txRx.rxDataEngine.selDecodingOption.bind(decodingComboBox.getSelectionModel().selectedItemProperty());
+        ConfigBindings.bind(terminal.txRx.rxDataEngine.selDecodingOption, decodingComboBox.getSelectionModel().selectedItemProperty());
 
         // Set default
         decodingComboBox.getSelectionModel().select(DecodingOptions.ASCII);
@@ -149,5 +157,13 @@ public class FormattingViewController {
 
         timeStampCheckBox.selectedProperty().bindBidirectional(terminal.txRx.formatting.isTimeStampingEnabled);
 
+        //==============================================//
+        //======= CARRIAGE RETURN OVERWRITE SETUP ======//
+        //==============================================//
+
+        carriageReturnOverwriteCheckBox.selectedProperty().bindBidirectional(terminal.txRx.formatting.isCarriageReturnOverwriteEnabled);
+
+        TooltipUtil.addDefaultTooltip(carriageReturnOverwriteCheckBox, "When checked, a carriage return (\\r) which is not part of a new line moves back to the start of the current line, and the following RX data replaces that line (as a real terminal would). The ESC[2K escape code also clears the current line. Useful for devices which redraw progress bars or status lines in place.");
+
     }
 }
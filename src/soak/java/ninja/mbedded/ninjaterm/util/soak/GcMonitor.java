@@ -0,0 +1,142 @@
+package ninja.mbedded.ninjaterm.util.soak;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Listens for garbage collections (via the JVM's GC notifications), and records the GC pauses and how much of
+ * the heap is still used after each one. A steadily rising "heap used after GC" means memory is leaking.
+ * <p>
+ * The GC notifications are received on a JVM thread, so the metrics can be read from any thread.
+ * Concurrent GC cycles (which do not pause the app) are not counted as pauses.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class GcMonitor {
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final Set<String> heapPoolNames = new HashSet<>();
+
+    private final NotificationListener notificationListener = this::handleNotification;
+
+    //==============================================//
+    //=================== METRICS ==================//
+    //==============================================//
+
+    // All guarded by this
+
+    private long numGcs = 0;
+    private long totalPauseMs = 0;
+
+    private long maxPauseMs = 0;
+
+    /**
+     * -1 until the first GC.
+     */
+    private long heapUsedAfterLastGcBytes = -1;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public GcMonitor() {
+        for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPoolMXBean.getType() == MemoryType.HEAP)
+                heapPoolNames.add(memoryPoolMXBean.getName());
+        }
+    }
+
+    public void start() {
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (garbageCollectorMXBean instanceof NotificationEmitter) {
+                ((NotificationEmitter) garbageCollectorMXBean).addNotificationListener(notificationListener, null, null);
+            }
+        }
+    }
+
+    public void stop() {
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (garbageCollectorMXBean instanceof NotificationEmitter) {
+                try {
+                    ((NotificationEmitter) garbageCollectorMXBean).removeNotificationListener(notificationListener);
+                } catch (ListenerNotFoundException e) {
+                    // Was never added
+                }
+            }
+        }
+    }
+
+    private void handleNotification(Notification notification, Object handback) {
+
+        if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION))
+            return;
+
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+
+        long heapUsedAfterGcBytes = 0;
+        for (Map.Entry<String, MemoryUsage> entry : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPoolNames.contains(entry.getKey()))
+                heapUsedAfterGcBytes += entry.getValue().getUsed();
+        }
+
+        boolean isPause = !info.getGcAction().contains("concurrent");
+        long durationMs = info.getGcInfo().getDuration();
+
+        synchronized (this) {
+            heapUsedAfterLastGcBytes = heapUsedAfterGcBytes;
+
+            if (isPause) {
+                numGcs++;
+                totalPauseMs += durationMs;
+                maxPauseMs = Math.max(maxPauseMs, durationMs);
+            }
+        }
+    }
+
+    //==============================================//
+    //============== METRIC GETTERS ================//
+    //==============================================//
+
+    public synchronized long getNumGcs() {
+        return numGcs;
+    }
+
+    public synchronized long getTotalPauseMs() {
+        return totalPauseMs;
+    }
+
+    /**
+     * @return The heap used straight after the last GC, or -1 if there has not been one yet.
+     */
+    public synchronized long getHeapUsedAfterLastGcBytes() {
+        return heapUsedAfterLastGcBytes;
+    }
+
+    /**
+     * @return The longest GC pause since this was last called (or since the monitor was started).
+     */
+    public synchronized long takeMaxPauseMs() {
+        long value = maxPauseMs;
+        maxPauseMs = 0;
+        return value;
+    }
+
+}
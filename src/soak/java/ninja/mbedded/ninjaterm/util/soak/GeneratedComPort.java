@@ -0,0 +1,208 @@
+package ninja.mbedded.ninjaterm.util.soak;
+
+import ninja.mbedded.ninjaterm.util.comPort.BaudRates;
+import ninja.mbedded.ninjaterm.util.comPort.ComPort;
+import ninja.mbedded.ninjaterm.util.comPort.NumDataBits;
+import ninja.mbedded.ninjaterm.util.comPort.NumStopBits;
+import ninja.mbedded.ninjaterm.util.comPort.OnRxDataListener;
+import ninja.mbedded.ninjaterm.util.comPort.Parities;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A COM port which receives generated text (log-like lines, some of them coloured with ANSI escape codes) at a
+ * fixed rate, instead of talking to real hardware. The RX data goes to the <code>onRxDataListeners</code> from
+ * its own thread, just like a real COM port. TX data is discarded.
+ * <p>
+ * Chunks are sent on a fixed schedule, which is what the chunks are timed against
+ * (see <code>getCurrChunkScheduledNanoTime()</code>). If the listeners hold up the RX thread, the chunks which
+ * are late are sent straight away, so the latency measured from the schedule includes the time they were held up.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class GeneratedComPort extends ComPort {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    /**
+     * The size of the generated text, which is sent over and over.
+     */
+    private static final int PATTERN_SIZE_BYTES = 256 * 1024;
+
+    /**
+     * Only codes which the <code>AnsiECParser</code> supports.
+     */
+    private static final String[] ANSI_COLOUR_CODES = {
+            "\u001B[31m", "\u001B[32m", "\u001B[33m", "\u001B[34m", "\u001B[35;1m", "\u001B[36;1m", "\u001B[37m",
+    };
+
+    private static final String WORD_CHARS = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private final double bytesPerSecond;
+
+    private final int chunkSizeBytes;
+
+    private final double chunkPeriodNs;
+
+    private final byte[] pattern;
+
+    private int patternIndex = 0;
+
+    private volatile boolean isRunning = false;
+
+    private long startNanoTime;
+
+    /**
+     * Only used from the RX thread.
+     */
+    private long currChunkScheduledNanoTime;
+
+    private Thread generatorThread;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * @param bytesPerSecond    The rate the RX data is received at.
+     * @param chunkSizeBytes    The size of each chunk of RX data passed to the listeners.
+     * @param seed              Seeds the generated text, so that each port can receive different text.
+     */
+    public GeneratedComPort(double bytesPerSecond, int chunkSizeBytes, long seed) {
+
+        if (bytesPerSecond <= 0)
+            throw new IllegalArgumentException("bytesPerSecond must be greater than 0.");
+        if (chunkSizeBytes <= 0)
+            throw new IllegalArgumentException("chunkSizeBytes must be greater than 0.");
+
+        this.bytesPerSecond = bytesPerSecond;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.chunkPeriodNs = chunkSizeBytes * 1e9 / bytesPerSecond;
+        this.pattern = generatePattern(new Random(seed));
+
+        setName("Generated");
+    }
+
+    @Override
+    public String[] scan() {
+        return new String[]{getName()};
+    }
+
+    @Override
+    public void open() {
+        startNanoTime = System.nanoTime();
+        isRunning = true;
+
+        generatorThread = new Thread(this::run, getName());
+        generatorThread.setDaemon(true);
+        generatorThread.start();
+    }
+
+    @Override
+    public boolean isPortOpen() {
+        return isRunning;
+    }
+
+    @Override
+    public void setParams(BaudRates baudRate, NumDataBits numDataBits, Parities parity, NumStopBits numStopBits) {
+        // The rate is set in the constructor
+    }
+
+    @Override
+    public void sendData(byte[] data) {
+        numBytesTx.add(data.length);
+    }
+
+    @Override
+    public void close() {
+        if (!isRunning)
+            return;
+        isRunning = false;
+
+        try {
+            generatorThread.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Must only be called from the <code>onRxDataListeners</code>.
+     *
+     * @return The time (from <code>System.nanoTime()</code>) the chunk being passed to the listeners was due to
+     * be received.
+     */
+    public long getCurrChunkScheduledNanoTime() {
+        return currChunkScheduledNanoTime;
+    }
+
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public int getChunkSizeBytes() {
+        return chunkSizeBytes;
+    }
+
+    private void run() {
+
+        long chunkIndex = 0;
+
+        while (isRunning) {
+
+            long scheduledNanoTime = startNanoTime + (long) (chunkIndex * chunkPeriodNs);
+            long waitNs = scheduledNanoTime - System.nanoTime();
+            if (waitNs > 0) {
+                LockSupport.parkNanos(waitNs);
+                continue;
+            }
+
+            // A new array for each chunk, as the listeners keep hold of it (just like with a real COM port)
+            byte[] chunk = new byte[chunkSizeBytes];
+            for (int i = 0; i < chunkSizeBytes; i++) {
+                chunk[i] = pattern[patternIndex];
+                patternIndex = (patternIndex + 1) % pattern.length;
+            }
+
+            currChunkScheduledNanoTime = scheduledNanoTime;
+            numBytesRx.add(chunk.length);
+            for (OnRxDataListener onRxDataListener : getOnRxDataListeners()) {
+                onRxDataListener.run(chunk);
+            }
+            chunkIndex++;
+        }
+    }
+
+    private static byte[] generatePattern(Random random) {
+
+        StringBuilder stringBuilder = new StringBuilder(PATTERN_SIZE_BYTES);
+        while (stringBuilder.length() < PATTERN_SIZE_BYTES) {
+
+            boolean isColoured = random.nextInt(4) == 0;
+            if (isColoured)
+                stringBuilder.append(ANSI_COLOUR_CODES[random.nextInt(ANSI_COLOUR_CODES.length)]);
+
+            int lineLength = 20 + random.nextInt(80);
+            for (int i = 0; i < lineLength; i++) {
+                stringBuilder.append(random.nextInt(6) == 0 ? ' ' : WORD_CHARS.charAt(random.nextInt(WORD_CHARS.length())));
+            }
+
+            if (isColoured)
+                stringBuilder.append(ANSI_COLOUR_CODES[ANSI_COLOUR_CODES.length - 1]);
+            stringBuilder.append('\n');
+        }
+
+        return stringBuilder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
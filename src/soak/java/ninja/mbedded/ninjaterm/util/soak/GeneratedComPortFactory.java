@@ -0,0 +1,45 @@
+package ninja.mbedded.ninjaterm.util.soak;
+
+import ninja.mbedded.ninjaterm.util.comPort.ComPort;
+import ninja.mbedded.ninjaterm.util.comPort.ComPortFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates <code>{@link GeneratedComPort}</code>s, so a <code>Model</code> can be run with generated RX data.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class GeneratedComPortFactory extends ComPortFactory {
+
+    private final double bytesPerSecond;
+
+    private final int chunkSizeBytes;
+
+    private final List<GeneratedComPort> createdComPorts = new ArrayList<>();
+
+    public GeneratedComPortFactory(double bytesPerSecond, int chunkSizeBytes) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.chunkSizeBytes = chunkSizeBytes;
+    }
+
+    @Override
+    public ComPort create() {
+        // Each port gets different text
+        GeneratedComPort comPort = new GeneratedComPort(bytesPerSecond, chunkSizeBytes, createdComPorts.size());
+        comPort.setName("Generated" + (createdComPorts.size() + 1));
+        createdComPorts.add(comPort);
+        return comPort;
+    }
+
+    /**
+     * @return All the ports created so far, in the order they were created.
+     */
+    public List<GeneratedComPort> getCreatedComPorts() {
+        return createdComPorts;
+    }
+
+}
@@ -0,0 +1,352 @@
+package ninja.mbedded.ninjaterm.util.soak;
+
+import com.sun.javafx.application.PlatformImpl;
+import javafx.application.Platform;
+import ninja.mbedded.ninjaterm.model.Model;
+import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.model.terminal.logging.Logging;
+import ninja.mbedded.ninjaterm.util.metrics.LatencyHistogram;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a <code>{@link Model}</code> with a number of terminals receiving generated RX data (see
+ * <code>{@link GeneratedComPort}</code>) for a set time, without any UI. This exercises the RX data engines,
+ * the stats and (optionally) the logging, just as the app would, and samples the heap, GC pauses, RX backlog
+ * and latency to check they stay flat over a long run. The results are returned as a
+ * <code>{@link SoakReport}</code>.
+ * <p>
+ * The latency of each chunk is measured from when it was due to be received to when the UI thread has
+ * finished processing it (a runnable is queued on the UI thread straight after the terminal's own one).
+ * Exceptions thrown on the UI thread are counted, rather than stopping the run.
+ * <p>
+ * The JavaFX platform is started if it isn't already, as the model uses the UI thread. Without a display,
+ * run with the Monocle headless platform (<code>-Dglass.platform=Monocle -Dmonocle.platform=Headless</code>).
+ * Can be run from the command line with:
+ * <pre>
+ * gradle soak -Psoakargs="--terminals,16,--rate,1048576,--duration,3600,--report,soak.json"
+ * </pre>
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class SoakHarness {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    public static final int DEFAULT_NUM_TERMINALS = 16;
+    public static final double DEFAULT_BYTES_PER_SECOND = 1024 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE_BYTES = 1024;
+    public static final int DEFAULT_DURATION_S = 60 * 60;
+    public static final int DEFAULT_SAMPLE_PERIOD_S = 10;
+
+    /**
+     * Logs are rotated, and only a few segments kept, so a long run does not fill up the disk.
+     */
+    private static final int LOG_MAX_SEGMENT_SIZE_MB = 16;
+    private static final int LOG_MAX_NUM_ROTATED_SEGMENTS = 2;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    //==============================================//
+    //================== SETTINGS ==================//
+    //==============================================//
+
+    public int numTerminals = DEFAULT_NUM_TERMINALS;
+
+    /**
+     * The rate each terminal receives RX data at.
+     */
+    public double bytesPerSecond = DEFAULT_BYTES_PER_SECOND;
+
+    public int chunkSizeBytes = DEFAULT_CHUNK_SIZE_BYTES;
+
+    public int durationS = DEFAULT_DURATION_S;
+
+    public int samplePeriodS = DEFAULT_SAMPLE_PERIOD_S;
+
+    /**
+     * If set, each terminal logs its RX data to a file in this directory. If null, logging is not enabled.
+     */
+    public File logDir = null;
+
+    //==============================================//
+    //==================== STATE ===================//
+    //==============================================//
+
+    private Model model;
+
+    private GeneratedComPortFactory comPortFactory;
+
+    private SoakReport report;
+
+    private final GcMonitor gcMonitor = new GcMonitor();
+
+    // These are only used from the UI thread
+
+    /**
+     * The number of RX bytes each terminal has processed.
+     */
+    private long[] numBytesProcessed;
+
+    private long numErrors;
+
+    private String firstError;
+
+    private Thread.UncaughtExceptionHandler previousUncaughtExceptionHandler;
+
+    private final LatencyHistogram sampleLatencyNs = new LatencyHistogram();
+    private final LatencyHistogram totalLatencyNs = new LatencyHistogram();
+
+    private long startNanoTime;
+    private long lastSampleNanoTime;
+    private long lastSampleNumBytesRx;
+    private long lastSampleNumGcs;
+    private long lastSampleGcPauseMs;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    /**
+     * Runs the soak test, blocking until it is finished. Must not be called from the UI thread.
+     */
+    public SoakReport run() throws InterruptedException {
+
+        if (Platform.isFxApplicationThread())
+            throw new IllegalStateException("SoakHarness.run() must not be called from the UI thread.");
+
+        report = new SoakReport(numTerminals, bytesPerSecond, chunkSizeBytes, durationS, samplePeriodS, logDir != null);
+
+        startJavaFx();
+        gcMonitor.start();
+
+        try {
+            runAndWait(this::setUp);
+
+            long endNanoTime = startNanoTime + TimeUnit.SECONDS.toNanos(durationS);
+            long nextSampleNanoTime = startNanoTime;
+            while (nextSampleNanoTime < endNanoTime) {
+                nextSampleNanoTime = Math.min(nextSampleNanoTime + TimeUnit.SECONDS.toNanos(samplePeriodS), endNanoTime);
+                long waitNs = nextSampleNanoTime - System.nanoTime();
+                if (waitNs > 0)
+                    TimeUnit.NANOSECONDS.sleep(waitNs);
+
+                runAndWait(this::sample);
+            }
+        } finally {
+            runAndWait(this::tearDown);
+            gcMonitor.stop();
+        }
+
+        report.setTotalLatency(totalLatencyNs);
+        return report;
+    }
+
+    private void setUp() {
+
+        comPortFactory = new GeneratedComPortFactory(bytesPerSecond, chunkSizeBytes);
+        model = new Model(comPortFactory);
+        numBytesProcessed = new long[numTerminals];
+
+        previousUncaughtExceptionHandler = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((thread, throwable) -> handleError(throwable));
+
+        for (int i = 0; i < numTerminals; i++) {
+            model.createTerminal();
+            Terminal terminal = model.terminals.get(i);
+            GeneratedComPort comPort = comPortFactory.getCreatedComPorts().get(i);
+
+            if (logDir != null) {
+                terminal.logging.logFilePath.set(new File(logDir, comPort.getName() + ".log").getPath());
+                terminal.logging.selFileBehaviour.set(Logging.FileBehaviour.OVERWRITE);
+                terminal.logging.isRotationEnabled.set(true);
+                terminal.logging.maxSegmentSizeMB.set(LOG_MAX_SEGMENT_SIZE_MB);
+                terminal.logging.maxNumRotatedSegments.set(LOG_MAX_NUM_ROTATED_SEGMENTS);
+                terminal.logging.enableLogging();
+            }
+
+            terminal.comPortSettings.selComPortName.set(comPort.getName());
+            terminal.openComPort();
+
+            // Added after the terminal's listener, so this runs on the UI thread after the terminal has
+            // processed the chunk (even if that failed)
+            final int terminalIndex = i;
+            comPort.getOnRxDataListeners().add(rxData -> {
+                long scheduledNanoTime = comPort.getCurrChunkScheduledNanoTime();
+                Platform.runLater(() -> handleChunkProcessed(terminalIndex, rxData.length, scheduledNanoTime));
+            });
+        }
+
+        startNanoTime = System.nanoTime();
+        lastSampleNanoTime = startNanoTime;
+        lastSampleNumGcs = gcMonitor.getNumGcs();
+        lastSampleGcPauseMs = gcMonitor.getTotalPauseMs();
+    }
+
+    private void handleChunkProcessed(int terminalIndex, int numBytes, long scheduledNanoTime) {
+        long latencyNs = System.nanoTime() - scheduledNanoTime;
+        numBytesProcessed[terminalIndex] += numBytes;
+
+        sampleLatencyNs.record(latencyNs);
+        totalLatencyNs.record(latencyNs);
+    }
+
+    private void handleError(Throwable throwable) {
+        numErrors++;
+        if (firstError == null) {
+            firstError = throwable.toString();
+            System.err.println("Exception thrown on the UI thread during soak test (only the first is shown):");
+            throwable.printStackTrace();
+        }
+    }
+
+    private void sample() {
+
+        long nanoTime = System.nanoTime();
+
+        long numBytesRx = 0;
+        long backlogBytes = 0;
+        List<GeneratedComPort> comPorts = comPortFactory.getCreatedComPorts();
+        for (int i = 0; i < comPorts.size(); i++) {
+            long comPortNumBytesRx = comPorts.get(i).getNumBytesRx();
+            numBytesRx += comPortNumBytesRx;
+            backlogBytes += comPortNumBytesRx - numBytesProcessed[i];
+        }
+
+        long numGcs = gcMonitor.getNumGcs();
+        long gcPauseMs = gcMonitor.getTotalPauseMs();
+
+        report.samples.add(new SoakReport.Sample(
+                (nanoTime - startNanoTime) / 1e9,
+                numBytesRx,
+                (numBytesRx - lastSampleNumBytesRx) / ((nanoTime - lastSampleNanoTime) / 1e9),
+                backlogBytes,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                gcMonitor.getHeapUsedAfterLastGcBytes(),
+                numGcs - lastSampleNumGcs,
+                gcPauseMs - lastSampleGcPauseMs,
+                gcMonitor.takeMaxPauseMs(),
+                sampleLatencyNs,
+                numErrors));
+
+        lastSampleNanoTime = nanoTime;
+        lastSampleNumBytesRx = numBytesRx;
+        lastSampleNumGcs = numGcs;
+        lastSampleGcPauseMs = gcPauseMs;
+        sampleLatencyNs.reset();
+    }
+
+    private void tearDown() {
+        if (model == null)
+            return;
+
+        // This also closes the log files
+        model.handleAppClosing();
+
+        Thread.currentThread().setUncaughtExceptionHandler(previousUncaughtExceptionHandler);
+        report.setErrors(numErrors, firstError);
+    }
+
+    //==============================================//
+    //================ JAVAFX THREAD ===============//
+    //==============================================//
+
+    private static void startJavaFx() throws InterruptedException {
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        try {
+            PlatformImpl.startup(startedLatch::countDown);
+        } catch (IllegalStateException e) {
+            // Already started
+            startedLatch.countDown();
+        }
+        startedLatch.await();
+
+        // Keep the platform running when there are no windows
+        Platform.setImplicitExit(false);
+    }
+
+    /**
+     * Runs the runnable on the UI thread, and waits for it to finish. Anything thrown by the runnable is
+     * re-thrown.
+     */
+    private static void runAndWait(Runnable runnable) throws InterruptedException {
+        CountDownLatch doneLatch = new CountDownLatch(1);
+        RuntimeException[] thrown = new RuntimeException[1];
+
+        Platform.runLater(() -> {
+            try {
+                runnable.run();
+            } catch (RuntimeException e) {
+                thrown[0] = e;
+            } finally {
+                doneLatch.countDown();
+            }
+        });
+
+        doneLatch.await();
+        if (thrown[0] != null)
+            throw thrown[0];
+    }
+
+    //==============================================//
+    //================= COMMAND LINE ===============//
+    //==============================================//
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+
+        Options options = new Options();
+        options.addOption(Option.builder(null).longOpt("terminals").hasArg().desc("number of terminals (default " + DEFAULT_NUM_TERMINALS + ")").build());
+        options.addOption(Option.builder(null).longOpt("rate").hasArg().desc("RX bytes/s per terminal (default " + (long) DEFAULT_BYTES_PER_SECOND + ")").build());
+        options.addOption(Option.builder(null).longOpt("chunk").hasArg().desc("RX chunk size in bytes (default " + DEFAULT_CHUNK_SIZE_BYTES + ")").build());
+        options.addOption(Option.builder(null).longOpt("duration").hasArg().desc("run time in seconds (default " + DEFAULT_DURATION_S + ")").build());
+        options.addOption(Option.builder(null).longOpt("sample").hasArg().desc("sample period in seconds (default " + DEFAULT_SAMPLE_PERIOD_S + ")").build());
+        options.addOption(Option.builder(null).longOpt("logdir").hasArg().desc("log each terminal's RX data to this directory").build());
+        options.addOption(Option.builder(null).longOpt("report").hasArg().desc("write the JSON report to this file (default soak-report.json)").build());
+
+        CommandLine cmd;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            System.out.println(e.getMessage());
+            new HelpFormatter().printHelp("SoakHarness", options);
+            System.exit(1);
+            return;
+        }
+
+        SoakHarness soakHarness = new SoakHarness();
+        soakHarness.numTerminals = Integer.parseInt(cmd.getOptionValue("terminals", Integer.toString(DEFAULT_NUM_TERMINALS)));
+        soakHarness.bytesPerSecond = Double.parseDouble(cmd.getOptionValue("rate", Double.toString(DEFAULT_BYTES_PER_SECOND)));
+        soakHarness.chunkSizeBytes = Integer.parseInt(cmd.getOptionValue("chunk", Integer.toString(DEFAULT_CHUNK_SIZE_BYTES)));
+        soakHarness.durationS = Integer.parseInt(cmd.getOptionValue("duration", Integer.toString(DEFAULT_DURATION_S)));
+        soakHarness.samplePeriodS = Integer.parseInt(cmd.getOptionValue("sample", Integer.toString(DEFAULT_SAMPLE_PERIOD_S)));
+        if (cmd.hasOption("logdir"))
+            soakHarness.logDir = new File(cmd.getOptionValue("logdir"));
+        File reportFile = new File(cmd.getOptionValue("report", "soak-report.json"));
+
+        SoakReport report = soakHarness.run();
+        report.writeTo(reportFile);
+        System.out.println(report);
+        System.out.println("Report written to \"" + reportFile.getPath() + "\".");
+
+        Platform.exit();
+    }
+
+}
@@ -0,0 +1,280 @@
+package ninja.mbedded.ninjaterm.util.soak;
+
+import ninja.mbedded.ninjaterm.util.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The results of a soak test run by <code>{@link SoakHarness}</code>: the settings, a summary, and the samples
+ * taken during the run. Can be written out as JSON, to be compared between runs or plotted.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class SoakReport {
+
+    //================================================================================================//
+    //============================================ SAMPLE ============================================//
+    //================================================================================================//
+
+    /**
+     * The state of the app at one point in the run. All values are totals across all of the terminals.
+     */
+    public static class Sample {
+
+        public final double elapsedS;
+
+        public final long numBytesRx;
+
+        /**
+         * Over the period since the previous sample.
+         */
+        public final double bytesPerSecondRx;
+
+        /**
+         * RX data which has been received, but not yet parsed.
+         */
+        public final long backlogBytes;
+
+        public final long heapUsedBytes;
+
+        /**
+         * The heap used straight after the last GC, or -1 if there has not been one yet.
+         */
+        public final long heapUsedAfterGcBytes;
+
+        // These are for the period since the previous sample
+
+        public final long numGcs;
+        public final long gcPauseMs;
+        public final long maxGcPauseMs;
+
+        /**
+         * The time from when each chunk of RX data was due to be received to when it had been parsed.
+         */
+        public final double latencyP50Ms;
+        public final double latencyP99Ms;
+        public final double latencyMaxMs;
+
+        /**
+         * The number of exceptions thrown on the UI thread since the start of the run.
+         */
+        public final long numErrors;
+
+        public Sample(double elapsedS, long numBytesRx, double bytesPerSecondRx, long backlogBytes,
+                      long heapUsedBytes, long heapUsedAfterGcBytes,
+                      long numGcs, long gcPauseMs, long maxGcPauseMs,
+                      LatencyHistogram latencyNs, long numErrors) {
+            this.elapsedS = elapsedS;
+            this.numBytesRx = numBytesRx;
+            this.bytesPerSecondRx = bytesPerSecondRx;
+            this.backlogBytes = backlogBytes;
+            this.heapUsedBytes = heapUsedBytes;
+            this.heapUsedAfterGcBytes = heapUsedAfterGcBytes;
+            this.numGcs = numGcs;
+            this.gcPauseMs = gcPauseMs;
+            this.maxGcPauseMs = maxGcPauseMs;
+            this.latencyP50Ms = latencyNs.getValueAtPercentile(50) / 1e6;
+            this.latencyP99Ms = latencyNs.getValueAtPercentile(99) / 1e6;
+            this.latencyMaxMs = latencyNs.getMax() / 1e6;
+            this.numErrors = numErrors;
+        }
+    }
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    //==============================================//
+    //================== SETTINGS ==================//
+    //==============================================//
+
+    public final int numTerminals;
+    public final double bytesPerSecondPerTerminal;
+    public final int chunkSizeBytes;
+    public final int durationS;
+    public final int samplePeriodS;
+    public final boolean isLogging;
+
+    //==============================================//
+    //=================== RESULTS ==================//
+    //==============================================//
+
+    public final List<Sample> samples = new ArrayList<>();
+
+    // The latency over the whole run, set with setTotalLatency()
+
+    private double latencyP50Ms = 0.0;
+    private double latencyP99Ms = 0.0;
+    private double latencyP999Ms = 0.0;
+    private double latencyMaxMs = 0.0;
+
+    private long numErrors = 0;
+
+    /**
+     * Null if there were no errors.
+     */
+    private String firstError = null;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    public SoakReport(int numTerminals, double bytesPerSecondPerTerminal, int chunkSizeBytes,
+                      int durationS, int samplePeriodS, boolean isLogging) {
+        this.numTerminals = numTerminals;
+        this.bytesPerSecondPerTerminal = bytesPerSecondPerTerminal;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.durationS = durationS;
+        this.samplePeriodS = samplePeriodS;
+        this.isLogging = isLogging;
+    }
+
+    public void setTotalLatency(LatencyHistogram latencyNs) {
+        latencyP50Ms = latencyNs.getValueAtPercentile(50) / 1e6;
+        latencyP99Ms = latencyNs.getValueAtPercentile(99) / 1e6;
+        latencyP999Ms = latencyNs.getValueAtPercentile(99.9) / 1e6;
+        latencyMaxMs = latencyNs.getMax() / 1e6;
+    }
+
+    public void setErrors(long numErrors, String firstError) {
+        this.numErrors = numErrors;
+        this.firstError = firstError;
+    }
+
+    public long getNumErrors() {
+        return numErrors;
+    }
+
+    public double getLatencyP99Ms() {
+        return latencyP99Ms;
+    }
+
+    public long getNumBytesRx() {
+        return samples.isEmpty() ? 0 : samples.get(samples.size() - 1).numBytesRx;
+    }
+
+    public long getMaxBacklogBytes() {
+        long maxBacklogBytes = 0;
+        for (Sample sample : samples) {
+            maxBacklogBytes = Math.max(maxBacklogBytes, sample.backlogBytes);
+        }
+        return maxBacklogBytes;
+    }
+
+    /**
+     * @return The change in the heap used after GC, from the first sample which has it to the last, or 0 if
+     * there were not two such samples.
+     */
+    public long getHeapGrowthBytes() {
+        Sample first = null;
+        Sample last = null;
+        for (Sample sample : samples) {
+            if (sample.heapUsedAfterGcBytes < 0)
+                continue;
+            if (first == null)
+                first = sample;
+            last = sample;
+        }
+        return first == null ? 0 : last.heapUsedAfterGcBytes - first.heapUsedAfterGcBytes;
+    }
+
+    public String toJson() {
+
+        long numGcs = 0;
+        long gcPauseMs = 0;
+        long maxGcPauseMs = 0;
+        for (Sample sample : samples) {
+            numGcs += sample.numGcs;
+            gcPauseMs += sample.gcPauseMs;
+            maxGcPauseMs = Math.max(maxGcPauseMs, sample.maxGcPauseMs);
+        }
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+
+        json.append("  \"settings\": {\n");
+        json.append(field("numTerminals", numTerminals)).append(",\n");
+        json.append(field("bytesPerSecondPerTerminal", bytesPerSecondPerTerminal)).append(",\n");
+        json.append(field("chunkSizeBytes", chunkSizeBytes)).append(",\n");
+        json.append(field("durationS", durationS)).append(",\n");
+        json.append(field("samplePeriodS", samplePeriodS)).append(",\n");
+        json.append("    \"isLogging\": ").append(isLogging).append("\n");
+        json.append("  },\n");
+
+        json.append("  \"summary\": {\n");
+        json.append(field("numBytesRx", getNumBytesRx())).append(",\n");
+        json.append(field("maxBacklogBytes", getMaxBacklogBytes())).append(",\n");
+        json.append(field("heapGrowthBytes", getHeapGrowthBytes())).append(",\n");
+        json.append(field("numGcs", numGcs)).append(",\n");
+        json.append(field("gcPauseMs", gcPauseMs)).append(",\n");
+        json.append(field("maxGcPauseMs", maxGcPauseMs)).append(",\n");
+        json.append(field("latencyP50Ms", latencyP50Ms)).append(",\n");
+        json.append(field("latencyP99Ms", latencyP99Ms)).append(",\n");
+        json.append(field("latencyP999Ms", latencyP999Ms)).append(",\n");
+        json.append(field("latencyMaxMs", latencyMaxMs)).append(",\n");
+        json.append(field("numErrors", numErrors)).append(",\n");
+        json.append("    \"firstError\": ").append(firstError == null ? "null" : toJsonString(firstError)).append("\n");
+        json.append("  },\n");
+
+        json.append("  \"samples\": [");
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append(String.format(Locale.ROOT,
+                    "    {\"elapsedS\": %.3f, \"numBytesRx\": %d, \"bytesPerSecondRx\": %.1f, \"backlogBytes\": %d, " +
+                            "\"heapUsedBytes\": %d, \"heapUsedAfterGcBytes\": %d, " +
+                            "\"numGcs\": %d, \"gcPauseMs\": %d, \"maxGcPauseMs\": %d, " +
+                            "\"latencyP50Ms\": %.3f, \"latencyP99Ms\": %.3f, \"latencyMaxMs\": %.3f, \"numErrors\": %d}",
+                    sample.elapsedS, sample.numBytesRx, sample.bytesPerSecondRx, sample.backlogBytes,
+                    sample.heapUsedBytes, sample.heapUsedAfterGcBytes,
+                    sample.numGcs, sample.gcPauseMs, sample.maxGcPauseMs,
+                    sample.latencyP50Ms, sample.latencyP99Ms, sample.latencyMaxMs, sample.numErrors));
+        }
+        json.append(samples.isEmpty() ? "]\n" : "\n  ]\n");
+
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static String field(String name, long value) {
+        return "    \"" + name + "\": " + value;
+    }
+
+    private static String field(String name, double value) {
+        return String.format(Locale.ROOT, "    \"%s\": %.3f", name, value);
+    }
+
+    private static String toJsonString(String text) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\')
+                json.append('\\').append(c);
+            else if (c < 0x20)
+                json.append(String.format("\\u%04x", (int) c));
+            else
+                json.append(c);
+        }
+        return json.append('"').toString();
+    }
+
+    public void writeTo(File file) throws IOException {
+        Files.write(file.toPath(), toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d terminals, %d bytes received. Latency (ms): p50 = %.1f, p99 = %.1f, p99.9 = %.1f, max = %.1f. " +
+                        "Max. backlog = %d bytes. Heap growth after GC = %d bytes. %d errors.",
+                numTerminals, getNumBytesRx(), latencyP50Ms, latencyP99Ms, latencyP999Ms, latencyMaxMs,
+                getMaxBacklogBytes(), getHeapGrowthBytes(), numErrors);
+    }
+
+}
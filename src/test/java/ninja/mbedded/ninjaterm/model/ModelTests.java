@@ -0,0 +1,103 @@
+package ninja.mbedded.ninjaterm.model;
+
+import ninja.mbedded.ninjaterm.JavaFXThreadingRule;
+import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.model.terminal.logging.Logging;
+import ninja.mbedded.ninjaterm.util.comPort.ComPortFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for the <code>{@link Model}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ModelTests {
+
+    /**
+     * Including this variable in class allows JavaFX objects to be created in tests.
+     */
+    @Rule
+    public JavaFXThreadingRule javafxRule = new JavaFXThreadingRule();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Model model;
+    private Terminal terminal;
+    private File logFile;
+
+    @Before
+    public void setUp() throws Exception {
+        model = new Model(new ComPortFactory());
+        model.createTerminal();
+        terminal = model.terminals.get(0);
+
+        logFile = new File(temporaryFolder.getRoot(), "test.log");
+        terminal.logging.logFilePath.set(logFile.getPath());
+        terminal.logging.selWhatAreWeLogging.set(Logging.WhatAreWeLogging.RAW_RX_DATA_AS_ASCII);
+        // Nothing is written to the file until it is closed
+        terminal.logging.flushIntervalMs.set(60 * 1000);
+        terminal.logging.enableLogging();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        model.handleAppClosing();
+    }
+
+    @Test
+    public void closeTerminalWritesLogFileTest() throws Exception {
+
+        terminal.txRx.addRxData("abc".getBytes(StandardCharsets.UTF_8));
+        model.closeTerminal(terminal);
+
+        // The log file is closed in the background
+        terminal.logging.waitUntilClosed();
+
+        assertFalse(terminal.logging.isLogging.get());
+        assertEquals("abc", new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void appClosingWritesLogFileTest() throws Exception {
+
+        terminal.txRx.addRxData("abc".getBytes(StandardCharsets.UTF_8));
+        model.handleAppClosing();
+
+        assertFalse(terminal.logging.isLogging.get());
+        assertEquals("abc", new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void closedTerminalIsGarbageCollectedTest() throws Exception {
+
+        // A terminal which never logged (closing the first one leaves its "closed" message queued on the UI thread,
+        // which keeps it reachable until this test returns)
+        model.createTerminal();
+        WeakReference<Terminal> closedTerminal = new WeakReference<>(model.terminals.get(1));
+
+        model.closeTerminal(closedTerminal.get());
+
+        for (int i = 0; i < 10 && closedTerminal.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(closedTerminal.get());
+    }
+
+}
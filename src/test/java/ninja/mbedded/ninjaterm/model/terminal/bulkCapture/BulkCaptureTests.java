@@ -0,0 +1,135 @@
+package ninja.mbedded.ninjaterm.model.terminal.bulkCapture;
+
+import ninja.mbedded.ninjaterm.JavaFXThreadingRule;
+import ninja.mbedded.ninjaterm.model.Model;
+import ninja.mbedded.ninjaterm.model.terminal.Terminal;
+import ninja.mbedded.ninjaterm.util.comPort.ComPortFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Unit tests for the <code>{@link BulkCapture}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class BulkCaptureTests {
+
+    /**
+     * Including this variable in class allows JavaFX objects to be created in tests.
+     */
+    @Rule
+    public JavaFXThreadingRule javafxRule = new JavaFXThreadingRule();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Model model;
+    private Terminal terminal;
+    private BulkCapture bulkCapture;
+
+    @Before
+    public void setUp() throws Exception {
+        model = new Model(new ComPortFactory());
+        model.createTerminal();
+        terminal = model.terminals.get(0);
+        bulkCapture = terminal.bulkCapture;
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        model.handleAppClosing();
+    }
+
+    @Test
+    public void writeTest() throws Exception {
+
+        File file = temporaryFolder.newFile("capture.bin");
+        bulkCapture.start(file);
+        assertTrue(bulkCapture.isCapturing.get());
+        assertTrue(bulkCapture.isBypassing());
+
+        assertTrue(bulkCapture.write(new byte[]{ 1, 2, 3 }));
+        bulkCapture.stop();
+
+        assertFalse(bulkCapture.isCapturing.get());
+        assertFalse(bulkCapture.isBypassing());
+        assertEquals(3, bulkCapture.numBytesCaptured.get());
+        assertEquals(3, file.length());
+
+        // Once stopped, the data is passed back to be processed normally
+        assertFalse(bulkCapture.write(new byte[]{ 4 }));
+    }
+
+    @Test
+    public void writeAndStopRaceTest() throws Exception {
+
+        File file = temporaryFolder.newFile("capture.bin");
+        bulkCapture.start(file);
+
+        // Acts as the COM port's RX thread
+        AtomicLong numBytesAccepted = new AtomicLong(0);
+        Thread rxThread = new Thread(() -> {
+            byte[] rxData = new byte[100];
+            while (bulkCapture.write(rxData)) {
+                numBytesAccepted.addAndGet(rxData.length);
+            }
+        });
+        rxThread.start();
+
+        while (numBytesAccepted.get() < 10000) {
+            Thread.sleep(1);
+        }
+        bulkCapture.stop();
+
+        rxThread.join(5000);
+        assertFalse(rxThread.isAlive());
+
+        // Every chunk accepted by write() was written to the file, and nothing after the stop
+        assertEquals(numBytesAccepted.get(), file.length());
+        assertEquals(numBytesAccepted.get(), bulkCapture.numBytesCaptured.get());
+    }
+
+    @Test
+    public void writeErrorTest() throws Exception {
+
+        // Writing to this always fails with "no space left on device"
+        File file = new File("/dev/full");
+        assumeTrue(file.exists());
+
+        bulkCapture.start(file);
+        assertTrue(bulkCapture.isCapturing.get());
+
+        // The chunk is consumed (it could not be written, but is not processed either), and the capture file closed
+        assertTrue(bulkCapture.write(new byte[]{ 1, 2, 3 }));
+        assertFalse(bulkCapture.isBypassing());
+
+        // Subsequent data goes back to being processed normally, before the capture is stopped on the UI thread
+        assertFalse(bulkCapture.write(new byte[]{ 4 }));
+    }
+
+    @Test
+    public void closeTerminalStopsCaptureTest() throws Exception {
+
+        File file = temporaryFolder.newFile("capture.bin");
+        bulkCapture.start(file);
+
+        model.closeTerminal(terminal);
+
+        assertFalse(bulkCapture.isCapturing.get());
+        assertFalse(bulkCapture.write(new byte[]{ 1 }));
+    }
+
+}
@@ -0,0 +1,163 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link CaptureReader}</code> class, reading files written by a
+ * <code>{@link CaptureWriter}</code>.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CaptureReaderTests {
+
+    private File dir;
+    private File captureFile;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("CaptureReaderTests").toFile();
+        captureFile = new File(dir, "test" + CaptureFormat.FILE_EXTENSION);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void recordsReadBackTest() throws Exception {
+
+        long startEpochMs = System.currentTimeMillis();
+
+        CaptureWriter captureWriter = new CaptureWriter(captureFile);
+        captureWriter.start();
+        captureWriter.write(CaptureRecord.Direction.RX, 1, "abc".getBytes(StandardCharsets.UTF_8));
+        captureWriter.write(CaptureRecord.Direction.TX, 2, new byte[]{0, (byte) 0xFF});
+        captureWriter.write(CaptureRecord.Direction.RX, 1, new byte[0]);
+        captureWriter.close();
+
+        assertEquals(captureWriter.getSizeBytes(), captureFile.length());
+
+        try (CaptureReader captureReader = new CaptureReader(captureFile)) {
+            assertTrue(captureReader.getStartEpochMs() >= startEpochMs);
+            assertTrue(captureReader.hasIndex());
+
+            CaptureRecord record = captureReader.next();
+            assertEquals(CaptureRecord.Direction.RX, record.direction);
+            assertEquals(1, record.terminalId);
+            assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8), record.data);
+            long prevTimestampNs = record.timestampNs;
+
+            record = captureReader.next();
+            assertEquals(CaptureRecord.Direction.TX, record.direction);
+            assertEquals(2, record.terminalId);
+            assertArrayEquals(new byte[]{0, (byte) 0xFF}, record.data);
+            assertTrue(record.timestampNs >= prevTimestampNs);
+
+            record = captureReader.next();
+            assertEquals(0, record.data.length);
+
+            assertNull(captureReader.next());
+        }
+    }
+
+    @Test
+    public void seekWithIndexTest() throws Exception {
+        List<Long> timestamps = writeNumberedRecords(1000);
+
+        try (CaptureReader captureReader = new CaptureReader(captureFile)) {
+            assertTrue(captureReader.hasIndex());
+            checkSeek(captureReader, timestamps);
+        }
+    }
+
+    @Test
+    public void seekWithoutIndexTest() throws Exception {
+        List<Long> timestamps = writeNumberedRecords(1000);
+        assertTrue(CaptureFormat.getIndexFile(captureFile).delete());
+
+        try (CaptureReader captureReader = new CaptureReader(captureFile)) {
+            assertFalse(captureReader.hasIndex());
+            checkSeek(captureReader, timestamps);
+        }
+    }
+
+    @Test
+    public void partialRecordAtEndIgnoredTest() throws Exception {
+        writeNumberedRecords(2);
+
+        // Chop the last byte off, as if NinjaTerm was killed while writing
+        try (RandomAccessFile file = new RandomAccessFile(captureFile, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        try (CaptureReader captureReader = new CaptureReader(captureFile)) {
+            assertEquals("0", new String(captureReader.next().data, StandardCharsets.UTF_8));
+            assertNull(captureReader.next());
+        }
+    }
+
+    /**
+     * Writes records holding "0", "1", "2"..., with a small index interval so there are many index entries.
+     *
+     * @return The timestamp of each record.
+     */
+    private List<Long> writeNumberedRecords(int numRecords) throws Exception {
+
+        CaptureWriter captureWriter = new CaptureWriter(captureFile);
+        captureWriter.indexIntervalBytes = 100;
+        captureWriter.start();
+        for (int i = 0; i < numRecords; i++) {
+            captureWriter.write(CaptureRecord.Direction.RX, 1, Integer.toString(i).getBytes(StandardCharsets.UTF_8));
+        }
+        captureWriter.close();
+
+        List<Long> timestamps = new ArrayList<>();
+        try (CaptureReader captureReader = new CaptureReader(captureFile)) {
+            CaptureRecord record;
+            while ((record = captureReader.next()) != null) {
+                timestamps.add(record.timestampNs);
+            }
+        }
+        assertEquals(numRecords, timestamps.size());
+        return timestamps;
+    }
+
+    private void checkSeek(CaptureReader captureReader, List<Long> timestamps) throws Exception {
+
+        for (int i : new int[]{0, 1, 500, 999, 123, 998}) {
+            captureReader.seek(timestamps.get(i));
+
+            // Records can share a timestamp, in which case the first one is returned
+            int expected = timestamps.indexOf(timestamps.get(i));
+            assertEquals(Integer.toString(expected), new String(captureReader.next().data, StandardCharsets.UTF_8));
+        }
+
+        captureReader.seek(timestamps.get(timestamps.size() - 1) + 1);
+        assertNull(captureReader.next());
+    }
+
+}
@@ -0,0 +1,146 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link LogRotator}</code> class (used through a <code>{@link LogWriter}</code>).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LogRotatorTests {
+
+    private File dir;
+    private File logFile;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("LogRotatorTests").toFile();
+        logFile = new File(dir, "test.log");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void rotatedOnSizeTest() throws Exception {
+
+        LogRotator logRotator = new LogRotator(logFile);
+        logRotator.maxSegmentSizeBytes = 10;
+
+        LogWriter logWriter = new LogWriter(logRotator, false);
+        logWriter.start();
+        // Each write is 6 bytes, so only one fits in a segment
+        logWriter.write("12345\n".getBytes(StandardCharsets.UTF_8));
+        logWriter.write("abcde\n".getBytes(StandardCharsets.UTF_8));
+        logWriter.write("ABCDE\n".getBytes(StandardCharsets.UTF_8));
+        logWriter.close();
+
+        assertEquals(2, logRotator.getNumSegmentsRotated());
+        assertEquals("ABCDE\n", readFile(logFile));
+        assertEquals("12345\n", readCompressedFile(new File(dir, "test.1.log.gz")));
+        assertEquals("abcde\n", readCompressedFile(new File(dir, "test.2.log.gz")));
+
+        // The uncompressed versions are removed once compressed
+        assertFalse(new File(dir, "test.1.log").exists());
+        assertFalse(new File(dir, "test.2.log").exists());
+    }
+
+    @Test
+    public void oldSegmentsDeletedTest() throws Exception {
+
+        LogRotator logRotator = new LogRotator(logFile);
+        logRotator.maxSegmentSizeBytes = 1;
+        logRotator.maxNumRotatedSegments = 2;
+
+        LogWriter logWriter = new LogWriter(logRotator, false);
+        logWriter.start();
+        for (int i = 0; i < 5; i++) {
+            logWriter.write(Integer.toString(i).getBytes(StandardCharsets.UTF_8));
+        }
+        logWriter.close();
+
+        assertEquals(4, logRotator.getNumSegmentsRotated());
+        assertEquals("4", readFile(logFile));
+        assertFalse(new File(dir, "test.1.log.gz").exists());
+        assertFalse(new File(dir, "test.2.log.gz").exists());
+        assertEquals("2", readCompressedFile(new File(dir, "test.3.log.gz")));
+        assertEquals("3", readCompressedFile(new File(dir, "test.4.log.gz")));
+    }
+
+    @Test
+    public void sequenceContinuedFromExistingSegmentsTest() throws Exception {
+
+        assertTrue(new File(dir, "test.7.log.gz").createNewFile());
+
+        LogRotator logRotator = new LogRotator(logFile);
+        logRotator.maxSegmentSizeBytes = 1;
+
+        LogWriter logWriter = new LogWriter(logRotator, true);
+        logWriter.start();
+        logWriter.write("a".getBytes(StandardCharsets.UTF_8));
+        logWriter.write("b".getBytes(StandardCharsets.UTF_8));
+        logWriter.close();
+
+        assertEquals("a", readCompressedFile(new File(dir, "test.8.log.gz")));
+        assertEquals("b", readFile(logFile));
+    }
+
+    @Test
+    public void noRotationWithoutLimitsTest() throws Exception {
+
+        LogRotator logRotator = new LogRotator(logFile);
+
+        LogWriter logWriter = new LogWriter(logRotator, false);
+        logWriter.start();
+        for (int i = 0; i < 100; i++) {
+            logWriter.write("abc".getBytes(StandardCharsets.UTF_8));
+        }
+        logWriter.close();
+
+        assertEquals(0, logRotator.getNumSegmentsRotated());
+        assertEquals(300, logRotator.getActiveSegmentSizeBytes());
+        assertEquals(300, logFile.length());
+    }
+
+    private String readFile(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private String readCompressedFile(File file) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(new FileInputStream(file))) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int numBytesRead;
+            while ((numBytesRead = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, numBytesRead);
+            }
+            return outputStream.toString("UTF-8");
+        }
+    }
+
+}
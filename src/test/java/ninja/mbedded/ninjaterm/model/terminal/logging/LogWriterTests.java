@@ -0,0 +1,254 @@
+package ninja.mbedded.ninjaterm.model.terminal.logging;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link LogWriter}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LogWriterTests {
+
+    @Test
+    public void allDataWrittenInOrderTest() throws Exception {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        LogWriter logWriter = new LogWriter(Channels.newChannel(outputStream));
+        logWriter.start();
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String data = "line " + i + "\n";
+            logWriter.write(data.getBytes(StandardCharsets.UTF_8));
+            expected.append(data);
+        }
+
+        logWriter.close();
+
+        assertEquals(expected.toString(), outputStream.toString("UTF-8"));
+        assertEquals(expected.length(), logWriter.getNumBytesWritten());
+        assertEquals(0, logWriter.getNumBytesDropped());
+    }
+
+    @Test
+    public void binaryDataWrittenExactlyTest() throws Exception {
+
+        File file = File.createTempFile("LogWriterTests", ".log");
+        file.deleteOnExit();
+
+        FileOutputStream fileOutputStream = new FileOutputStream(file);
+        LogWriter logWriter = new LogWriter(fileOutputStream.getChannel());
+        logWriter.isFsyncEnabled = true;
+        logWriter.start();
+
+        // Larger than the pool of buffers, so these have to be re-used
+        byte[] expected = new byte[3 * 1024 * 1024];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+        for (int i = 0; i < expected.length; i += 1000) {
+            byte[] chunk = new byte[Math.min(1000, expected.length - i)];
+            System.arraycopy(expected, i, chunk, 0, chunk.length);
+            logWriter.write(chunk);
+        }
+
+        logWriter.close();
+
+        assertArrayEquals(expected, Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void flushedAfterIntervalTest() throws Exception {
+
+        WriteSignallingOutputStream outputStream = new WriteSignallingOutputStream();
+        LogWriter logWriter = new LogWriter(Channels.newChannel(outputStream));
+        logWriter.flushIntervalMs = 50;
+        logWriter.start();
+
+        logWriter.write("abc".getBytes(StandardCharsets.UTF_8));
+
+        // Data is not written straight away (it is below the flush threshold), but is once the interval has passed
+        assertTrue(outputStream.written.await(5, TimeUnit.SECONDS));
+        assertEquals("abc", outputStream.toString("UTF-8"));
+
+        logWriter.close();
+    }
+
+    @Test
+    public void dropOverflowPolicyTest() throws Exception {
+
+        StalledOutputStream outputStream = new StalledOutputStream();
+        LogWriter logWriter = createStalledLogWriter(outputStream, LogWriter.OverflowPolicy.DROP);
+
+        logWriter.write("12345".getBytes(StandardCharsets.UTF_8));
+        logWriter.write("67890".getBytes(StandardCharsets.UTF_8));
+        assertEquals(10, logWriter.getQueueSizeBytes());
+
+        // Queue is full
+        logWriter.write("xxxxx".getBytes(StandardCharsets.UTF_8));
+        assertEquals(5, logWriter.getNumBytesDropped());
+
+        outputStream.release.countDown();
+        logWriter.close();
+
+        assertEquals("a1234567890", outputStream.toString("UTF-8"));
+    }
+
+    @Test
+    public void spillOverflowPolicyTest() throws Exception {
+
+        StalledOutputStream outputStream = new StalledOutputStream();
+        LogWriter logWriter = createStalledLogWriter(outputStream, LogWriter.OverflowPolicy.SPILL);
+
+        logWriter.write("12345".getBytes(StandardCharsets.UTF_8));
+        logWriter.write("67890".getBytes(StandardCharsets.UTF_8));
+
+        // Queue is full, these go to the spill file (including the small one which
+        // would fit, so that the order is kept)
+        logWriter.write("abcdefghijk".getBytes(StandardCharsets.UTF_8));
+        logWriter.write("z".getBytes(StandardCharsets.UTF_8));
+        assertEquals(12, logWriter.getNumBytesSpilled());
+
+        outputStream.release.countDown();
+        logWriter.close();
+
+        assertEquals("a1234567890abcdefghijkz", outputStream.toString("UTF-8"));
+        assertEquals(0, logWriter.getNumBytesDropped());
+    }
+
+    @Test
+    public void spillFileDeletedOnFailureTest() throws Exception {
+
+        Set<String> spillFilesBefore = getSpillFileNames();
+
+        StalledOutputStream outputStream = new StalledOutputStream();
+        outputStream.isFailing = true;
+        CountDownLatch failed = new CountDownLatch(1);
+        LogWriter logWriter = new LogWriter(Channels.newChannel(outputStream));
+        logWriter.maxQueueSizeBytes = 10;
+        logWriter.flushThresholdBytes = 1;
+        logWriter.overflowPolicy = LogWriter.OverflowPolicy.SPILL;
+        logWriter.errorListener = e -> failed.countDown();
+        logWriter.start();
+
+        logWriter.write("a".getBytes(StandardCharsets.UTF_8));
+        assertTrue(outputStream.stalled.await(5, TimeUnit.SECONDS));
+        logWriter.write("1234567890".getBytes(StandardCharsets.UTF_8));
+        logWriter.write("abcdefghijk".getBytes(StandardCharsets.UTF_8));
+        assertEquals(11, logWriter.getNumBytesSpilled());
+        assertFalse(getSpillFileNames().equals(spillFilesBefore));
+
+        // The stalled write of "a" now fails
+        outputStream.release.countDown();
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        logWriter.close();
+
+        assertEquals(spillFilesBefore, getSpillFileNames());
+        // The queued and spilled data (but not "a", which was being written when it failed)
+        assertEquals(21, logWriter.getNumBytesDropped());
+    }
+
+    @Test
+    public void closeWithoutStartTest() throws Exception {
+
+        File file = File.createTempFile("LogWriterTests", ".log");
+        file.deleteOnExit();
+
+        FileOutputStream fileOutputStream = new FileOutputStream(file);
+        LogWriter logWriter = new LogWriter(fileOutputStream.getChannel());
+
+        // e.g. because opening the capture file failed
+        logWriter.close();
+
+        assertFalse(fileOutputStream.getChannel().isOpen());
+    }
+
+    private Set<String> getSpillFileNames() {
+        String[] names = new File(System.getProperty("java.io.tmpdir")).list((dir, name) -> name.startsWith("NinjaTerm-log-spill-"));
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    /**
+     * Creates a log writer with a queue of 10 bytes, whose thread is stuck writing "a" to the
+     * output stream until it is released.
+     */
+    private LogWriter createStalledLogWriter(StalledOutputStream outputStream, LogWriter.OverflowPolicy overflowPolicy) throws Exception {
+        LogWriter logWriter = new LogWriter(Channels.newChannel(outputStream));
+        logWriter.maxQueueSizeBytes = 10;
+        logWriter.flushThresholdBytes = 1;
+        logWriter.overflowPolicy = overflowPolicy;
+        logWriter.start();
+
+        logWriter.write("a".getBytes(StandardCharsets.UTF_8));
+        assertTrue(outputStream.stalled.await(5, TimeUnit.SECONDS));
+        return logWriter;
+    }
+
+    private static class WriteSignallingOutputStream extends ByteArrayOutputStream {
+
+        CountDownLatch written = new CountDownLatch(1);
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            super.write(b, off, len);
+            written.countDown();
+        }
+    }
+
+    /**
+     * Blocks the first write until <code>release</code> is counted down. If <code>isFailing</code> is set,
+     * the write then fails.
+     */
+    private static class StalledOutputStream extends OutputStream {
+
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        volatile boolean isFailing = false;
+
+        private ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            stalled.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            if (isFailing)
+                throw new IOException("Write failed.");
+            data.write(b, off, len);
+        }
+
+        public String toString(String charsetName) throws IOException {
+            return data.toString(charsetName);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package ninja.mbedded.ninjaterm.util.config;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for the <code>{@link Config}</code> classes.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ConfigTests {
+
+    @Test
+    public void booleanConfigTest() throws Exception {
+        BooleanConfig config = new BooleanConfig(false);
+        List<String> changes = new ArrayList<>();
+        config.addListener((changedConfig, oldValue, newValue) -> {
+            assertSame(config, changedConfig);
+            changes.add(oldValue + "->" + newValue);
+        });
+
+        config.set(true);
+        // No change, so no notification
+        config.set(true);
+        config.setValue(false);
+
+        assertEquals(false, config.get());
+        assertEquals(2, changes.size());
+        assertEquals("false->true", changes.get(0));
+        assertEquals("true->false", changes.get(1));
+    }
+
+    @Test
+    public void intConfigTest() throws Exception {
+        IntConfig config = new IntConfig(-1);
+        List<Integer> newValues = new ArrayList<>();
+        config.addListener((changedConfig, oldValue, newValue) -> newValues.add(newValue));
+
+        config.set(10);
+        config.set(10);
+        config.set(20);
+
+        assertEquals(20, config.get());
+        assertEquals(2, newValues.size());
+    }
+
+    @Test
+    public void objectConfigUsesEqualsTest() throws Exception {
+        ObjectConfig<String> config = new ObjectConfig<>("\\n");
+        List<String> newValues = new ArrayList<>();
+        ConfigListener<String> listener = (changedConfig, oldValue, newValue) -> newValues.add(newValue);
+        config.addListener(listener);
+
+        // Equal, but not the same object
+        config.set(new String("\\n"));
+        config.set("EOL");
+        config.removeListener(listener);
+        config.set("");
+
+        assertEquals("", config.get());
+        assertEquals(1, newValues.size());
+        assertEquals("EOL", newValues.get(0));
+    }
+
+}
@@ -0,0 +1,130 @@
+package ninja.mbedded.ninjaterm.util.headless;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.LogWriter;
+import ninja.mbedded.ninjaterm.util.replay.LogFileReplaySource;
+import ninja.mbedded.ninjaterm.util.replay.ReplayComPort;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link HeadlessMain}</code> and <code>{@link HeadlessTerminal}</code> classes.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class HeadlessMainTests {
+
+    private static final String SEP = System.lineSeparator();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File inputFile;
+    private File outDir;
+
+    @Before
+    public void setUp() throws Exception {
+        inputFile = temporaryFolder.newFile("input.txt");
+        Files.write(inputFile.toPath(), "abc\ndef\nghi".getBytes(StandardCharsets.UTF_8));
+        outDir = new File(temporaryFolder.getRoot(), "out");
+    }
+
+    @Test
+    public void isHeadlessTest() throws Exception {
+        assertTrue(HeadlessMain.isHeadless(new String[]{ "--nosplash", "--headless" }));
+        assertFalse(HeadlessMain.isHeadless(new String[]{ "--nosplash" }));
+    }
+
+    @Test
+    public void replayToLogFileTest() throws Exception {
+        int exitCode = HeadlessMain.run(new String[]{
+                "--headless", "--port", "replay:" + inputFile.getPath(), "--out", outDir.getPath() });
+        assertEquals(0, exitCode);
+
+        // The partial last line is written when the terminal is closed
+        assertEquals("abc" + SEP + "def" + SEP + "ghi", readOutput());
+    }
+
+    @Test
+    public void filterTest() throws Exception {
+        int exitCode = HeadlessMain.run(new String[]{
+                "--headless", "--port", "replay:" + inputFile.getPath(), "--out", outDir.getPath(), "--filter", "def" });
+        assertEquals(0, exitCode);
+
+        assertEquals("def" + SEP, readOutput());
+    }
+
+    @Test
+    public void badArgsTest() throws Exception {
+        assertEquals(1, HeadlessMain.run(new String[]{ "--headless" }));
+        assertEquals(1, HeadlessMain.run(new String[]{ "--headless", "--port", "replay:" + inputFile.getPath(), "--baud", "1234" }));
+        assertEquals(1, HeadlessMain.run(new String[]{ "--headless", "--port", "replay:" + inputFile.getPath(), "--decoding", "BINARY" }));
+    }
+
+    @Test
+    public void consoleLinePrefixTest() throws Exception {
+
+        ReplayComPort replayComPort = new ReplayComPort(new LogFileReplaySource(inputFile, 115200, 2));
+        replayComPort.setSpeed(ReplayComPort.MAX_SPEED);
+
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        HeadlessTerminal terminal = new HeadlessTerminal(replayComPort, new PrintStream(console, true, "UTF-8"));
+        terminal.linePrefix = "[a] ";
+        terminal.rxDataEngine.isTimeStampParserEnabled.set(false);
+        terminal.open();
+
+        long startNanoTime = System.nanoTime();
+        while (!terminal.isFinished()) {
+            assertTrue(System.nanoTime() - startNanoTime < 5000000000L);
+            Thread.sleep(1);
+        }
+        terminal.close();
+
+        // Lines are split across the 2 byte chunks, but each only gets one prefix
+        assertEquals("[a] abc" + SEP + "[a] def" + SEP + "[a] ghi", new String(console.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(0, terminal.getNumErrors());
+    }
+
+    @Test
+    public void closeWithoutOpenTest() throws Exception {
+
+        File logFile = temporaryFolder.newFile("port.log");
+        FileChannel channel = new FileOutputStream(logFile).getChannel();
+        LogWriter logWriter = new LogWriter(channel);
+        logWriter.start();
+        logWriter.write("abc".getBytes(StandardCharsets.UTF_8));
+
+        ReplayComPort replayComPort = new ReplayComPort(new LogFileReplaySource(inputFile, 115200, 2));
+        HeadlessTerminal terminal = new HeadlessTerminal(replayComPort, logWriter);
+
+        // e.g. another port failed to open first
+        terminal.close();
+
+        assertFalse(channel.isOpen());
+        assertEquals("abc", new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8));
+
+        // Closing again does nothing
+        terminal.close();
+    }
+
+    private String readOutput() throws Exception {
+        File outFile = new File(outDir, inputFile.getName() + HeadlessMain.LOG_FILE_EXTENSION);
+        return new String(Files.readAllBytes(outFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+}
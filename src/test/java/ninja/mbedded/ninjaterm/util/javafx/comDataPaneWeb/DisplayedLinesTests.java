@@ -0,0 +1,154 @@
+package ninja.mbedded.ninjaterm.util.javafx.comDataPaneWeb;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the <code>{@link DisplayedLines}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class DisplayedLinesTests {
+
+    private DisplayedLines displayedLines;
+
+    @Before
+    public void setUp() throws Exception {
+        displayedLines = new DisplayedLines();
+    }
+
+    @Test
+    public void addTextTest() throws Exception {
+        displayedLines.addText("abc\nde");
+        displayedLines.addChars(3);
+
+        assertEquals(2, displayedLines.getNumLines());
+        assertEquals(5, displayedLines.getCurrLineLength());
+    }
+
+    @Test
+    public void removeWholeLinesTest() throws Exception {
+        displayedLines.addText("abc\ndefgh\n");
+        assertEquals(3, displayedLines.getNumLines());
+
+        assertEquals(1, displayedLines.removeFromStart(4, 0));
+        assertEquals(2, displayedLines.getNumLines());
+
+        assertEquals(1, displayedLines.removeFromStart(6, 0));
+        assertEquals(1, displayedLines.getNumLines());
+    }
+
+    @Test
+    public void removeWrappedLineTest() throws Exception {
+        // 10 visible chars on 4 char rows wrap onto 3 rows
+        displayedLines.addText("abcdefghij\nxy\n");
+
+        assertEquals(3, displayedLines.removeFromStart(11, 4));
+        assertEquals(2, displayedLines.getNumLines());
+    }
+
+    @Test
+    public void partialTrimTest() throws Exception {
+        displayedLines.addText("abcdefghij\nxy\n");
+
+        // 10 visible chars -> 6, so 3 rows -> 2
+        assertEquals(1, displayedLines.removeFromStart(4, 4));
+        assertEquals(3, displayedLines.getNumLines());
+
+        // 6 visible chars -> 5, still 2 rows
+        assertEquals(0, displayedLines.removeFromStart(1, 4));
+
+        // The rest of the line
+        assertEquals(2, displayedLines.removeFromStart(6, 4));
+        assertEquals(2, displayedLines.getNumLines());
+    }
+
+    @Test
+    public void trimAcrossLinesTest() throws Exception {
+        displayedLines.addText("abcdefghij\nxy\n");
+
+        // All of the first line and the start of the second, which stays on one row
+        assertEquals(3, displayedLines.removeFromStart(13, 4));
+        assertEquals(2, displayedLines.getNumLines());
+    }
+
+    @Test
+    public void emptyLinesTest() throws Exception {
+        displayedLines.addText("\n\nabc");
+
+        // An empty line still takes up a row
+        assertEquals(2, displayedLines.removeFromStart(2, 4));
+        assertEquals(1, displayedLines.getNumLines());
+        assertEquals(3, displayedLines.getCurrLineLength());
+    }
+
+    @Test
+    public void trimLastLineTest() throws Exception {
+        // The last line has no new line char, so all of its chars are visible
+        displayedLines.addText("abcdefghij");
+
+        // 10 visible chars -> 4, so 3 rows -> 1
+        assertEquals(2, displayedLines.removeFromStart(6, 4));
+        assertEquals(1, displayedLines.getNumLines());
+        assertEquals(4, displayedLines.getCurrLineLength());
+
+        // The last line is never removed, even once it is empty
+        assertEquals(0, displayedLines.removeFromStart(4, 4));
+        assertEquals(1, displayedLines.getNumLines());
+        assertEquals(0, displayedLines.getCurrLineLength());
+    }
+
+    @Test
+    public void growTest() throws Exception {
+
+        // Move the start of the circular array away from index 0 first, so it wraps around when it grows
+        for (int i = 0; i < 10; i++) {
+            displayedLines.addText("ab\n");
+        }
+        assertEquals(5, displayedLines.removeFromStart(15, 0));
+
+        // More lines than the initial capacity
+        for (int i = 0; i < 100; i++) {
+            displayedLines.addText("abcde\n");
+        }
+        displayedLines.addText("xyz");
+        assertEquals(106, displayedLines.getNumLines());
+        assertEquals(3, displayedLines.getCurrLineLength());
+
+        assertEquals(5, displayedLines.removeFromStart(15, 2));
+
+        // 5 visible chars on 2 char rows wrap onto 3 rows
+        assertEquals(300, displayedLines.removeFromStart(600, 2));
+        assertEquals(1, displayedLines.getNumLines());
+        assertEquals(3, displayedLines.getCurrLineLength());
+    }
+
+    @Test
+    public void clearCurrLineTest() throws Exception {
+        displayedLines.addText("ab\ncdef");
+
+        assertEquals(3, displayedLines.clearCurrLine(1));
+        assertEquals(1, displayedLines.getCurrLineLength());
+
+        // Nothing to remove if the line is already shorter
+        assertEquals(0, displayedLines.clearCurrLine(5));
+        assertEquals(2, displayedLines.getNumLines());
+    }
+
+    @Test
+    public void clearTest() throws Exception {
+        displayedLines.addText("ab\ncd\nef");
+
+        displayedLines.clear();
+        assertEquals(1, displayedLines.getNumLines());
+        assertEquals(0, displayedLines.getCurrLineLength());
+
+        displayedLines.addText("gh\n");
+        assertEquals(1, displayedLines.removeFromStart(3, 0));
+    }
+
+}
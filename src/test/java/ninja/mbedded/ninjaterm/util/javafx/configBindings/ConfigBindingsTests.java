@@ -0,0 +1,59 @@
+package ninja.mbedded.ninjaterm.util.javafx.configBindings;
+
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import ninja.mbedded.ninjaterm.util.config.BooleanConfig;
+import ninja.mbedded.ninjaterm.util.config.IntConfig;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the <code>{@link ConfigBindings}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ConfigBindingsTests {
+
+    @Test
+    public void configTakesPropertyValueTest() throws Exception {
+        BooleanConfig config = new BooleanConfig(false);
+        SimpleBooleanProperty property = new SimpleBooleanProperty(true);
+
+        ConfigBindings.bindBidirectional(config, property);
+        assertEquals(true, config.get());
+
+        config.set(false);
+        assertEquals(false, property.get());
+
+        property.set(true);
+        assertEquals(true, config.get());
+    }
+
+    @Test
+    public void propertyTakesConfigValueTest() throws Exception {
+        BooleanConfig config = new BooleanConfig(false);
+        SimpleBooleanProperty property = new SimpleBooleanProperty(true);
+
+        ConfigBindings.bindBidirectional(property, config);
+        assertEquals(false, property.get());
+
+        property.set(true);
+        assertEquals(true, config.get());
+    }
+
+    @Test
+    public void bindToNumberTest() throws Exception {
+        IntConfig config = new IntConfig(0);
+        SimpleIntegerProperty property = new SimpleIntegerProperty(100);
+
+        ConfigBindings.bind(config, property);
+        assertEquals(100, config.get());
+
+        property.set(200);
+        assertEquals(200, config.get());
+    }
+
+}
@@ -0,0 +1,99 @@
+package ninja.mbedded.ninjaterm.util.jmx;
+
+import ninja.mbedded.ninjaterm.model.terminal.stats.RxPipelineStageStats;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link JmxUtils}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class JmxUtilsTests {
+
+    public interface TestStatsMXBean {
+        long getBytesRx();
+
+        List<RxPipelineStageStats> getRxPipelineStages();
+    }
+
+    public static class TestStats implements TestStatsMXBean {
+
+        private final long bytesRx;
+
+        TestStats(long bytesRx) {
+            this.bytesRx = bytesRx;
+        }
+
+        @Override
+        public long getBytesRx() {
+            return bytesRx;
+        }
+
+        @Override
+        public List<RxPipelineStageStats> getRxPipelineStages() {
+            return Collections.singletonList(new RxPipelineStageStats("Decoder", 3, 1.5, 1.0, 2.0, 2.5));
+        }
+    }
+
+    private final ObjectName objectName = JmxUtils.createObjectName("Test", "1");
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    @After
+    public void tearDown() throws Exception {
+        JmxUtils.unregister(objectName);
+    }
+
+    @Test
+    public void objectNameTest() throws Exception {
+        assertEquals("ninja.mbedded.ninjaterm:type=Test,id=1", objectName.toString());
+        assertEquals("ninja.mbedded.ninjaterm:type=Global", JmxUtils.createObjectName("Global", null).toString());
+    }
+
+    @Test
+    public void registerTest() throws Exception {
+
+        assertTrue(JmxUtils.register(objectName, new TestStats(10)));
+        assertEquals(10L, mBeanServer.getAttribute(objectName, "BytesRx"));
+
+        CompositeData[] stages = (CompositeData[]) mBeanServer.getAttribute(objectName, "RxPipelineStages");
+        assertEquals(1, stages.length);
+        assertEquals("Decoder", stages[0].get("stage"));
+        assertEquals(3L, stages[0].get("numCalls"));
+        assertEquals(2.0, (Double) stages[0].get("p99LatencyUs"), 0.0);
+    }
+
+    @Test
+    public void registerReplacesTest() throws Exception {
+
+        JmxUtils.register(objectName, new TestStats(10));
+        assertTrue(JmxUtils.register(objectName, new TestStats(20)));
+        assertEquals(20L, mBeanServer.getAttribute(objectName, "BytesRx"));
+    }
+
+    @Test
+    public void unregisterTest() throws Exception {
+
+        JmxUtils.register(objectName, new TestStats(10));
+        JmxUtils.unregister(objectName);
+        assertFalse(mBeanServer.isRegistered(objectName));
+
+        // Unregistering again does nothing
+        JmxUtils.unregister(objectName);
+    }
+
+}
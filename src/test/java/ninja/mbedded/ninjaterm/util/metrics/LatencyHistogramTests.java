@@ -0,0 +1,68 @@
+package ninja.mbedded.ninjaterm.util.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link LatencyHistogram}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LatencyHistogramTests {
+
+    private LatencyHistogram latencyHistogram;
+
+    @Before
+    public void setUp() throws Exception {
+        latencyHistogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void bucketBoundsTest() throws Exception {
+        // Every value must be in a bucket whose upper bound is at or above it, and within 12.5%
+        for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE / 3}) {
+            long upperBound = LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(value));
+            assertTrue(value + " -> " + upperBound, upperBound >= value);
+            assertTrue(value + " -> " + upperBound, upperBound - value <= value / 8);
+        }
+
+        assertEquals(LatencyHistogram.getBucketIndex(15) + 1, LatencyHistogram.getBucketIndex(16));
+    }
+
+    @Test
+    public void percentilesTest() throws Exception {
+        for (int i = 1; i <= 1000; i++) {
+            latencyHistogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, latencyHistogram.getCount());
+        assertEquals(1000, latencyHistogram.getMin());
+        assertEquals(1000000, latencyHistogram.getMax());
+        assertEquals(500500.0, latencyHistogram.getMean(), 0.001);
+
+        assertWithinBucket(500000, latencyHistogram.getValueAtPercentile(50));
+        assertWithinBucket(990000, latencyHistogram.getValueAtPercentile(99));
+        assertEquals(1000000, latencyHistogram.getValueAtPercentile(100));
+    }
+
+    private void assertWithinBucket(long expected, long actual) {
+        assertTrue("Expected ~" + expected + ", got " + actual + ".", actual >= expected && actual <= expected + expected / 8);
+    }
+
+    @Test
+    public void resetTest() throws Exception {
+        latencyHistogram.record(5);
+        latencyHistogram.reset();
+
+        assertEquals(0, latencyHistogram.getCount());
+        assertEquals(0, latencyHistogram.getMin());
+        assertEquals(0, latencyHistogram.getMax());
+        assertEquals(0, latencyHistogram.getValueAtPercentile(50));
+    }
+
+}
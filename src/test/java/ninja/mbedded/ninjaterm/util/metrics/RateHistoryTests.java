@@ -0,0 +1,75 @@
+package ninja.mbedded.ninjaterm.util.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the <code>{@link RateHistory}</code> and <code>{@link DoubleRingBuffer}</code> classes.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class RateHistoryTests {
+
+    @Test
+    public void ringBufferTest() throws Exception {
+
+        DoubleRingBuffer ringBuffer = new DoubleRingBuffer(3);
+        assertEquals(0, ringBuffer.size());
+        assertEquals(0.0, ringBuffer.getMean(), 0.0);
+
+        ringBuffer.add(1.0);
+        ringBuffer.add(2.0);
+        assertEquals(2, ringBuffer.size());
+        assertEquals(1.0, ringBuffer.get(0), 0.0);
+        assertEquals(2.0, ringBuffer.get(1), 0.0);
+
+        // Wraps, overwriting the oldest
+        ringBuffer.add(6.0);
+        ringBuffer.add(4.0);
+        assertEquals(3, ringBuffer.size());
+        assertEquals(2.0, ringBuffer.get(0), 0.0);
+        assertEquals(6.0, ringBuffer.get(1), 0.0);
+        assertEquals(4.0, ringBuffer.get(2), 0.0);
+
+        assertEquals(2.0, ringBuffer.getMin(), 0.0);
+        assertEquals(4.0, ringBuffer.getMean(), 1e-9);
+        assertEquals(6.0, ringBuffer.getMax(), 0.0);
+
+        ringBuffer.clear();
+        assertEquals(0, ringBuffer.size());
+        assertEquals(0.0, ringBuffer.getMax(), 0.0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void ringBufferOutOfRangeTest() throws Exception {
+        DoubleRingBuffer ringBuffer = new DoubleRingBuffer(3);
+        ringBuffer.add(1.0);
+        ringBuffer.get(1);
+    }
+
+    @Test
+    public void perMinuteRollupTest() throws Exception {
+
+        RateHistory rateHistory = new RateHistory(10, 5);
+
+        for (int i = 0; i < 59; i++) {
+            rateHistory.addSecond(i);
+        }
+        assertEquals(10, rateHistory.perSecond.size());
+        assertEquals(0, rateHistory.perMinute.size());
+
+        rateHistory.addSecond(59);
+        assertEquals(1, rateHistory.perMinute.size());
+        assertEquals(29.5, rateHistory.perMinute.get(0), 1e-9);
+
+        for (int i = 0; i < 60; i++) {
+            rateHistory.addSecond(100.0);
+        }
+        assertEquals(2, rateHistory.perMinute.size());
+        assertEquals(100.0, rateHistory.perMinute.get(1), 1e-9);
+    }
+
+}
@@ -0,0 +1,77 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for the <code>{@link LogFileReplaySource}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class LogFileReplaySourceTests {
+
+    private File logFile;
+    private LogFileReplaySource replaySource;
+
+    @Before
+    public void setUp() throws Exception {
+        logFile = File.createTempFile("LogFileReplaySourceTests", ".log");
+        Files.write(logFile.toPath(), "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8));
+
+        // 1 byte per ms, in chunks of 8 bytes
+        replaySource = new LogFileReplaySource(logFile, 10000, 8);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        replaySource.close();
+        logFile.delete();
+    }
+
+    @Test
+    public void chunksTest() throws Exception {
+
+        CaptureRecord record = replaySource.next();
+        assertEquals("01234567", new String(record.data, StandardCharsets.UTF_8));
+        assertEquals(0, record.timestampNs);
+
+        record = replaySource.next();
+        assertEquals("89abcdef", new String(record.data, StandardCharsets.UTF_8));
+        assertEquals(8000000, record.timestampNs);
+
+        record = replaySource.next();
+        assertEquals("ghij", new String(record.data, StandardCharsets.UTF_8));
+        assertEquals(16000000, record.timestampNs);
+
+        assertNull(replaySource.next());
+    }
+
+    @Test
+    public void seekTest() throws Exception {
+
+        // Between chunks, moves to the next one
+        replaySource.seek(3000000);
+        assertEquals(8000000, replaySource.next().timestampNs);
+
+        replaySource.seek(16000000);
+        assertEquals(16000000, replaySource.next().timestampNs);
+
+        replaySource.seek(0);
+        assertEquals(0, replaySource.next().timestampNs);
+
+        replaySource.seek(1000000000);
+        assertNull(replaySource.next());
+    }
+
+}
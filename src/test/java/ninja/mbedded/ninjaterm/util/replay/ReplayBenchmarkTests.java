@@ -0,0 +1,49 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine.RxDataEngine;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link ReplayBenchmark}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ReplayBenchmarkTests {
+
+    @Test
+    public void allDataParsedTest() throws Exception {
+
+        File logFile = File.createTempFile("ReplayBenchmarkTests", ".log");
+        try {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                text.append("line ").append(i).append("\n");
+            }
+            Files.write(logFile.toPath(), text.toString().getBytes(StandardCharsets.UTF_8));
+
+            RxDataEngine rxDataEngine = new RxDataEngine();
+            ReplayBenchmark.Result result;
+            try (ReplaySource replaySource = new ReplaySourceFactory().create(logFile)) {
+                result = ReplayBenchmark.run(replaySource, rxDataEngine);
+            }
+
+            assertEquals(text.length(), result.numBytes);
+            assertEquals((text.length() + 1023) / 1024, result.numChunks);
+            assertTrue(result.getChunkTimePercentileNs(50) <= result.getChunkTimePercentileNs(99));
+            assertTrue(result.getChunkTimePercentileNs(99) <= result.getChunkTimePercentileNs(100));
+            assertEquals(text.toString(), rxDataEngine.getRawRxData());
+        } finally {
+            logFile.delete();
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package ninja.mbedded.ninjaterm.util.replay;
+
+import ninja.mbedded.ninjaterm.model.terminal.logging.CaptureRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link ReplayComPort}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ReplayComPortTests {
+
+    private static final long MS_TO_NS = 1000000L;
+
+    private ListReplaySource replaySource;
+    private ReplayComPort replayComPort;
+
+    private BlockingQueue<String> rxData = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() throws Exception {
+        replaySource = new ListReplaySource();
+        replayComPort = new ReplayComPort(replaySource);
+        replayComPort.getOnRxDataListeners().add(data -> rxData.add(new String(data, StandardCharsets.UTF_8)));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        replayComPort.close();
+    }
+
+    @Test
+    public void maxSpeedTest() throws Exception {
+
+        // An hour of data
+        for (int i = 0; i < 100; i++) {
+            replaySource.add(i * 36 * 1000 * MS_TO_NS, Integer.toString(i));
+        }
+
+        replayComPort.setSpeed(ReplayComPort.MAX_SPEED);
+        replayComPort.open();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.toString(i), rxData.poll(5, TimeUnit.SECONDS));
+        }
+        waitUntilFinished();
+    }
+
+    @Test
+    public void byteCountTest() throws Exception {
+
+        replaySource.add(0, "abc");
+        replaySource.add(0, "de");
+
+        replayComPort.setSpeed(ReplayComPort.MAX_SPEED);
+        replayComPort.open();
+        waitUntilFinished();
+
+        // Counted before the listeners are called
+        assertEquals(5, replayComPort.getNumBytesRx());
+
+        replayComPort.sendData(new byte[]{ 'f', 'g' });
+        assertEquals(2, replayComPort.getNumBytesTx());
+    }
+
+    @Test
+    public void originalTimingTest() throws Exception {
+
+        replaySource.add(0, "a");
+        replaySource.add(300 * MS_TO_NS, "b");
+
+        long startNanoTime = System.nanoTime();
+        replayComPort.open();
+
+        assertEquals("a", rxData.poll(5, TimeUnit.SECONDS));
+        assertEquals("b", rxData.poll(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startNanoTime >= 290 * MS_TO_NS);
+    }
+
+    @Test
+    public void acceleratedTimingTest() throws Exception {
+
+        replaySource.add(0, "a");
+        replaySource.add(10000 * MS_TO_NS, "b");
+
+        replayComPort.setSpeed(100.0);
+        long startNanoTime = System.nanoTime();
+        replayComPort.open();
+
+        assertEquals("a", rxData.poll(5, TimeUnit.SECONDS));
+        assertEquals("b", rxData.poll(5, TimeUnit.SECONDS));
+        long elapsedNs = System.nanoTime() - startNanoTime;
+        assertTrue(elapsedNs >= 90 * MS_TO_NS);
+        assertTrue(elapsedNs < 5000 * MS_TO_NS);
+    }
+
+    @Test
+    public void pauseAndSeekTest() throws Exception {
+
+        for (int i = 0; i < 10; i++) {
+            replaySource.add(i * MS_TO_NS, Integer.toString(i));
+        }
+
+        replayComPort.pause();
+        replayComPort.open();
+
+        assertNull(rxData.poll(100, TimeUnit.MILLISECONDS));
+
+        replayComPort.seek(7 * MS_TO_NS);
+        replayComPort.resume();
+
+        assertEquals("7", rxData.poll(5, TimeUnit.SECONDS));
+        assertEquals("8", rxData.poll(5, TimeUnit.SECONDS));
+        assertEquals("9", rxData.poll(5, TimeUnit.SECONDS));
+        waitUntilFinished();
+        assertEquals(9 * MS_TO_NS, replayComPort.getCurrTimestampNs());
+
+        // Seeking restarts a finished replay
+        replayComPort.seek(9 * MS_TO_NS);
+        assertEquals("9", rxData.poll(5, TimeUnit.SECONDS));
+    }
+
+    private void waitUntilFinished() throws Exception {
+        long startNanoTime = System.nanoTime();
+        while (!replayComPort.isFinished()) {
+            assertTrue(System.nanoTime() - startNanoTime < 5000 * MS_TO_NS);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Replays chunks held in memory.
+     */
+    private static class ListReplaySource implements ReplaySource {
+
+        private final List<CaptureRecord> records = new ArrayList<>();
+        private int index = 0;
+
+        void add(long timestampNs, String data) {
+            records.add(new CaptureRecord(timestampNs, CaptureRecord.Direction.RX, 0, data.getBytes(StandardCharsets.UTF_8), records.size()));
+        }
+
+        @Override
+        public synchronized CaptureRecord next() {
+            return index < records.size() ? records.get(index++) : null;
+        }
+
+        @Override
+        public synchronized void seek(long timestampNs) {
+            index = 0;
+            while (index < records.size() && records.get(index).timestampNs < timestampNs) {
+                index++;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser;
+
+import javafx.scene.paint.Color;
+import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the <code>{@link CarriageReturnParser}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CarriageReturnParserTests {
+
+    private CarriageReturnParser carriageReturnParser;
+
+    private StreamedData input;
+    private StreamedData output;
+
+    @Before
+    public void setUp() throws Exception {
+        carriageReturnParser = new CarriageReturnParser();
+        carriageReturnParser.isEnabled.set(true);
+
+        input = new StreamedData();
+        output = new StreamedData();
+    }
+
+    @Test
+    public void disabledTest() throws Exception {
+
+        carriageReturnParser.isEnabled.set(false);
+
+        input.append("10%\r20%");
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("", input.getText());
+        assertEquals("10%\r20%", output.getText());
+    }
+
+    @Test
+    public void rewindWithinOutputTest() throws Exception {
+
+        input.append("abc\n10%\r20%\r30%");
+        input.addMarker(new NewLineMarker(4));
+
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("", input.getText());
+        assertEquals("abc\n30%", output.getText());
+
+        // The start of the line was in the output, so there is nothing else to clear
+        assertEquals(1, output.getMarkers().size());
+        assertEquals(4, output.getNewLineMarkers().get(0).charPos);
+    }
+
+    @Test
+    public void rewindToReleasedLineTest() throws Exception {
+
+        input.append("10%");
+        carriageReturnParser.parse(input, output);
+        assertEquals("10%", output.getText());
+
+        output.clear();
+        input.append("\r20%");
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("20%", output.getText());
+        assertEquals(1, output.getMarkers().size());
+        assertEquals(ClearLineMarker.class, output.getMarkers().get(0).getClass());
+        assertEquals(0, output.getMarkers().get(0).charPos);
+    }
+
+    @Test
+    public void newLinesAreNotRewindsTest() throws Exception {
+
+        input.append("abc\r\ndef\r\r\n");
+        input.addMarker(new NewLineMarker(5));
+        input.addMarker(new NewLineMarker(11));
+
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("abc\r\ndef\r\r\n", output.getText());
+        assertEquals(2, output.getMarkers().size());
+    }
+
+    @Test
+    public void carriageReturnAsNewLinePatternTest() throws Exception {
+
+        input.append("abc\rdef");
+        input.addMarker(new NewLineMarker(4));
+
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("abc\rdef", output.getText());
+    }
+
+    @Test
+    public void trailingCarriageReturnHeldBackTest() throws Exception {
+
+        input.append("abc\r");
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("\r", input.getText());
+        assertEquals("abc", output.getText());
+
+        // Second half of "\r\n"
+        input.append("\n");
+        input.addMarker(new NewLineMarker(2));
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("", input.getText());
+        assertEquals("abc\r\n", output.getText());
+        assertEquals(1, output.getNewLineMarkers().size());
+    }
+
+    @Test
+    public void eraseLineEscapeCodesTest() throws Exception {
+
+        input.append("10%\u001B[K\u001B[2K20%\u001B[0K");
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("20%", output.getText());
+    }
+
+    @Test
+    public void partialEscapeCodeHeldBackTest() throws Exception {
+
+        input.append("10%\u001B[2");
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("\u001B[2", input.getText());
+        assertEquals("10%", output.getText());
+
+        input.append("K20%");
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("", input.getText());
+        assertEquals("20%", output.getText());
+    }
+
+    @Test
+    public void colourKeptTest() throws Exception {
+
+        input.append("10%\r20%");
+        input.addMarker(new ColourMarker(0, Color.RED));
+
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("20%", output.getText());
+        assertEquals(1, output.getColourMarkers().size());
+        assertEquals(0, output.getColourMarkers().get(0).charPos);
+        assertEquals(Color.RED, output.getColourMarkers().get(0).color);
+    }
+
+    @Test
+    public void newColourAfterRewindTest() throws Exception {
+
+        input.append("abc\n10%\r20%");
+        input.addMarker(new NewLineMarker(4));
+        input.addMarker(new ColourMarker(4, Color.RED));
+        input.addMarker(new ColourMarker(8, Color.GREEN));
+
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("abc\n20%", output.getText());
+        assertEquals(1, output.getColourMarkers().size());
+        assertEquals(4, output.getColourMarkers().get(0).charPos);
+        assertEquals(Color.GREEN, output.getColourMarkers().get(0).color);
+    }
+
+    @Test
+    public void clearLineMarkerNotDuplicatedTest() throws Exception {
+
+        input.append("\r10%\r20%\r30%");
+        carriageReturnParser.parse(input, output);
+
+        assertEquals("30%", output.getText());
+        int numClearLineMarkers = 0;
+        for (Marker marker : output.getMarkers()) {
+            if (marker instanceof ClearLineMarker)
+                numClearLineMarkers++;
+        }
+        assertEquals(1, numClearLineMarkers);
+    }
+
+}
@@ -0,0 +1,222 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.repeatedLineCollapser;
+
+import javafx.scene.paint.Color;
+import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
+import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampMarker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the <code>{@link RepeatedLineCollapser}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class RepeatedLineCollapserTests {
+
+    private RepeatedLineCollapser repeatedLineCollapser;
+
+    private StreamedData input;
+    private StreamedData output;
+
+    @Before
+    public void setUp() throws Exception {
+        repeatedLineCollapser = new RepeatedLineCollapser();
+        repeatedLineCollapser.isEnabled.set(true);
+
+        input = new StreamedData();
+        output = new StreamedData();
+    }
+
+    @Test
+    public void disabledTest() throws Exception {
+
+        repeatedLineCollapser.isEnabled.set(false);
+
+        appendLine("abc");
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+
+        assertEquals("", input.getText());
+        assertEquals("abcabc", output.getText());
+        assertEquals(2, output.getNewLineMarkers().size());
+        assertEquals(0, getRepeatCountMarkers(output).size());
+    }
+
+    @Test
+    public void repeatedLinesCollapsedTest() throws Exception {
+
+        appendLine("abc");
+        appendLine("abc");
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+
+        // New line at the end of the last line is held back until the next line is known
+        assertEquals("abc", output.getText());
+        assertEquals(0, output.getNewLineMarkers().size());
+        assertEquals("", input.getText());
+        assertEquals(1, input.getNewLineMarkers().size());
+
+        List<RepeatCountMarker> repeatCountMarkers = getRepeatCountMarkers(output);
+        assertEquals(2, repeatCountMarkers.size());
+        assertEquals(3, repeatCountMarkers.get(0).charPos);
+        assertEquals(2, repeatCountMarkers.get(0).repeatCount);
+        assertEquals(3, repeatCountMarkers.get(1).charPos);
+        assertEquals(3, repeatCountMarkers.get(1).repeatCount);
+
+        output.clear();
+        appendLine("def");
+        repeatedLineCollapser.parse(input, output);
+
+        assertEquals("def", output.getText());
+        assertEquals(1, output.getNewLineMarkers().size());
+        assertEquals(0, output.getNewLineMarkers().get(0).charPos);
+        assertEquals(0, getRepeatCountMarkers(output).size());
+    }
+
+    @Test
+    public void repeatSplitAcrossCallsTest() throws Exception {
+
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+        output.clear();
+
+        // Matches the start of the previous line, so is held back
+        input.append("ab");
+        repeatedLineCollapser.parse(input, output);
+        assertEquals("", output.getText());
+        assertEquals("ab", input.getText());
+
+        appendLine("c");
+        repeatedLineCollapser.parse(input, output);
+        assertEquals("", output.getText());
+        assertEquals(1, getRepeatCountMarkers(output).size());
+        assertEquals(2, getRepeatCountMarkers(output).get(0).repeatCount);
+    }
+
+    @Test
+    public void heldPartialLineReleasedOnMismatchTest() throws Exception {
+
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+        output.clear();
+
+        input.append("ab");
+        repeatedLineCollapser.parse(input, output);
+        assertEquals("", output.getText());
+
+        input.append("x");
+        repeatedLineCollapser.parse(input, output);
+        assertEquals("abx", output.getText());
+        assertEquals(1, output.getNewLineMarkers().size());
+        assertEquals("", input.getText());
+
+        // Completes the line, which is not a repeat of "abc"
+        appendLine("");
+        repeatedLineCollapser.parse(input, output);
+        assertEquals("abx", output.getText());
+        assertEquals(0, getRepeatCountMarkers(output).size());
+
+        // But the next line can be a repeat of it
+        appendLine("abx");
+        repeatedLineCollapser.parse(input, output);
+        assertEquals(1, getRepeatCountMarkers(output).size());
+    }
+
+    @Test
+    public void emptyLinesNotCollapsedTest() throws Exception {
+
+        appendLine("");
+        appendLine("");
+        appendLine("");
+        repeatedLineCollapser.parse(input, output);
+
+        assertEquals("", output.getText());
+        assertEquals(2, output.getNewLineMarkers().size());
+        assertEquals(1, input.getNewLineMarkers().size());
+        assertEquals(0, getRepeatCountMarkers(output).size());
+    }
+
+    @Test
+    public void emptyLineTimeStampsReleasedTest() throws Exception {
+
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+        output.clear();
+
+        // Two empty lines, each with a time stamp, and the time stamp of the line after them
+        for (int i = 0; i < 3; i++) {
+            input.addMarker(new TimeStampMarker(0, LocalDateTime.now()));
+            if (i < 2)
+                appendLine("");
+        }
+        repeatedLineCollapser.parse(input, output);
+
+        assertEquals(2, output.getNewLineMarkers().size());
+        assertEquals(2, output.getTimeStampMarkers().size());
+        assertEquals(1, input.getTimeStampMarkers().size());
+    }
+
+    @Test
+    public void colourKeptTest() throws Exception {
+
+        appendLine("abc");
+        input.addMarker(new ColourMarker(3, Color.RED));
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+
+        assertEquals("abc", output.getText());
+        assertEquals(0, output.getColourMarkers().size());
+
+        // The colour change in the removed line must still be in effect for the lines after it
+        assertEquals(1, input.getColourMarkers().size());
+        assertEquals(0, input.getColourMarkers().get(0).charPos);
+        assertEquals(Color.RED, input.getColourMarkers().get(0).color);
+    }
+
+    @Test
+    public void resetTest() throws Exception {
+
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+
+        input.clear();
+        output.clear();
+        repeatedLineCollapser.reset();
+
+        appendLine("abc");
+        repeatedLineCollapser.parse(input, output);
+
+        assertEquals("abc", output.getText());
+        assertEquals(0, getRepeatCountMarkers(output).size());
+    }
+
+    /**
+     * Appends a line as it is seen by the collapser, i.e. with the new line chars already
+     * removed by the ASCII control char parser.
+     */
+    private void appendLine(String text) {
+        input.append(text);
+        input.addMarker(new NewLineMarker(input.getText().length()));
+    }
+
+    private List<RepeatCountMarker> getRepeatCountMarkers(StreamedData streamedData) {
+        List<RepeatCountMarker> repeatCountMarkers = new ArrayList<>();
+        for (Marker marker : streamedData.getMarkers()) {
+            if (marker instanceof RepeatCountMarker)
+                repeatCountMarkers.add((RepeatCountMarker) marker);
+        }
+        return repeatCountMarkers;
+    }
+
+}
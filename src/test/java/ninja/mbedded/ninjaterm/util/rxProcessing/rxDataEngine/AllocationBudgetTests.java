@@ -0,0 +1,235 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks the number of bytes allocated by <code>{@link RxDataEngine#parse(byte[])}</code> for each byte of
+ * RX data stays within a budget. This catches changes which make the RX path allocate a lot more (e.g. building
+ * up a buffer with string concatenation), which the functional tests would not notice.
+ * <p>
+ * The allocation is measured with <code>com.sun.management.ThreadMXBean</code>, after warming up so that the
+ * JIT has compiled the RX path. The tests are skipped on JVMs which can't measure thread allocation.
+ * <p>
+ * The RX processing loggers are set to INFO while measuring, so that the budgets don't depend on how logback is
+ * configured. Debug messages which are built up without checking <code>logger.isDebugEnabled()</code> first are
+ * still counted, as the string is built before the logger gets to check the level. A single one of these is too
+ * small to push a budget over, so <code>{@link DebugLoggingTests}</code> checks for them directly.
+ * <p>
+ * Part of the allocation is string data, which takes 2 bytes per char on Java 8 but 1 byte on later JVMs
+ * (with compact strings). So the budgets are for a 1 byte char, and each one has the share of it which is string
+ * data. Only that share is scaled up by the char size of the JVM the tests are running on. When the RX path is
+ * made to allocate less, lower the budgets to match, so that the gain is kept.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class AllocationBudgetTests {
+
+    //================================================================================================//
+    //======================================== CLASS CONSTANTS =======================================//
+    //================================================================================================//
+
+    private static final int CORPUS_SIZE_BYTES = 64 * 1024;
+
+    private static final int CHUNK_SIZE_BYTES = 256;
+
+    private static final int SMALL_CHUNK_SIZE_BYTES = 16;
+
+    private static final int NUM_WARM_UP_RUNS = 3;
+
+    /**
+     * The RX data engine keeps (and copies on every call to <code>parse()</code>) up to this many chars of
+     * RX data, so the allocation depends on it. Pinned so that a change to the default doesn't move the budgets.
+     */
+    private static final int MAX_BUFFER_SIZE_CHARS = 5000;
+
+    //==============================================//
+    //==================== BUDGETS =================//
+    //==============================================//
+
+    // In bytes allocated per byte of RX data with compact strings, about 25% above what was measured on
+    // Java 17 when they were last set. Each is followed by the share of it which is string data.
+
+    /**
+     * Dominated by <code>StreamedData.shiftCharsInUntilPartialMatch()</code>, which copies the rest of the text
+     * (and allocates a new matcher) for every char it checks for a partial new line match, then by
+     * trimming the raw RX data buffer, and by the time stamp markers which are deep copied from stage to stage.
+     */
+    private static final double PLAIN_TEXT_BUDGET = 730;
+    private static final double PLAIN_TEXT_STRING_SHARE = 0.6;
+
+    /**
+     * Dominated by the copies of the text made as chars are removed from the start of a
+     * <code>StreamedData</code> object or shifted between them, once for every colour marker.
+     */
+    private static final double ANSI_ESCAPE_CODES_BUDGET = 385;
+    private static final double ANSI_ESCAPE_CODES_STRING_SHARE = 0.45;
+
+    /**
+     * Dominated by the markers created and deep copied for every line (time stamp and new line markers), the copy
+     * of the text made for every char removed by the ASCII control char parser, and the partial new line matching.
+     */
+    private static final double SHORT_LINES_BUDGET = 1110;
+    private static final double SHORT_LINES_STRING_SHARE = 0.4;
+
+    /**
+     * Dominated by the raw RX data buffer, which is concatenated with the new data and then trimmed (both copying
+     * all of it) on every call to <code>parse()</code>, so the allocation per byte goes up as the chunks get smaller.
+     */
+    private static final double SMALL_CHUNKS_BUDGET = 2620;
+    private static final double SMALL_CHUNKS_STRING_SHARE = 0.9;
+
+    private static final long SEED = 0x4E696E6A61L;
+
+    //================================================================================================//
+    //=========================================== CLASS FIELDS =======================================//
+    //================================================================================================//
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    private Logger rxProcessingLogger;
+
+    private Level rxProcessingLoggerLevel;
+
+    /**
+     * The number of bytes this JVM allocates for each char of a string.
+     */
+    private double charSizeBytes;
+
+    //================================================================================================//
+    //========================================== CLASS METHODS =======================================//
+    //================================================================================================//
+
+    @Before
+    public void setUp() throws Exception {
+        ThreadMXBean platformThreadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(platformThreadMXBean instanceof com.sun.management.ThreadMXBean);
+
+        threadMXBean = (com.sun.management.ThreadMXBean) platformThreadMXBean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        charSizeBytes = measureCharSizeBytes();
+
+        rxProcessingLogger = (Logger) LoggerFactory.getLogger("ninja.mbedded.ninjaterm.util.rxProcessing");
+        rxProcessingLoggerLevel = rxProcessingLogger.getLevel();
+        rxProcessingLogger.setLevel(Level.INFO);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (rxProcessingLogger != null)
+            rxProcessingLogger.setLevel(rxProcessingLoggerLevel);
+    }
+
+    @Test
+    public void plainTextTest() throws Exception {
+        assertWithinBudget(PLAIN_TEXT_BUDGET, PLAIN_TEXT_STRING_SHARE, createCorpus(false, 100), CHUNK_SIZE_BYTES);
+    }
+
+    @Test
+    public void ansiEscapeCodesTest() throws Exception {
+        assertWithinBudget(ANSI_ESCAPE_CODES_BUDGET, ANSI_ESCAPE_CODES_STRING_SHARE, createCorpus(true, 100), CHUNK_SIZE_BYTES);
+    }
+
+    @Test
+    public void shortLinesTest() throws Exception {
+        assertWithinBudget(SHORT_LINES_BUDGET, SHORT_LINES_STRING_SHARE, createCorpus(false, 8), CHUNK_SIZE_BYTES);
+    }
+
+    @Test
+    public void smallChunksTest() throws Exception {
+        assertWithinBudget(SMALL_CHUNKS_BUDGET, SMALL_CHUNKS_STRING_SHARE, createCorpus(false, 100), SMALL_CHUNK_SIZE_BYTES);
+    }
+
+    /**
+     * @param budget        The budget with compact strings.
+     * @param stringShare   The share of the budget which is string data, and so scales with the char size.
+     */
+    private void assertWithinBudget(double budget, double stringShare, byte[] corpus, int chunkSizeBytes) {
+        double scaledBudget = budget * (1 - stringShare) + budget * stringShare * charSizeBytes;
+        double bytesAllocatedPerByte = measureBytesAllocatedPerByte(corpus, chunkSizeBytes);
+        assertTrue(String.format("RxDataEngine.parse() allocated %.1f bytes per byte of RX data, the budget is %.1f.",
+                bytesAllocatedPerByte, scaledBudget),
+                bytesAllocatedPerByte <= scaledBudget);
+    }
+
+    /**
+     * Parses the corpus with a new RX data engine (until it is warmed up and its buffers are full), and then
+     * once more while measuring the allocation.
+     *
+     * @return The number of bytes allocated per byte of the corpus.
+     */
+    private double measureBytesAllocatedPerByte(byte[] corpus, int chunkSizeBytes) {
+
+        RxDataEngine rxDataEngine = new RxDataEngine();
+        rxDataEngine.maxBufferSize.set(MAX_BUFFER_SIZE_CHARS);
+
+        for (int i = 0; i < NUM_WARM_UP_RUNS; i++) {
+            parseInChunks(rxDataEngine, corpus, chunkSizeBytes);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long startAllocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        parseInChunks(rxDataEngine, corpus, chunkSizeBytes);
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - startAllocatedBytes;
+
+        return allocatedBytes / (double) corpus.length;
+    }
+
+    /**
+     * @return 1 on JVMs with compact strings, otherwise 2.
+     */
+    private double measureCharSizeBytes() {
+        final int numChars = 1024 * 1024;
+        long threadId = Thread.currentThread().getId();
+        long startAllocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        StringBuilder stringBuilder = new StringBuilder(numChars);
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - startAllocatedBytes;
+        return Math.round(allocatedBytes / (double) stringBuilder.capacity());
+    }
+
+    private void parseInChunks(RxDataEngine rxDataEngine, byte[] corpus, int chunkSizeBytes) {
+        for (int start = 0; start < corpus.length; start += chunkSizeBytes) {
+            rxDataEngine.parse(Arrays.copyOfRange(corpus, start, Math.min(start + chunkSizeBytes, corpus.length)));
+        }
+    }
+
+    /**
+     * @return Lines of random words, with up to <code>maxLineLength</code> chars per line. Always the same for the
+     * same arguments.
+     */
+    private byte[] createCorpus(boolean isColoured, int maxLineLength) {
+
+        Random random = new Random(SEED);
+        StringBuilder stringBuilder = new StringBuilder(CORPUS_SIZE_BYTES);
+
+        while (stringBuilder.length() < CORPUS_SIZE_BYTES) {
+            int lineLength = 1 + random.nextInt(maxLineLength);
+            for (int i = 0; i < lineLength; i++) {
+                if (isColoured && i % 16 == 0)
+                    stringBuilder.append("\u001B[3").append(1 + random.nextInt(7)).append('m');
+                stringBuilder.append(random.nextInt(8) == 0 ? ' ' : (char) ('a' + random.nextInt(26)));
+            }
+            stringBuilder.append('\n');
+        }
+
+        return stringBuilder.substring(0, CORPUS_SIZE_BYTES).getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
@@ -0,0 +1,110 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the RX path does not build debug messages when debug logging is disabled. Such a message is
+ * built (and thrown away) for every chunk or line of RX data, which the allocation budgets in
+ * <code>{@link AllocationBudgetTests}</code> are not fine-grained enough to notice.
+ * <p>
+ * A message which is a string literal costs nothing to pass to the logger, so only messages which were built
+ * at run time (i.e. are not the interned copy of the string) are reported.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class DebugLoggingTests {
+
+    private static final String RX_PROCESSING_LOGGER_NAME = "ninja.mbedded.ninjaterm.util.rxProcessing";
+
+    /**
+     * Records the debug messages passed to the RX processing loggers which were built at run time.
+     * Turbo filters are called before the logger checks the level, so they see messages which are then dropped.
+     */
+    private static class BuiltMessageRecorder extends TurboFilter {
+
+        final List<String> builtMessages = new ArrayList<>();
+
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+            // format is null for calls to isDebugEnabled()
+            if (level == Level.DEBUG && format != null && logger.getName().startsWith(RX_PROCESSING_LOGGER_NAME)
+                    && new String(format).intern() != format)
+                builtMessages.add(logger.getName() + ": " + format);
+            return FilterReply.NEUTRAL;
+        }
+    }
+
+    private LoggerContext loggerContext;
+
+    private BuiltMessageRecorder builtMessageRecorder;
+
+    private Logger rxProcessingLogger;
+
+    private Level rxProcessingLoggerLevel;
+
+    @Before
+    public void setUp() throws Exception {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        rxProcessingLogger = loggerContext.getLogger(RX_PROCESSING_LOGGER_NAME);
+        rxProcessingLoggerLevel = rxProcessingLogger.getLevel();
+        rxProcessingLogger.setLevel(Level.INFO);
+
+        builtMessageRecorder = new BuiltMessageRecorder();
+        builtMessageRecorder.start();
+        loggerContext.addTurboFilter(builtMessageRecorder);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        loggerContext.getTurboFilterList().remove(builtMessageRecorder);
+        rxProcessingLogger.setLevel(rxProcessingLoggerLevel);
+    }
+
+    @Test
+    public void parseTest() throws Exception {
+        RxDataEngine rxDataEngine = new RxDataEngine();
+        rxDataEngine.isTimeStampParserEnabled.set(true);
+        parse(rxDataEngine);
+        assertNoBuiltMessages();
+    }
+
+    @Test
+    public void parseWithFilterTest() throws Exception {
+        RxDataEngine rxDataEngine = new RxDataEngine();
+        rxDataEngine.setFilterPattern("b");
+        parse(rxDataEngine);
+        assertNoBuiltMessages();
+    }
+
+    private void parse(RxDataEngine rxDataEngine) {
+        // Plain text, colours, control chars, carriage returns and a partial escape code split across chunks
+        rxDataEngine.parse("abc\r\n\u001B[31mdef\n\u0007ghi\rjkl\n".getBytes(StandardCharsets.UTF_8));
+        rxDataEngine.parse("bcd\u001B[3".getBytes(StandardCharsets.UTF_8));
+        rxDataEngine.parse("2mefg\nabc\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void assertNoBuiltMessages() {
+        assertTrue("Debug messages were built while debug logging was disabled (guard them with " +
+                        "logger.isDebugEnabled()): " + builtMessageRecorder.builtMessages,
+                builtMessageRecorder.builtMessages.isEmpty());
+    }
+
+}
@@ -0,0 +1,54 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the metrics recorded by the <code>{@link RxDataEngine}</code>.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class MetricsTests {
+
+    private RxDataEngine rxDataEngine;
+
+    @Before
+    public void setUp() throws Exception {
+        rxDataEngine = new RxDataEngine();
+    }
+
+    @Test
+    public void everyStageRecordedTest() throws Exception {
+        rxDataEngine.parse("abc\n".getBytes());
+        rxDataEngine.parse("def\n".getBytes());
+
+        for (RxDataEngineMetrics.Stage stage : RxDataEngineMetrics.Stage.values()) {
+            assertEquals(stage.label, 2, rxDataEngine.metrics.get(stage).getNumCalls());
+            assertEquals(stage.label, 2, rxDataEngine.metrics.get(stage).latencyNs.getCount());
+        }
+
+        assertEquals(8, rxDataEngine.metrics.get(RxDataEngineMetrics.Stage.DECODER).getNumIn());
+        assertEquals(8, rxDataEngine.metrics.get(RxDataEngineMetrics.Stage.DECODER).getNumOut());
+        assertEquals(2, rxDataEngine.metrics.total.getNumCalls());
+        assertTrue(rxDataEngine.metrics.total.latencyNs.getMax() > 0);
+    }
+
+    @Test
+    public void disabledAndResetTest() throws Exception {
+        rxDataEngine.parse("abc".getBytes());
+
+        rxDataEngine.metrics.reset();
+        assertEquals(0, rxDataEngine.metrics.total.getNumCalls());
+
+        rxDataEngine.metrics.isEnabled.set(false);
+        rxDataEngine.parse("abc".getBytes());
+        assertEquals(0, rxDataEngine.metrics.total.getNumCalls());
+        assertEquals(0, rxDataEngine.metrics.get(RxDataEngineMetrics.Stage.DECODER).getNumCalls());
+    }
+
+}
@@ -0,0 +1,99 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.rxDataEngine;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the <code>{@link RxDataEngine}</code> can be used without the JavaFX toolkit or JavaFX properties,
+ * by loading it (and all of NinjaTerm's classes it uses) through a class loader which refuses to load them.
+ * <p>
+ * <code>javafx.scene.paint.Color</code> is still allowed, as it is a plain value class used by the colour markers.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class NoJavaFXTests {
+
+    private static final String[] BLOCKED_PACKAGE_PREFIXES = {
+            "javafx.beans.",
+            "javafx.collections.",
+            "javafx.application.",
+            "javafx.stage.",
+            "javafx.scene.control.",
+            "com.sun.javafx.application.",
+            "com.sun.javafx.tk.",
+    };
+
+    private static final String NINJATERM_PACKAGE_PREFIX = "ninja.mbedded.ninjaterm.";
+
+    /**
+     * Loads NinjaTerm's classes itself (so that the classes they use are also loaded through here), and refuses
+     * to load any of the blocked JavaFX classes.
+     */
+    private static class NoJavaFXClassLoader extends ClassLoader {
+
+        NoJavaFXClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+
+                for (String prefix : BLOCKED_PACKAGE_PREFIXES) {
+                    if (name.startsWith(prefix))
+                        throw new ClassNotFoundException(name + " must not be used by the RX data engine.");
+                }
+
+                if (!name.startsWith(NINJATERM_PACKAGE_PREFIX))
+                    return super.loadClass(name, resolve);
+
+                Class<?> loadedClass = findLoadedClass(name);
+                if (loadedClass == null) {
+                    byte[] bytes = readClassBytes(name);
+                    loadedClass = defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve)
+                    resolveClass(loadedClass);
+                return loadedClass;
+            }
+        }
+
+        private byte[] readClassBytes(String name) throws ClassNotFoundException {
+            try (InputStream inputStream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (inputStream == null)
+                    throw new ClassNotFoundException(name);
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int numBytesRead;
+                while ((numBytesRead = inputStream.read(buffer)) != -1) {
+                    bytes.write(buffer, 0, numBytesRead);
+                }
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    @Test
+    public void parseWithoutJavaFXTest() throws Exception {
+
+        ClassLoader classLoader = new NoJavaFXClassLoader(getClass().getClassLoader());
+        Class<?> rxDataEngineClass = classLoader.loadClass(RxDataEngine.class.getName());
+
+        Object rxDataEngine = rxDataEngineClass.getDeclaredConstructor().newInstance();
+        rxDataEngineClass.getMethod("parse", byte[].class).invoke(rxDataEngine,
+                "abc\r\n\u001B[31mdef\n\u0007ghi".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("abc\r\n\u001B[31mdef\n\u0007ghi", rxDataEngineClass.getMethod("getRawRxData").invoke(rxDataEngine));
+    }
+
+}
@@ -12,7 +12,7 @@ import static org.junit.Assert.assertEquals;
  *
  * @author          Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
  * @since           2016-09-27
- * @last-modified   2016-11-24
+ * @last-modified   2026-10-19
  */
 public class SmallTests {
 
@@ -163,4 +163,20 @@ public class SmallTests {
         assertEquals(28, output.getNewLineMarkers().get(1).charPos);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void carriageReturnOverwriteTest() throws Exception {
+        rxDataEngine.isCarriageReturnParserEnabled.set(true);
+
+        rxDataEngine.parse("abc\r\n10%".getBytes());
+        rxDataEngine.parse("\r20%".getBytes());
+        rxDataEngine.parse("\r30%\r\n".getBytes());
+
+        // The control chars parser removes the "\r\n" on the first line
+        assertEquals("abc10%20%30%", output.getText());
+
+        // The stored output only contains the last redraw of the line
+        assertEquals("abc\r\n30%\r\n", rxDataEngine.totalNewLineParserOutput.getText());
+        assertEquals(2, rxDataEngine.totalNewLineParserOutput.getNewLineMarkers().size());
+    }
+}
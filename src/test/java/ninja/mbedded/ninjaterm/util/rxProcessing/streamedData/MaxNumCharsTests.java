@@ -27,7 +27,7 @@ public class MaxNumCharsTests {
     @Test
     public void twoCharsTest() throws Exception {
 
-        streamedData.maxNumChars.set(2);
+        streamedData.setMaxNumChars(2);
 
         streamedData.append("12");
 
@@ -45,7 +45,7 @@ public class MaxNumCharsTests {
     @Test
     public void zeroCharsTest() throws Exception {
 
-        streamedData.maxNumChars.set(0);
+        streamedData.setMaxNumChars(0);
 
         streamedData.append("12");
 
@@ -58,7 +58,7 @@ public class MaxNumCharsTests {
     public void infiniteCharsTest() throws Exception {
 
         // Set the max. chars to "no limit"
-        streamedData.maxNumChars.set(-1);
+        streamedData.setMaxNumChars(-1);
 
         // Add heaps of data
         for (int i = 0; i < 1000; i++)
@@ -0,0 +1,124 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.streamedData;
+
+import javafx.scene.paint.Color;
+import ninja.mbedded.ninjaterm.util.rxProcessing.Marker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the <code>removeCharsFromStart()</code> method of <code>StreamedData</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @last-modified 2026-10-19
+ * @since 2026-10-19
+ */
+public class RemoveCharsFromStartTests {
+
+    private StreamedData streamedData;
+
+    @Before
+    public void setUp() throws Exception {
+        streamedData = new StreamedData();
+    }
+
+    @Test
+    public void textOnlyTest() throws Exception {
+
+        streamedData.append("12345");
+
+        streamedData.removeCharsFromStart(2, false);
+
+        assertEquals("345", streamedData.getText());
+    }
+
+    @Test
+    public void markersTest() throws Exception {
+
+        streamedData.append("12345");
+        streamedData.addMarker(new ColourMarker(0, Color.RED));
+        streamedData.addMarker(new ColourMarker(2, Color.GREEN));
+        streamedData.addMarker(new NewLineMarker(2));
+        streamedData.addMarker(new NewLineMarker(4));
+
+        streamedData.removeCharsFromStart(2, false);
+
+        assertEquals("345", streamedData.getText());
+
+        // The colour and new line at the boundary are kept
+        assertEquals(1, streamedData.getColourMarkers().size());
+        assertEquals(0, streamedData.getColourMarkers().get(0).charPos);
+        assertEquals(Color.GREEN, streamedData.getColourMarkers().get(0).color);
+
+        assertEquals(2, streamedData.getNewLineMarkers().size());
+        assertEquals(0, streamedData.getNewLineMarkers().get(0).charPos);
+        assertEquals(2, streamedData.getNewLineMarkers().get(1).charPos);
+    }
+
+    @Test
+    public void deleteNewLinesTest() throws Exception {
+
+        streamedData.append("12345");
+        streamedData.addMarker(new NewLineMarker(2));
+        streamedData.addMarker(new NewLineMarker(4));
+
+        streamedData.removeCharsFromStart(2, true);
+
+        assertEquals("345", streamedData.getText());
+        assertEquals(1, streamedData.getNewLineMarkers().size());
+        assertEquals(2, streamedData.getNewLineMarkers().get(0).charPos);
+    }
+
+    @Test
+    public void sameAsRemovingOneCharAtATimeTest() throws Exception {
+
+        for (boolean deleteNewLines : new boolean[]{false, true}) {
+            for (int numCharsToRemove = 0; numCharsToRemove <= 6; numCharsToRemove++) {
+
+                StreamedData bulk = createTestData();
+                StreamedData oneAtATime = createTestData();
+
+                bulk.removeCharsFromStart(numCharsToRemove, deleteNewLines);
+                for (int i = 0; i < numCharsToRemove; i++) {
+                    oneAtATime.removeChar(0, deleteNewLines);
+                }
+
+                assertEquals(oneAtATime.getText(), bulk.getText());
+
+                Collections.sort(bulk.getMarkers());
+                Collections.sort(oneAtATime.getMarkers());
+                assertEquals(oneAtATime.getMarkers().size(), bulk.getMarkers().size());
+                for (int i = 0; i < bulk.getMarkers().size(); i++) {
+                    Marker expected = oneAtATime.getMarkers().get(i);
+                    Marker actual = bulk.getMarkers().get(i);
+                    assertEquals(expected.getClass(), actual.getClass());
+                    assertEquals(expected.charPos, actual.charPos);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyCharsTest() throws Exception {
+
+        streamedData.append("12");
+
+        streamedData.removeCharsFromStart(3, false);
+    }
+
+    private StreamedData createTestData() {
+        StreamedData data = new StreamedData();
+        data.append("abcdef");
+        data.addMarker(new ColourMarker(0, Color.RED));
+        data.addMarker(new NewLineMarker(1));
+        data.addMarker(new ColourMarker(3, Color.GREEN));
+        data.addMarker(new NewLineMarker(3));
+        data.addMarker(new NewLineMarker(6));
+        return data;
+    }
+}
@@ -0,0 +1,133 @@
+package ninja.mbedded.ninjaterm.util.rxProcessing.streamedDataFormatter;
+
+import javafx.scene.paint.Color;
+import ninja.mbedded.ninjaterm.util.rxProcessing.ansiECParser.ColourMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.carriageReturnParser.ClearLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.newLineParser.NewLineMarker;
+import ninja.mbedded.ninjaterm.util.rxProcessing.streamedData.StreamedData;
+import ninja.mbedded.ninjaterm.util.rxProcessing.timeStamp.TimeStampMarker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the <code>{@link StreamedDataFormatter}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class StreamedDataFormatterTests {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 10, 19, 12, 34, 56, 789000000);
+    private static final String TIME_STAMP = "2026-10-19 12-34-56.789: ";
+
+    private StreamedDataFormatter streamedDataFormatter;
+    private StreamedData input;
+    private StringBuilder output;
+
+    @Before
+    public void setUp() throws Exception {
+        streamedDataFormatter = new StreamedDataFormatter();
+        streamedDataFormatter.lineSeparator = "\r\n";
+
+        input = new StreamedData();
+        output = new StringBuilder();
+    }
+
+    @Test
+    public void newLinesTest() throws Exception {
+
+        input.append("abcdef");
+        input.addMarker(new NewLineMarker(3));
+        input.addMarker(new NewLineMarker(6));
+        streamedDataFormatter.format(input, output);
+
+        assertEquals("abc\r\ndef\r\n", output.toString());
+    }
+
+    @Test
+    public void partialLineHeldUntilFlushTest() throws Exception {
+
+        input.append("abc");
+        streamedDataFormatter.format(input, output);
+        assertEquals("", output.toString());
+
+        input.clear();
+        input.append("def");
+        input.addMarker(new NewLineMarker(3));
+        input.append("gh");
+        streamedDataFormatter.format(input, output);
+        assertEquals("abcdef\r\n", output.toString());
+
+        streamedDataFormatter.flush(output);
+        assertEquals("abcdef\r\ngh", output.toString());
+    }
+
+    @Test
+    public void timeStampTest() throws Exception {
+
+        input.addMarker(new TimeStampMarker(0, TIME));
+        input.append("abc");
+        input.addMarker(new NewLineMarker(3));
+        streamedDataFormatter.format(input, output);
+
+        assertEquals(TIME_STAMP + "abc\r\n", output.toString());
+    }
+
+    @Test
+    public void emptyLineTimeStampsTest() throws Exception {
+
+        // Two empty lines after "abc", each with their own time stamp
+        input.append("abc");
+        input.addMarker(new NewLineMarker(3));
+        input.addMarker(new TimeStampMarker(3, TIME));
+        input.addMarker(new NewLineMarker(3));
+        input.addMarker(new TimeStampMarker(3, TIME));
+        input.addMarker(new NewLineMarker(3));
+        streamedDataFormatter.format(input, output);
+
+        assertEquals("abc\r\n" + TIME_STAMP + "\r\n" + TIME_STAMP + "\r\n", output.toString());
+    }
+
+    @Test
+    public void coloursStrippedTest() throws Exception {
+
+        input.append("abc");
+        input.addMarker(new ColourMarker(1, Color.RED));
+        input.addMarker(new NewLineMarker(3));
+        streamedDataFormatter.format(input, output);
+
+        assertEquals("abc\r\n", output.toString());
+    }
+
+    @Test
+    public void coloursAsAnsiTest() throws Exception {
+
+        streamedDataFormatter.colourMode = StreamedDataFormatter.ColourMode.ANSI;
+
+        input.append("abc");
+        input.addMarker(new ColourMarker(1, Color.rgb(170, 0, 0)));
+        input.addMarker(new NewLineMarker(3));
+        streamedDataFormatter.format(input, output);
+
+        assertEquals("a\u001B[31mbc\r\n", output.toString());
+    }
+
+    @Test
+    public void clearedLineKeepsTimeStampTest() throws Exception {
+
+        input.addMarker(new TimeStampMarker(0, TIME));
+        input.append("50%");
+        input.addMarker(new ClearLineMarker(3));
+        input.append("100%");
+        input.addMarker(new NewLineMarker(7));
+        streamedDataFormatter.format(input, output);
+
+        assertEquals(TIME_STAMP + "100%\r\n", output.toString());
+    }
+
+}
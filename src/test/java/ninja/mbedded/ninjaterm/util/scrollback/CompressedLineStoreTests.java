@@ -0,0 +1,127 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link CompressedLineStore}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class CompressedLineStoreTests {
+
+    private CompressedLineStore compressedLineStore;
+
+    @Before
+    public void setUp() throws Exception {
+        compressedLineStore = new CompressedLineStore(1024);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        compressedLineStore.close();
+    }
+
+    @Test
+    public void linesAcrossBlocksTest() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            compressedLineStore.addLine("temp = " + i + " °C");
+        }
+
+        assertEquals(1000, compressedLineStore.getNumLines());
+
+        // In random order, so that blocks are decompressed more than once
+        for (int i = 0; i < 1000; i++) {
+            int lineNum = (i * 7919) % 1000;
+            assertEquals("temp = " + lineNum + " °C", compressedLineStore.getLine(lineNum));
+        }
+    }
+
+    @Test
+    public void lineLongerThanBlockTest() throws Exception {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            longLine.append((char) ('a' + i % 26));
+        }
+
+        compressedLineStore.addLine("before");
+        compressedLineStore.addLine(longLine.toString());
+        compressedLineStore.addLine("after");
+        compressedLineStore.addLine("");
+
+        assertEquals("before", compressedLineStore.getLine(0));
+        assertEquals(longLine.toString(), compressedLineStore.getLine(1));
+        assertEquals("after", compressedLineStore.getLine(2));
+        assertEquals("", compressedLineStore.getLine(3));
+    }
+
+    @Test
+    public void compressionRatioTest() throws Exception {
+        for (int i = 0; i < 10000; i++) {
+            compressedLineStore.addLine("2026-10-19 12:00:00.000: ADC reading ch" + (i % 4) + " = " + (i % 100));
+        }
+
+        double compressionRatio = (double) compressedLineStore.getSizeBytes() / compressedLineStore.getStoredSizeBytes();
+        assertTrue("Compression ratio was only " + compressionRatio + ".", compressionRatio > 3.0);
+    }
+
+    @Test
+    public void clearTest() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            compressedLineStore.addLine("old " + i);
+        }
+        compressedLineStore.getLine(0);
+
+        compressedLineStore.clear();
+        assertEquals(0, compressedLineStore.getNumLines());
+        assertEquals(0, compressedLineStore.getSizeBytes());
+
+        for (int i = 0; i < 500; i++) {
+            compressedLineStore.addLine("new " + i);
+        }
+        assertEquals("new 0", compressedLineStore.getLine(0));
+        assertEquals("new 499", compressedLineStore.getLine(499));
+    }
+
+    @Test
+    public void trimToSizeTest() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            compressedLineStore.addLine("temp = " + i + " °C");
+        }
+        long storedSizeBytes = compressedLineStore.getStoredSizeBytes();
+
+        long numLinesRemoved = compressedLineStore.trimToSize(storedSizeBytes / 2);
+
+        // Whole blocks are removed, oldest first
+        assertTrue(numLinesRemoved > 0);
+        assertTrue(compressedLineStore.getStoredSizeBytes() <= storedSizeBytes / 2);
+        assertEquals(1000 - numLinesRemoved, compressedLineStore.getNumLines());
+        assertEquals("temp = " + numLinesRemoved + " °C", compressedLineStore.getLine(0));
+        assertEquals("temp = 999 °C", compressedLineStore.getLine(compressedLineStore.getNumLines() - 1));
+
+        // Lines can still be added after trimming
+        compressedLineStore.addLine("new");
+        assertEquals("new", compressedLineStore.getLine(compressedLineStore.getNumLines() - 1));
+    }
+
+    @Test
+    public void trimToSizeKeepsHotBlockTest() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            compressedLineStore.addLine("temp = " + i + " °C");
+        }
+
+        compressedLineStore.trimToSize(0);
+
+        // Only the uncompressed lines are left
+        assertTrue(compressedLineStore.getNumLines() > 0);
+        assertTrue(compressedLineStore.getSizeBytes() <= 1024);
+        assertEquals("temp = 999 °C", compressedLineStore.getLine(compressedLineStore.getNumLines() - 1));
+    }
+
+}
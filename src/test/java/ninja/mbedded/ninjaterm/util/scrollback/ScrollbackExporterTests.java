@@ -0,0 +1,59 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link ScrollbackExporter}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ScrollbackExporterTests {
+
+    private static final String RED = "\u001B[31m";
+
+    private String export(ScrollbackExporter.Format format, String... lines) throws Exception {
+        StringWriter writer = new StringWriter();
+        ScrollbackExporter exporter = new ScrollbackExporter(writer, format, "\n");
+        exporter.writeHeader();
+        for (String line : lines) {
+            exporter.writeLine(line);
+        }
+        exporter.writeFooter();
+        return writer.toString();
+    }
+
+    @Test
+    public void plainTextTest() throws Exception {
+        assertEquals("abc\ndef\n", export(ScrollbackExporter.Format.PLAIN_TEXT, "a" + RED + "bc", "def"));
+    }
+
+    @Test
+    public void ansiTest() throws Exception {
+        // The colour is reset at the end, as it was still in effect
+        assertEquals("a" + RED + "bc\ndef\n\u001B[0m", export(ScrollbackExporter.Format.ANSI, "a" + RED + "bc", "def"));
+
+        assertEquals("abc\n", export(ScrollbackExporter.Format.ANSI, "abc"));
+    }
+
+    @Test
+    public void htmlTest() throws Exception {
+        String html = export(ScrollbackExporter.Format.HTML, "a" + RED + "<b>", "c\u001B[0md");
+
+        // The span carries on over the new line, until the reset code
+        assertTrue(html, html.contains("<body>a<span style=\"color: #AA0000\">&lt;b&gt;\nc</span>d\n</body>"));
+    }
+
+    @Test
+    public void htmlSpanClosedAtEndTest() throws Exception {
+        String html = export(ScrollbackExporter.Format.HTML, RED + "abc");
+        assertTrue(html, html.endsWith("<span style=\"color: #AA0000\">abc\n</span></body>\n</html>\n"));
+    }
+
+}
@@ -0,0 +1,180 @@
+package ninja.mbedded.ninjaterm.util.scrollback;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link ScrollbackStore}</code> class (with a <code>{@link MemoryMappedLineStore}</code>).
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class ScrollbackStoreTests {
+
+    private ScrollbackStore scrollbackStore;
+
+    @Before
+    public void setUp() throws Exception {
+        // Tiny segments, so that lines (and index entries) are split across segment boundaries
+        scrollbackStore = new ScrollbackStore(3, new MemoryMappedLineStore(16));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scrollbackStore.close();
+    }
+
+    @Test
+    public void linesInMemoryOnlyTest() throws Exception {
+        scrollbackStore.addLine("a");
+        scrollbackStore.addLine("b");
+
+        assertEquals(2, scrollbackStore.getNumLines());
+        assertEquals(0, scrollbackStore.getNumLinesSpilled());
+        assertEquals("a", scrollbackStore.getLine(0));
+        assertEquals("b", scrollbackStore.getLine(1));
+    }
+
+    @Test
+    public void spillToDiskTest() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            scrollbackStore.addLine("line " + i + " µ");
+        }
+
+        assertEquals(100, scrollbackStore.getNumLines());
+        assertEquals(3, scrollbackStore.getNumLinesInMemory());
+        assertEquals(97, scrollbackStore.getNumLinesSpilled());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("line " + i + " µ", scrollbackStore.getLine(i));
+        }
+    }
+
+    @Test
+    public void emptyLinesTest() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            scrollbackStore.addLine("");
+        }
+        scrollbackStore.addLine("x");
+
+        assertEquals("", scrollbackStore.getLine(0));
+        assertEquals("", scrollbackStore.getLine(2));
+        assertEquals("x", scrollbackStore.getLine(5));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void lineOutOfRangeTest() throws Exception {
+        scrollbackStore.addLine("a");
+        scrollbackStore.getLine(1);
+    }
+
+    @Test
+    public void searchTest() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            scrollbackStore.addLine(i % 5 == 0 ? "ERROR " + i : "ok " + i);
+        }
+
+        // Forwards, starting on a match
+        assertEquals(5, scrollbackStore.search("error", 5, true, false));
+        assertEquals(10, scrollbackStore.search("error", 6, true, false));
+
+        // Backwards, from the newest line (which is in memory) to lines on disk
+        assertEquals(15, scrollbackStore.search("error", 19, false, false));
+        assertEquals(0, scrollbackStore.search("error", 4, false, false));
+
+        assertEquals(-1, scrollbackStore.search("error", 16, true, false));
+        assertEquals(-1, scrollbackStore.search("error", 19, false, true));
+    }
+
+    @Test
+    public void searchMaxNumLinesTest() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            scrollbackStore.addLine(i % 5 == 0 ? "ERROR " + i : "ok " + i);
+        }
+
+        // Only lines 6-9 are searched
+        assertEquals(-1, scrollbackStore.search("error", 6, true, false, 4));
+        assertEquals(10, scrollbackStore.search("error", 6, true, false, 5));
+
+        // Only lines 14-11 are searched
+        assertEquals(-1, scrollbackStore.search("error", 14, false, false, 4));
+        assertEquals(10, scrollbackStore.search("error", 14, false, false, 5));
+
+        // Chunks which go past the first/last line
+        assertEquals(15, scrollbackStore.search("error", 11, true, false, 100));
+        assertEquals(-1, scrollbackStore.search("error", 16, true, false, 100));
+        assertEquals(0, scrollbackStore.search("error", 4, false, false, 100));
+        assertEquals(-1, scrollbackStore.search("error", -1, false, false, 100));
+    }
+
+    @Test
+    public void searchIgnoresEscapeCodesTest() throws Exception {
+        scrollbackStore.addLine("ER\u001B[31mROR");
+        scrollbackStore.addLine("code 31m");
+
+        assertEquals(0, scrollbackStore.search("error", 0, true, false));
+        assertEquals(1, scrollbackStore.search("31m", 0, true, false));
+    }
+
+    @Test
+    public void clearTest() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            scrollbackStore.addLine("old " + i);
+        }
+
+        scrollbackStore.clear();
+        assertEquals(0, scrollbackStore.getNumLines());
+
+        // The mapped files are re-used after clearing
+        for (int i = 0; i < 10; i++) {
+            scrollbackStore.addLine("new " + i);
+        }
+        assertEquals(10, scrollbackStore.getNumLines());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("new " + i, scrollbackStore.getLine(i));
+        }
+    }
+
+    @Test
+    public void maxSpilledSizeTest() throws Exception {
+        // Each line takes up 6-7 bytes (plus 8 for its index entry), so old segments are freed every few lines
+        scrollbackStore.setMaxSpilledSizeBytes(64);
+
+        for (int i = 0; i < 100; i++) {
+            scrollbackStore.addLine("line " + i);
+        }
+
+        long numLinesRemoved = scrollbackStore.getNumLinesRemoved();
+        assertTrue(numLinesRemoved > 0);
+        assertTrue(scrollbackStore.getSpillStore().getStoredSizeBytes() <= 64);
+        assertEquals(100 - numLinesRemoved, scrollbackStore.getNumLines());
+
+        // The oldest remaining line is now line 0
+        assertEquals("line " + numLinesRemoved, scrollbackStore.getLine(0));
+        for (int i = 0; i < scrollbackStore.getNumLines(); i++) {
+            assertEquals("line " + (numLinesRemoved + i), scrollbackStore.getLine(i));
+        }
+
+        scrollbackStore.clear();
+        assertEquals(0, scrollbackStore.getNumLinesRemoved());
+    }
+
+    @Test
+    public void setMaxSpilledSizeTrimsTest() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            scrollbackStore.addLine("line " + i);
+        }
+        assertEquals(0, scrollbackStore.getNumLinesRemoved());
+
+        scrollbackStore.setMaxSpilledSizeBytes(64);
+
+        assertTrue(scrollbackStore.getNumLinesRemoved() > 0);
+        assertEquals("line 99", scrollbackStore.getLine(scrollbackStore.getNumLines() - 1));
+    }
+
+}
@@ -0,0 +1,85 @@
+package ninja.mbedded.ninjaterm.util.soak;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the <code>{@link GeneratedComPort}</code> class.
+ *
+ * @author Geoffrey Hunter <gbmhunter@gmail.com> (www.mbedded.ninja)
+ * @since 2026-10-19
+ * @last-modified 2026-10-19
+ */
+public class GeneratedComPortTests {
+
+    private static final int CHUNK_SIZE_BYTES = 100;
+
+    /**
+     * A chunk every 10ms.
+     */
+    private static final double BYTES_PER_SECOND = 10000;
+
+    private GeneratedComPort generatedComPort;
+
+    private BlockingQueue<Long> scheduledNanoTimes = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() throws Exception {
+        generatedComPort = new GeneratedComPort(BYTES_PER_SECOND, CHUNK_SIZE_BYTES, 0);
+        generatedComPort.getOnRxDataListeners().add(data -> scheduledNanoTimes.add(generatedComPort.getCurrChunkScheduledNanoTime()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        generatedComPort.close();
+    }
+
+    @Test
+    public void scheduleTest() throws Exception {
+        long openNanoTime = System.nanoTime();
+        generatedComPort.open();
+        assertTrue(generatedComPort.isPortOpen());
+
+        long prevScheduledNanoTime = 0;
+        for (int i = 0; i < 10; i++) {
+            Long scheduledNanoTime = scheduledNanoTimes.poll(5, TimeUnit.SECONDS);
+            assertNotNull(scheduledNanoTime);
+
+            // Each chunk is due one chunk period after the previous one
+            if (i == 0)
+                assertTrue(scheduledNanoTime >= openNanoTime);
+            else
+                assertEquals(10000000L, scheduledNanoTime - prevScheduledNanoTime, 1);
+            prevScheduledNanoTime = scheduledNanoTime;
+        }
+
+        // Never sent before it is due
+        assertTrue(System.nanoTime() >= prevScheduledNanoTime);
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+        generatedComPort.open();
+        assertNotNull(scheduledNanoTimes.poll(5, TimeUnit.SECONDS));
+
+        generatedComPort.close();
+        assertFalse(generatedComPort.isPortOpen());
+
+        // Every chunk sent has been counted, and no more are sent once closed
+        long numBytesRx = generatedComPort.getNumBytesRx();
+        Thread.sleep(50);
+        assertEquals(numBytesRx, generatedComPort.getNumBytesRx());
+        assertEquals(numBytesRx, (scheduledNanoTimes.size() + 1) * CHUNK_SIZE_BYTES);
+    }
+
+}